@@ -0,0 +1,3 @@
+-- Usuário usado pela réplica para ler o binlog
+CREATE USER 'replicacao'@'%' IDENTIFIED BY 'replicacao';
+GRANT REPLICATION SLAVE ON *.* TO 'replicacao'@'%';
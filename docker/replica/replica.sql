@@ -0,0 +1,15 @@
+-- Usuário da aplicação na réplica: só leitura, mais REPLICATION CLIENT para o SHOW REPLICA STATUS
+-- do MonitorReplica. Fora do binlog para não gerar transações próprias na réplica
+SET SQL_LOG_BIN = 0;
+CREATE USER 'brewer_leitura'@'%' IDENTIFIED BY 'brewer_leitura';
+GRANT SELECT ON brewer.* TO 'brewer_leitura'@'%';
+GRANT REPLICATION CLIENT ON *.* TO 'brewer_leitura'@'%';
+SET SQL_LOG_BIN = 1;
+
+CHANGE REPLICATION SOURCE TO
+    SOURCE_HOST = 'mysql-primaria',
+    SOURCE_USER = 'replicacao',
+    SOURCE_PASSWORD = 'replicacao',
+    SOURCE_AUTO_POSITION = 1,
+    GET_SOURCE_PUBLIC_KEY = 1;
+START REPLICA;
@@ -0,0 +1,43 @@
+package com.algaworks.brewer.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.algaworks.brewer.controller.converter.BigDecimalConverter;
+
+/**
+ * Conversão dos valores monetários digitados nos formulários (binding de cada request).
+ * Roda com várias threads para medir também o custo do DecimalFormat por thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BigDecimalConverterBenchmark {
+
+	@Param({ "8,50", "1.234,56", "1234.56", "  12,00  " })
+	private String valor;
+
+	private final BigDecimalConverter converter = new BigDecimalConverter();
+
+	@Benchmark
+	public BigDecimal converter() {
+		return converter.convert(valor);
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.algaworks.brewer.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import com.algaworks.brewer.controller.page.PageWrapper;
+import com.algaworks.brewer.thymeleaf.BrewerDialect;
+
+/**
+ * Processadores do BrewerDialect usados nas telas de pesquisa: brewer:pagination,
+ * brewer:order e brewer:menu, renderizados com os fragments reais em cache.
+ *
+ * brewer:message e brewer:classforerror dependem do binding de formulário do Spring MVC
+ * (#fields) e não entram aqui.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BrewerDialectBenchmark {
+
+	private static final String TEMPLATE = "<html xmlns:th=\"http://www.thymeleaf.org\" xmlns:brewer=\"http://brewer.algaworks.com\">"
+			+ "<ul><li class=\"menu\" brewer:menu=\"'/cervejas'\">Cervejas</li><li class=\"menu\" brewer:menu=\"'/vendas'\">Vendas</li></ul>"
+			+ "<table><tr>"
+			+ "<th><brewer:order page=\"${pagina}\" field=\"sku\" text=\"SKU\"/></th>"
+			+ "<th><brewer:order page=\"${pagina}\" field=\"nome\" text=\"Nome\"/></th>"
+			+ "<th><brewer:order page=\"${pagina}\" field=\"valor\" text=\"Valor\"/></th>"
+			+ "</tr></table>"
+			+ "<brewer:pagination page=\"${pagina}\"/>"
+			+ "</html>";
+
+	private SpringTemplateEngine templateEngine;
+	private WebContext context;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		ClassLoaderTemplateResolver fragments = new ClassLoaderTemplateResolver();
+		fragments.setPrefix("templates/");
+		fragments.setSuffix(".html");
+		fragments.setTemplateMode(TemplateMode.HTML);
+		fragments.setCharacterEncoding("UTF-8");
+		fragments.setCheckExistence(true);
+		fragments.setCacheable(true);
+		fragments.setOrder(1);
+
+		StringTemplateResolver pagina = new StringTemplateResolver();
+		pagina.setTemplateMode(TemplateMode.HTML);
+		pagina.setCacheable(true);
+		pagina.setOrder(2);
+
+		templateEngine = new SpringTemplateEngine();
+		templateEngine.setEnableSpringELCompiler(true);
+		templateEngine.addTemplateResolver(fragments);
+		templateEngine.addTemplateResolver(pagina);
+		templateEngine.addDialect(new BrewerDialect());
+
+		MockServletContext servletContext = new MockServletContext();
+		MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/cervejas");
+		request.setQueryString("nome=Pale+Ale&page=4&sort=nome,asc");
+
+		context = new WebContext(JakartaServletWebApplication.buildApplication(servletContext)
+				.buildExchange(request, new MockHttpServletResponse()));
+		context.setVariable("pagina", new PageWrapper<>(new PageImpl<>(Collections.nCopies(10, "cerveja"),
+				PageRequest.of(4, 10, Sort.by("nome")), 200), request));
+	}
+
+	@Benchmark
+	public String renderizar() {
+		return templateEngine.process(TEMPLATE, context);
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.algaworks.brewer.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Gravação dos itens de uma venda no MySQL, como o Hibernate faz em cada estratégia de id:
+ *
+ * - identity: um INSERT por item, com ida e volta para ler o id gerado (IDENTITY)
+ * - lote: ids já conhecidos (gerador em tabela, V21) e INSERTs em batch de 50, reescritos
+ *   pelo driver em INSERT multi-linha (rewriteBatchedStatements)
+ *
+ * Precisa de um MySQL acessível (-Dbenchmark.banco.url/usuario/senha; por padrão o banco
+ * dos testes de integração). Usa uma tabela própria, criada e removida pelo benchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GravacaoItensVendaBenchmark {
+
+	private static final int TAMANHO_LOTE = 50;
+
+	private static final String INSERIR_IDENTITY = "INSERT INTO item_venda_benchmark"
+			+ " (quantidade, valor_unitario, codigo_cerveja, codigo_venda) VALUES (?, ?, ?, ?)";
+	private static final String INSERIR_COM_ID = "INSERT INTO item_venda_benchmark"
+			+ " (codigo, quantidade, valor_unitario, codigo_cerveja, codigo_venda) VALUES (?, ?, ?, ?, ?)";
+
+	@Param({ "10", "200" })
+	private int itens;
+
+	@Param({ "identity", "lote" })
+	private String estrategia;
+
+	private Connection conexao;
+	private long proximoId;
+	private long venda;
+
+	@Setup(Level.Trial)
+	public void conectar() throws SQLException {
+		Properties propriedades = new Properties();
+		propriedades.setProperty("user", System.getProperty("benchmark.banco.usuario", "test"));
+		propriedades.setProperty("password", System.getProperty("benchmark.banco.senha", "test"));
+		propriedades.setProperty("rewriteBatchedStatements", String.valueOf("lote".equals(estrategia)));
+
+		conexao = DriverManager.getConnection(System.getProperty("benchmark.banco.url",
+				"jdbc:mysql://localhost:3307/brewer_test?allowPublicKeyRetrieval=true&useSSL=false"), propriedades);
+		try (Statement comando = conexao.createStatement()) {
+			comando.execute("DROP TABLE IF EXISTS item_venda_benchmark");
+			comando.execute("CREATE TABLE item_venda_benchmark (codigo BIGINT PRIMARY KEY AUTO_INCREMENT,"
+					+ " quantidade INTEGER NOT NULL, valor_unitario DECIMAL(10, 2) NOT NULL,"
+					+ " codigo_cerveja BIGINT NOT NULL, codigo_venda BIGINT NOT NULL) ENGINE=InnoDB");
+		}
+		conexao.setAutoCommit(false);
+		proximoId = 1;
+	}
+
+	@TearDown(Level.Trial)
+	public void desconectar() throws SQLException {
+		conexao.setAutoCommit(true);
+		try (Statement comando = conexao.createStatement()) {
+			comando.execute("DROP TABLE IF EXISTS item_venda_benchmark");
+		}
+		conexao.close();
+	}
+
+	@Benchmark
+	public long gravarItens() throws SQLException {
+		venda++;
+		long gravados = "lote".equals(estrategia) ? gravarEmLote() : gravarUmAUm();
+		conexao.commit();
+		return gravados;
+	}
+
+	private long gravarUmAUm() throws SQLException {
+		long ultimoId = 0;
+		try (PreparedStatement comando = conexao.prepareStatement(INSERIR_IDENTITY, Statement.RETURN_GENERATED_KEYS)) {
+			for (int i = 0; i < itens; i++) {
+				comando.setInt(1, 1 + i % 4);
+				comando.setBigDecimal(2, valor(i));
+				comando.setLong(3, 1 + i % 20);
+				comando.setLong(4, venda);
+				comando.executeUpdate();
+				try (ResultSet chaves = comando.getGeneratedKeys()) {
+					chaves.next();
+					ultimoId = chaves.getLong(1);
+				}
+			}
+		}
+		return ultimoId;
+	}
+
+	private long gravarEmLote() throws SQLException {
+		try (PreparedStatement comando = conexao.prepareStatement(INSERIR_COM_ID)) {
+			for (int i = 0; i < itens; i++) {
+				comando.setLong(1, proximoId++);
+				comando.setInt(2, 1 + i % 4);
+				comando.setBigDecimal(3, valor(i));
+				comando.setLong(4, 1 + i % 20);
+				comando.setLong(5, venda);
+				comando.addBatch();
+				if ((i + 1) % TAMANHO_LOTE == 0) {
+					comando.executeBatch();
+				}
+			}
+			comando.executeBatch();
+		}
+		return proximoId;
+	}
+
+	private static BigDecimal valor(int i) {
+		return new BigDecimal("7.90").add(BigDecimal.valueOf(i % 10));
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.algaworks.brewer.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.algaworks.brewer.controller.page.PageWrapper;
+
+/**
+ * Montagem dos links de paginação e ordenação de uma tela de pesquisa típica:
+ * 20 páginas e 5 colunas ordenáveis, com filtros na query string.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageWrapperBenchmark {
+
+	private static final String[] COLUNAS = { "sku", "nome", "estilo", "origem", "valor" };
+
+	private MockHttpServletRequest request;
+	private Page<String> page;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		request = new MockHttpServletRequest("GET", "/cervejas");
+		request.setServerPort(8080);
+		request.setQueryString("sku=&nome=Pale+Ale&estilo=3&sabor=&origem=NACIONAL&valorDe=&valorAte=&page=4&sort=nome,asc");
+
+		page = new PageImpl<>(Collections.nCopies(10, "cerveja"), PageRequest.of(4, 10, Sort.by("nome")), 200);
+	}
+
+	@Benchmark
+	public void montarLinks(Blackhole blackhole) {
+		PageWrapper<String> pagina = new PageWrapper<>(page, request);
+		blackhole.consume(pagina.urlParaPagina(pagina.getAtual() - 1));
+		blackhole.consume(pagina.urlParaPagina(pagina.getAtual() + 1));
+		blackhole.consume(pagina.getLinks());
+		for (String coluna : COLUNAS) {
+			blackhole.consume(pagina.ordenacao(coluna));
+		}
+	}
+
+}
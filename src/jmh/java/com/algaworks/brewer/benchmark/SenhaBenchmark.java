@@ -0,0 +1,101 @@
+package com.algaworks.brewer.benchmark;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Custo de verificar uma senha no login (matches) para cada algoritmo/custo candidato de
+ * brewer.senha.*. Verificar custa o mesmo que gerar o hash.
+ *
+ * Rodado pelo main, escolhe o custo mais alto de cada algoritmo que fica abaixo do tempo
+ * alvo (-Dsenha.alvo-ms, padrão 250). Rodar na mesma CPU (e limite de CPU) dos pods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SenhaBenchmark {
+
+	private static final String SENHA = "Brewer@2024!";
+
+	/** bcrypt-{força} ou argon2-{memória KB}-{iterações} */
+	@Param({ "bcrypt-8", "bcrypt-10", "bcrypt-11", "bcrypt-12", "argon2-8192-2", "argon2-16384-2", "argon2-65536-3" })
+	private String codificador;
+
+	private PasswordEncoder passwordEncoder;
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		passwordEncoder = criar(codificador);
+		hash = passwordEncoder.encode(SENHA);
+	}
+
+	@Benchmark
+	public boolean verificar() {
+		return passwordEncoder.matches(SENHA, hash);
+	}
+
+	static PasswordEncoder criar(String codificador) {
+		String[] partes = codificador.split("-");
+		if (partes[0].equals("bcrypt")) {
+			return new BCryptPasswordEncoder(Integer.parseInt(partes[1]));
+		}
+		return new Argon2PasswordEncoder(16, 32, 1, Integer.parseInt(partes[1]), Integer.parseInt(partes[2]));
+	}
+
+	/**
+	 * mvn -Pbenchmark -DskipTests verify -Djmh.principal=com.algaworks.brewer.benchmark.SenhaBenchmark
+	 * -Djmh.incluir=SenhaBenchmark -Dsenha.alvo-ms=250
+	 */
+	public static void main(String[] args) throws Exception {
+		double alvoMs = Double.parseDouble(System.getProperty("senha.alvo-ms", "250"));
+		Collection<RunResult> resultados = new Runner(new CommandLineOptions(args)).run();
+
+		System.out.printf("%nTempo por verificação (alvo: %.0f ms)%n", alvoMs);
+		resultados.stream()
+				.sorted(Comparator.comparing(SenhaBenchmark::codificador))
+				.forEach(resultado -> System.out.printf("  %-16s %8.1f ms%n", codificador(resultado), tempoMs(resultado)));
+
+		for (String algoritmo : new String[] { "bcrypt", "argon2" }) {
+			resultados.stream()
+					.filter(resultado -> codificador(resultado).startsWith(algoritmo))
+					.filter(resultado -> tempoMs(resultado) <= alvoMs)
+					.max(Comparator.comparingDouble(SenhaBenchmark::tempoMs))
+					.ifPresentOrElse(
+							resultado -> System.out.printf("Recomendado para %s: %s (%.1f ms)%n", algoritmo,
+									codificador(resultado), tempoMs(resultado)),
+							() -> System.out.printf("Recomendado para %s: nenhum candidato abaixo do alvo%n", algoritmo));
+		}
+	}
+
+	private static String codificador(RunResult resultado) {
+		return resultado.getParams().getParam("codificador");
+	}
+
+	private static double tempoMs(RunResult resultado) {
+		return resultado.getPrimaryResult().getScore();
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.algaworks.brewer.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.session.TabelaItensVenda;
+
+/**
+ * Tabela de itens da venda em sessão: inclusão de itens (com busca da cerveja já
+ * adicionada) e cálculo do total, feito a cada requisição AJAX da tela de venda.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TabelaItensVendaBenchmark {
+
+	@Param({ "5", "50" })
+	private int quantidadeItens;
+
+	private List<Cerveja> cervejas;
+	private TabelaItensVenda tabelaCheia;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		cervejas = new ArrayList<>(quantidadeItens);
+		for (int i = 0; i < quantidadeItens; i++) {
+			Cerveja cerveja = new Cerveja();
+			cerveja.setCodigo((long) i + 1);
+			cerveja.setValor(new BigDecimal("7.90").add(BigDecimal.valueOf(i)));
+			cervejas.add(cerveja);
+		}
+
+		tabelaCheia = new TabelaItensVenda();
+		cervejas.forEach(cerveja -> tabelaCheia.adicionarItem(cerveja, 2));
+	}
+
+	@Benchmark
+	public TabelaItensVenda adicionarItens() {
+		TabelaItensVenda tabela = new TabelaItensVenda();
+		for (Cerveja cerveja : cervejas) {
+			tabela.adicionarItem(cerveja, 1);
+		}
+		// Segunda passada incrementa a quantidade dos itens existentes
+		for (Cerveja cerveja : cervejas) {
+			tabela.adicionarItem(cerveja, 1);
+		}
+		return tabela;
+	}
+
+	@Benchmark
+	public BigDecimal valorTotal() {
+		return tabelaCheia.getValorTotal();
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.algaworks.brewer.benchmark;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.coobird.thumbnailator.Thumbnails;
+
+/**
+ * Geração do thumbnail da foto da cerveja com os mesmos parâmetros dos FotoStorage
+ * (40x68), a partir de uma foto em memória para não medir disco.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ThumbnailBenchmark {
+
+	@Param({ "800x600", "2000x1500" })
+	private String dimensao;
+
+	private byte[] foto;
+
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+		String[] partes = dimensao.split("x");
+		int largura = Integer.parseInt(partes[0]);
+		int altura = Integer.parseInt(partes[1]);
+
+		BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = imagem.createGraphics();
+		graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, largura, altura, Color.DARK_GRAY));
+		graphics.fillRect(0, 0, largura, altura);
+		graphics.dispose();
+
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		ImageIO.write(imagem, "jpg", saida);
+		foto = saida.toByteArray();
+	}
+
+	@Benchmark
+	public byte[] gerarThumbnail() throws IOException {
+		ByteArrayOutputStream saida = new ByteArrayOutputStream(4096);
+		Thumbnails.of(new ByteArrayInputStream(foto)).size(40, 68).outputFormat("jpg").toOutputStream(saida);
+		return saida.toByteArray();
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.algaworks.brewer.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.Venda;
+
+/**
+ * Cálculo do valor total da venda (itens + frete - desconto), executado no
+ * cadastro e nos callbacks @PrePersist/@PreUpdate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VendaBenchmark {
+
+	@Param({ "5", "50" })
+	private int quantidadeItens;
+
+	private Venda venda;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		List<ItemVenda> itens = new ArrayList<>(quantidadeItens);
+		for (int i = 0; i < quantidadeItens; i++) {
+			Cerveja cerveja = new Cerveja();
+			cerveja.setCodigo((long) i + 1);
+
+			ItemVenda item = new ItemVenda();
+			item.setCerveja(cerveja);
+			item.setQuantidade(1 + i % 4);
+			item.setValorUnitario(new BigDecimal("7.90").add(BigDecimal.valueOf(i)));
+			itens.add(item);
+		}
+
+		venda = new Venda();
+		venda.adicionarItens(itens);
+		venda.setValorFrete(new BigDecimal("15.00"));
+		venda.setValorDesconto(new BigDecimal("3.50"));
+	}
+
+	@Benchmark
+	public BigDecimal calcularValorTotal() {
+		return venda.calcularValorTotal();
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.algaworks.brewer.carga;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cenários repetidos pelos usuários virtuais, com o peso de cada um no sorteio.
+ *
+ * Os pesos seguem o uso observado da aplicação: muita pesquisa, entrada de venda com
+ * autocomplete, consultas ao dashboard e, com menos frequência, o relatório em PDF.
+ */
+public enum Cenario {
+
+	PESQUISA(40) {
+		@Override
+		void executar(UsuarioVirtual usuario, GeradorDados dados, ConfiguracaoCarga configuracao, Random random) {
+			// Páginas profundas aparecem, mas a maioria das navegações fica no início
+			int pagina = (int) (Math.pow(random.nextDouble(), 3) * 500);
+			switch (random.nextInt(4)) {
+				case 0 -> usuario.pagina("GET /cervejas (pesquisa)", "/cervejas?page=" + pagina);
+				case 1 -> usuario.pagina("GET /clientes (pesquisa)", "/clientes?page=" + pagina);
+				case 2 -> usuario.pagina("GET /vendas (pesquisa)", "/vendas?page=" + pagina + "&sort=dataCriacao,desc");
+				default -> usuario.pagina("GET /vendas (filtro status+período)", "/vendas?status=EMITIDA&desde="
+						+ LocalDate.now().minusDays(30).format(DATA) + "&page=" + random.nextInt(5));
+			}
+		}
+	},
+
+	VENDA(30) {
+		@Override
+		void executar(UsuarioVirtual usuario, GeradorDados dados, ConfiguracaoCarga configuracao, Random random) {
+			var pagina = usuario.pagina("GET /vendas/nova", "/vendas/nova");
+			String uuid = pagina == null ? "" : extrair(UUID, pagina.body());
+
+			usuario.json("GET /clientes (autocomplete)", "/clientes?nome="
+					+ GeradorDados.prefixoNomeCliente(random.nextInt(100)));
+			usuario.json("GET /cervejas (autocomplete)", "/cervejas?skuOuNome=SK00" + random.nextInt(10));
+
+			List<Long> cervejas = new ArrayList<>();
+			int itens = 1 + random.nextInt(Math.max(1, configuracao.getItensPorVenda() * 2 - 1));
+			for (int i = 0; i < itens; i++) {
+				long cerveja = dados.cervejaAleatoria(random);
+				cervejas.add(cerveja);
+				usuario.ajax("POST /vendas/item", "POST", "/vendas/item", Map.of("codigoCerveja", String.valueOf(cerveja)));
+			}
+
+			usuario.formulario("POST /vendas/nova (salvar)", "/vendas/nova", Map.of(
+					"salvar", "",
+					"uuid", uuid,
+					"cliente.codigo", String.valueOf(dados.clienteAleatorio(random))));
+
+			// A tabela de itens é da sessão: limpa para a próxima venda deste usuário
+			for (Long cerveja : cervejas) {
+				usuario.ajax("DELETE /vendas/item", "DELETE", "/vendas/item/" + cerveja, Map.of());
+			}
+		}
+	},
+
+	DASHBOARD(20) {
+		@Override
+		void executar(UsuarioVirtual usuario, GeradorDados dados, ConfiguracaoCarga configuracao, Random random) {
+			usuario.pagina("GET /dashboard", "/dashboard");
+			usuario.json("GET /dashboard/vendas/totalPorMes", "/dashboard/vendas/totalPorMes");
+			usuario.json("GET /dashboard/vendas/totalPorOrigem", "/dashboard/vendas/totalPorOrigem");
+		}
+	},
+
+	RELATORIO(10) {
+		@Override
+		void executar(UsuarioVirtual usuario, GeradorDados dados, ConfiguracaoCarga configuracao, Random random) {
+			usuario.pagina("GET /relatorios/vendasEmitidas", "/relatorios/vendasEmitidas");
+			usuario.formularioBinario("POST /relatorios/vendasEmitidas (PDF)", "/relatorios/vendasEmitidas", Map.of(
+					"dataInicio", LocalDate.now().minusDays(30).format(DATA),
+					"dataFim", LocalDate.now().format(DATA)));
+		}
+	};
+
+	private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+	private static final Pattern UUID = Pattern.compile("id=\"uuid\"[^>]*value=\"([^\"]*)\"");
+	private static final int PESO_TOTAL = 100;
+
+	private final int peso;
+
+	Cenario(int peso) {
+		this.peso = peso;
+	}
+
+	abstract void executar(UsuarioVirtual usuario, GeradorDados dados, ConfiguracaoCarga configuracao, Random random);
+
+	public static Cenario sortear(Random random) {
+		int sorteio = random.nextInt(PESO_TOTAL);
+		for (Cenario cenario : values()) {
+			sorteio -= cenario.peso;
+			if (sorteio < 0) {
+				return cenario;
+			}
+		}
+		return PESQUISA;
+	}
+
+	private static String extrair(Pattern pattern, String html) {
+		Matcher matcher = pattern.matcher(html);
+		return matcher.find() ? matcher.group(1) : "";
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.algaworks.brewer.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Parâmetros do teste de carga, lidos de propriedades de sistema (-Dcarga.*).
+ *
+ * Os valores padrão geram uma base média em poucos minutos; para reproduzir produção
+ * aumente carga.vendas (ex.: 1000000) e carga.usuarios-virtuais.
+ */
+public class ConfiguracaoCarga {
+
+	private final int clientes;
+	private final int cervejas;
+	private final int vendas;
+	private final int itensPorVenda;
+	private final int usuariosVirtuais;
+	private final Duration aquecimento;
+	private final Duration duracao;
+	private final long semente;
+	private final Path resultado;
+
+	private ConfiguracaoCarga() {
+		this.clientes = inteiro("carga.clientes", 20_000);
+		this.cervejas = inteiro("carga.cervejas", 2_000);
+		this.vendas = inteiro("carga.vendas", 100_000);
+		this.itensPorVenda = inteiro("carga.itens-por-venda", 3);
+		this.usuariosVirtuais = inteiro("carga.usuarios-virtuais", 20);
+		this.aquecimento = Duration.ofSeconds(inteiro("carga.aquecimento", 20));
+		this.duracao = Duration.ofSeconds(inteiro("carga.duracao", 60));
+		this.semente = Long.getLong("carga.semente", 42L);
+		this.resultado = Path.of(System.getProperty("carga.resultado", "target/loadtest-result.json"));
+	}
+
+	public static ConfiguracaoCarga doSistema() {
+		return new ConfiguracaoCarga();
+	}
+
+	private static int inteiro(String propriedade, int padrao) {
+		return Integer.getInteger(propriedade, padrao);
+	}
+
+	public int getClientes() {
+		return clientes;
+	}
+
+	public int getCervejas() {
+		return cervejas;
+	}
+
+	public int getVendas() {
+		return vendas;
+	}
+
+	public int getItensPorVenda() {
+		return itensPorVenda;
+	}
+
+	public int getUsuariosVirtuais() {
+		return usuariosVirtuais;
+	}
+
+	public Duration getAquecimento() {
+		return aquecimento;
+	}
+
+	public Duration getDuracao() {
+		return duracao;
+	}
+
+	public long getSemente() {
+		return semente;
+	}
+
+	public Path getResultado() {
+		return resultado;
+	}
+
+	@Override
+	public String toString() {
+		return "clientes=" + clientes + ", cervejas=" + cervejas + ", vendas=" + vendas
+				+ ", itensPorVenda=" + itensPorVenda + ", usuariosVirtuais=" + usuariosVirtuais
+				+ ", aquecimento=" + aquecimento.toSeconds() + "s, duracao=" + duracao.toSeconds() + "s";
+	}
+
+}
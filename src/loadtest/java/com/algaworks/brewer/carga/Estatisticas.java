@@ -0,0 +1,86 @@
+package com.algaworks.brewer.carga;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latência e erros por endpoint, acumulados em histogramas HdrHistogram (microssegundos).
+ *
+ * O aquecimento é descartado com {@link #zerar()}; o throughput é calculado sobre o
+ * intervalo entre o último zerar e o {@link #resumo()}.
+ */
+public class Estatisticas {
+
+	private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+	private volatile Map<String, Registro> registros = new ConcurrentHashMap<>();
+	private volatile long inicio = System.nanoTime();
+
+	public void registrar(String endpoint, long nanos, boolean sucesso) {
+		Registro registro = registros.computeIfAbsent(endpoint, e -> new Registro());
+		registro.histograma.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), LATENCIA_MAXIMA_MICROS));
+		if (!sucesso) {
+			registro.erros.increment();
+		}
+	}
+
+	public void zerar() {
+		registros = new ConcurrentHashMap<>();
+		inicio = System.nanoTime();
+	}
+
+	public List<Map<String, Object>> resumo() {
+		double segundos = (System.nanoTime() - inicio) / 1_000_000_000d;
+
+		List<Map<String, Object>> linhas = new ArrayList<>();
+		registros.forEach((endpoint, registro) -> {
+			Histogram histograma = registro.histograma.copy();
+			Map<String, Object> linha = new LinkedHashMap<>();
+			linha.put("endpoint", endpoint);
+			linha.put("requisicoes", histograma.getTotalCount());
+			linha.put("erros", registro.erros.sum());
+			linha.put("throughput", arredondar(histograma.getTotalCount() / segundos));
+			linha.put("p50Ms", millis(histograma.getValueAtPercentile(50)));
+			linha.put("p90Ms", millis(histograma.getValueAtPercentile(90)));
+			linha.put("p99Ms", millis(histograma.getValueAtPercentile(99)));
+			linha.put("maxMs", millis(histograma.getMaxValue()));
+			linhas.add(linha);
+		});
+		linhas.sort(Comparator.comparing(linha -> (String) linha.get("endpoint")));
+		return linhas;
+	}
+
+	public String tabela() {
+		StringBuilder tabela = new StringBuilder(String.format("%-38s %9s %7s %9s %9s %9s %9s %9s%n",
+				"endpoint", "req", "erros", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+		for (Map<String, Object> linha : resumo()) {
+			tabela.append(String.format("%-38s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+					linha.get("endpoint"), linha.get("requisicoes"), linha.get("erros"), linha.get("throughput"),
+					linha.get("p50Ms"), linha.get("p90Ms"), linha.get("p99Ms"), linha.get("maxMs")));
+		}
+		return tabela.toString();
+	}
+
+	private static double millis(long micros) {
+		return arredondar(micros / 1000d);
+	}
+
+	private static double arredondar(double valor) {
+		return Math.round(valor * 10) / 10d;
+	}
+
+	private static class Registro {
+		private final ConcurrentHistogram histograma = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+		private final LongAdder erros = new LongAdder();
+	}
+
+}
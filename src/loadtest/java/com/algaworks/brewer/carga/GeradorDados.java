@@ -0,0 +1,284 @@
+package com.algaworks.brewer.carga;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+import javax.sql.DataSource;
+
+import com.algaworks.brewer.model.ItemVenda;
+
+/**
+ * Popula a base com clientes, cervejas, vendas e itens em lotes JDBC.
+ *
+ * As chaves são atribuídas aqui (a partir do maior código existente) para não depender
+ * de generated keys, e a conexão desliga FOREIGN_KEY_CHECKS/UNIQUE_CHECKS durante a
+ * carga. Com rewriteBatchedStatements=true no driver cada lote vira poucos INSERTs
+ * multi-valor. A distribuição é enviesada como em produção: poucos clientes e cervejas
+ * concentram a maior parte das vendas, e a maioria das vendas é EMITIDA.
+ */
+public class GeradorDados {
+
+	private static final int TAMANHO_LOTE = 5_000;
+	private static final int DIAS_HISTORICO = 730;
+	private static final int ESTILOS = 20;
+
+	static final String SENHA_USUARIOS = "carga";
+	private static final String[] NOMES = { "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela",
+			"Henrique", "Isabela", "João", "Larissa", "Marcos", "Natália", "Otávio", "Paula", "Rafael" };
+	private static final String[] SOBRENOMES = { "Silva", "Souza", "Oliveira", "Santos", "Lima", "Pereira",
+			"Costa", "Rodrigues", "Almeida", "Nascimento" };
+	private static final String[] STATUS = { "EMITIDA", "EMITIDA", "EMITIDA", "EMITIDA", "EMITIDA", "EMITIDA",
+			"EMITIDA", "ORCAMENTO", "ORCAMENTO", "CANCELADA" };
+	private static final String[] SABORES = { "ADOCICADA", "AMARGA", "FORTE", "FRUTADA", "SUAVE" };
+
+	private final DataSource dataSource;
+	private final ConfiguracaoCarga configuracao;
+	private final String hashSenha;
+	private final Random random;
+
+	private long primeiroCliente;
+	private long primeiraCerveja;
+	private long primeiroUsuario;
+	private BigDecimal[] valoresCervejas;
+
+	public GeradorDados(DataSource dataSource, ConfiguracaoCarga configuracao, String hashSenha) {
+		this.dataSource = dataSource;
+		this.configuracao = configuracao;
+		this.hashSenha = hashSenha;
+		this.random = new Random(configuracao.getSemente());
+	}
+
+	public void popular() throws SQLException {
+		try (Connection conexao = dataSource.getConnection()) {
+			conexao.setAutoCommit(false);
+			try (Statement statement = conexao.createStatement()) {
+				statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+				statement.execute("SET UNIQUE_CHECKS = 0");
+			}
+
+			long primeiroEstilo = proximoCodigo(conexao, "estilo");
+			popularEstilos(conexao, primeiroEstilo);
+			popularUsuarios(conexao);
+			popularClientes(conexao);
+			popularCervejas(conexao, primeiroEstilo);
+			popularVendas(conexao);
+
+			try (Statement statement = conexao.createStatement()) {
+				statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+				statement.execute("SET UNIQUE_CHECKS = 1");
+				statement.execute("ANALYZE TABLE estilo, usuario, cliente, cerveja, venda, item_venda");
+			}
+			conexao.commit();
+		}
+	}
+
+	public static String emailUsuario(int indice) {
+		return "carga" + indice + "@brewer.com";
+	}
+
+	public static String prefixoNomeCliente(int indice) {
+		return NOMES[indice % NOMES.length].substring(0, 3);
+	}
+
+	public long clienteAleatorio(Random random) {
+		return primeiroCliente + enviesado(random, configuracao.getClientes());
+	}
+
+	public long cervejaAleatoria(Random random) {
+		return primeiraCerveja + enviesado(random, configuracao.getCervejas());
+	}
+
+	private void popularEstilos(Connection conexao, long primeiro) throws SQLException {
+		try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO estilo (codigo, nome) VALUES (?, ?)")) {
+			for (int i = 0; i < ESTILOS; i++) {
+				insert.setLong(1, primeiro + i);
+				insert.setString(2, "Estilo carga " + i);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		conexao.commit();
+	}
+
+	private void popularUsuarios(Connection conexao) throws SQLException {
+		primeiroUsuario = proximoCodigo(conexao, "usuario");
+		try (PreparedStatement usuario = conexao.prepareStatement(
+					"INSERT INTO usuario (codigo, nome, email, senha, ativo) VALUES (?, ?, ?, ?, 1)");
+				PreparedStatement grupo = conexao.prepareStatement(
+					"INSERT INTO usuario_grupo (codigo_usuario, codigo_grupo) VALUES (?, 1)")) {
+			for (int i = 0; i < configuracao.getUsuariosVirtuais(); i++) {
+				usuario.setLong(1, primeiroUsuario + i);
+				usuario.setString(2, "Usuário carga " + i);
+				usuario.setString(3, emailUsuario(i));
+				usuario.setString(4, hashSenha);
+				usuario.addBatch();
+
+				grupo.setLong(1, primeiroUsuario + i);
+				grupo.addBatch();
+			}
+			usuario.executeBatch();
+			grupo.executeBatch();
+		}
+		conexao.commit();
+	}
+
+	private void popularClientes(Connection conexao) throws SQLException {
+		primeiroCliente = proximoCodigo(conexao, "cliente");
+		try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO cliente "
+				+ "(codigo, nome, tipo_pessoa, cpf_cnpj, telefone, email) VALUES (?, ?, 'FISICA', ?, ?, ?)")) {
+			for (int i = 0; i < configuracao.getClientes(); i++) {
+				insert.setLong(1, primeiroCliente + i);
+				insert.setString(2, NOMES[random.nextInt(NOMES.length)] + " "
+						+ SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " " + i);
+				insert.setString(3, String.format("%011d", 20000000000L + i));
+				insert.setString(4, "(34) 99999-" + String.format("%04d", i % 10_000));
+				insert.setString(5, "cliente" + i + "@carga.brewer.com");
+				insert.addBatch();
+				executarSeCheio(conexao, insert, i);
+			}
+			insert.executeBatch();
+		}
+		conexao.commit();
+		log("clientes", configuracao.getClientes());
+	}
+
+	private void popularCervejas(Connection conexao, long primeiroEstilo) throws SQLException {
+		primeiraCerveja = proximoCodigo(conexao, "cerveja");
+		valoresCervejas = new BigDecimal[configuracao.getCervejas()];
+		try (PreparedStatement insert = conexao.prepareStatement("INSERT INTO cerveja (codigo, sku, nome, descricao, "
+				+ "valor, teor_alcoolico, comissao, sabor, origem, quantidade_estoque, codigo_estilo) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < configuracao.getCervejas(); i++) {
+				valoresCervejas[i] = BigDecimal.valueOf(500 + random.nextInt(5_500), 2);
+
+				insert.setLong(1, primeiraCerveja + i);
+				insert.setString(2, String.format("SK%06d", i));
+				insert.setString(3, "Cerveja carga " + i);
+				insert.setString(4, "Gerada pelo teste de carga");
+				insert.setBigDecimal(5, valoresCervejas[i]);
+				insert.setBigDecimal(6, BigDecimal.valueOf(30 + random.nextInt(90), 1));
+				insert.setBigDecimal(7, BigDecimal.valueOf(5 + random.nextInt(10)));
+				insert.setString(8, SABORES[random.nextInt(SABORES.length)]);
+				insert.setString(9, random.nextInt(5) == 0 ? "INTERNACIONAL" : "NACIONAL");
+				insert.setInt(10, 1_000_000);
+				insert.setLong(11, primeiroEstilo + random.nextInt(ESTILOS));
+				insert.addBatch();
+				executarSeCheio(conexao, insert, i);
+			}
+			insert.executeBatch();
+		}
+		conexao.commit();
+		log("cervejas", configuracao.getCervejas());
+	}
+
+	private void popularVendas(Connection conexao) throws SQLException {
+		long primeiraVenda = proximoCodigo(conexao, "venda");
+		long proximoItem = proximoCodigo(conexao, "item_venda");
+		LocalDate hoje = LocalDate.now();
+
+		try (PreparedStatement venda = conexao.prepareStatement("INSERT INTO venda (codigo, data_criacao, "
+					+ "valor_frete, valor_desconto, valor_total, status, codigo_cliente, codigo_usuario) "
+					+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?)");
+				PreparedStatement item = conexao.prepareStatement("INSERT INTO item_venda (codigo, quantidade, "
+					+ "valor_unitario, codigo_cerveja, codigo_venda) VALUES (?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < configuracao.getVendas(); i++) {
+				long codigoVenda = primeiraVenda + i;
+				int itens = 1 + random.nextInt(Math.max(1, configuracao.getItensPorVenda() * 2 - 1));
+
+				BigDecimal total = BigDecimal.ZERO;
+				for (int j = 0; j < itens; j++) {
+					int cerveja = enviesado(random, configuracao.getCervejas());
+					int quantidade = 1 + random.nextInt(6);
+					total = total.add(valoresCervejas[cerveja].multiply(BigDecimal.valueOf(quantidade)));
+
+					item.setLong(1, proximoItem++);
+					item.setInt(2, quantidade);
+					item.setBigDecimal(3, valoresCervejas[cerveja]);
+					item.setLong(4, primeiraCerveja + cerveja);
+					item.setLong(5, codigoVenda);
+					item.addBatch();
+				}
+
+				BigDecimal frete = random.nextInt(3) == 0 ? BigDecimal.valueOf(1_500, 2) : BigDecimal.ZERO;
+				BigDecimal desconto = random.nextInt(10) == 0
+						? total.multiply(BigDecimal.valueOf(5, 2)).setScale(2, RoundingMode.HALF_UP) : BigDecimal.ZERO;
+
+				venda.setLong(1, codigoVenda);
+				// Mais vendas nos meses recentes: a raiz quadrada concentra os dias perto de hoje
+				venda.setDate(2, Date.valueOf(hoje.minusDays((long) (Math.sqrt(random.nextDouble()) * DIAS_HISTORICO) % DIAS_HISTORICO)));
+				venda.setBigDecimal(3, frete);
+				venda.setBigDecimal(4, desconto);
+				venda.setBigDecimal(5, total.add(frete).subtract(desconto));
+				venda.setString(6, STATUS[random.nextInt(STATUS.length)]);
+				venda.setLong(7, clienteAleatorio(random));
+				venda.setLong(8, primeiroUsuario + random.nextInt(Math.max(1, configuracao.getUsuariosVirtuais())));
+				venda.addBatch();
+
+				if ((i + 1) % TAMANHO_LOTE == 0) {
+					venda.executeBatch();
+					item.executeBatch();
+					conexao.commit();
+				}
+				if ((i + 1) % 100_000 == 0) {
+					log("vendas", i + 1);
+				}
+			}
+			venda.executeBatch();
+			item.executeBatch();
+		}
+		avancarSequenciaItens(conexao);
+		conexao.commit();
+		log("vendas", configuracao.getVendas());
+	}
+
+	/**
+	 * Os códigos de item_venda vêm do TableGenerator de ItemVenda (sequencia_id, em blocos de
+	 * ItemVenda.BLOCO_IDS): o próximo bloco que o Hibernate pegar precisa começar depois dos
+	 * itens gerados aqui, senão o cenário de salvar venda colide com eles.
+	 */
+	private static void avancarSequenciaItens(Connection conexao) throws SQLException {
+		try (PreparedStatement avancar = conexao.prepareStatement("UPDATE sequencia_id SET proximo_valor = "
+				+ "GREATEST(proximo_valor, (SELECT COALESCE(MAX(codigo), 0) FROM item_venda) + ?) "
+				+ "WHERE nome = 'item_venda'")) {
+			avancar.setInt(1, ItemVenda.BLOCO_IDS);
+			avancar.executeUpdate();
+		}
+	}
+
+	private static void executarSeCheio(Connection conexao, PreparedStatement insert, int indice) throws SQLException {
+		if ((indice + 1) % TAMANHO_LOTE == 0) {
+			insert.executeBatch();
+			conexao.commit();
+		}
+	}
+
+	/**
+	 * Índice em [0, total) com viés para os primeiros (o quadrado concentra ~30% dos
+	 * sorteios nos 10% iniciais), imitando clientes e cervejas mais populares.
+	 */
+	private static int enviesado(Random random, int total) {
+		double sorteio = random.nextDouble();
+		return (int) (sorteio * sorteio * total);
+	}
+
+	private static long proximoCodigo(Connection conexao, String tabela) throws SQLException {
+		try (Statement statement = conexao.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(codigo), 0) + 1 FROM " + tabela)) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	private static void log(String tabela, int quantidade) {
+		System.out.printf("[carga] %,d %s gerados%n", quantidade, tabela);
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.algaworks.brewer.carga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.testcontainers.containers.MySQLContainer;
+
+import com.algaworks.brewer.BrewerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Teste de carga HTTP reproduzível.
+ *
+ * Sobe um MySQL (Testcontainers) e a aplicação completa em porta aleatória, popula a base
+ * com o {@link GeradorDados} e coloca N usuários virtuais (um por virtual thread, cada um
+ * com seu login) executando os {@link Cenario}s até o fim da duração. O aquecimento é
+ * descartado. Ao final imprime p50/p90/p99 e throughput por endpoint e grava o JSON em
+ * carga.resultado, para comparar execuções com volumes ou commits diferentes.
+ *
+ * Executado pelo profile loadtest: mvn -Ploadtest -DskipTests verify -Dcarga.vendas=1000000
+ */
+public class TesteCarga {
+
+	public static void main(String[] args) throws Exception {
+		ConfiguracaoCarga configuracao = ConfiguracaoCarga.doSistema();
+		System.out.println("[carga] " + configuracao);
+
+		try (MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+				.withCommand("--innodb-buffer-pool-size=1G", "--max-connections=500")) {
+			mysql.start();
+
+			try (ConfigurableApplicationContext aplicacao = iniciarAplicacao(mysql)) {
+				GeradorDados dados = new GeradorDados(aplicacao.getBean(DataSource.class), configuracao,
+						new BCryptPasswordEncoder().encode(GeradorDados.SENHA_USUARIOS));
+				long inicioCarga = System.nanoTime();
+				dados.popular();
+				System.out.printf("[carga] base populada em %ds%n",
+						TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicioCarga));
+
+				int porta = ((ServletWebServerApplicationContext) aplicacao).getWebServer().getPort();
+				Estatisticas estatisticas = executar(configuracao, dados, "http://localhost:" + porta);
+
+				System.out.println();
+				System.out.print(estatisticas.tabela());
+				gravarResultado(configuracao, estatisticas);
+			}
+		}
+	}
+
+	private static ConfigurableApplicationContext iniciarAplicacao(MySQLContainer<?> mysql) {
+		Map<String, Object> propriedades = new LinkedHashMap<>();
+		propriedades.put("server.port", 0);
+		propriedades.put("spring.datasource.url", mysql.getJdbcUrl()
+				+ (mysql.getJdbcUrl().contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+		propriedades.put("spring.datasource.username", mysql.getUsername());
+		propriedades.put("spring.datasource.password", mysql.getPassword());
+		propriedades.put("spring.datasource.hikari.maximum-pool-size", 20);
+		propriedades.put("spring.flyway.clean-disabled", true);
+		propriedades.put("spring.jpa.show-sql", false);
+		propriedades.put("brewer.mail.fila.habilitada", false);
+		propriedades.put("logging.level.root", "WARN");
+
+		return new SpringApplicationBuilder(BrewerApplication.class)
+				.properties(propriedades)
+				// O classpath de teste tem @TestConfiguration (mocks, inspector de SQL) que o
+				// component scan da aplicação não deve carregar
+				.initializers(contexto -> contexto.getBeanFactory()
+						.registerSingleton("excluirConfiguracoesDeTeste", new ExcluirConfiguracoesDeTeste()))
+				.run();
+	}
+
+	private static Estatisticas executar(ConfiguracaoCarga configuracao, GeradorDados dados, String urlBase)
+			throws InterruptedException {
+		Estatisticas estatisticas = new Estatisticas();
+		long fim = System.nanoTime() + configuracao.getAquecimento().plus(configuracao.getDuracao()).toNanos();
+
+		List<Runnable> usuarios = new ArrayList<>();
+		for (int i = 0; i < configuracao.getUsuariosVirtuais(); i++) {
+			int indice = i;
+			usuarios.add(() -> {
+				Random random = new Random(configuracao.getSemente() + indice);
+				UsuarioVirtual usuario = new UsuarioVirtual(urlBase, estatisticas);
+				if (!usuario.login(GeradorDados.emailUsuario(indice), GeradorDados.SENHA_USUARIOS)) {
+					System.out.println("[carga] falha no login de " + GeradorDados.emailUsuario(indice));
+					return;
+				}
+				while (System.nanoTime() < fim && !Thread.currentThread().isInterrupted()) {
+					Cenario.sortear(random).executar(usuario, dados, configuracao, random);
+				}
+			});
+		}
+
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			usuarios.forEach(executor::submit);
+
+			Thread.sleep(configuracao.getAquecimento().toMillis());
+			estatisticas.zerar();
+			System.out.println("[carga] aquecimento concluído, medindo por " + configuracao.getDuracao().toSeconds() + "s");
+		}
+		return estatisticas;
+	}
+
+	private static void gravarResultado(ConfiguracaoCarga configuracao, Estatisticas estatisticas) throws IOException {
+		Map<String, Object> resultado = new LinkedHashMap<>();
+		resultado.put("data", Instant.now().toString());
+		resultado.put("configuracao", Map.of(
+				"clientes", configuracao.getClientes(),
+				"cervejas", configuracao.getCervejas(),
+				"vendas", configuracao.getVendas(),
+				"itensPorVenda", configuracao.getItensPorVenda(),
+				"usuariosVirtuais", configuracao.getUsuariosVirtuais(),
+				"duracaoSegundos", configuracao.getDuracao().toSeconds()));
+		resultado.put("endpoints", estatisticas.resumo());
+
+		if (configuracao.getResultado().getParent() != null) {
+			Files.createDirectories(configuracao.getResultado().getParent());
+		}
+		new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+				.writeValue(configuracao.getResultado().toFile(), resultado);
+		System.out.println("[carga] resultado gravado em " + configuracao.getResultado().toAbsolutePath());
+	}
+
+	/**
+	 * Exclui do component scan as classes anotadas com @TestConfiguration.
+	 */
+	static class ExcluirConfiguracoesDeTeste extends TypeExcludeFilter {
+
+		@Override
+		public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+			return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj != null && getClass() == obj.getClass();
+		}
+
+		@Override
+		public int hashCode() {
+			return getClass().hashCode();
+		}
+	}
+
+}
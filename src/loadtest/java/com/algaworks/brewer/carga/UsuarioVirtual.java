@@ -0,0 +1,122 @@
+package com.algaworks.brewer.carga;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Um usuário logado da aplicação: sessão própria (cookies), token CSRF atualizado a
+ * cada página HTML recebida e medição de cada requisição pelo nome do endpoint.
+ *
+ * Redirects não são seguidos: o 302 do login e do salvar venda contam como sucesso e a
+ * página seguinte, quando interessa, é pedida explicitamente.
+ */
+public class UsuarioVirtual {
+
+	private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+	private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+	private final String urlBase;
+	private final Estatisticas estatisticas;
+	private final HttpClient http;
+	private String csrf;
+
+	public UsuarioVirtual(String urlBase, Estatisticas estatisticas) {
+		this.urlBase = urlBase;
+		this.estatisticas = estatisticas;
+		this.http = HttpClient.newBuilder()
+				.cookieHandler(new CookieManager())
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	public boolean login(String email, String senha) {
+		pagina("GET /login", "/login");
+		HttpResponse<String> resposta = formulario("POST /login", "/login",
+				Map.of("username", email, "password", senha));
+		return resposta != null && resposta.statusCode() == 302
+				&& !resposta.headers().firstValue("Location").orElse("").contains("error");
+	}
+
+	public HttpResponse<String> pagina(String endpoint, String caminho) {
+		HttpResponse<String> resposta = enviar(endpoint, requisicao(caminho).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		if (resposta != null) {
+			Matcher matcher = CSRF.matcher(resposta.body());
+			if (matcher.find()) {
+				csrf = matcher.group(1);
+			}
+		}
+		return resposta;
+	}
+
+	public HttpResponse<String> json(String endpoint, String caminho) {
+		return enviar(endpoint, requisicao(caminho)
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json")
+				.GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	public HttpResponse<String> formulario(String endpoint, String caminho, Map<String, String> campos) {
+		return enviar(endpoint, requisicao(caminho)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(codificar(campos, true)))
+				.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	public HttpResponse<byte[]> formularioBinario(String endpoint, String caminho, Map<String, String> campos) {
+		return enviar(endpoint, requisicao(caminho)
+				.header("Content-Type", "application/x-www-form-urlencoded")
+				.POST(HttpRequest.BodyPublishers.ofString(codificar(campos, true)))
+				.build(), HttpResponse.BodyHandlers.ofByteArray());
+	}
+
+	public HttpResponse<String> ajax(String endpoint, String metodo, String caminho, Map<String, String> campos) {
+		return enviar(endpoint, requisicao(caminho + "?" + codificar(campos, false))
+				.header("X-CSRF-TOKEN", csrf == null ? "" : csrf)
+				.method(metodo, HttpRequest.BodyPublishers.noBody())
+				.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private <T> HttpResponse<T> enviar(String endpoint, HttpRequest requisicao, HttpResponse.BodyHandler<T> handler) {
+		long inicio = System.nanoTime();
+		try {
+			HttpResponse<T> resposta = http.send(requisicao, handler);
+			estatisticas.registrar(endpoint, System.nanoTime() - inicio, resposta.statusCode() < 400);
+			return resposta;
+		} catch (IOException e) {
+			estatisticas.registrar(endpoint, System.nanoTime() - inicio, false);
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private HttpRequest.Builder requisicao(String caminho) {
+		return HttpRequest.newBuilder(URI.create(urlBase + caminho)).timeout(TIMEOUT);
+	}
+
+	private String codificar(Map<String, String> campos, boolean incluirCsrf) {
+		String corpo = campos.entrySet().stream()
+				.map(campo -> URLEncoder.encode(campo.getKey(), StandardCharsets.UTF_8) + "="
+						+ URLEncoder.encode(campo.getValue(), StandardCharsets.UTF_8))
+				.collect(Collectors.joining("&"));
+		if (incluirCsrf && csrf != null) {
+			corpo += (corpo.isEmpty() ? "" : "&") + "_csrf=" + URLEncoder.encode(csrf, StandardCharsets.UTF_8);
+		}
+		return corpo;
+	}
+
+}
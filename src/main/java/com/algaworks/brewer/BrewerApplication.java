@@ -2,6 +2,7 @@ package com.algaworks.brewer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
 
 /**
  * Classe principal da aplicação Spring Boot Brewer.
@@ -15,8 +16,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * - Substituiu AppInitializer (Servlet 3.0 initializer)
  * - Auto-configuration elimina necessidade de configurações manuais
  * - Embedded Tomcat elimina necessidade de web.xml e context.xml
+ *
+ * Spring Session não é auto-configurado: as sessões ficam no Tomcat, a não ser que
+ * brewer.sessao.armazenamento=jdbc ligue o SessaoConfig.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = SessionAutoConfiguration.class)
 public class BrewerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,155 @@
+package com.algaworks.brewer.bulkhead;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limita as requisições simultâneas por carga de trabalho ({@link CargaTrabalho}).
+ *
+ * A carga é a do padrão de URL mais específico que casar (como no OrcamentoSqlFilter),
+ * senão a carga padrão; caminhos ignorados (recursos estáticos, health) passam direto.
+ * Sem vaga dentro da espera da carga a resposta é 503 com Retry-After. Com MeterRegistry,
+ * registra brewer.bulkhead.espera, brewer.bulkhead.rejeitadas e os gauges
+ * brewer.bulkhead.ocupadas, brewer.bulkhead.aguardando e brewer.bulkhead.limite por carga.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkheadFilter.class);
+
+	private final List<CargaTrabalho> cargas;
+	private final CargaTrabalho cargaPadrao;
+	private final List<String> ignorados;
+	private final MeterRegistry meterRegistry;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	public BulkheadFilter(List<CargaTrabalho> cargas, CargaTrabalho cargaPadrao, List<String> ignorados,
+			MeterRegistry meterRegistry) {
+		this.cargas = List.copyOf(cargas);
+		this.cargaPadrao = cargaPadrao;
+		this.ignorados = List.copyOf(ignorados);
+		this.meterRegistry = meterRegistry;
+
+		if (meterRegistry != null) {
+			this.cargas.forEach(this::registrarGauges);
+			if (!this.cargas.contains(cargaPadrao)) {
+				registrarGauges(cargaPadrao);
+			}
+		}
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		Optional<CargaTrabalho> carga = cargaPara(caminho);
+		if (carga.isEmpty()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		if (!entrar(carga.get())) {
+			rejeitar(carga.get(), request, response, caminho);
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			carga.get().sair();
+		}
+	}
+
+	/**
+	 * @return a carga do caminho, ou vazio se ele é ignorado
+	 */
+	Optional<CargaTrabalho> cargaPara(String caminho) {
+		if (ignorados.stream().anyMatch(padrao -> pathMatcher.match(padrao, caminho))) {
+			return Optional.empty();
+		}
+
+		Comparator<String> maisEspecifico = pathMatcher.getPatternComparator(caminho);
+		CargaTrabalho escolhida = cargaPadrao;
+		String melhorPadrao = null;
+		for (CargaTrabalho carga : cargas) {
+			for (String padrao : carga.getPadroes()) {
+				if (pathMatcher.match(padrao, caminho)
+						&& (melhorPadrao == null || maisEspecifico.compare(padrao, melhorPadrao) < 0)) {
+					escolhida = carga;
+					melhorPadrao = padrao;
+				}
+			}
+		}
+		return Optional.of(escolhida);
+	}
+
+	private boolean entrar(CargaTrabalho carga) {
+		long inicio = System.nanoTime();
+		boolean entrou;
+		try {
+			entrou = carga.entrar();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			entrou = false;
+		}
+
+		if (meterRegistry != null) {
+			Timer.builder("brewer.bulkhead.espera")
+					.description("Espera por vaga na carga de trabalho, antes de obter conexão")
+					.tag("carga", carga.getNome())
+					.tag("resultado", entrou ? "obtida" : "rejeitada")
+					.register(meterRegistry)
+					.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+		}
+		return entrou;
+	}
+
+	private void rejeitar(CargaTrabalho carga, HttpServletRequest request, HttpServletResponse response,
+			String caminho) throws IOException {
+		if (meterRegistry != null) {
+			Counter.builder("brewer.bulkhead.rejeitadas")
+					.description("Requisições recusadas por falta de vaga na carga de trabalho")
+					.tag("carga", carga.getNome())
+					.register(meterRegistry)
+					.increment();
+		}
+		logger.warn("{} {} recusada: carga {} com {} de {} vagas ocupadas após {}", request.getMethod(), caminho,
+				carga.getNome(), carga.getEmUso(), carga.getLimite(), carga.getEspera());
+
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, carga.getEspera().toSeconds())));
+		response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor ocupado, tente novamente em instantes");
+	}
+
+	private void registrarGauges(CargaTrabalho carga) {
+		Gauge.builder("brewer.bulkhead.ocupadas", carga, CargaTrabalho::getEmUso)
+				.description("Requisições da carga de trabalho em andamento")
+				.tag("carga", carga.getNome())
+				.register(meterRegistry);
+		Gauge.builder("brewer.bulkhead.aguardando", carga, CargaTrabalho::getAguardando)
+				.description("Requisições esperando vaga na carga de trabalho")
+				.tag("carga", carga.getNome())
+				.register(meterRegistry);
+		Gauge.builder("brewer.bulkhead.limite", carga, CargaTrabalho::getLimite)
+				.description("Limite de requisições simultâneas da carga de trabalho")
+				.tag("carga", carga.getNome())
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.algaworks.brewer.bulkhead;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de trabalho com limite próprio de requisições simultâneas (bulkhead): relatórios,
+ * importações, dashboard, telas interativas.
+ *
+ * A vaga é obtida antes de qualquer conexão do pool, então uma carga lenta ocupa no máximo
+ * o seu limite de conexões e o restante do pool continua livre para as demais. A carga da
+ * requisição em andamento fica disponível para as métricas do pool ({@link #atual()}).
+ */
+public class CargaTrabalho {
+
+	/** Trabalho fora de requisição (eventos, agendamentos, fila de e-mails) ou em caminho ignorado */
+	public static final String FUNDO = "fundo";
+
+	private static final ThreadLocal<String> ATUAL = new ThreadLocal<>();
+
+	private final String nome;
+	private final int limite;
+	private final Duration espera;
+	private final List<String> padroes;
+	private final Semaphore vagas;
+
+	public CargaTrabalho(String nome, int limite, Duration espera, List<String> padroes) {
+		if (limite < 1) {
+			throw new IllegalArgumentException("Limite da carga " + nome + " deve ser positivo: " + limite);
+		}
+		this.nome = nome;
+		this.limite = limite;
+		this.espera = espera;
+		this.padroes = List.copyOf(padroes);
+		// Justo: quem espera há mais tempo entra primeiro, sem furar fila com tryAcquire
+		this.vagas = new Semaphore(limite, true);
+	}
+
+	/**
+	 * Espera até {@link #getEspera()} por uma vaga.
+	 *
+	 * @return false se o tempo acabou; nesse caso {@link #sair()} não deve ser chamado
+	 */
+	public boolean entrar() throws InterruptedException {
+		if (!vagas.tryAcquire(espera.toNanos(), TimeUnit.NANOSECONDS)) {
+			return false;
+		}
+		ATUAL.set(nome);
+		return true;
+	}
+
+	public void sair() {
+		ATUAL.remove();
+		vagas.release();
+	}
+
+	/**
+	 * @return nome da carga da requisição em andamento nesta thread, ou {@link #FUNDO}
+	 */
+	public static String atual() {
+		String carga = ATUAL.get();
+		return carga != null ? carga : FUNDO;
+	}
+
+	public String getNome() {
+		return nome;
+	}
+
+	public int getLimite() {
+		return limite;
+	}
+
+	public Duration getEspera() {
+		return espera;
+	}
+
+	public List<String> getPadroes() {
+		return padroes;
+	}
+
+	public int getEmUso() {
+		return limite - vagas.availablePermits();
+	}
+
+	public int getAguardando() {
+		return vagas.getQueueLength();
+	}
+
+}
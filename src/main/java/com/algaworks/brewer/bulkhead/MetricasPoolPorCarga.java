@@ -0,0 +1,99 @@
+package com.algaworks.brewer.bulkhead;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Métricas do pool Hikari separadas por carga de trabalho ({@link CargaTrabalho#atual()}).
+ *
+ * O Hikari avisa o tracker na thread que pegou ou devolveu a conexão, que é a da
+ * requisição: brewer.bulkhead.conexao.espera é o tempo de espera no pool e
+ * brewer.bulkhead.conexao.uso o tempo com a conexão em mãos (a taxa da soma é a média de
+ * conexões ocupadas pela carga). As métricas hikaricp.* continuam sendo registradas.
+ */
+public class MetricasPoolPorCarga implements MetricsTrackerFactory {
+
+	private final Supplier<MeterRegistry> meterRegistry;
+
+	public MetricasPoolPorCarga(Supplier<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public IMetricsTracker create(String poolName, PoolStats poolStats) {
+		MeterRegistry registry = meterRegistry.get();
+		if (registry == null) {
+			return new IMetricsTracker() {
+			};
+		}
+		return new Rastreador(new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats), registry,
+				poolName);
+	}
+
+	private static class Rastreador implements IMetricsTracker {
+
+		private final IMetricsTracker hikari;
+		private final MeterRegistry registry;
+		private final String pool;
+
+		Rastreador(IMetricsTracker hikari, MeterRegistry registry, String pool) {
+			this.hikari = hikari;
+			this.registry = registry;
+			this.pool = pool;
+		}
+
+		@Override
+		public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+			hikari.recordConnectionCreatedMillis(connectionCreatedMillis);
+		}
+
+		@Override
+		public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+			hikari.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+			timer("brewer.bulkhead.conexao.espera", "Espera por conexão do pool, por carga de trabalho")
+					.record(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+			hikari.recordConnectionUsageMillis(elapsedBorrowedMillis);
+			timer("brewer.bulkhead.conexao.uso", "Tempo com a conexão do pool em uso, por carga de trabalho")
+					.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+		}
+
+		@Override
+		public void recordConnectionTimeout() {
+			hikari.recordConnectionTimeout();
+			Counter.builder("brewer.bulkhead.conexao.timeout")
+					.description("Esperas por conexão do pool que estouraram o connection-timeout")
+					.tag("pool", pool)
+					.tag("carga", CargaTrabalho.atual())
+					.register(registry)
+					.increment();
+		}
+
+		@Override
+		public void close() {
+			hikari.close();
+		}
+
+		private Timer timer(String nome, String descricao) {
+			return Timer.builder(nome)
+					.description(descricao)
+					.tag("pool", pool)
+					.tag("carga", CargaTrabalho.atual())
+					.register(registry);
+		}
+
+	}
+
+}
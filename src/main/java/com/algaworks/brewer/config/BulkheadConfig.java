@@ -0,0 +1,153 @@
+package com.algaworks.brewer.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.algaworks.brewer.bulkhead.BulkheadFilter;
+import com.algaworks.brewer.bulkhead.CargaTrabalho;
+import com.algaworks.brewer.bulkhead.MetricasPoolPorCarga;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulkheads por carga de trabalho (brewer.bulkhead.*): cada carga tem um limite de
+ * requisições simultâneas, ocupado antes de qualquer conexão do pool. Com a soma dos
+ * limites de relatórios, importações e dashboard abaixo do maximum-pool-size, sobram
+ * conexões que só a carga padrão (telas interativas, checkout) usa.
+ */
+@Configuration
+@ConditionalOnProperty(name = "brewer.bulkhead.habilitado", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkheadConfig.class);
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Autowired
+	private Environment environment;
+
+	/**
+	 * Antes do OrcamentoSqlFilter e da segurança: a espera por vaga acontece antes de
+	 * carregar usuário e permissões do banco.
+	 */
+	@Bean
+	public FilterRegistrationBean<BulkheadFilter> bulkheadFilter() {
+		Binder binder = Binder.get(environment);
+		Duration esperaPadrao = binder.bind("brewer.bulkhead.espera", Duration.class).orElse(Duration.ofSeconds(2));
+		String nomePadrao = binder.bind("brewer.bulkhead.carga-padrao", String.class).orElse("interativo");
+		List<String> ignorados = binder.bind("brewer.bulkhead.ignorados", Bindable.listOf(String.class))
+				.orElse(List.of());
+		Map<String, Definicao> definicoes = binder
+				.bind("brewer.bulkhead.cargas", Bindable.mapOf(String.class, Definicao.class))
+				.orElse(Map.of());
+		int tamanhoPool = binder.bind("spring.datasource.hikari.maximum-pool-size", Integer.class).orElse(10);
+
+		List<CargaTrabalho> cargas = new ArrayList<>();
+		CargaTrabalho cargaPadrao = null;
+		for (Map.Entry<String, Definicao> definicao : definicoes.entrySet()) {
+			Definicao valores = definicao.getValue();
+			CargaTrabalho carga = new CargaTrabalho(definicao.getKey(),
+					valores.getLimite() != null ? valores.getLimite() : tamanhoPool,
+					valores.getEspera() != null ? valores.getEspera() : esperaPadrao, valores.getPadroes());
+			if (carga.getNome().equals(nomePadrao)) {
+				cargaPadrao = carga;
+			} else {
+				cargas.add(carga);
+			}
+		}
+		if (cargaPadrao == null) {
+			cargaPadrao = new CargaTrabalho(nomePadrao, tamanhoPool, esperaPadrao, List.of());
+		}
+		verificarReserva(cargas, cargaPadrao, tamanhoPool);
+
+		FilterRegistrationBean<BulkheadFilter> registro = new FilterRegistrationBean<>(
+				new BulkheadFilter(cargas, cargaPadrao, ignorados, meterRegistry.getIfAvailable()));
+		registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+		return registro;
+	}
+
+	/**
+	 * Troca o rastreador de métricas dos pools Hikari (primária e réplica) pelo que separa
+	 * espera e uso por carga. Precisa ser antes do pool iniciar, então fica na inicialização
+	 * do bean; o Spring Boot não registra o dele quando já há um.
+	 */
+	@Bean
+	static BeanPostProcessor metricasPoolPorCargaPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		SingletonSupplier<MeterRegistry> registry = SingletonSupplier.of(meterRegistry::getIfAvailable);
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null
+						&& hikari.getMetricRegistry() == null) {
+					hikari.setMetricsTrackerFactory(new MetricasPoolPorCarga(registry));
+				}
+				return bean;
+			}
+		};
+	}
+
+	private static void verificarReserva(List<CargaTrabalho> cargas, CargaTrabalho cargaPadrao, int tamanhoPool) {
+		int limitados = cargas.stream().mapToInt(CargaTrabalho::getLimite).sum();
+		int reservadas = tamanhoPool - limitados;
+		if (reservadas < 1) {
+			logger.warn("Limites das cargas {} somam {} com pool de {} conexões: nenhuma fica reservada para a carga {}",
+					cargas.stream().map(CargaTrabalho::getNome).toList(), limitados, tamanhoPool, cargaPadrao.getNome());
+		} else {
+			logger.info("{} de {} conexões do pool reservadas para a carga {}", reservadas, tamanhoPool,
+					cargaPadrao.getNome());
+		}
+	}
+
+	public static class Definicao {
+
+		private Integer limite;
+		private Duration espera;
+		private List<String> padroes = new ArrayList<>();
+
+		public Integer getLimite() {
+			return limite;
+		}
+
+		public void setLimite(Integer limite) {
+			this.limite = limite;
+		}
+
+		public Duration getEspera() {
+			return espera;
+		}
+
+		public void setEspera(Duration espera) {
+			this.espera = espera;
+		}
+
+		public List<String> getPadroes() {
+			return padroes;
+		}
+
+		public void setPadroes(List<String> padroes) {
+			this.padroes = padroes;
+		}
+
+	}
+
+}
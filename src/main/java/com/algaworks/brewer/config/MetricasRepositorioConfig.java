@@ -0,0 +1,50 @@
+package com.algaworks.brewer.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import com.algaworks.brewer.repository.metricas.MetricasRepositorioInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Instrumenta todos os repositórios Spring Data (inclusive os métodos dos *Impl, como
+ * filtrar) com o {@link MetricasRepositorioInterceptor}.
+ *
+ * O interceptor é adicionado ao proxy de cada repositório pela fábrica do Spring Data,
+ * o mesmo ponto usado pelo Spring Boot para spring.data.repository.invocations.
+ */
+@Configuration
+@ConditionalOnProperty(name = "brewer.repositorio.metricas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class MetricasRepositorioConfig {
+
+	@Bean
+	static BeanPostProcessor metricasRepositorioPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+			Environment environment) {
+		Duration limiteConsultaLenta = environment.getProperty("brewer.repositorio.metricas.limite-consulta-lenta",
+				Duration.class, Duration.ofMillis(500));
+		SingletonSupplier<MeterRegistry> registry = SingletonSupplier.of(meterRegistry::getIfAvailable);
+
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+					repositoryFactoryBean.addRepositoryFactoryCustomizer(factory ->
+							factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+									proxyFactory.addAdvice(new MetricasRepositorioInterceptor(registry,
+											repositoryInformation.getRepositoryInterface(), limiteConsultaLenta))));
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.algaworks.brewer.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.algaworks.brewer.repository.replica.EscritasRecentes;
+import com.algaworks.brewer.repository.replica.MonitorReplica;
+import com.algaworks.brewer.repository.replica.RoteadorLeitura;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Réplica de leitura do MySQL, com pool próprio (brewer.datasource.replica.hikari.*).
+ *
+ * O DataSource da aplicação passa a ser um LazyConnectionDataSourceProxy: a conexão física
+ * só é obtida no primeiro comando, quando a transação já marcou a conexão como readOnly.
+ * Conexões readOnly (@Transactional(readOnly = true), métodos de leitura do Spring Data fora
+ * de transação) vão para o RoteadorLeitura; o resto - escritas, Flyway, sessões - continua
+ * no pool da primária (spring.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "brewer.datasource.replica.habilitada", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primariaDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("brewer-primaria");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("brewer.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(DataSourceProperties properties,
+			@Value("${brewer.datasource.replica.url}") String url,
+			@Value("${brewer.datasource.replica.username:${spring.datasource.username:}}") String username,
+			@Value("${brewer.datasource.replica.password:${spring.datasource.password:}}") String password) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("brewer-replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria,
+			@Qualifier("replicaDataSource") DataSource replica, MonitorReplica monitorReplica,
+			EscritasRecentes escritasRecentes, MeterRegistry meterRegistry) {
+		DataSource escrita = new DelegatingDataSource(primaria) {
+			@Override
+			public Connection getConnection() throws SQLException {
+				escritasRecentes.registrar();
+				return super.getConnection();
+			}
+		};
+
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(escrita);
+		dataSource.setReadOnlyDataSource(
+				new RoteadorLeitura(replica, primaria, monitorReplica, escritasRecentes, meterRegistry));
+		return dataSource;
+	}
+
+}
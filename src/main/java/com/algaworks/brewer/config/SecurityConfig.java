@@ -1,18 +1,29 @@
 package com.algaworks.brewer.config;
 
+import java.util.Map;
+
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * Configuração de Segurança do Spring Security.
@@ -27,9 +38,68 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 @EnableWebSecurity
 public class SecurityConfig {
 
+	private static final int ARGON2_SALT = 16;
+	private static final int ARGON2_HASH = 32;
+
 	@Autowired
 	private UserDetailsService userDetailsService;
 
+	/** Só existe com sessões no banco (SessaoConfig); senão o registro é o padrão, em memória */
+	@Autowired
+	private ObjectProvider<SessionRegistry> sessionRegistry;
+
+	@Value("${brewer.senha.algoritmo:bcrypt}")
+	private String algoritmoSenha;
+
+	@Value("${brewer.senha.bcrypt.forca:10}")
+	private int forcaBcrypt;
+
+	@Value("${brewer.senha.argon2.memoria-kb:16384}")
+	private int memoriaArgon2;
+
+	@Value("${brewer.senha.argon2.iteracoes:2}")
+	private int iteracoesArgon2;
+
+	@Value("${brewer.senha.argon2.paralelismo:1}")
+	private int paralelismoArgon2;
+
+	/** Porta só do actuator (perfis prod), fora do Service e do Ingress; -1 quando não separada */
+	@Value("${management.server.port:-1}")
+	private int portaGerencia;
+
+	/**
+	 * APIs de importação de vendas (ImportacoesVendaController), de catálogo
+	 * (ImportacoesCervejaController) e de clientes (ImportacoesClienteController), chamadas
+	 * por outros sistemas: HTTP Basic, sem sessão e sem CSRF, e antes da cadeia do formulário.
+	 */
+	@Bean
+	@Order(1)
+	public SecurityFilterChain importacaoSecurityFilterChain(HttpSecurity http) throws Exception {
+		http
+			.securityMatcher("/vendas/importacoes/**", "/cervejas/importacoes/**", "/clientes/importacoes/**")
+			.authorizeHttpRequests(authorize -> authorize
+				.requestMatchers("/cervejas/importacoes/**").hasRole("IMPORTAR_CERVEJA")
+				.requestMatchers("/clientes/importacoes/**").hasRole("IMPORTAR_CLIENTE")
+				.anyRequest().hasRole("IMPORTAR_VENDA")
+			)
+			.httpBasic(Customizer.withDefaults())
+			.csrf(csrf -> csrf.disable())
+			.sessionManagement(session -> session
+				.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+			);
+
+		return http.build();
+	}
+
+	/**
+	 * Scrape do Prometheus (anotações do deployment) sem login, mas só pela porta de gerência,
+	 * que o Service não expõe; pela porta da aplicação continua exigindo ADMIN.
+	 */
+	RequestMatcher prometheusNaPortaGerencia() {
+		AntPathRequestMatcher caminho = new AntPathRequestMatcher("/actuator/prometheus");
+		return request -> portaGerencia > 0 && request.getLocalPort() == portaGerencia && caminho.matches(request);
+	}
+
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 		http
@@ -39,6 +109,7 @@ public class SecurityConfig {
 				// Actuator endpoints - public health check, restricted management endpoints
 				.requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
 				.requestMatchers("/actuator/info").permitAll()
+				.requestMatchers(prometheusNaPortaGerencia()).permitAll()
 				.requestMatchers("/actuator/**").hasRole("ADMIN")
 				// Application endpoints
 				.requestMatchers("/cidades/nova").hasRole("CADASTRAR_CIDADE")
@@ -57,13 +128,15 @@ public class SecurityConfig {
 			.exceptionHandling(exception -> exception
 				.accessDeniedPage("/403")
 			)
-			.sessionManagement(session -> session
-				.invalidSessionUrl("/login")
-				.sessionFixation().newSession()
+			.sessionManagement(session -> {
+				session
+					.invalidSessionUrl("/login")
+					.sessionFixation().newSession();
 				// Limit to 1 concurrent session per user to enhance security
 				// Users will be logged out from other devices when logging in from a new device
-				.maximumSessions(1)
-			);
+				var sessoesSimultaneas = session.maximumSessions(1);
+				sessionRegistry.ifAvailable(sessoesSimultaneas::sessionRegistry);
+			});
 
 		return http.build();
 	}
@@ -86,9 +159,29 @@ public class SecurityConfig {
 		return authenticationConfiguration.getAuthenticationManager();
 	}
 
+	/**
+	 * Codificador de senhas com algoritmo e custo configuráveis (brewer.senha.*).
+	 *
+	 * Hashes novos levam o prefixo {id}; hashes BCrypt antigos, sem prefixo, continuam
+	 * válidos. No login, um hash em outro algoritmo ou com custo abaixo do configurado é
+	 * regravado (AppUserDetailsService.updatePassword). Para escolher o custo, ver o
+	 * SenhaBenchmark no perfil Maven benchmark.
+	 */
 	@Bean
 	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(forcaBcrypt);
+		Map<String, PasswordEncoder> codificadores = Map.of(
+				"bcrypt", bcrypt,
+				"argon2", new Argon2PasswordEncoder(ARGON2_SALT, ARGON2_HASH, paralelismoArgon2, memoriaArgon2,
+						iteracoesArgon2));
+		if (!codificadores.containsKey(algoritmoSenha)) {
+			throw new IllegalStateException("brewer.senha.algoritmo inválido: " + algoritmoSenha
+					+ " (esperado bcrypt ou argon2)");
+		}
+
+		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algoritmoSenha, codificadores);
+		passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+		return passwordEncoder;
 	}
 
 }
\ No newline at end of file
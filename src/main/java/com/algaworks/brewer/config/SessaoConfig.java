@@ -0,0 +1,63 @@
+package com.algaworks.brewer.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+import com.algaworks.brewer.session.SerializacaoCompactaSessao;
+
+/**
+ * Sessões HTTP no MySQL (Spring Session JDBC), ligado com brewer.sessao.armazenamento=jdbc.
+ *
+ * Sem afinidade de sessão no ingress: login, carrinho (TabelaItensVenda) e CSRF
+ * sobrevivem ao restart de um pod e qualquer réplica atende qualquer requisição. O
+ * SessionRegistry também fica no banco, então o maximumSessions(1) do SecurityConfig
+ * vale entre réplicas. Desligado, as sessões continuam em memória no Tomcat (a
+ * auto-configuração do Spring Session fica excluída em BrewerApplication).
+ */
+@Configuration
+@ConditionalOnProperty(name = "brewer.sessao.armazenamento", havingValue = "jdbc")
+@EnableJdbcHttpSession
+public class SessaoConfig implements BeanClassLoaderAware {
+
+	@Value("${server.servlet.session.timeout:30m}")
+	private Duration timeout;
+
+	private ClassLoader classLoader;
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Bean
+	public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> sessaoRepositoryCustomizer() {
+		return repositorio -> repositorio.setDefaultMaxInactiveInterval(timeout);
+	}
+
+	/**
+	 * Nome exigido pelo Spring Session para a conversão dos atributos.
+	 */
+	@Bean("springSessionConversionService")
+	public ConversionService springSessionConversionService() {
+		return new SerializacaoCompactaSessao(classLoader).conversionService();
+	}
+
+	@Bean
+	public <S extends Session> SpringSessionBackedSessionRegistry<S> sessionRegistry(
+			FindByIndexNameSessionRepository<S> sessionRepository) {
+		return new SpringSessionBackedSessionRegistry<>(sessionRepository);
+	}
+
+}
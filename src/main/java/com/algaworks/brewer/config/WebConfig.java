@@ -1,23 +1,36 @@
 package com.algaworks.brewer.config;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.number.NumberStyleFormatter;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
 import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.i18n.FixedLocaleResolver;
@@ -30,8 +43,14 @@ import com.algaworks.brewer.controller.converter.CidadeConverter;
 import com.algaworks.brewer.controller.converter.EstadoConverter;
 import com.algaworks.brewer.controller.converter.EstiloConverter;
 import com.algaworks.brewer.controller.converter.GrupoConverter;
+import com.algaworks.brewer.repository.metricas.OrcamentoSqlFilter;
+import com.algaworks.brewer.security.PermissoesUsuarios;
 import com.algaworks.brewer.thymeleaf.BrewerDialect;
+import com.algaworks.brewer.thymeleaf.MetricasRenderizacaoInterceptor;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.mxab.thymeleaf.extras.dataattribute.dialect.DataAttributeDialect;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
 import org.thymeleaf.extras.springsecurity6.dialect.SpringSecurityDialect;
 
@@ -52,6 +71,15 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
 
 	private ApplicationContext applicationContext;
 
+	@Value("${spring.thymeleaf.cache:true}")
+	private boolean cacheTemplates;
+
+	@Autowired
+	private ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Autowired
+	private Environment environment;
+
 	@Override
 	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
 		this.applicationContext = applicationContext;
@@ -81,10 +109,40 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
 		resolver.setPrefix("classpath:/templates/");
 		resolver.setSuffix(".html");
 		resolver.setTemplateMode(TemplateMode.HTML);
-		resolver.setCacheable(false); // Desabilita cache em desenvolvimento
+		// Segue spring.thymeleaf.cache: desligado em dev (edição a quente), ligado em prod
+		resolver.setCacheable(cacheTemplates);
 		return resolver;
 	}
 
+	/**
+	 * Registra a medição do tempo de renderização por template, quando há MeterRegistry
+	 * (nos testes @WebMvcTest o Actuator não é carregado).
+	 */
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		meterRegistry.ifAvailable(meters -> registry.addInterceptor(new MetricasRenderizacaoInterceptor(meters)));
+	}
+
+	/**
+	 * Orçamento de comandos SQL por requisição (brewer.sql.orcamento.*), antes da
+	 * segurança para contar também o carregamento do usuário e das permissões.
+	 */
+	@Bean
+	public FilterRegistrationBean<OrcamentoSqlFilter> orcamentoSqlFilter() {
+		Binder binder = Binder.get(environment);
+		OrcamentoSqlFilter.Modo modo = binder.bind("brewer.sql.orcamento.modo", OrcamentoSqlFilter.Modo.class)
+				.orElse(OrcamentoSqlFilter.Modo.LOG);
+		int orcamentoPadrao = binder.bind("brewer.sql.orcamento.padrao", Integer.class).orElse(25);
+		Map<String, Integer> orcamentos = binder
+				.bind("brewer.sql.orcamento.endpoints", Bindable.mapOf(String.class, Integer.class))
+				.orElse(Map.of());
+
+		FilterRegistrationBean<OrcamentoSqlFilter> registro = new FilterRegistrationBean<>(
+				new OrcamentoSqlFilter(modo, orcamentoPadrao, orcamentos, meterRegistry.getIfAvailable()));
+		registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+		return registro;
+	}
+
 	/**
 	 * Configura handlers para recursos estáticos.
 	 * Spring Boot já serve /static automaticamente, mas mantemos configuração
@@ -144,10 +202,26 @@ public class WebConfig implements WebMvcConfigurer, ApplicationContextAware {
 	 * Configura cache manager simples.
 	 * FASE 3: Substituído Guava por ConcurrentMapCacheManager (Spring nativo).
 	 * Cache para listas de enums (Estilo, Sabor, etc).
+	 *
+	 * O cache "permissoes" cresce com os usuários e é invalidado só no pod que alterou o
+	 * usuário: usa Caffeine com tamanho máximo e expiração, para que os demais pods vejam a
+	 * alteração em até brewer.permissoes.validade.
 	 */
 	@Bean
-	public CacheManager cacheManager() {
-		return new ConcurrentMapCacheManager();
+	public CacheManager cacheManager(@Value("${brewer.permissoes.validade:5m}") Duration validadePermissoes,
+			@Value("${brewer.permissoes.maximo:10000}") long maximoPermissoes) {
+		return new ConcurrentMapCacheManager() {
+			@Override
+			protected Cache createConcurrentMapCache(String name) {
+				if (!PermissoesUsuarios.CACHE.equals(name)) {
+					return super.createConcurrentMapCache(name);
+				}
+				return new CaffeineCache(name, Caffeine.newBuilder()
+						.maximumSize(maximoPermissoes)
+						.expireAfterWrite(validadePermissoes)
+						.build(), isAllowNullValues());
+			}
+		};
 	}
 
 }
\ No newline at end of file
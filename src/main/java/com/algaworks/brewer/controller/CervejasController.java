@@ -39,6 +39,7 @@ import com.algaworks.brewer.repository.Cervejas;
 import com.algaworks.brewer.repository.Estilos;
 import com.algaworks.brewer.repository.filter.CervejaFilter;
 import com.algaworks.brewer.service.CadastroCervejaService;
+import com.algaworks.brewer.service.exception.SkuCervejaJaCadastradoException;
 
 @Controller
 @RequestMapping("/cervejas")
@@ -92,7 +93,12 @@ public class CervejasController {
 			return novo(cerveja);
 		}
 
-		cadastroCervejaService.salvar(cerveja);
+		try {
+			cadastroCervejaService.salvar(cerveja);
+		} catch (SkuCervejaJaCadastradoException e) {
+			result.rejectValue("sku", e.getMessage(), e.getMessage());
+			return novo(cerveja);
+		}
 		attributes.addFlashAttribute("mensagem", "Cerveja salva com sucesso!");
 		return new ModelAndView("redirect:/cervejas/novo");
 	}
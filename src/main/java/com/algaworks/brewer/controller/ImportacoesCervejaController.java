@@ -0,0 +1,59 @@
+package com.algaworks.brewer.controller;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.algaworks.brewer.importacao.ImportadorCervejas;
+import com.algaworks.brewer.importacao.ResultadoImportacaoCervejas;
+import com.algaworks.brewer.model.FormatoImportacao;
+
+/**
+ * API de importação do catálogo de cervejas de fornecedores. O arquivo vai no corpo da
+ * requisição, com Content-Type text/csv ou application/json; cada SKU é cadastrado ou
+ * atualizado, e a resposta traz os totais e os erros por linha.
+ *
+ * Autenticação HTTP Basic e permissão ROLE_IMPORTAR_CERVEJA (ver SecurityConfig).
+ */
+@Controller
+@RequestMapping("/cervejas/importacoes")
+public class ImportacoesCervejaController {
+
+	@Autowired
+	private ImportadorCervejas importadorCervejas;
+
+	/**
+	 * @return 200 se o arquivo foi lido até o fim, 422 se interrompido (os lotes já
+	 *         gravados ficam; reenviar o arquivo completa a importação)
+	 */
+	@PostMapping
+	public @ResponseBody ResponseEntity<ResultadoImportacaoCervejas> importar(HttpServletRequest request)
+			throws IOException {
+		FormatoImportacao formato = formato(request.getContentType());
+		Charset charset = request.getCharacterEncoding() != null
+				? Charset.forName(request.getCharacterEncoding())
+				: StandardCharsets.UTF_8;
+
+		ResultadoImportacaoCervejas resultado = importadorCervejas.importar(formato, request.getInputStream(), charset);
+		HttpStatus status = resultado.isConcluida() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+		return ResponseEntity.status(status).body(resultado);
+	}
+
+	private static FormatoImportacao formato(String contentType) {
+		return FormatoImportacao.doTipoConteudo(contentType)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+						"Envie o arquivo como text/csv ou application/json"));
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.algaworks.brewer.controller;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.algaworks.brewer.importacao.ImportadorVendas;
+import com.algaworks.brewer.importacao.SituacaoImportacao;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.repository.ImportacoesVenda;
+import com.algaworks.brewer.security.UsuarioSistema;
+import com.algaworks.brewer.service.exception.ImpossivelRetomarImportacaoException;
+
+/**
+ * API de importação de vendas para distribuidores (EDI). O arquivo vai no corpo da
+ * requisição, com Content-Type text/csv ou application/json, e é processado enquanto
+ * chega; a resposta só sai no fim, com a situação e os erros por pedido.
+ *
+ * Autenticação HTTP Basic e permissão ROLE_IMPORTAR_VENDA (ver SecurityConfig).
+ */
+@Controller
+@RequestMapping("/vendas/importacoes")
+public class ImportacoesVendaController {
+
+	@Autowired
+	private ImportadorVendas importadorVendas;
+
+	@Autowired
+	private ImportacoesVenda importacoes;
+
+	/**
+	 * @param codigo importação a retomar; o mesmo arquivo é reenviado e os pedidos já
+	 *        processados são pulados
+	 * @return 200 se concluída, 422 se interrompida (retomável pelo código devolvido)
+	 */
+	@PostMapping
+	public @ResponseBody ResponseEntity<SituacaoImportacao> importar(
+			@RequestParam(name = "importacao", required = false) Long codigo,
+			HttpServletRequest request, @AuthenticationPrincipal UsuarioSistema usuarioSistema) throws IOException {
+		FormatoImportacao formato = formato(request.getContentType());
+		Charset charset = request.getCharacterEncoding() != null
+				? Charset.forName(request.getCharacterEncoding())
+				: StandardCharsets.UTF_8;
+
+		ImportacaoVenda importacao;
+		try {
+			importacao = codigo != null
+					? importadorVendas.retomar(codigo, formato)
+					: importadorVendas.iniciar(formato, usuarioSistema != null ? usuarioSistema.getUsuario() : null);
+			importacao = importadorVendas.importar(importacao, request.getInputStream(), charset);
+		} catch (ImpossivelRetomarImportacaoException e) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+		}
+
+		HttpStatus status = importacao.isConcluida() ? HttpStatus.OK : HttpStatus.UNPROCESSABLE_ENTITY;
+		return ResponseEntity.status(status).body(importadorVendas.situacao(importacao));
+	}
+
+	@GetMapping("/{codigo}")
+	public @ResponseBody SituacaoImportacao situacao(@PathVariable Long codigo) {
+		ImportacaoVenda importacao = importacoes.findById(codigo)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Importação não encontrada"));
+		return importadorVendas.situacao(importacao);
+	}
+
+	private static FormatoImportacao formato(String contentType) {
+		return FormatoImportacao.doTipoConteudo(contentType)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE,
+						"Envie o arquivo como text/csv ou application/json"));
+	}
+
+}
@@ -33,7 +33,6 @@ import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.algaworks.brewer.controller.page.PageWrapper;
-import com.algaworks.brewer.mail.Mailer;
 import com.algaworks.brewer.service.VendaValidator;
 import com.algaworks.brewer.model.Cerveja;
 import com.algaworks.brewer.model.StatusVenda;
@@ -65,9 +64,6 @@ public class VendasController {
 	@Autowired
 	private Vendas vendas;
 
-	@Autowired
-	private Mailer mailer;
-
 	@InitBinder("venda")
 	public void inicializarValidador(WebDataBinder binder) {
 		binder.setValidator(vendaValidator);
@@ -111,7 +107,7 @@ public class VendasController {
 		// CODE QUALITY FIX: Phase 12 - Medium Priority Issue #3
 		// Extracted common logic to processarVenda() to avoid duplication
 		return processarVenda(venda, result, attributes, usuarioSistema,
-			() -> cadastroVendaService.emitir(venda, usuarioSistema.getUsuario()),
+			() -> cadastroVendaService.emitir(venda, usuarioSistema),
 			"Venda emitida com sucesso");
 	}
 
@@ -138,7 +134,13 @@ public class VendasController {
 		}
 
 		venda.setUsuario(usuarioSistema.getUsuario());
-		operacao.run();
+		try {
+			operacao.run();
+		} catch (ImpossivelEmitirVendaException e) {
+			// Ex.: estoque insuficiente - volta ao formulário com a mensagem
+			result.reject(e.getMessage(), e.getMessage());
+			return nova(venda);
+		}
 		attributes.addFlashAttribute("mensagem", mensagemSucesso);
 		return new ModelAndView("redirect:/vendas/nova");
 	}
@@ -147,7 +149,7 @@ public class VendasController {
 	public @ResponseBody String cancelar(@PathVariable("codigo") Venda venda,
 			@AuthenticationPrincipal UsuarioSistema usuarioSistema) {
 		try {
-			cadastroVendaService.cancelar(venda, usuarioSistema.getUsuario());
+			cadastroVendaService.cancelar(venda, usuarioSistema);
 		} catch (AccessDeniedException e) {
 			return "Acesso negado";
 		}
@@ -189,7 +191,7 @@ public class VendasController {
 			Venda venda = vendas.findById(codigo)
 					.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venda não encontrada"));
 
-			cadastroVendaService.emitir(venda, usuarioSistema.getUsuario());
+			cadastroVendaService.emitir(venda, usuarioSistema);
 			return "OK";
 		} catch (AccessDeniedException e) {
 			throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
@@ -207,16 +209,15 @@ public class VendasController {
 		}
 
 		venda.setUsuario(usuarioSistema.getUsuario());
-		venda = cadastroVendaService.salvar(venda);
+		venda = cadastroVendaService.salvarEEnviarResumo(venda);
 
-		enviarEmailSeClientePossuir(venda, attributes);
+		adicionarMensagemEmail(venda, attributes);
 
 		return new ModelAndView("redirect:/vendas/nova");
 	}
 
-	private void enviarEmailSeClientePossuir(Venda venda, RedirectAttributes attributes) {
+	private void adicionarMensagemEmail(Venda venda, RedirectAttributes attributes) {
 		if (venda.getCliente() != null && venda.getCliente().getEmail() != null && !venda.getCliente().getEmail().isBlank()) {
-			mailer.enviar(venda);
 			attributes.addFlashAttribute("mensagem", "Venda salva com sucesso! O e-mail será enviado em breve.");
 		} else {
 			attributes.addFlashAttribute("mensagem", "Venda salva com sucesso! Não foi possível enviar e-mail: cliente sem e-mail cadastrado.");
@@ -1,87 +1,215 @@
 package com.algaworks.brewer.controller.page;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
-import org.springframework.web.util.UriComponentsBuilder;
 
+/**
+ * Página de resultados com os links de paginação e ordenação usados pelos fragments
+ * Paginacao e Ordenacao.
+ *
+ * A query string da requisição é decomposta uma única vez no construtor; os links são
+ * montados por concatenação sobre prefixos já prontos, sem reparsear a URL a cada link.
+ * Os parâmetros são mantidos como vieram na requisição (já codificados), com '+' trocado
+ * por %20, e o parâmetro substituído (page ou sort) vai para o final da query.
+ *
+ * Aceita também {@link Slice} (pesquisa sem COUNT): o total de páginas conhecido vai só até
+ * a próxima, se houver.
+ */
 public class PageWrapper<T> {
 
-	private Page<T> page;
-	private UriComponentsBuilder uriBuilder;
+	private static final String PARAMETRO_PAGINA = "page";
+	private static final String PARAMETRO_ORDENACAO = "sort";
 
-	public PageWrapper(Page<T> page, HttpServletRequest httpServletRequest) {
+	private final Slice<T> page;
+	private final String prefixoPagina;
+	private final String prefixoOrdenacao;
+
+	private List<LinkPagina> links;
+	private Map<String, LinkOrdenacao> ordenacoes;
+
+	public PageWrapper(Slice<T> page, HttpServletRequest httpServletRequest) {
 		this.page = page;
-		String httpUrl = httpServletRequest.getRequestURL().append(
-				httpServletRequest.getQueryString() != null ? "?" + httpServletRequest.getQueryString() : "")
-				.toString().replaceAll("\\+", "%20");
-		this.uriBuilder = UriComponentsBuilder.fromHttpUrl(httpUrl);
+
+		String url = httpServletRequest.getRequestURL().toString();
+		List<String> parametros = parametros(httpServletRequest.getQueryString());
+
+		this.prefixoPagina = prefixo(url, parametros, PARAMETRO_PAGINA);
+		this.prefixoOrdenacao = prefixo(url, parametros, PARAMETRO_ORDENACAO);
 	}
-	
+
 	public List<T> getConteudo() {
 		return page.getContent();
 	}
-	
+
 	public boolean isVazia() {
 		return page.getContent().isEmpty();
 	}
-	
+
 	public int getAtual() {
 		return page.getNumber();
 	}
-	
+
 	public boolean isPrimeira() {
 		return page.isFirst();
 	}
-	
+
 	public boolean isUltima() {
-		return page.isLast();
+		return !page.hasNext();
 	}
-	
+
 	public int getTotal() {
-		return page.getTotalPages();
+		if (page instanceof Page<T> pagina) {
+			return pagina.getTotalPages();
+		}
+		return page.getNumber() + (page.hasNext() ? 2 : 1);
 	}
-	
+
 	public String urlParaPagina(int pagina) {
-		return uriBuilder.replaceQueryParam("page", pagina).build(true).encode().toUriString();
+		return prefixoPagina + pagina;
+	}
+
+	/**
+	 * Links de todas as páginas, montados uma vez por requisição.
+	 */
+	public List<LinkPagina> getLinks() {
+		if (links == null) {
+			int total = getTotal();
+			int atual = getAtual();
+			List<LinkPagina> novosLinks = new ArrayList<>(total);
+			for (int numero = 0; numero < total; numero++) {
+				novosLinks.add(new LinkPagina(numero + 1, urlParaPagina(numero), numero == atual));
+			}
+			links = Collections.unmodifiableList(novosLinks);
+		}
+		return links;
 	}
-	
+
 	public String urlOrdenada(String propriedade) {
-		UriComponentsBuilder uriBuilderOrder = UriComponentsBuilder
-				.fromUriString(uriBuilder.build(true).encode().toUriString());
-		
-		String valorSort = String.format("%s,%s", propriedade, inverterDirecao(propriedade));
-		
-		return uriBuilderOrder.replaceQueryParam("sort", valorSort).build(true).encode().toUriString();
-	}
-	
+		return prefixoOrdenacao + propriedade + "," + inverterDirecao(propriedade);
+	}
+
+	/**
+	 * URL, estado e direção da ordenação de uma coluna, calculados uma vez por propriedade.
+	 */
+	public LinkOrdenacao ordenacao(String propriedade) {
+		if (ordenacoes == null) {
+			ordenacoes = new HashMap<>();
+		}
+		return ordenacoes.computeIfAbsent(propriedade, p -> new LinkOrdenacao(urlOrdenada(p), ordenada(p), descendente(p)));
+	}
+
 	public String inverterDirecao(String propriedade) {
 		String direcao = "asc";
-		
+
 		Order order = page.getSort() != null ? page.getSort().getOrderFor(propriedade) : null;
 		if (order != null) {
 			direcao = Sort.Direction.ASC.equals(order.getDirection()) ? "desc" : "asc";
 		}
-		
+
 		return direcao;
 	}
-	
+
 	public boolean descendente(String propriedade) {
 		return inverterDirecao(propriedade).equals("asc");
 	}
-	
+
 	public boolean ordenada(String propriedade) {
-		Order order = page.getSort() != null ? page.getSort().getOrderFor(propriedade) : null; 
-		
-		if (order == null) {
-			return false;
+		return page.getSort() != null && page.getSort().getOrderFor(propriedade) != null;
+	}
+
+	private static List<String> parametros(String queryString) {
+		List<String> parametros = new ArrayList<>();
+		if (queryString == null || queryString.isEmpty()) {
+			return parametros;
+		}
+
+		int inicio = 0;
+		while (inicio <= queryString.length()) {
+			int fim = queryString.indexOf('&', inicio);
+			if (fim < 0) {
+				fim = queryString.length();
+			}
+			if (fim > inicio) {
+				parametros.add(queryString.substring(inicio, fim).replace("+", "%20"));
+			}
+			inicio = fim + 1;
 		}
-		
-		return page.getSort().getOrderFor(propriedade) != null ? true : false;
+		return parametros;
 	}
-	
+
+	private static String prefixo(String url, List<String> parametros, String parametroSubstituido) {
+		StringBuilder prefixo = new StringBuilder(url.length() + 64).append(url).append('?');
+		for (String parametro : parametros) {
+			if (!nome(parametro).equals(parametroSubstituido)) {
+				prefixo.append(parametro).append('&');
+			}
+		}
+		return prefixo.append(parametroSubstituido).append('=').toString();
+	}
+
+	private static String nome(String parametro) {
+		int igual = parametro.indexOf('=');
+		return igual < 0 ? parametro : parametro.substring(0, igual);
+	}
+
+	public static final class LinkPagina {
+
+		private final int numero;
+		private final String url;
+		private final boolean atual;
+
+		LinkPagina(int numero, String url, boolean atual) {
+			this.numero = numero;
+			this.url = url;
+			this.atual = atual;
+		}
+
+		public int getNumero() {
+			return numero;
+		}
+
+		public String getUrl() {
+			return url;
+		}
+
+		public boolean isAtual() {
+			return atual;
+		}
+	}
+
+	public static final class LinkOrdenacao {
+
+		private final String url;
+		private final boolean ordenada;
+		private final boolean descendente;
+
+		LinkOrdenacao(String url, boolean ordenada, boolean descendente) {
+			this.url = url;
+			this.ordenada = ordenada;
+			this.descendente = descendente;
+		}
+
+		public String getUrl() {
+			return url;
+		}
+
+		public boolean isOrdenada() {
+			return ordenada;
+		}
+
+		public boolean isDescendente() {
+			return descendente;
+		}
+	}
+
 }
@@ -0,0 +1,40 @@
+package com.algaworks.brewer.dto;
+
+public class NivelEstoque {
+
+	private Long codigo;
+	private int quantidade;
+	private Integer estoqueMinimo;
+	private long ultimoLancamento;
+
+	public NivelEstoque(Long codigo, Integer quantidade, Integer estoqueMinimo, Long ultimoLancamento) {
+		this.codigo = codigo;
+		this.quantidade = quantidade != null ? quantidade : 0;
+		this.estoqueMinimo = estoqueMinimo;
+		this.ultimoLancamento = ultimoLancamento != null ? ultimoLancamento : 0L;
+	}
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	/**
+	 * @return ponto de reposição da cerveja, ou null se não definido
+	 */
+	public Integer getEstoqueMinimo() {
+		return estoqueMinimo;
+	}
+
+	/**
+	 * @return maior código de lançamento da cerveja no livro de estoque quando a quantidade
+	 *         foi lida (0 se não houver): os lançamentos até ele já estão na quantidade
+	 */
+	public long getUltimoLancamento() {
+		return ultimoLancamento;
+	}
+
+}
@@ -0,0 +1,32 @@
+package com.algaworks.brewer.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * O mínimo de uma cerveja para montar um item importado: código e preço de tabela.
+ */
+public class ReferenciaCerveja {
+
+	private Long codigo;
+	private String sku;
+	private BigDecimal valor;
+
+	public ReferenciaCerveja(Long codigo, String sku, BigDecimal valor) {
+		this.codigo = codigo;
+		this.sku = sku;
+		this.valor = valor;
+	}
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public String getSku() {
+		return sku;
+	}
+
+	public BigDecimal getValor() {
+		return valor;
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.algaworks.brewer.dto;
+
+public class ReferenciaCliente {
+
+	private Long codigo;
+	private String cpfOuCnpj;
+
+	public ReferenciaCliente(Long codigo, String cpfOuCnpj) {
+		this.codigo = codigo;
+		this.cpfOuCnpj = cpfOuCnpj;
+	}
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	/**
+	 * @return CPF/CNPJ sem formatação, como gravado no banco
+	 */
+	public String getCpfOuCnpj() {
+		return cpfOuCnpj;
+	}
+
+}
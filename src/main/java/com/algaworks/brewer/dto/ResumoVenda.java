@@ -0,0 +1,200 @@
+package com.algaworks.brewer.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.model.Venda;
+
+/**
+ * Cópia imutável dos dados da venda usados no e-mail de resumo (mail/ResumoVenda).
+ *
+ * Montada enquanto a venda ainda está na transação, para que a renderização
+ * não dependa de associações lazy nem de uma sessão Hibernate aberta.
+ * Os nomes das propriedades seguem os caminhos usados pelo template.
+ */
+public final class ResumoVenda {
+
+	private final Long codigo;
+	private final LocalDate dataCriacao;
+	private final StatusVenda status;
+	private final ClienteResumo cliente;
+	private final List<ItemResumo> itens;
+	private final BigDecimal valorTotalItens;
+	private final BigDecimal valorFrete;
+	private final BigDecimal valorDesconto;
+	private final BigDecimal valorTotal;
+	private final LocalDate dataEntrega;
+	private final LocalTime horarioEntrega;
+	private final String observacao;
+
+	private ResumoVenda(Venda venda) {
+		this.codigo = venda.getCodigo();
+		this.dataCriacao = venda.getDataCriacao();
+		this.status = venda.getStatus();
+		this.cliente = ClienteResumo.de(venda.getCliente());
+		this.itens = venda.getItens().stream().map(ItemResumo::de).toList();
+		this.valorTotalItens = venda.getValorTotalItens();
+		this.valorFrete = venda.getValorFrete();
+		this.valorDesconto = venda.getValorDesconto();
+		this.valorTotal = venda.getValorTotal();
+		this.observacao = venda.getObservacao();
+
+		// Campos transientes se perdem no merge; recupera a partir da coluna persistida
+		if (venda.getDataEntrega() != null) {
+			this.dataEntrega = venda.getDataEntrega();
+			this.horarioEntrega = venda.getHorarioEntrega();
+		} else if (venda.getDataHoraEntrega() != null) {
+			this.dataEntrega = venda.getDataHoraEntrega().toLocalDate();
+			this.horarioEntrega = venda.getDataHoraEntrega().toLocalTime();
+		} else {
+			this.dataEntrega = null;
+			this.horarioEntrega = null;
+		}
+	}
+
+	public static ResumoVenda de(Venda venda) {
+		return new ResumoVenda(venda);
+	}
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public LocalDate getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public StatusVenda getStatus() {
+		return status;
+	}
+
+	public ClienteResumo getCliente() {
+		return cliente;
+	}
+
+	public List<ItemResumo> getItens() {
+		return itens;
+	}
+
+	public BigDecimal getValorTotalItens() {
+		return valorTotalItens;
+	}
+
+	public BigDecimal getValorFrete() {
+		return valorFrete;
+	}
+
+	public BigDecimal getValorDesconto() {
+		return valorDesconto;
+	}
+
+	public BigDecimal getValorTotal() {
+		return valorTotal;
+	}
+
+	public LocalDate getDataEntrega() {
+		return dataEntrega;
+	}
+
+	public LocalTime getHorarioEntrega() {
+		return horarioEntrega;
+	}
+
+	public String getObservacao() {
+		return observacao;
+	}
+
+	public static final class ClienteResumo {
+
+		private final String nome;
+		private final String email;
+		private final String telefone;
+
+		private ClienteResumo(String nome, String email, String telefone) {
+			this.nome = nome;
+			this.email = email;
+			this.telefone = telefone;
+		}
+
+		static ClienteResumo de(Cliente cliente) {
+			return new ClienteResumo(cliente.getNome(), cliente.getEmail(), cliente.getTelefone());
+		}
+
+		public String getNome() {
+			return nome;
+		}
+
+		public String getEmail() {
+			return email;
+		}
+
+		public String getTelefone() {
+			return telefone;
+		}
+	}
+
+	public static final class ItemResumo {
+
+		private final CervejaResumo cerveja;
+		private final Integer quantidade;
+		private final BigDecimal valorUnitario;
+		private final BigDecimal valorTotal;
+
+		private ItemResumo(ItemVenda item) {
+			this.cerveja = CervejaResumo.de(item.getCerveja());
+			this.quantidade = item.getQuantidade();
+			this.valorUnitario = item.getValorUnitario();
+			this.valorTotal = item.getValorTotal();
+		}
+
+		static ItemResumo de(ItemVenda item) {
+			return new ItemResumo(item);
+		}
+
+		public CervejaResumo getCerveja() {
+			return cerveja;
+		}
+
+		public Integer getQuantidade() {
+			return quantidade;
+		}
+
+		public BigDecimal getValorUnitario() {
+			return valorUnitario;
+		}
+
+		public BigDecimal getValorTotal() {
+			return valorTotal;
+		}
+	}
+
+	public static final class CervejaResumo {
+
+		private final String sku;
+		private final String nome;
+
+		private CervejaResumo(String sku, String nome) {
+			this.sku = sku;
+			this.nome = nome;
+		}
+
+		static CervejaResumo de(Cerveja cerveja) {
+			return new CervejaResumo(cerveja.getSku(), cerveja.getNome());
+		}
+
+		public String getSku() {
+			return sku;
+		}
+
+		public String getNome() {
+			return nome;
+		}
+	}
+
+}
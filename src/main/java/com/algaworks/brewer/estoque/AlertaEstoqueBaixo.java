@@ -0,0 +1,7 @@
+package com.algaworks.brewer.estoque;
+
+/**
+ * Cerveja que acabou de chegar ao ponto de reposição.
+ */
+public record AlertaEstoqueBaixo(long codigoCerveja, int quantidade, int estoqueMinimo) {
+}
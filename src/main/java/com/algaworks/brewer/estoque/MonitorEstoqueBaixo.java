@@ -0,0 +1,131 @@
+package com.algaworks.brewer.estoque;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.algaworks.brewer.dto.NivelEstoque;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.service.event.cerveja.CervejaSalvaEvent;
+import com.algaworks.brewer.service.event.cerveja.CervejasImportadasEvent;
+import com.algaworks.brewer.service.event.venda.ConsumidorEventoVenda;
+import com.algaworks.brewer.service.event.venda.VendaCanceladaEvent;
+import com.algaworks.brewer.service.event.venda.VendaEmitidaEvent;
+import com.algaworks.brewer.service.event.venda.VendaEvent;
+
+/**
+ * Acompanha o estoque das cervejas vendidas e avisa quando alguma chega ao ponto de
+ * reposição (estoque_minimo, ou brewer.estoque.alerta.limite-padrao).
+ *
+ * O nível é mantido em memória e atualizado pelos eventos de venda, sem consultas
+ * periódicas: cada evento custa o número de itens da venda, não o tamanho do catálogo.
+ * Uma cerveja só é lida do banco na primeira vez que aparece, depois de alterada no
+ * cadastro ou quando a leitura passa de brewer.estoque.alerta.validade - o que também
+ * corrige a diferença das vendas feitas por outras instâncias.
+ *
+ * Cada leitura guarda o último lançamento da cerveja no livro (movimentacao_estoque), e
+ * cada evento traz o lançamento da sua venda. Os eventos de vendas diferentes correm em
+ * raias diferentes, então uma leitura feita na raia de A pode já incluir a venda B cujo
+ * evento ainda não chegou: quando chegar, o lançamento de B está abaixo da marca e o
+ * evento é ignorado, em vez de descontar B duas vezes. A marca só muda numa leitura;
+ * os eventos não a avançam, porque entre raias não há ordem garantida.
+ *
+ * O alerta sai uma vez por passagem para baixo do limite e só é rearmado quando o
+ * estoque volta a ficar acima dele (cancelamento ou reposição no cadastro).
+ */
+@Component
+@ConditionalOnProperty(name = "brewer.estoque.alerta.habilitado", havingValue = "true", matchIfMissing = true)
+public class MonitorEstoqueBaixo implements ConsumidorEventoVenda {
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private NotificadorEstoqueBaixo notificador;
+
+	@Autowired
+	private Clock clock;
+
+	@Value("${brewer.estoque.alerta.limite-padrao:10}")
+	private int limitePadrao;
+
+	@Value("${brewer.estoque.alerta.validade:5m}")
+	private Duration validade;
+
+	private final TabelaEstoque tabela = new TabelaEstoque(1024);
+
+	@Override
+	public void consumir(VendaEvent evento) {
+		if (evento instanceof VendaEmitidaEvent emitida) {
+			aplicar(emitida.getQuantidades(), emitida.getLancamentos(), -1);
+		} else if (evento instanceof VendaCanceladaEvent cancelada) {
+			aplicar(cancelada.getQuantidades(), cancelada.getLancamentos(), 1);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void aoSalvarCerveja(CervejaSalvaEvent evento) {
+		if (evento.getCerveja().getCodigo() != null) {
+			synchronized (tabela) {
+				tabela.invalidar(evento.getCerveja().getCodigo());
+			}
+		}
+	}
+
+	/** O lote inteiro da importação de catálogo num lock só */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void aoImportarCervejas(CervejasImportadasEvent evento) {
+		synchronized (tabela) {
+			evento.getCodigos().forEach(tabela::invalidar);
+		}
+	}
+
+	private void aplicar(Map<Long, Integer> quantidades, Map<Long, Long> lancamentos, int sinal) {
+		long agora = clock.millis();
+
+		List<Long> desatualizadas = new ArrayList<>();
+		synchronized (tabela) {
+			for (Long codigo : quantidades.keySet()) {
+				if (!tabela.atual(codigo, agora - validade.toMillis())) {
+					desatualizadas.add(codigo);
+				}
+			}
+		}
+		// Fora do lock; o evento chega depois do commit, então o banco já tem esta venda
+		List<NivelEstoque> lidas = desatualizadas.isEmpty() ? List.of() : cervejas.niveisEstoque(desatualizadas);
+
+		List<AlertaEstoqueBaixo> alertas = new ArrayList<>();
+		synchronized (tabela) {
+			for (NivelEstoque nivel : lidas) {
+				int limite = nivel.getEstoqueMinimo() != null ? nivel.getEstoqueMinimo() : limitePadrao;
+				tabela.carregar(nivel.getCodigo(), nivel.getQuantidade(), limite, nivel.getUltimoLancamento(), agora);
+				if (tabela.avaliar(nivel.getCodigo())) {
+					alertas.add(alerta(nivel.getCodigo()));
+				}
+			}
+			// A leitura acima já inclui esta venda: o lançamento dela fica abaixo da marca
+			quantidades.forEach((codigo, quantidade) -> {
+				Long lancamento = lancamentos.get(codigo);
+				if (lancamento != null && tabela.somar(codigo, sinal * quantidade, lancamento)) {
+					alertas.add(alerta(codigo));
+				}
+			});
+		}
+
+		alertas.forEach(notificador::notificar);
+	}
+
+	private AlertaEstoqueBaixo alerta(long codigo) {
+		return new AlertaEstoqueBaixo(codigo, tabela.quantidade(codigo), tabela.limite(codigo));
+	}
+
+}
@@ -0,0 +1,96 @@
+package com.algaworks.brewer.estoque;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.algaworks.brewer.mail.Mailer;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.repository.Cervejas;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Entrega os alertas de estoque baixo por e-mail (fila de e-mails) e/ou webhook, conforme
+ * brewer.estoque.alerta.email e brewer.estoque.alerta.webhook-url. Sem nenhum dos dois,
+ * o alerta só é logado.
+ */
+@Component
+public class NotificadorEstoqueBaixo {
+
+	private static final Logger logger = LoggerFactory.getLogger(NotificadorEstoqueBaixo.class);
+
+	private static final Duration TIMEOUT_WEBHOOK = Duration.ofSeconds(5);
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private Mailer mailer;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${brewer.estoque.alerta.email:}")
+	private String email;
+
+	@Value("${brewer.estoque.alerta.webhook-url:}")
+	private String webhookUrl;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT_WEBHOOK).build();
+
+	public void notificar(AlertaEstoqueBaixo alerta) {
+		Cerveja cerveja = cervejas.findById(alerta.codigoCerveja()).orElse(null);
+		if (cerveja == null) {
+			return;
+		}
+
+		logger.warn("Estoque baixo: {} ({}) com {} unidade(s), ponto de reposição {}",
+				cerveja.getNome(), cerveja.getSku(), alerta.quantidade(), alerta.estoqueMinimo());
+
+		if (StringUtils.hasText(email)) {
+			mailer.enviarAlertaEstoque(email, cerveja, alerta.quantidade(), alerta.estoqueMinimo());
+		}
+		if (StringUtils.hasText(webhookUrl)) {
+			enviarWebhook(cerveja, alerta);
+		}
+	}
+
+	private void enviarWebhook(Cerveja cerveja, AlertaEstoqueBaixo alerta) {
+		Map<String, Object> corpo = new LinkedHashMap<>();
+		corpo.put("codigo", cerveja.getCodigo());
+		corpo.put("sku", cerveja.getSku());
+		corpo.put("nome", cerveja.getNome());
+		corpo.put("quantidade", alerta.quantidade());
+		corpo.put("estoqueMinimo", alerta.estoqueMinimo());
+
+		try {
+			HttpRequest requisicao = HttpRequest.newBuilder(URI.create(webhookUrl))
+					.timeout(TIMEOUT_WEBHOOK)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+					.build();
+			httpClient.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((resposta, erro) -> {
+						if (erro != null || resposta.statusCode() >= 300) {
+							logger.error("Falha no webhook de estoque baixo para {}: {}", cerveja.getSku(),
+									erro != null ? erro.getMessage() : "HTTP " + resposta.statusCode());
+						}
+					});
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			logger.error("Falha ao montar webhook de estoque baixo para {}: {}", cerveja.getSku(), e.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.algaworks.brewer.estoque;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+import com.algaworks.brewer.repository.MovimentacoesEstoque;
+
+/**
+ * Consolida as movimentações do livro de estoque em estoque_diario.
+ *
+ * Cada lote roda numa transação curta: reserva as movimentações, soma entradas e saídas
+ * por cerveja e dia, faz um upsert por par e marca o lote como projetado. Se a
+ * transação cair no meio, nada fica marcado e o lote é reprojetado inteiro.
+ */
+@Component
+public class ProjecaoEstoque {
+
+	@Autowired
+	private MovimentacoesEstoque movimentacoes;
+
+	@Value("${brewer.estoque.projecao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	/**
+	 * @return quantidade de movimentações projetadas
+	 */
+	@Transactional
+	public int projetarLote() {
+		List<MovimentacaoEstoque> lote = movimentacoes.reservarNaoProjetadas(tamanhoLote);
+
+		consolidar(lote).forEach((chave, total) ->
+				movimentacoes.acumularDiario(chave.cerveja(), chave.data(), total.entradas, total.saidas));
+		lote.forEach(movimentacao -> movimentacao.setProjetada(true));
+
+		return lote.size();
+	}
+
+	public int getTamanhoLote() {
+		return tamanhoLote;
+	}
+
+	/**
+	 * Soma por cerveja e dia, em ordem de chave: duas instâncias projetando ao mesmo tempo
+	 * travam as linhas de estoque_diario na mesma ordem.
+	 */
+	static Map<ChaveDiaria, TotalDiario> consolidar(List<MovimentacaoEstoque> lote) {
+		Map<ChaveDiaria, TotalDiario> totais = new TreeMap<>();
+		for (MovimentacaoEstoque movimentacao : lote) {
+			ChaveDiaria chave = new ChaveDiaria(movimentacao.getCodigoCerveja(),
+					movimentacao.getDataHora().toLocalDate());
+			TotalDiario total = totais.computeIfAbsent(chave, c -> new TotalDiario());
+			if (movimentacao.getQuantidade() >= 0) {
+				total.entradas += movimentacao.getQuantidade();
+			} else {
+				total.saidas -= movimentacao.getQuantidade();
+			}
+		}
+		return totais;
+	}
+
+	record ChaveDiaria(Long cerveja, LocalDate data) implements Comparable<ChaveDiaria> {
+
+		@Override
+		public int compareTo(ChaveDiaria outra) {
+			int porCerveja = cerveja.compareTo(outra.cerveja);
+			return porCerveja != 0 ? porCerveja : data.compareTo(outra.data);
+		}
+	}
+
+	static class TotalDiario {
+		int entradas;
+		int saidas;
+	}
+
+}
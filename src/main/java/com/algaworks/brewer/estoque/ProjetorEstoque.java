@@ -0,0 +1,39 @@
+package com.algaworks.brewer.estoque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica o livro de estoque às consolidações diárias em segundo plano.
+ *
+ * Como no DespachanteEmail, enquanto os lotes vierem cheios o ciclo continua, para que
+ * um acúmulo (fim de dia, projetor parado) não espere vários agendamentos.
+ */
+@Component
+@ConditionalOnProperty(name = "brewer.estoque.projecao.habilitada", havingValue = "true", matchIfMissing = true)
+public class ProjetorEstoque {
+
+	private static final Logger logger = LoggerFactory.getLogger(ProjetorEstoque.class);
+
+	@Autowired
+	private ProjecaoEstoque projecaoEstoque;
+
+	@Scheduled(fixedDelayString = "${brewer.estoque.projecao.intervalo:10s}")
+	public void projetar() {
+		int projetadas;
+		int total = 0;
+		do {
+			projetadas = projecaoEstoque.projetarLote();
+			total += projetadas;
+		} while (projetadas >= projecaoEstoque.getTamanhoLote());
+
+		if (total > 0) {
+			logger.debug("{} movimentações de estoque projetadas", total);
+		}
+	}
+
+}
@@ -0,0 +1,182 @@
+package com.algaworks.brewer.estoque;
+
+import java.util.Arrays;
+
+/**
+ * Nível de estoque, ponto de reposição e estado de alerta por código de cerveja.
+ *
+ * Endereçamento aberto com sondagem linear sobre arrays primitivos: sem Long/Integer
+ * boxados nem um objeto por entrada, e cada operação custa O(1) independente do
+ * tamanho do catálogo. Não é thread-safe; o MonitorEstoqueBaixo sincroniza o acesso.
+ */
+final class TabelaEstoque {
+
+	private static final long VAZIO = 0L;
+
+	private long[] codigos;
+	private int[] quantidades;
+	private int[] limites;
+	private long[] carregadaEm;
+	private long[] lidaAte;
+	private boolean[] alertadas;
+	private int tamanho;
+
+	TabelaEstoque(int capacidadeInicial) {
+		alocar(Integer.highestOneBit(Math.max(capacidadeInicial, 8) - 1) << 1);
+	}
+
+	/**
+	 * Grava o nível lido do banco. O estado de alerta de uma cerveja já conhecida é
+	 * mantido, para que a recarga não repita o alerta.
+	 *
+	 * @param ultimoLancamento maior lançamento do livro já incluído na quantidade lida
+	 */
+	void carregar(long codigo, int quantidade, int limite, long ultimoLancamento, long agora) {
+		int posicao = posicaoParaGravar(codigo);
+		quantidades[posicao] = quantidade;
+		limites[posicao] = limite;
+		lidaAte[posicao] = ultimoLancamento;
+		carregadaEm[posicao] = agora;
+	}
+
+	/**
+	 * @return true se a cerveja está na tabela e foi carregada em ou depois de {@code desde}
+	 */
+	boolean atual(long codigo, long desde) {
+		int posicao = posicao(codigo);
+		return posicao >= 0 && carregadaEm[posicao] >= desde;
+	}
+
+	/**
+	 * Força a releitura da cerveja no próximo evento (estoque alterado fora de uma venda).
+	 */
+	void invalidar(long codigo) {
+		int posicao = posicao(codigo);
+		if (posicao >= 0) {
+			carregadaEm[posicao] = Long.MIN_VALUE;
+		}
+	}
+
+	/**
+	 * Aplica a variação e avalia o ponto de reposição. Um lançamento até o último da
+	 * leitura já está na quantidade e é ignorado.
+	 *
+	 * @return true só na passagem para baixo do limite; acima dele o alerta é rearmado
+	 */
+	boolean somar(long codigo, int variacao, long lancamento) {
+		int posicao = posicao(codigo);
+		if (posicao < 0 || lancamento <= lidaAte[posicao]) {
+			return false;
+		}
+		quantidades[posicao] += variacao;
+		return avaliar(posicao);
+	}
+
+	/**
+	 * Avalia o ponto de reposição sem alterar a quantidade (logo após carregar do banco).
+	 */
+	boolean avaliar(long codigo) {
+		int posicao = posicao(codigo);
+		return posicao >= 0 && avaliar(posicao);
+	}
+
+	int quantidade(long codigo) {
+		return quantidades[posicao(codigo)];
+	}
+
+	int limite(long codigo) {
+		return limites[posicao(codigo)];
+	}
+
+	int tamanho() {
+		return tamanho;
+	}
+
+	private boolean avaliar(int posicao) {
+		if (quantidades[posicao] > limites[posicao]) {
+			alertadas[posicao] = false;
+			return false;
+		}
+		if (alertadas[posicao]) {
+			return false;
+		}
+		alertadas[posicao] = true;
+		return true;
+	}
+
+	private int posicao(long codigo) {
+		int mascara = codigos.length - 1;
+		for (int i = espalhar(codigo) & mascara; codigos[i] != VAZIO; i = (i + 1) & mascara) {
+			if (codigos[i] == codigo) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private int posicaoParaGravar(long codigo) {
+		if (codigo == VAZIO) {
+			throw new IllegalArgumentException("Código de cerveja inválido: " + codigo);
+		}
+		int existente = posicao(codigo);
+		if (existente >= 0) {
+			return existente;
+		}
+		if ((tamanho + 1) * 2 > codigos.length) {
+			crescer();
+		}
+		int mascara = codigos.length - 1;
+		int i = espalhar(codigo) & mascara;
+		while (codigos[i] != VAZIO) {
+			i = (i + 1) & mascara;
+		}
+		codigos[i] = codigo;
+		carregadaEm[i] = Long.MIN_VALUE;
+		tamanho++;
+		return i;
+	}
+
+	private void crescer() {
+		long[] antigosCodigos = codigos;
+		int[] antigasQuantidades = quantidades;
+		int[] antigosLimites = limites;
+		long[] antigasCargas = carregadaEm;
+		long[] antigasLeituras = lidaAte;
+		boolean[] antigosAlertas = alertadas;
+
+		alocar(antigosCodigos.length * 2);
+		int mascara = codigos.length - 1;
+		for (int j = 0; j < antigosCodigos.length; j++) {
+			if (antigosCodigos[j] == VAZIO) {
+				continue;
+			}
+			int i = espalhar(antigosCodigos[j]) & mascara;
+			while (codigos[i] != VAZIO) {
+				i = (i + 1) & mascara;
+			}
+			codigos[i] = antigosCodigos[j];
+			quantidades[i] = antigasQuantidades[j];
+			limites[i] = antigosLimites[j];
+			carregadaEm[i] = antigasCargas[j];
+			lidaAte[i] = antigasLeituras[j];
+			alertadas[i] = antigosAlertas[j];
+		}
+	}
+
+	private void alocar(int capacidade) {
+		codigos = new long[capacidade];
+		quantidades = new int[capacidade];
+		limites = new int[capacidade];
+		carregadaEm = new long[capacidade];
+		lidaAte = new long[capacidade];
+		alertadas = new boolean[capacidade];
+		Arrays.fill(carregadaEm, Long.MIN_VALUE);
+	}
+
+	/** Códigos são sequenciais: mistura os bits para não formar longas sequências de colisão */
+	private static int espalhar(long codigo) {
+		long h = codigo * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException;
+
+/**
+ * CSV separado por ponto e vírgula, com cabeçalho, lido uma linha por vez. As colunas
+ * são encontradas pelo nome, em qualquer ordem e sem diferenciar maiúsculas nem "_"
+ * (data_entrega e dataEntrega são a mesma coluna). Campos podem vir entre aspas (aspas
+ * internas dobradas), mas não podem quebrar linha.
+ */
+final class ArquivoCsv implements ArquivoRegistros {
+
+	private static final char SEPARADOR = ';';
+	private static final char ASPAS = '"';
+
+	private final BufferedReader entrada;
+	private final Map<String, Integer> colunas = new HashMap<>();
+
+	private int linha;
+	private List<String> campos;
+
+	ArquivoCsv(Reader entrada, String... obrigatorias) throws IOException {
+		this.entrada = new BufferedReader(entrada, 64 * 1024);
+		lerCabecalho(obrigatorias);
+	}
+
+	/**
+	 * Avança para a próxima linha não vazia.
+	 */
+	@Override
+	public boolean avancar() throws IOException {
+		String texto;
+		do {
+			texto = entrada.readLine();
+			linha++;
+		} while (texto != null && texto.isBlank());
+
+		campos = texto != null ? separar(texto) : null;
+		return campos != null;
+	}
+
+	@Override
+	public String campo(String nome) {
+		Integer indice = colunas.get(normalizar(nome));
+		return campos != null && indice != null && indice < campos.size()
+				? ConversorCampos.texto(campos.get(indice))
+				: null;
+	}
+
+	/**
+	 * @return número da linha atual no arquivo, contando o cabeçalho
+	 */
+	@Override
+	public int linha() {
+		return linha;
+	}
+
+	@Override
+	public void close() throws IOException {
+		entrada.close();
+	}
+
+	private void lerCabecalho(String[] obrigatorias) throws IOException {
+		String cabecalho = entrada.readLine();
+		linha++;
+		if (cabecalho == null) {
+			throw new ArquivoImportacaoInvalidoException("Arquivo vazio");
+		}
+		if (!cabecalho.isEmpty() && cabecalho.charAt(0) == '\uFEFF') {
+			cabecalho = cabecalho.substring(1);
+		}
+
+		List<String> nomes = separar(cabecalho);
+		for (int i = 0; i < nomes.size(); i++) {
+			colunas.put(normalizar(nomes.get(i)), i);
+		}
+		for (String obrigatoria : obrigatorias) {
+			if (!colunas.containsKey(normalizar(obrigatoria))) {
+				throw new ArquivoImportacaoInvalidoException("Coluna obrigatória ausente no cabeçalho: " + obrigatoria);
+			}
+		}
+	}
+
+	private static String normalizar(String nome) {
+		return nome.trim().replace("_", "").toLowerCase(Locale.ROOT);
+	}
+
+	static List<String> separar(String linha) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder atual = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < linha.length(); i++) {
+			char c = linha.charAt(i);
+			if (entreAspas) {
+				if (c == ASPAS && i + 1 < linha.length() && linha.charAt(i + 1) == ASPAS) {
+					atual.append(ASPAS);
+					i++;
+				} else if (c == ASPAS) {
+					entreAspas = false;
+				} else {
+					atual.append(c);
+				}
+			} else if (c == ASPAS) {
+				entreAspas = true;
+			} else if (c == SEPARADOR) {
+				campos.add(atual.toString());
+				atual.setLength(0);
+			} else {
+				atual.append(c);
+			}
+		}
+		campos.add(atual.toString());
+		return campos;
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Arquivo de registros planos, com os campos encontrados pelo nome: uma linha do CSV
+ * (ArquivoCsv) ou um objeto do array JSON (ObjetosJson). Os leitores de cadastro
+ * (cervejas, clientes) leem os dois formatos pela mesma interface.
+ */
+interface ArquivoRegistros extends Closeable {
+
+	/**
+	 * Avança para o próximo registro.
+	 *
+	 * @return false no fim do arquivo
+	 */
+	boolean avancar() throws IOException;
+
+	/**
+	 * @param nome nome da coluna no CSV (teor_alcoolico); no JSON vale o camelCase
+	 * @return o campo do registro atual sem espaços nas pontas, ou null se vazio ou ausente
+	 */
+	String campo(String nome);
+
+	/**
+	 * @return linha onde começa o registro atual
+	 */
+	int linha();
+
+}
@@ -0,0 +1,65 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+import com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Array JSON de objetos lido em streaming: só o objeto corrente vira árvore em memória.
+ * Como cada objeto é convertido campo a campo, um tipo errado vira erro do registro sem
+ * perder a posição no arquivo; JSON malformado interrompe a leitura.
+ */
+final class ArrayJson implements Closeable {
+
+	private final JsonParser parser;
+	private int linha;
+
+	ArrayJson(ObjectMapper objectMapper, Reader entrada, String descricao) throws IOException {
+		this.parser = objectMapper.createParser(entrada);
+		if (parser.nextToken() != JsonToken.START_ARRAY) {
+			throw new ArquivoImportacaoInvalidoException("O arquivo JSON deve ser um array de " + descricao);
+		}
+	}
+
+	/**
+	 * @return o próximo objeto do array, ou null no fim
+	 */
+	JsonNode proximo() throws IOException {
+		JsonToken token = parser.nextToken();
+		if (token == null || token == JsonToken.END_ARRAY) {
+			return null;
+		}
+		linha = parser.currentTokenLocation().getLineNr();
+		if (token != JsonToken.START_OBJECT) {
+			throw new ArquivoImportacaoInvalidoException("Linha " + linha + ": esperado um objeto JSON");
+		}
+		return parser.readValueAsTree();
+	}
+
+	/**
+	 * @return linha onde começa o objeto atual
+	 */
+	int linha() {
+		return linha;
+	}
+
+	@Override
+	public void close() throws IOException {
+		parser.close();
+	}
+
+	/**
+	 * @return o valor simples do campo como texto, ou null se ausente, nulo ou objeto/array
+	 */
+	static String texto(JsonNode no, String campo) {
+		JsonNode valor = no.get(campo);
+		return valor == null || valor.isNull() || valor.isContainerNode() ? null : ConversorCampos.texto(valor.asText());
+	}
+
+}
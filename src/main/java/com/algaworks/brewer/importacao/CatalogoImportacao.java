@@ -0,0 +1,107 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.algaworks.brewer.dto.ReferenciaCerveja;
+import com.algaworks.brewer.dto.ReferenciaCliente;
+import com.algaworks.brewer.model.TipoPessoa;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.Clientes;
+
+/**
+ * Cache de SKUs e clientes de uma importação. Antes de cada lote, as chaves ainda não
+ * vistas são buscadas numa consulta IN por tipo; as que não existem também ficam
+ * guardadas (valor nulo), para não voltar ao banco a cada pedido com o mesmo SKU errado.
+ * Vive só durante a importação, então preço e cadastro alterados depois valem na próxima.
+ */
+final class CatalogoImportacao {
+
+	/** Limite de parâmetros por consulta IN */
+	static final int MAXIMO_POR_CONSULTA = 1000;
+
+	private final Cervejas cervejas;
+	private final Clientes clientes;
+
+	private final Map<String, ReferenciaCerveja> cervejasPorSku = new HashMap<>();
+	private final Map<String, Long> clientesPorCpfOuCnpj = new HashMap<>();
+
+	CatalogoImportacao(Cervejas cervejas, Clientes clientes) {
+		this.cervejas = cervejas;
+		this.clientes = clientes;
+	}
+
+	void carregar(List<PedidoImportado> lote) {
+		Set<String> skus = new LinkedHashSet<>();
+		Set<String> documentos = new LinkedHashSet<>();
+		for (PedidoImportado pedido : lote) {
+			String documento = normalizarCpfOuCnpj(pedido.getCpfOuCnpjCliente());
+			if (documento != null && !clientesPorCpfOuCnpj.containsKey(documento)) {
+				documentos.add(documento);
+			}
+			for (PedidoImportado.ItemImportado item : pedido.getItens()) {
+				String sku = normalizarSku(item.sku());
+				if (sku != null && !cervejasPorSku.containsKey(sku)) {
+					skus.add(sku);
+				}
+			}
+		}
+
+		buscar(skus, cervejasPorSku, parte -> {
+			Map<String, ReferenciaCerveja> encontradas = new HashMap<>();
+			cervejas.referenciasPorSku(parte).forEach(cerveja -> encontradas.put(cerveja.getSku(), cerveja));
+			return encontradas;
+		});
+		buscar(documentos, clientesPorCpfOuCnpj, parte -> {
+			Map<String, Long> encontrados = new HashMap<>();
+			clientes.referenciasPorCpfOuCnpj(parte)
+					.forEach(cliente -> encontrados.put(cliente.getCpfOuCnpj(), cliente.getCodigo()));
+			return encontrados;
+		});
+	}
+
+	/**
+	 * @return a cerveja do SKU, ou null se não existe (o lote precisa ter sido carregado)
+	 */
+	ReferenciaCerveja cerveja(String sku) {
+		String chave = normalizarSku(sku);
+		return chave != null ? cervejasPorSku.get(chave) : null;
+	}
+
+	/**
+	 * @return código do cliente com o CPF/CNPJ, formatado ou não, ou null se não existe
+	 */
+	Long cliente(String cpfOuCnpj) {
+		String chave = normalizarCpfOuCnpj(cpfOuCnpj);
+		return chave != null ? clientesPorCpfOuCnpj.get(chave) : null;
+	}
+
+	private static <V> void buscar(Set<String> chaves, Map<String, V> cache,
+			Function<Collection<String>, Map<String, V>> consulta) {
+		List<String> pendentes = new ArrayList<>(chaves);
+		for (int inicio = 0; inicio < pendentes.size(); inicio += MAXIMO_POR_CONSULTA) {
+			List<String> parte = pendentes.subList(inicio, Math.min(inicio + MAXIMO_POR_CONSULTA, pendentes.size()));
+			Map<String, V> encontrados = consulta.apply(parte);
+			for (String chave : parte) {
+				cache.put(chave, encontrados.get(chave));
+			}
+		}
+	}
+
+	/** SKUs são gravados em maiúsculas (Cerveja.prePersistUpdate) */
+	private static String normalizarSku(String sku) {
+		return sku != null ? sku.toUpperCase(Locale.ROOT) : null;
+	}
+
+	private static String normalizarCpfOuCnpj(String cpfOuCnpj) {
+		return cpfOuCnpj != null ? TipoPessoa.removerFormatacao(cpfOuCnpj) : null;
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.algaworks.brewer.model.Cerveja;
+
+/**
+ * Uma linha do catálogo importado. A cerveja vem só com os campos do arquivo; o estilo
+ * chega pelo nome e é resolvido pelo ImportadorCervejas.
+ */
+public class CervejaImportada implements RegistroImportado {
+
+	private final int linha;
+	private final Cerveja cerveja = new Cerveja();
+	private String estilo;
+	private final List<String> erros = new ArrayList<>();
+
+	public CervejaImportada(int linha) {
+		this.linha = linha;
+	}
+
+	public int getLinha() {
+		return linha;
+	}
+
+	public Cerveja getCerveja() {
+		return cerveja;
+	}
+
+	public String getEstilo() {
+		return estilo;
+	}
+
+	public void setEstilo(String estilo) {
+		this.estilo = estilo;
+	}
+
+	public List<String> getErros() {
+		return erros;
+	}
+
+	@Override
+	public void rejeitar(String erro) {
+		erros.add(erro);
+	}
+
+}
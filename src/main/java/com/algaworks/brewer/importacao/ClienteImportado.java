@@ -0,0 +1,59 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.Endereco;
+
+/**
+ * Uma linha do arquivo de clientes. A cidade chega pelo nome e sigla do estado e é
+ * resolvida pelo ImportadorClientes.
+ */
+public class ClienteImportado implements RegistroImportado {
+
+	private final int linha;
+	private final Cliente cliente = new Cliente();
+	private String cidade;
+	private String estado;
+	private final List<String> erros = new ArrayList<>();
+
+	public ClienteImportado(int linha) {
+		this.linha = linha;
+		cliente.setEndereco(new Endereco());
+	}
+
+	public int getLinha() {
+		return linha;
+	}
+
+	public Cliente getCliente() {
+		return cliente;
+	}
+
+	public String getCidade() {
+		return cidade;
+	}
+
+	public void setCidade(String cidade) {
+		this.cidade = cidade;
+	}
+
+	public String getEstado() {
+		return estado;
+	}
+
+	public void setEstado(String estado) {
+		this.estado = estado;
+	}
+
+	public List<String> getErros() {
+		return erros;
+	}
+
+	@Override
+	public void rejeitar(String erro) {
+		erros.add(erro);
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.algaworks.brewer.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Function;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Conversão dos campos texto do CSV e do JSON. Valor inválido vira erro no registro e
+ * retorna null, para a leitura seguir.
+ */
+final class ConversorCampos {
+
+	private static final DateTimeFormatter DATA_BRASILEIRA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	private ConversorCampos() {
+	}
+
+	/**
+	 * Aceita "1234.56" e o formato brasileiro "1.234,56".
+	 */
+	static BigDecimal decimal(String valor, String campo, int linha, RegistroImportado registro) {
+		if (!StringUtils.hasText(valor)) {
+			return null;
+		}
+		String normalizado = valor.trim();
+		if (normalizado.indexOf(',') >= 0) {
+			normalizado = normalizado.replace(".", "").replace(',', '.');
+		}
+		try {
+			return new BigDecimal(normalizado);
+		} catch (NumberFormatException e) {
+			registro.rejeitar(mensagem(campo, valor, linha));
+			return null;
+		}
+	}
+
+	static Integer inteiro(String valor, String campo, int linha, RegistroImportado registro) {
+		if (!StringUtils.hasText(valor)) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(valor.trim());
+		} catch (NumberFormatException e) {
+			registro.rejeitar(mensagem(campo, valor, linha));
+			return null;
+		}
+	}
+
+	/**
+	 * Aceita ISO (2024-12-31) e dd/MM/yyyy.
+	 */
+	static LocalDate data(String valor, String campo, int linha, RegistroImportado registro) {
+		if (!StringUtils.hasText(valor)) {
+			return null;
+		}
+		String texto = valor.trim();
+		try {
+			return texto.indexOf('/') >= 0 ? LocalDate.parse(texto, DATA_BRASILEIRA) : LocalDate.parse(texto);
+		} catch (DateTimeParseException e) {
+			registro.rejeitar(mensagem(campo, valor, linha));
+			return null;
+		}
+	}
+
+	static LocalTime horario(String valor, String campo, int linha, RegistroImportado registro) {
+		if (!StringUtils.hasText(valor)) {
+			return null;
+		}
+		try {
+			return LocalTime.parse(valor.trim());
+		} catch (DateTimeParseException e) {
+			registro.rejeitar(mensagem(campo, valor, linha));
+			return null;
+		}
+	}
+
+	/**
+	 * Aceita o nome da constante ou a descrição mostrada na tela, sem diferenciar
+	 * maiúsculas ("FRUTADA", "Frutada").
+	 */
+	static <E extends Enum<E>> E constante(String valor, String campo, int linha, RegistroImportado registro,
+			E[] constantes, Function<E, String> descricao) {
+		if (!StringUtils.hasText(valor)) {
+			return null;
+		}
+		String texto = valor.trim();
+		for (E constante : constantes) {
+			if (texto.equalsIgnoreCase(constante.name()) || texto.equalsIgnoreCase(descricao.apply(constante))) {
+				return constante;
+			}
+		}
+		registro.rejeitar(mensagem(campo, valor, linha));
+		return null;
+	}
+
+	static String texto(String valor) {
+		return StringUtils.hasText(valor) ? valor.trim() : null;
+	}
+
+	static String mensagem(String campo, String valor, int linha) {
+		return String.format("Linha %d: valor inválido para %s (%s)", linha, campo, valor);
+	}
+
+}
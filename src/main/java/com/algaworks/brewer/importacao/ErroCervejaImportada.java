@@ -0,0 +1,7 @@
+package com.algaworks.brewer.importacao;
+
+/**
+ * Motivo da rejeição de uma linha do catálogo importado.
+ */
+public record ErroCervejaImportada(String sku, int linha, String mensagem) {
+}
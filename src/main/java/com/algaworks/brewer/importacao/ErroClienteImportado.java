@@ -0,0 +1,7 @@
+package com.algaworks.brewer.importacao;
+
+/**
+ * Motivo da rejeição de uma linha do arquivo de clientes.
+ */
+public record ErroClienteImportado(String cpfOuCnpj, int linha, String mensagem) {
+}
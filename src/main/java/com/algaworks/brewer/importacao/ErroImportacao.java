@@ -0,0 +1,7 @@
+package com.algaworks.brewer.importacao;
+
+/**
+ * Motivo da rejeição de um pedido, com a linha onde ele começa no arquivo.
+ */
+public record ErroImportacao(String pedido, int linha, String mensagem) {
+}
@@ -0,0 +1,141 @@
+package com.algaworks.brewer.importacao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.service.event.cerveja.CervejasImportadasEvent;
+
+/**
+ * Gravação do catálogo importado em batch JDBC: um lote custa um único INSERT ... ON
+ * DUPLICATE KEY UPDATE multi-linha (rewriteBatchedStatements) pelo índice único do SKU
+ * (V27), em vez de um save com SELECT e evento por cerveja. Quem decide entre inserir e
+ * atualizar é o banco: reenvio do arquivo, duas importações ao mesmo tempo ou cadastro
+ * pelo formulário no meio da importação não duplicam o SKU.
+ *
+ * Foto e quantidade em estoque nunca são alteradas pela importação; cerveja nova entra
+ * com estoque zero. Estoque mínimo vazio no arquivo mantém o atual.
+ */
+@Repository
+public class GravadorCervejasImportadas {
+
+	private static final String GRAVAR_CERVEJA = "INSERT INTO cerveja (nome, descricao, valor, teor_alcoolico,"
+			+ " comissao, sabor, origem, codigo_estilo, estoque_minimo, sku, quantidade_estoque)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)"
+			+ " ON DUPLICATE KEY UPDATE nome = VALUES(nome), descricao = VALUES(descricao), valor = VALUES(valor),"
+			+ " teor_alcoolico = VALUES(teor_alcoolico), comissao = VALUES(comissao), sabor = VALUES(sabor),"
+			+ " origem = VALUES(origem), codigo_estilo = VALUES(codigo_estilo),"
+			+ " estoque_minimo = COALESCE(VALUES(estoque_minimo), estoque_minimo)";
+
+	private static final String CODIGOS_POR_SKU = "SELECT codigo, sku FROM cerveja WHERE sku IN (%s)";
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	/**
+	 * Grava o lote numa transação e publica um CervejasImportadasEvent com todos os
+	 * códigos gravados. As cervejas novas saem com o código preenchido.
+	 *
+	 * @param alteradas cervejas já cadastradas, com o código
+	 * @param novas cervejas sem código, com o SKU em maiúsculas; se outro cadastro gravou o
+	 *        SKU nesse meio-tempo, a linha dele é atualizada e o código passa a ser o dela
+	 */
+	@Transactional
+	public void gravar(List<Cerveja> alteradas, List<Cerveja> novas) {
+		manager.unwrap(Session.class).doWork(conexao -> {
+			List<Cerveja> todas = new ArrayList<>(alteradas);
+			todas.addAll(novas);
+			// Mesma ordem de bloqueio do índice em importações simultâneas
+			todas.sort(Comparator.comparing(Cerveja::getSku));
+			gravar(conexao, todas);
+			preencherCodigos(conexao, todas);
+		});
+
+		Set<Long> codigos = new HashSet<>();
+		alteradas.forEach(cerveja -> codigos.add(cerveja.getCodigo()));
+		novas.forEach(cerveja -> codigos.add(cerveja.getCodigo()));
+		if (!codigos.isEmpty()) {
+			publisher.publishEvent(new CervejasImportadasEvent(codigos));
+		}
+	}
+
+	private void gravar(Connection conexao, List<Cerveja> cervejas) throws SQLException {
+		if (cervejas.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement comando = conexao.prepareStatement(GRAVAR_CERVEJA)) {
+			for (Cerveja cerveja : cervejas) {
+				preencher(comando, cerveja);
+				comando.setString(10, cerveja.getSku());
+				comando.addBatch();
+			}
+			comando.executeBatch();
+		}
+	}
+
+	/**
+	 * Código de cada cerveja pelo SKU: com ON DUPLICATE KEY UPDATE as chaves geradas do batch
+	 * não correspondem às linhas que já existiam.
+	 */
+	private void preencherCodigos(Connection conexao, List<Cerveja> cervejas) throws SQLException {
+		for (int inicio = 0; inicio < cervejas.size(); inicio += CatalogoImportacao.MAXIMO_POR_CONSULTA) {
+			List<Cerveja> parte = cervejas.subList(inicio,
+					Math.min(inicio + CatalogoImportacao.MAXIMO_POR_CONSULTA, cervejas.size()));
+			String parametros = String.join(", ", Collections.nCopies(parte.size(), "?"));
+			Map<String, Long> codigos = new HashMap<>();
+			try (PreparedStatement consulta = conexao.prepareStatement(String.format(CODIGOS_POR_SKU, parametros))) {
+				for (int i = 0; i < parte.size(); i++) {
+					consulta.setString(i + 1, parte.get(i).getSku());
+				}
+				try (ResultSet linhas = consulta.executeQuery()) {
+					while (linhas.next()) {
+						codigos.put(linhas.getString(2).toUpperCase(Locale.ROOT), linhas.getLong(1));
+					}
+				}
+			}
+			parte.forEach(cerveja -> cerveja.setCodigo(codigos.get(cerveja.getSku())));
+		}
+	}
+
+	/** Parâmetros 1 a 9; o 10 é o SKU */
+	private static void preencher(PreparedStatement comando, Cerveja cerveja) throws SQLException {
+		comando.setString(1, cerveja.getNome());
+		comando.setString(2, cerveja.getDescricao());
+		comando.setBigDecimal(3, cerveja.getValor());
+		comando.setBigDecimal(4, cerveja.getTeorAlcoolico());
+		comando.setBigDecimal(5, cerveja.getComissao());
+		comando.setString(6, cerveja.getSabor().name());
+		comando.setString(7, cerveja.getOrigem().name());
+		comando.setLong(8, cerveja.getEstilo().getCodigo());
+		if (cerveja.getEstoqueMinimo() != null) {
+			comando.setInt(9, cerveja.getEstoqueMinimo());
+		} else {
+			comando.setNull(9, Types.INTEGER);
+		}
+	}
+
+}
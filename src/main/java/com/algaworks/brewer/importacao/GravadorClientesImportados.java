@@ -0,0 +1,65 @@
+package com.algaworks.brewer.importacao;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.Endereco;
+
+/**
+ * Gravação dos clientes importados num INSERT multi-linha por lote (JDBC batch com
+ * rewriteBatchedStatements). O índice único de cpf_cnpj é a garantia final: se outra
+ * requisição cadastrou o mesmo documento depois da consulta do lote, o lote inteiro
+ * volta com DataIntegrityViolationException.
+ */
+@Repository
+public class GravadorClientesImportados {
+
+	private static final String INSERIR_CLIENTE = "INSERT INTO cliente (nome, tipo_pessoa, cpf_cnpj, telefone, email,"
+			+ " logradouro, numero, complemento, cep, codigo_cidade) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	/**
+	 * @param clientes com o CPF/CNPJ sem formatação, como o Cliente grava
+	 */
+	@Transactional
+	public void gravar(List<Cliente> clientes) {
+		if (clientes.isEmpty()) {
+			return;
+		}
+		manager.unwrap(Session.class).doWork(conexao -> {
+			try (PreparedStatement comando = conexao.prepareStatement(INSERIR_CLIENTE)) {
+				for (Cliente cliente : clientes) {
+					Endereco endereco = cliente.getEndereco();
+					comando.setString(1, cliente.getNome());
+					comando.setString(2, cliente.getTipoPessoa().name());
+					comando.setString(3, cliente.getCpfOuCnpj());
+					comando.setString(4, cliente.getTelefone());
+					comando.setString(5, cliente.getEmail());
+					comando.setString(6, endereco.getLogradouro());
+					comando.setString(7, endereco.getNumero());
+					comando.setString(8, endereco.getComplemento());
+					comando.setString(9, endereco.getCep());
+					if (endereco.getCidade() != null) {
+						comando.setLong(10, endereco.getCidade().getCodigo());
+					} else {
+						comando.setNull(10, Types.BIGINT);
+					}
+					comando.addBatch();
+				}
+				comando.executeBatch();
+			}
+		});
+	}
+
+}
@@ -0,0 +1,218 @@
+package com.algaworks.brewer.importacao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.StatusImportacao;
+import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.service.exception.ImpossivelRetomarImportacaoException;
+
+/**
+ * Gravação das vendas importadas em batch JDBC, sem passar pelo contexto de persistência:
+ * um lote de N vendas custa um INSERT multi-linha de vendas, um de itens e um de erros
+ * (rewriteBatchedStatements), mais o UPDATE do ponto de retomada na mesma transação.
+ */
+@Repository
+public class GravadorVendasImportadas {
+
+	private static final String AVANCAR_IMPORTACAO = "UPDATE importacao_venda SET pedidos_processados = ?,"
+			+ " vendas_importadas = ?, pedidos_rejeitados = ?, data_atualizacao = ?"
+			+ " WHERE codigo = ? AND pedidos_processados = ? AND status = ?";
+
+	private static final String INSERIR_VENDA = "INSERT INTO venda (data_criacao, valor_frete, valor_desconto,"
+			+ " valor_total, observacao, data_hora_entrega, status, codigo_cliente, codigo_usuario)"
+			+ " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String INSERIR_ITEM = "INSERT INTO item_venda (codigo, quantidade, valor_unitario,"
+			+ " codigo_cerveja, codigo_venda) VALUES (?, ?, ?, ?, ?)";
+
+	private static final String INSERIR_ERRO = "INSERT INTO importacao_venda_erro (codigo_importacao, pedido,"
+			+ " linha, mensagem) VALUES (?, ?, ?, ?)";
+
+	private static final String CONSULTAR_ERROS = "SELECT pedido, linha, mensagem FROM importacao_venda_erro"
+			+ " WHERE codigo_importacao = ? ORDER BY codigo LIMIT ?";
+
+	private static final String LER_SEQUENCIA_ITEM = "SELECT proximo_valor FROM sequencia_id"
+			+ " WHERE nome = 'item_venda' FOR UPDATE";
+
+	private static final String AVANCAR_SEQUENCIA_ITEM = "UPDATE sequencia_id SET proximo_valor = proximo_valor + ?"
+			+ " WHERE nome = 'item_venda'";
+
+	private static final int TAMANHO_PEDIDO = 50;
+	private static final int TAMANHO_MENSAGEM = 500;
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	/**
+	 * Reserva ids de item_venda na mesma tabela do gerador do ItemVenda, em transação
+	 * própria para não segurar o lock da sequência durante o lote. Segue o otimizador
+	 * pooled do Hibernate: com proximo_valor = V, o próximo bloco dele seria
+	 * [V - BLOCO_IDS + 1, V]; a importação fica com os ids a partir daí e empurra V.
+	 *
+	 * @return o primeiro id reservado; os seguintes são consecutivos
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public long reservarIdsItens(int quantidade) {
+		return manager.unwrap(Session.class).doReturningWork(conexao -> {
+			long proximoValor;
+			try (Statement consulta = conexao.createStatement();
+					ResultSet resultado = consulta.executeQuery(LER_SEQUENCIA_ITEM)) {
+				if (!resultado.next()) {
+					throw new IllegalStateException("Sequência item_venda não encontrada em sequencia_id");
+				}
+				proximoValor = resultado.getLong(1);
+			}
+			try (PreparedStatement comando = conexao.prepareStatement(AVANCAR_SEQUENCIA_ITEM)) {
+				comando.setInt(1, quantidade);
+				comando.executeUpdate();
+			}
+			return proximoValor - ItemVenda.BLOCO_IDS + 1;
+		});
+	}
+
+	/**
+	 * Grava o lote e avança os contadores da importação. O UPDATE da importação vem
+	 * primeiro e só passa se ninguém gravou outro lote dela desde a leitura: duas
+	 * retomadas simultâneas não importam os mesmos pedidos duas vezes.
+	 *
+	 * @throws ImpossivelRetomarImportacaoException se outra requisição avançou a importação
+	 */
+	@Transactional
+	public void gravar(ImportacaoVenda importacao, LoteImportacao lote, long primeiroIdItem, LocalDateTime agora) {
+		manager.unwrap(Session.class).doWork(conexao -> {
+			avancar(conexao, importacao, lote, agora);
+			inserirVendas(conexao, importacao, lote.vendas());
+			inserirItens(conexao, lote.vendas(), primeiroIdItem);
+			inserirErros(conexao, importacao, lote.erros());
+		});
+	}
+
+	@Transactional(readOnly = true)
+	public List<ErroImportacao> erros(Long codigoImportacao, int limite) {
+		return manager.unwrap(Session.class).doReturningWork(conexao -> {
+			List<ErroImportacao> erros = new ArrayList<>();
+			try (PreparedStatement consulta = conexao.prepareStatement(CONSULTAR_ERROS)) {
+				consulta.setLong(1, codigoImportacao);
+				consulta.setInt(2, limite);
+				try (ResultSet resultado = consulta.executeQuery()) {
+					while (resultado.next()) {
+						erros.add(new ErroImportacao(resultado.getString(1), resultado.getInt(2), resultado.getString(3)));
+					}
+				}
+			}
+			return erros;
+		});
+	}
+
+	private void avancar(Connection conexao, ImportacaoVenda importacao, LoteImportacao lote, LocalDateTime agora)
+			throws SQLException {
+		try (PreparedStatement comando = conexao.prepareStatement(AVANCAR_IMPORTACAO)) {
+			comando.setInt(1, importacao.getPedidosProcessados() + lote.pedidos());
+			comando.setInt(2, importacao.getVendasImportadas() + lote.vendas().size());
+			comando.setInt(3, importacao.getPedidosRejeitados() + lote.rejeitados());
+			comando.setTimestamp(4, Timestamp.valueOf(agora));
+			comando.setLong(5, importacao.getCodigo());
+			comando.setInt(6, importacao.getPedidosProcessados());
+			comando.setString(7, StatusImportacao.PROCESSANDO.name());
+			if (comando.executeUpdate() == 0) {
+				throw new ImpossivelRetomarImportacaoException("A importação " + importacao.getCodigo()
+						+ " foi avançada por outra requisição");
+			}
+		}
+	}
+
+	private void inserirVendas(Connection conexao, ImportacaoVenda importacao, List<Venda> vendas) throws SQLException {
+		if (vendas.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement comando = conexao.prepareStatement(INSERIR_VENDA, Statement.RETURN_GENERATED_KEYS)) {
+			for (Venda venda : vendas) {
+				comando.setObject(1, venda.getDataCriacao());
+				comando.setBigDecimal(2, venda.getValorFrete());
+				comando.setBigDecimal(3, venda.getValorDesconto());
+				comando.setBigDecimal(4, venda.getValorTotal());
+				comando.setString(5, venda.getObservacao());
+				comando.setObject(6, venda.getDataHoraEntrega());
+				comando.setString(7, venda.getStatus().name());
+				comando.setLong(8, venda.getCliente().getCodigo());
+				if (importacao.getCodigoUsuario() != null) {
+					comando.setLong(9, importacao.getCodigoUsuario());
+				} else {
+					comando.setNull(9, Types.BIGINT);
+				}
+				comando.addBatch();
+			}
+			comando.executeBatch();
+
+			// Com o batch reescrito o driver devolve as chaves na ordem das linhas
+			try (ResultSet chaves = comando.getGeneratedKeys()) {
+				for (Venda venda : vendas) {
+					chaves.next();
+					venda.setCodigo(chaves.getLong(1));
+				}
+			}
+		}
+	}
+
+	private void inserirItens(Connection conexao, List<Venda> vendas, long primeiroIdItem) throws SQLException {
+		if (vendas.isEmpty()) {
+			return;
+		}
+		long proximoId = primeiroIdItem;
+		try (PreparedStatement comando = conexao.prepareStatement(INSERIR_ITEM)) {
+			for (Venda venda : vendas) {
+				for (ItemVenda item : venda.getItens()) {
+					item.setCodigo(proximoId++);
+					comando.setLong(1, item.getCodigo());
+					comando.setInt(2, item.getQuantidade());
+					comando.setBigDecimal(3, item.getValorUnitario());
+					comando.setLong(4, item.getCerveja().getCodigo());
+					comando.setLong(5, venda.getCodigo());
+					comando.addBatch();
+				}
+			}
+			comando.executeBatch();
+		}
+	}
+
+	private void inserirErros(Connection conexao, ImportacaoVenda importacao, List<ErroImportacao> erros)
+			throws SQLException {
+		if (erros.isEmpty()) {
+			return;
+		}
+		try (PreparedStatement comando = conexao.prepareStatement(INSERIR_ERRO)) {
+			for (ErroImportacao erro : erros) {
+				comando.setLong(1, importacao.getCodigo());
+				comando.setString(2, truncar(erro.pedido(), TAMANHO_PEDIDO));
+				comando.setInt(3, erro.linha());
+				comando.setString(4, truncar(erro.mensagem(), TAMANHO_MENSAGEM));
+				comando.addBatch();
+			}
+			comando.executeBatch();
+		}
+	}
+
+	private static String truncar(String texto, int tamanho) {
+		return texto != null && texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.algaworks.brewer.dto.ReferenciaCerveja;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Estilo;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.Estilos;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Importação do catálogo de cervejas de fornecedores (CSV ou JSON): cadastra os SKUs
+ * novos e atualiza os existentes, processando o arquivo enquanto ele chega.
+ *
+ * As linhas são lidas em lotes de brewer.importacao.tamanho-lote. Os estilos são lidos
+ * uma vez e resolvidos pelo nome em memória; os SKUs de cada lote ainda não vistos são
+ * buscados numa consulta IN. Cada linha passa pelas mesmas validações do cadastro
+ * (Bean Validation da Cerveja) e o lote válido é gravado numa transação só, com um
+ * único evento para o lote (CervejasImportadasEvent) no lugar de um CervejaSalvaEvent
+ * por cerveja. Linha inválida não derruba o lote; se o mesmo SKU se repete, vale a última.
+ */
+@Service
+public class ImportadorCervejas {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportadorCervejas.class);
+
+	/** cerveja.nome é VARCHAR(80) e a entidade não limita o tamanho */
+	private static final int TAMANHO_NOME = 80;
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private Estilos estilos;
+
+	@Autowired
+	private GravadorCervejasImportadas gravador;
+
+	@Autowired
+	private Paginador paginador;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.importacao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	@Value("${brewer.importacao.max-erros:1000}")
+	private int maxErros;
+
+	/**
+	 * Lê e grava o arquivo até o fim. Erro de leitura, de formato ou de banco interrompe a
+	 * importação com os lotes anteriores já gravados; o resultado traz o motivo.
+	 */
+	public ResultadoImportacaoCervejas importar(FormatoImportacao formato, InputStream arquivo, Charset charset) {
+		Andamento andamento = new Andamento(estilosPorNome());
+		String mensagem = null;
+		try (LeitorArquivo<CervejaImportada> leitor = leitor(formato, new InputStreamReader(arquivo, charset))) {
+			List<CervejaImportada> lote = new ArrayList<>(tamanhoLote);
+			CervejaImportada linha;
+			while ((linha = leitor.proximo()) != null) {
+				lote.add(linha);
+				if (lote.size() >= tamanhoLote) {
+					processarLote(formato, andamento, lote);
+					lote.clear();
+				}
+			}
+			if (!lote.isEmpty()) {
+				processarLote(formato, andamento, lote);
+			}
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Importação de catálogo interrompida após {} linhas: {}", andamento.linhas, e.getMessage());
+			mensagem = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+		}
+
+		logger.info("Importação de catálogo: {} linhas, {} inseridas, {} atualizadas, {} rejeitadas",
+				andamento.linhas, andamento.inseridas, andamento.atualizadas, andamento.rejeitadas);
+		return new ResultadoImportacaoCervejas(andamento.linhas, andamento.inseridas, andamento.atualizadas,
+				andamento.rejeitadas, mensagem, andamento.erros);
+	}
+
+	LeitorArquivo<CervejaImportada> leitor(FormatoImportacao formato, Reader entrada) throws IOException {
+		return formato == FormatoImportacao.JSON
+				? LeitorCervejas.json(objectMapper, entrada)
+				: LeitorCervejas.csv(entrada);
+	}
+
+	private Map<String, Estilo> estilosPorNome() {
+		Map<String, Estilo> porNome = new HashMap<>();
+		for (Estilo estilo : estilos.findAll()) {
+			porNome.put(estilo.getNome().toLowerCase(Locale.ROOT), estilo);
+		}
+		return porNome;
+	}
+
+	private void processarLote(FormatoImportacao formato, Andamento andamento, List<CervejaImportada> linhas) {
+		Timer.Sample amostra = Timer.start(meterRegistry);
+		carregarCodigos(andamento, linhas);
+
+		Map<String, Cerveja> validas = new LinkedHashMap<>();
+		int rejeitadas = 0;
+		for (CervejaImportada linha : linhas) {
+			List<String> mensagens = validar(linha, andamento);
+			if (mensagens.isEmpty()) {
+				validas.put(linha.getCerveja().getSku(), linha.getCerveja());
+				continue;
+			}
+			if (andamento.erros.size() < maxErros) {
+				andamento.erros.add(new ErroCervejaImportada(linha.getCerveja().getSku(), linha.getLinha(),
+						String.join("; ", mensagens)));
+			}
+			rejeitadas++;
+		}
+
+		List<Cerveja> alteradas = new ArrayList<>();
+		List<Cerveja> novas = new ArrayList<>();
+		for (Cerveja cerveja : validas.values()) {
+			Long codigo = andamento.codigosPorSku.get(cerveja.getSku());
+			if (codigo != null) {
+				cerveja.setCodigo(codigo);
+				alteradas.add(cerveja);
+			} else {
+				novas.add(cerveja);
+			}
+		}
+		gravador.gravar(alteradas, novas);
+		// JDBC em lote não passa pelos eventos do Hibernate
+		paginador.invalidar(Cerveja.class);
+		novas.forEach(cerveja -> andamento.codigosPorSku.put(cerveja.getSku(), cerveja.getCodigo()));
+
+		andamento.linhas += linhas.size();
+		andamento.inseridas += novas.size();
+		andamento.atualizadas += alteradas.size();
+		andamento.rejeitadas += rejeitadas;
+
+		amostra.stop(Timer.builder("brewer.importacao.cervejas.lote")
+				.description("Tempo de validação e gravação de um lote do catálogo importado")
+				.tag("formato", formato.name())
+				.register(meterRegistry));
+		contar("inserida", novas.size());
+		contar("atualizada", alteradas.size());
+		contar("rejeitada", rejeitadas);
+	}
+
+	/**
+	 * Busca o código dos SKUs do lote ainda não vistos nesta importação; os que não
+	 * existem ficam com null e viram INSERT.
+	 */
+	private void carregarCodigos(Andamento andamento, List<CervejaImportada> linhas) {
+		Set<String> pendentes = new LinkedHashSet<>();
+		for (CervejaImportada linha : linhas) {
+			String sku = linha.getCerveja().getSku();
+			if (sku != null) {
+				sku = sku.toUpperCase(Locale.ROOT);
+				linha.getCerveja().setSku(sku);
+				if (!andamento.codigosPorSku.containsKey(sku)) {
+					pendentes.add(sku);
+				}
+			}
+		}
+
+		List<String> skus = new ArrayList<>(pendentes);
+		for (int inicio = 0; inicio < skus.size(); inicio += CatalogoImportacao.MAXIMO_POR_CONSULTA) {
+			List<String> parte = skus.subList(inicio, Math.min(inicio + CatalogoImportacao.MAXIMO_POR_CONSULTA,
+					skus.size()));
+			parte.forEach(sku -> andamento.codigosPorSku.put(sku, null));
+			for (ReferenciaCerveja referencia : cervejas.referenciasPorSku(parte)) {
+				andamento.codigosPorSku.put(referencia.getSku().toUpperCase(Locale.ROOT), referencia.getCodigo());
+			}
+		}
+	}
+
+	/**
+	 * Resolve o estilo e aplica as validações do cadastro. A quantidade em estoque não
+	 * vem do arquivo e não é gravada; o zero só satisfaz a validação.
+	 */
+	private List<String> validar(CervejaImportada linha, Andamento andamento) {
+		List<String> mensagens = new ArrayList<>(linha.getErros());
+		Cerveja cerveja = linha.getCerveja();
+		if (linha.getEstilo() != null) {
+			Estilo estilo = andamento.estilosPorNome.get(linha.getEstilo().toLowerCase(Locale.ROOT));
+			if (estilo == null) {
+				mensagens.add("Linha " + linha.getLinha() + ": estilo não encontrado: " + linha.getEstilo());
+			}
+			cerveja.setEstilo(estilo);
+		}
+		if (cerveja.getNome() != null && cerveja.getNome().length() > TAMANHO_NOME) {
+			mensagens.add("Linha " + linha.getLinha() + ": nome com mais de " + TAMANHO_NOME + " caracteres");
+		}
+		// Campo já rejeitado na leitura ou no estilo não se repete como obrigatório
+		if (!mensagens.isEmpty()) {
+			return mensagens;
+		}
+
+		cerveja.setQuantidadeEstoque(0);
+		validator.validate(cerveja).stream()
+				.sorted(Comparator.comparing(violacao -> violacao.getPropertyPath().toString()))
+				.map(ConstraintViolation::getMessage)
+				.forEach(mensagem -> mensagens.add("Linha " + linha.getLinha() + ": " + mensagem));
+		return mensagens;
+	}
+
+	private void contar(String resultado, int quantidade) {
+		if (quantidade > 0) {
+			Counter.builder("brewer.importacao.cervejas")
+					.tag("resultado", resultado)
+					.register(meterRegistry)
+					.increment(quantidade);
+		}
+	}
+
+	/** Estado de uma importação: caches e contadores que atravessam os lotes */
+	private static final class Andamento {
+
+		private final Map<String, Estilo> estilosPorNome;
+		private final Map<String, Long> codigosPorSku = new HashMap<>();
+		private final List<ErroCervejaImportada> erros = new ArrayList<>();
+		private int linhas;
+		private int inseridas;
+		private int atualizadas;
+		private int rejeitadas;
+
+		private Andamento(Map<String, Estilo> estilosPorNome) {
+			this.estilosPorNome = estilosPorNome;
+		}
+
+	}
+
+}
@@ -0,0 +1,293 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.algaworks.brewer.dto.ReferenciaCliente;
+import com.algaworks.brewer.model.Cidade;
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.Endereco;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.repository.Cidades;
+import com.algaworks.brewer.repository.Clientes;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Importação de clientes em massa (CSV ou JSON), para migração de CRMs legados.
+ *
+ * No lugar do findByCpfOuCnpj por cliente do CadastroClienteService, cada lote de
+ * brewer.importacao.tamanho-lote faz uma consulta IN pelos documentos ainda não vistos
+ * (índice único de cpf_cnpj) e grava os novos num INSERT em batch. Os documentos já
+ * vistos - no banco ou em linhas anteriores do arquivo - ficam num conjunto em memória
+ * durante a importação, então o arquivo é deduplicado sem voltar ao banco: vale a
+ * primeira linha de cada CPF/CNPJ, e as repetidas são contadas como duplicadas.
+ *
+ * As cidades são lidas uma vez e resolvidas pelo nome e sigla do estado em memória.
+ */
+@Service
+public class ImportadorClientes {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportadorClientes.class);
+
+	/** Tamanho das colunas de cliente (V05), que a entidade não valida */
+	private static final Map<String, Integer> TAMANHOS = Map.of("nome", 80, "telefone", 20, "e-mail", 50,
+			"logradouro", 50, "número", 15, "complemento", 20, "CEP", 15);
+
+	@Autowired
+	private Clientes clientes;
+
+	@Autowired
+	private Cidades cidades;
+
+	@Autowired
+	private GravadorClientesImportados gravador;
+
+	@Autowired
+	private Paginador paginador;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.importacao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	@Value("${brewer.importacao.max-erros:1000}")
+	private int maxErros;
+
+	/**
+	 * Lê e grava o arquivo até o fim. Erro de leitura, de formato ou de banco interrompe a
+	 * importação com os lotes anteriores já gravados; o resultado traz o motivo.
+	 */
+	public ResultadoImportacaoClientes importar(FormatoImportacao formato, InputStream arquivo, Charset charset) {
+		Andamento andamento = new Andamento(cidadesPorNome());
+		String mensagem = null;
+		try (LeitorArquivo<ClienteImportado> leitor = leitor(formato, new InputStreamReader(arquivo, charset))) {
+			List<ClienteImportado> lote = new ArrayList<>(tamanhoLote);
+			ClienteImportado linha;
+			while ((linha = leitor.proximo()) != null) {
+				lote.add(linha);
+				if (lote.size() >= tamanhoLote) {
+					processarLote(formato, andamento, lote);
+					lote.clear();
+				}
+			}
+			if (!lote.isEmpty()) {
+				processarLote(formato, andamento, lote);
+			}
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Importação de clientes interrompida após {} linhas: {}", andamento.linhas, e.getMessage());
+			mensagem = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+		}
+
+		logger.info("Importação de clientes: {} linhas, {} importados, {} duplicados, {} rejeitados",
+				andamento.linhas, andamento.importados, andamento.duplicados, andamento.rejeitados);
+		return new ResultadoImportacaoClientes(andamento.linhas, andamento.importados, andamento.duplicados,
+				andamento.rejeitados, mensagem, andamento.erros);
+	}
+
+	LeitorArquivo<ClienteImportado> leitor(FormatoImportacao formato, Reader entrada) throws IOException {
+		return formato == FormatoImportacao.JSON
+				? LeitorClientes.json(objectMapper, entrada)
+				: LeitorClientes.csv(entrada);
+	}
+
+	private Map<String, Cidade> cidadesPorNome() {
+		Map<String, Cidade> porNome = new HashMap<>();
+		for (Cidade cidade : cidades.findAllComEstado()) {
+			porNome.put(chaveCidade(cidade.getNome(), cidade.getEstado().getSigla()), cidade);
+		}
+		return porNome;
+	}
+
+	private void processarLote(FormatoImportacao formato, Andamento andamento, List<ClienteImportado> linhas) {
+		Timer.Sample amostra = Timer.start(meterRegistry);
+
+		List<ClienteImportado> validas = new ArrayList<>(linhas.size());
+		int rejeitados = 0;
+		for (ClienteImportado linha : linhas) {
+			List<String> mensagens = validar(linha, andamento);
+			if (mensagens.isEmpty()) {
+				validas.add(linha);
+			} else {
+				registrarErro(andamento, linha, String.join("; ", mensagens));
+				rejeitados++;
+			}
+		}
+
+		marcarCadastrados(andamento, validas);
+
+		List<Cliente> novos = new ArrayList<>(validas.size());
+		int duplicados = 0;
+		for (ClienteImportado linha : validas) {
+			String documento = linha.getCliente().getCpfOuCnpj();
+			if (andamento.documentos.add(documento)) {
+				novos.add(linha.getCliente());
+				continue;
+			}
+			String motivo = andamento.cadastrados.contains(documento)
+					? "CPF/CNPJ já cadastrado"
+					: "CPF/CNPJ repetido no arquivo";
+			registrarErro(andamento, linha, "Linha " + linha.getLinha() + ": " + motivo);
+			duplicados++;
+		}
+		gravador.gravar(novos);
+		// JDBC em lote não passa pelos eventos do Hibernate
+		paginador.invalidar(Cliente.class);
+
+		andamento.linhas += linhas.size();
+		andamento.importados += novos.size();
+		andamento.duplicados += duplicados;
+		andamento.rejeitados += rejeitados;
+
+		amostra.stop(Timer.builder("brewer.importacao.clientes.lote")
+				.description("Tempo de validação e gravação de um lote de clientes importados")
+				.tag("formato", formato.name())
+				.register(meterRegistry));
+		contar("importado", novos.size());
+		contar("duplicado", duplicados);
+		contar("rejeitado", rejeitados);
+	}
+
+	/**
+	 * Uma consulta IN (em partes de CatalogoImportacao.MAXIMO_POR_CONSULTA) pelos
+	 * documentos do lote ainda não vistos; os encontrados entram no conjunto de vistos e
+	 * as linhas com eles viram duplicadas.
+	 */
+	private void marcarCadastrados(Andamento andamento, List<ClienteImportado> linhas) {
+		Set<String> pendentes = new LinkedHashSet<>();
+		for (ClienteImportado linha : linhas) {
+			String documento = linha.getCliente().getCpfOuCnpj();
+			if (!andamento.documentos.contains(documento)) {
+				pendentes.add(documento);
+			}
+		}
+
+		List<String> documentos = new ArrayList<>(pendentes);
+		for (int inicio = 0; inicio < documentos.size(); inicio += CatalogoImportacao.MAXIMO_POR_CONSULTA) {
+			List<String> parte = documentos.subList(inicio,
+					Math.min(inicio + CatalogoImportacao.MAXIMO_POR_CONSULTA, documentos.size()));
+			for (ReferenciaCliente cliente : clientes.referenciasPorCpfOuCnpj(parte)) {
+				andamento.documentos.add(cliente.getCpfOuCnpj());
+				andamento.cadastrados.add(cliente.getCpfOuCnpj());
+			}
+		}
+	}
+
+	/**
+	 * Resolve a cidade e aplica as validações do cadastro (inclusive CPF/CNPJ pelo tipo
+	 * de pessoa), mais o e-mail obrigatório e o tamanho das colunas, que a tela não
+	 * deixa passar e o banco recusaria derrubando o lote inteiro.
+	 */
+	private List<String> validar(ClienteImportado linha, Andamento andamento) {
+		List<String> mensagens = new ArrayList<>(linha.getErros());
+		Cliente cliente = linha.getCliente();
+		Endereco endereco = cliente.getEndereco();
+		String prefixo = "Linha " + linha.getLinha() + ": ";
+
+		if (linha.getCidade() != null || linha.getEstado() != null) {
+			Cidade cidade = andamento.cidadesPorNome.get(chaveCidade(linha.getCidade(), linha.getEstado()));
+			if (cidade == null) {
+				mensagens.add(prefixo + "cidade não encontrada: " + linha.getCidade() + "/" + linha.getEstado());
+			}
+			endereco.setCidade(cidade);
+		}
+		if (cliente.getEmail() == null) {
+			mensagens.add(prefixo + "E-mail é obrigatório");
+		}
+		verificarTamanho(mensagens, prefixo, "nome", cliente.getNome());
+		verificarTamanho(mensagens, prefixo, "telefone", cliente.getTelefone());
+		verificarTamanho(mensagens, prefixo, "e-mail", cliente.getEmail());
+		verificarTamanho(mensagens, prefixo, "logradouro", endereco.getLogradouro());
+		verificarTamanho(mensagens, prefixo, "número", endereco.getNumero());
+		verificarTamanho(mensagens, prefixo, "complemento", endereco.getComplemento());
+		verificarTamanho(mensagens, prefixo, "CEP", endereco.getCep());
+
+		validator.validate(cliente).stream()
+				.sorted(Comparator.comparing(violacao -> violacao.getPropertyPath().toString()))
+				.map(ConstraintViolation::getMessage)
+				.forEach(mensagem -> mensagens.add(prefixo + mensagem));
+		return mensagens;
+	}
+
+	private static void verificarTamanho(List<String> mensagens, String prefixo, String campo, String valor) {
+		int tamanho = TAMANHOS.get(campo);
+		if (valor != null && valor.length() > tamanho) {
+			mensagens.add(prefixo + campo + " com mais de " + tamanho + " caracteres");
+		}
+	}
+
+	private void registrarErro(Andamento andamento, ClienteImportado linha, String mensagem) {
+		if (andamento.erros.size() < maxErros) {
+			andamento.erros.add(new ErroClienteImportado(linha.getCliente().getCpfOuCnpj(), linha.getLinha(),
+					mensagem));
+		}
+	}
+
+	private static String chaveCidade(String nome, String siglaEstado) {
+		return (nome != null ? nome.toLowerCase(Locale.ROOT) : "") + "/"
+				+ (siglaEstado != null ? siglaEstado.toLowerCase(Locale.ROOT) : "");
+	}
+
+	private void contar(String resultado, int quantidade) {
+		if (quantidade > 0) {
+			Counter.builder("brewer.importacao.clientes")
+					.tag("resultado", resultado)
+					.register(meterRegistry)
+					.increment(quantidade);
+		}
+	}
+
+	/**
+	 * Estado de uma importação. Os conjuntos de documentos guardam só os vistos neste
+	 * arquivo (e os encontrados no banco para ele), não o cadastro inteiro.
+	 */
+	private static final class Andamento {
+
+		private final Map<String, Cidade> cidadesPorNome;
+		private final Set<String> documentos = new HashSet<>();
+		private final Set<String> cadastrados = new HashSet<>();
+		private final List<ErroClienteImportado> erros = new ArrayList<>();
+		private int linhas;
+		private int importados;
+		private int duplicados;
+		private int rejeitados;
+
+		private Andamento(Map<String, Cidade> cidadesPorNome) {
+			this.cidadesPorNome = cidadesPorNome;
+		}
+
+	}
+
+}
@@ -0,0 +1,325 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import com.algaworks.brewer.dto.ReferenciaCerveja;
+import com.algaworks.brewer.importacao.PedidoImportado.ItemImportado;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.StatusImportacao;
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.model.Usuario;
+import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.Clientes;
+import com.algaworks.brewer.repository.ImportacoesVenda;
+import com.algaworks.brewer.service.VendaValidator;
+import com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException;
+import com.algaworks.brewer.service.exception.ImpossivelRetomarImportacaoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Importação de vendas de distribuidores (CSV ou JSON), processada enquanto o arquivo
+ * chega na requisição.
+ *
+ * Os pedidos são lidos em streaming e agrupados em lotes de brewer.importacao.tamanho-lote;
+ * cada lote resolve SKUs e clientes pelo CatalogoImportacao, valida as vendas com o
+ * VendaValidator e é gravado numa transação só, junto com o ponto de retomada. Pedido
+ * inválido não derruba o lote: é contado e o motivo fica em importacao_venda_erro.
+ *
+ * As vendas entram como orçamento: não baixam estoque nem publicam eventos de venda, e
+ * seguem o fluxo normal de emissão pela tela.
+ */
+@Service
+public class ImportadorVendas {
+
+	private static final Logger logger = LoggerFactory.getLogger(ImportadorVendas.class);
+
+	private static final int TAMANHO_OBSERVACAO = 200;
+	private static final int TAMANHO_MENSAGEM = 500;
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private Clientes clientes;
+
+	@Autowired
+	private ImportacoesVenda importacoes;
+
+	@Autowired
+	private GravadorVendasImportadas gravador;
+
+	@Autowired
+	private VendaValidator vendaValidator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private Clock clock;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.importacao.tamanho-lote:500}")
+	private int tamanhoLote;
+
+	@Value("${brewer.importacao.max-erros:1000}")
+	private int maxErros;
+
+	public ImportacaoVenda iniciar(FormatoImportacao formato, Usuario usuario) {
+		ImportacaoVenda importacao = new ImportacaoVenda();
+		importacao.setFormato(formato);
+		importacao.setCodigoUsuario(usuario != null ? usuario.getCodigo() : null);
+		importacao.setDataCriacao(LocalDateTime.now(clock));
+		importacao.setDataAtualizacao(importacao.getDataCriacao());
+		return importacoes.save(importacao);
+	}
+
+	/**
+	 * Reabre uma importação interrompida para receber o mesmo arquivo de novo.
+	 *
+	 * @throws ImpossivelRetomarImportacaoException se já foi concluída ou o formato mudou
+	 */
+	public ImportacaoVenda retomar(Long codigo, FormatoImportacao formato) {
+		ImportacaoVenda importacao = importacoes.findById(codigo)
+				.orElseThrow(() -> new ImpossivelRetomarImportacaoException("Importação não encontrada: " + codigo));
+		if (importacao.isConcluida()) {
+			throw new ImpossivelRetomarImportacaoException("A importação " + codigo + " já foi concluída");
+		}
+		if (importacao.getFormato() != formato) {
+			throw new ImpossivelRetomarImportacaoException("A importação " + codigo + " foi iniciada com um arquivo "
+					+ importacao.getFormato());
+		}
+
+		importacao.setStatus(StatusImportacao.PROCESSANDO);
+		importacao.setMensagem(null);
+		importacao.setDataAtualizacao(LocalDateTime.now(clock));
+		importacoes.atualizarSituacao(codigo, importacao.getStatus(), null, importacao.getDataAtualizacao());
+		return importacao;
+	}
+
+	/**
+	 * Lê e grava o arquivo até o fim, pulando os pedidos já processados numa tentativa
+	 * anterior. Erro de leitura (inclusive conexão do cliente caindo), de formato ou de
+	 * banco encerra a importação como FALHOU, com tudo o que foi gravado até o último
+	 * lote preservado para a retomada.
+	 *
+	 * @throws ImpossivelRetomarImportacaoException se outra requisição está avançando a mesma importação
+	 */
+	public ImportacaoVenda importar(ImportacaoVenda importacao, InputStream arquivo, Charset charset) {
+		CatalogoImportacao catalogo = new CatalogoImportacao(cervejas, clientes);
+		try (LeitorArquivo<PedidoImportado> leitor = leitor(importacao.getFormato(),
+				new InputStreamReader(arquivo, charset))) {
+			pularProcessados(leitor, importacao.getPedidosProcessados());
+
+			List<PedidoImportado> lote = new ArrayList<>(tamanhoLote);
+			PedidoImportado pedido;
+			while ((pedido = leitor.proximo()) != null) {
+				lote.add(pedido);
+				if (lote.size() >= tamanhoLote) {
+					processarLote(importacao, catalogo, lote);
+					lote.clear();
+				}
+			}
+			if (!lote.isEmpty()) {
+				processarLote(importacao, catalogo, lote);
+			}
+			importacao.setStatus(StatusImportacao.CONCLUIDA);
+		} catch (ImpossivelRetomarImportacaoException e) {
+			throw e;
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Importação {} interrompida após {} pedidos: {}", importacao.getCodigo(),
+					importacao.getPedidosProcessados(), e.getMessage());
+			importacao.setStatus(StatusImportacao.FALHOU);
+			importacao.setMensagem(truncar(e.getMessage(), TAMANHO_MENSAGEM));
+		}
+
+		importacao.setDataAtualizacao(LocalDateTime.now(clock));
+		logger.info("Importação {} {}: {} pedidos, {} vendas, {} rejeitados", importacao.getCodigo(),
+				importacao.getStatus(), importacao.getPedidosProcessados(), importacao.getVendasImportadas(),
+				importacao.getPedidosRejeitados());
+		importacoes.atualizarSituacao(importacao.getCodigo(), importacao.getStatus(), importacao.getMensagem(),
+				importacao.getDataAtualizacao());
+		return importacao;
+	}
+
+	public SituacaoImportacao situacao(ImportacaoVenda importacao) {
+		return SituacaoImportacao.de(importacao, gravador.erros(importacao.getCodigo(), maxErros));
+	}
+
+	LeitorArquivo<PedidoImportado> leitor(FormatoImportacao formato, Reader entrada) throws IOException {
+		return formato == FormatoImportacao.JSON
+				? new LeitorPedidosJson(objectMapper, entrada)
+				: new LeitorPedidosCsv(entrada);
+	}
+
+	private void pularProcessados(LeitorArquivo<PedidoImportado> leitor, int processados) throws IOException {
+		for (int i = 0; i < processados; i++) {
+			if (leitor.proximo() == null) {
+				throw new ArquivoImportacaoInvalidoException("O arquivo tem menos pedidos que os "
+						+ processados + " já processados nesta importação");
+			}
+		}
+	}
+
+	private void processarLote(ImportacaoVenda importacao, CatalogoImportacao catalogo, List<PedidoImportado> pedidos) {
+		Timer.Sample amostra = Timer.start(meterRegistry);
+		catalogo.carregar(pedidos);
+
+		List<Venda> vendas = new ArrayList<>(pedidos.size());
+		List<ErroImportacao> erros = new ArrayList<>();
+		int rejeitados = 0;
+		LocalDate hoje = LocalDate.now(clock);
+		for (PedidoImportado pedido : pedidos) {
+			List<String> mensagens = new ArrayList<>(pedido.getErros());
+			Venda venda = montarVenda(pedido, catalogo, hoje, mensagens);
+			if (mensagens.isEmpty()) {
+				vendas.add(venda);
+				continue;
+			}
+			if (importacao.getPedidosRejeitados() + rejeitados < maxErros) {
+				erros.add(new ErroImportacao(pedido.getNumero(), pedido.getLinha(), String.join("; ", mensagens)));
+			}
+			rejeitados++;
+		}
+
+		LoteImportacao lote = new LoteImportacao(pedidos.size(), vendas, rejeitados, erros);
+		int itens = lote.itens();
+		long primeiroIdItem = itens > 0 ? gravador.reservarIdsItens(itens) : 0;
+		gravador.gravar(importacao, lote, primeiroIdItem, LocalDateTime.now(clock));
+
+		importacao.setPedidosProcessados(importacao.getPedidosProcessados() + lote.pedidos());
+		importacao.setVendasImportadas(importacao.getVendasImportadas() + vendas.size());
+		importacao.setPedidosRejeitados(importacao.getPedidosRejeitados() + rejeitados);
+
+		amostra.stop(Timer.builder("brewer.importacao.lote")
+				.description("Tempo de validação e gravação de um lote de pedidos importados")
+				.tag("formato", importacao.getFormato().name())
+				.register(meterRegistry));
+		contar("importado", vendas.size());
+		contar("rejeitado", rejeitados);
+	}
+
+	/**
+	 * Monta a venda como a tela montaria e aplica as mesmas validações (VendaValidator),
+	 * mais as que a tela garante pelo próprio formulário: cliente e SKUs existentes,
+	 * quantidade positiva e tamanho da observação.
+	 */
+	private Venda montarVenda(PedidoImportado pedido, CatalogoImportacao catalogo, LocalDate hoje,
+			List<String> mensagens) {
+		Venda venda = new Venda();
+		venda.setStatus(StatusVenda.ORCAMENTO);
+		venda.setDataCriacao(hoje);
+		venda.setValorFrete(pedido.getValorFrete());
+		venda.setValorDesconto(pedido.getValorDesconto());
+		venda.setObservacao(pedido.getObservacao());
+		venda.setDataEntrega(pedido.getDataEntrega());
+		venda.setHorarioEntrega(pedido.getHorarioEntrega());
+
+		if (pedido.getCpfOuCnpjCliente() != null) {
+			Long codigoCliente = catalogo.cliente(pedido.getCpfOuCnpjCliente());
+			if (codigoCliente == null) {
+				mensagens.add("Cliente não encontrado: " + pedido.getCpfOuCnpjCliente());
+			} else {
+				Cliente cliente = new Cliente();
+				cliente.setCodigo(codigoCliente);
+				venda.setCliente(cliente);
+			}
+		}
+
+		List<ItemVenda> itens = new ArrayList<>(pedido.getItens().size());
+		for (ItemImportado importado : pedido.getItens()) {
+			ItemVenda item = montarItem(importado, catalogo, mensagens);
+			if (item != null) {
+				itens.add(item);
+			}
+		}
+		venda.adicionarItens(itens);
+
+		BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(venda, "venda");
+		vendaValidator.validate(venda, resultado);
+		// Cliente e itens informados mas não encontrados já têm mensagem própria
+		boolean clienteJaRejeitado = pedido.getCpfOuCnpjCliente() != null;
+		boolean itensJaRejeitados = !pedido.getItens().isEmpty();
+		for (ObjectError erro : resultado.getAllErrors()) {
+			boolean repetida = erro instanceof FieldError campo
+					? clienteJaRejeitado && "cliente".equals(campo.getField())
+					: itensJaRejeitados;
+			if (!repetida) {
+				mensagens.add(erro.getDefaultMessage());
+			}
+		}
+		if (venda.getObservacao() != null && venda.getObservacao().length() > TAMANHO_OBSERVACAO) {
+			mensagens.add("Observação com mais de " + TAMANHO_OBSERVACAO + " caracteres");
+		}
+
+		if (venda.getDataEntrega() != null && venda.getHorarioEntrega() != null) {
+			venda.setDataHoraEntrega(LocalDateTime.of(venda.getDataEntrega(), venda.getHorarioEntrega()));
+		}
+		venda.setValorTotal(venda.calcularValorTotal());
+		return venda;
+	}
+
+	private ItemVenda montarItem(ItemImportado importado, CatalogoImportacao catalogo, List<String> mensagens) {
+		ReferenciaCerveja referencia = catalogo.cerveja(importado.sku());
+		if (referencia == null) {
+			mensagens.add("Linha " + importado.linha() + ": SKU não encontrado: " + importado.sku());
+			return null;
+		}
+		if (importado.quantidade() == null || importado.quantidade() <= 0) {
+			mensagens.add("Linha " + importado.linha() + ": quantidade deve ser maior que zero");
+			return null;
+		}
+
+		Cerveja cerveja = new Cerveja();
+		cerveja.setCodigo(referencia.getCodigo());
+		cerveja.setSku(referencia.getSku());
+
+		ItemVenda item = new ItemVenda();
+		item.setCerveja(cerveja);
+		item.setQuantidade(importado.quantidade());
+		item.setValorUnitario(importado.valorUnitario() != null ? importado.valorUnitario() : referencia.getValor());
+		return item;
+	}
+
+	private void contar(String resultado, int quantidade) {
+		if (quantidade > 0) {
+			Counter.builder("brewer.importacao.pedidos")
+					.tag("resultado", resultado)
+					.register(meterRegistry)
+					.increment(quantidade);
+		}
+	}
+
+	private static String truncar(String texto, int tamanho) {
+		return texto != null && texto.length() > tamanho ? texto.substring(0, tamanho) : texto;
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lê o arquivo de importação um registro (pedido, cerveja) por vez, sem carregar o
+ * arquivo inteiro.
+ */
+interface LeitorArquivo<T> extends Closeable {
+
+	/**
+	 * @return o próximo registro, ou null no fim do arquivo
+	 * @throws com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException
+	 *         se a estrutura do arquivo não permite continuar a leitura
+	 */
+	T proximo() throws IOException;
+
+}
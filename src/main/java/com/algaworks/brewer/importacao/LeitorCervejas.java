@@ -0,0 +1,73 @@
+package com.algaworks.brewer.importacao;
+
+import static com.algaworks.brewer.importacao.ConversorCampos.constante;
+import static com.algaworks.brewer.importacao.ConversorCampos.decimal;
+import static com.algaworks.brewer.importacao.ConversorCampos.inteiro;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Origem;
+import com.algaworks.brewer.model.Sabor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Catálogo de cervejas em CSV ou JSON, uma cerveja por linha ou objeto, com os mesmos campos:
+ *
+ * sku;nome;descricao;valor;teor_alcoolico;comissao;sabor;origem;estilo;estoque_minimo
+ *
+ * [{"sku": "AA1234", "nome": "...", "descricao": "...", "valor": 9.90, "teorAlcoolico": 4.5,
+ *   "comissao": 5, "sabor": "Suave", "origem": "Nacional", "estilo": "Pilsner", "estoqueMinimo": 10}]
+ *
+ * No CSV só sku, nome, valor, sabor, origem e estilo são obrigatórios no cabeçalho; os
+ * demais campos obrigatórios da cerveja, se faltarem, rejeitam a linha na validação.
+ * Sabor e origem aceitam o nome ou a descrição ("FRUTADA", "Frutada"). O estoque não
+ * vem no arquivo: é movido só por vendas e pelo cadastro.
+ */
+final class LeitorCervejas implements LeitorArquivo<CervejaImportada> {
+
+	private final ArquivoRegistros arquivo;
+
+	private LeitorCervejas(ArquivoRegistros arquivo) {
+		this.arquivo = arquivo;
+	}
+
+	static LeitorCervejas csv(Reader entrada) throws IOException {
+		return new LeitorCervejas(new ArquivoCsv(entrada, "sku", "nome", "valor", "sabor", "origem", "estilo"));
+	}
+
+	static LeitorCervejas json(ObjectMapper objectMapper, Reader entrada) throws IOException {
+		return new LeitorCervejas(new ObjetosJson(objectMapper, entrada, "cervejas"));
+	}
+
+	@Override
+	public CervejaImportada proximo() throws IOException {
+		if (!arquivo.avancar()) {
+			return null;
+		}
+		int linha = arquivo.linha();
+
+		CervejaImportada importada = new CervejaImportada(linha);
+		Cerveja cerveja = importada.getCerveja();
+		cerveja.setSku(arquivo.campo("sku"));
+		cerveja.setNome(arquivo.campo("nome"));
+		cerveja.setDescricao(arquivo.campo("descricao"));
+		cerveja.setValor(decimal(arquivo.campo("valor"), "valor", linha, importada));
+		cerveja.setTeorAlcoolico(decimal(arquivo.campo("teor_alcoolico"), "teor alcoólico", linha, importada));
+		cerveja.setComissao(decimal(arquivo.campo("comissao"), "comissão", linha, importada));
+		cerveja.setSabor(constante(arquivo.campo("sabor"), "sabor", linha, importada, Sabor.values(),
+				Sabor::getDescricao));
+		cerveja.setOrigem(constante(arquivo.campo("origem"), "origem", linha, importada, Origem.values(),
+				Origem::getDescricao));
+		cerveja.setEstoqueMinimo(inteiro(arquivo.campo("estoque_minimo"), "estoque mínimo", linha, importada));
+		importada.setEstilo(arquivo.campo("estilo"));
+		return importada;
+	}
+
+	@Override
+	public void close() throws IOException {
+		arquivo.close();
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.algaworks.brewer.importacao;
+
+import static com.algaworks.brewer.importacao.ConversorCampos.constante;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.Endereco;
+import com.algaworks.brewer.model.TipoPessoa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Clientes em CSV ou JSON, um por linha ou objeto, com os mesmos campos:
+ *
+ * nome;tipo_pessoa;cpf_cnpj;telefone;email;logradouro;numero;complemento;cep;cidade;estado
+ *
+ * [{"nome": "...", "cpfCnpj": "123.456.789-09", "email": "...", "cidade": "Uberlândia", "estado": "MG"}]
+ *
+ * O CPF/CNPJ pode vir formatado ou não. Sem tipo_pessoa, o tipo sai do número de dígitos
+ * do documento (11 CPF, 14 CNPJ); informado, aceita o nome ou a descrição ("Física").
+ * A cidade é procurada pelo nome junto com a sigla do estado.
+ */
+final class LeitorClientes implements LeitorArquivo<ClienteImportado> {
+
+	private static final int DIGITOS_CPF = 11;
+	private static final int DIGITOS_CNPJ = 14;
+
+	private final ArquivoRegistros arquivo;
+
+	private LeitorClientes(ArquivoRegistros arquivo) {
+		this.arquivo = arquivo;
+	}
+
+	static LeitorClientes csv(Reader entrada) throws IOException {
+		return new LeitorClientes(new ArquivoCsv(entrada, "nome", "cpf_cnpj", "email"));
+	}
+
+	static LeitorClientes json(ObjectMapper objectMapper, Reader entrada) throws IOException {
+		return new LeitorClientes(new ObjetosJson(objectMapper, entrada, "clientes"));
+	}
+
+	@Override
+	public ClienteImportado proximo() throws IOException {
+		if (!arquivo.avancar()) {
+			return null;
+		}
+		int linha = arquivo.linha();
+
+		ClienteImportado importado = new ClienteImportado(linha);
+		Cliente cliente = importado.getCliente();
+		cliente.setNome(arquivo.campo("nome"));
+		String documento = arquivo.campo("cpf_cnpj");
+		cliente.setCpfOuCnpj(documento != null ? TipoPessoa.removerFormatacao(documento) : null);
+		cliente.setTipoPessoa(tipoPessoa(arquivo.campo("tipo_pessoa"), cliente.getCpfOuCnpj(), linha, importado));
+		cliente.setTelefone(arquivo.campo("telefone"));
+		cliente.setEmail(arquivo.campo("email"));
+
+		Endereco endereco = cliente.getEndereco();
+		endereco.setLogradouro(arquivo.campo("logradouro"));
+		endereco.setNumero(arquivo.campo("numero"));
+		endereco.setComplemento(arquivo.campo("complemento"));
+		endereco.setCep(arquivo.campo("cep"));
+		importado.setCidade(arquivo.campo("cidade"));
+		importado.setEstado(arquivo.campo("estado"));
+		return importado;
+	}
+
+	@Override
+	public void close() throws IOException {
+		arquivo.close();
+	}
+
+	private static TipoPessoa tipoPessoa(String valor, String documento, int linha, RegistroImportado registro) {
+		if (valor != null) {
+			return constante(valor, "tipo de pessoa", linha, registro, TipoPessoa.values(), TipoPessoa::getDescricao);
+		}
+		if (documento != null && documento.length() == DIGITOS_CPF) {
+			return TipoPessoa.FISICA;
+		}
+		if (documento != null && documento.length() == DIGITOS_CNPJ) {
+			return TipoPessoa.JURIDICA;
+		}
+		// Sem tipo a validação rejeita a linha
+		return null;
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.algaworks.brewer.importacao;
+
+import static com.algaworks.brewer.importacao.ConversorCampos.data;
+import static com.algaworks.brewer.importacao.ConversorCampos.decimal;
+import static com.algaworks.brewer.importacao.ConversorCampos.horario;
+import static com.algaworks.brewer.importacao.ConversorCampos.inteiro;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.algaworks.brewer.importacao.PedidoImportado.ItemImportado;
+
+/**
+ * CSV separado por ponto e vírgula, com cabeçalho e uma linha por item:
+ *
+ * pedido;cliente;sku;quantidade;valor_unitario;frete;desconto;data_entrega;horario_entrega;observacao
+ *
+ * Linhas seguidas com o mesmo pedido formam uma venda; os campos do pedido (cliente,
+ * frete, ...) são lidos da primeira delas. Só pedido, cliente, sku e quantidade são
+ * obrigatórios no cabeçalho, em qualquer ordem (ver ArquivoCsv).
+ */
+final class LeitorPedidosCsv implements LeitorArquivo<PedidoImportado> {
+
+	private final ArquivoCsv arquivo;
+	private boolean pendente;
+
+	LeitorPedidosCsv(Reader entrada) throws IOException {
+		this.arquivo = new ArquivoCsv(entrada, "pedido", "cliente", "sku", "quantidade");
+		this.pendente = arquivo.avancar();
+	}
+
+	@Override
+	public PedidoImportado proximo() throws IOException {
+		if (!pendente) {
+			return null;
+		}
+
+		String numero = arquivo.campo("pedido");
+		PedidoImportado pedido = new PedidoImportado(numero, arquivo.linha());
+		lerCamposDoPedido(pedido, arquivo.linha());
+
+		do {
+			lerItem(pedido, arquivo.linha());
+			pendente = arquivo.avancar();
+		} while (numero != null && pendente && numero.equals(arquivo.campo("pedido")));
+
+		return pedido;
+	}
+
+	@Override
+	public void close() throws IOException {
+		arquivo.close();
+	}
+
+	private void lerCamposDoPedido(PedidoImportado pedido, int linha) {
+		if (pedido.getNumero() == null) {
+			pedido.rejeitar("Linha " + linha + ": número do pedido não informado");
+		}
+		pedido.setCpfOuCnpjCliente(arquivo.campo("cliente"));
+		pedido.setValorFrete(decimal(arquivo.campo("frete"), "frete", linha, pedido));
+		pedido.setValorDesconto(decimal(arquivo.campo("desconto"), "desconto", linha, pedido));
+		pedido.setDataEntrega(data(arquivo.campo("data_entrega"), "data de entrega", linha, pedido));
+		pedido.setHorarioEntrega(horario(arquivo.campo("horario_entrega"), "horário de entrega", linha, pedido));
+		pedido.setObservacao(arquivo.campo("observacao"));
+	}
+
+	private void lerItem(PedidoImportado pedido, int linha) {
+		pedido.adicionarItem(new ItemImportado(
+				arquivo.campo("sku"),
+				inteiro(arquivo.campo("quantidade"), "quantidade", linha, pedido),
+				decimal(arquivo.campo("valor_unitario"), "valor unitário", linha, pedido),
+				linha));
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.algaworks.brewer.importacao;
+
+import static com.algaworks.brewer.importacao.ArrayJson.texto;
+import static com.algaworks.brewer.importacao.ConversorCampos.data;
+import static com.algaworks.brewer.importacao.ConversorCampos.decimal;
+import static com.algaworks.brewer.importacao.ConversorCampos.horario;
+import static com.algaworks.brewer.importacao.ConversorCampos.inteiro;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.algaworks.brewer.importacao.PedidoImportado.ItemImportado;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Array JSON de pedidos, lido em streaming (ver ArrayJson):
+ *
+ * [{"pedido": "A-1", "cliente": "123.456.789-09", "frete": 10.0, "desconto": 0,
+ *   "dataEntrega": "2024-12-31", "horarioEntrega": "14:00", "observacao": "...",
+ *   "itens": [{"sku": "AA1234", "quantidade": 2, "valorUnitario": 9.90}]}]
+ */
+final class LeitorPedidosJson implements LeitorArquivo<PedidoImportado> {
+
+	private final ArrayJson arquivo;
+
+	LeitorPedidosJson(ObjectMapper objectMapper, Reader entrada) throws IOException {
+		this.arquivo = new ArrayJson(objectMapper, entrada, "pedidos");
+	}
+
+	@Override
+	public PedidoImportado proximo() throws IOException {
+		JsonNode no = arquivo.proximo();
+		if (no == null) {
+			return null;
+		}
+
+		int linha = arquivo.linha();
+		PedidoImportado pedido = new PedidoImportado(texto(no, "pedido"), linha);
+		if (pedido.getNumero() == null) {
+			pedido.rejeitar("Linha " + linha + ": número do pedido não informado");
+		}
+		pedido.setCpfOuCnpjCliente(texto(no, "cliente"));
+		pedido.setValorFrete(decimal(texto(no, "frete"), "frete", linha, pedido));
+		pedido.setValorDesconto(decimal(texto(no, "desconto"), "desconto", linha, pedido));
+		pedido.setDataEntrega(data(texto(no, "dataEntrega"), "data de entrega", linha, pedido));
+		pedido.setHorarioEntrega(horario(texto(no, "horarioEntrega"), "horário de entrega", linha, pedido));
+		pedido.setObservacao(texto(no, "observacao"));
+
+		JsonNode itens = no.path("itens");
+		if (!itens.isMissingNode() && !itens.isArray()) {
+			pedido.rejeitar("Linha " + linha + ": itens deve ser um array");
+			return pedido;
+		}
+		for (JsonNode item : itens) {
+			pedido.adicionarItem(new ItemImportado(
+					texto(item, "sku"),
+					inteiro(texto(item, "quantidade"), "quantidade", linha, pedido),
+					decimal(texto(item, "valorUnitario"), "valor unitário", linha, pedido),
+					linha));
+		}
+		return pedido;
+	}
+
+	@Override
+	public void close() throws IOException {
+		arquivo.close();
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.List;
+
+import com.algaworks.brewer.model.Venda;
+
+/**
+ * Resultado da validação de um lote de pedidos: as vendas a gravar e os erros dos
+ * pedidos rejeitados (só os que ainda cabem no limite de erros guardados).
+ */
+record LoteImportacao(int pedidos, List<Venda> vendas, int rejeitados, List<ErroImportacao> erros) {
+
+	int itens() {
+		return vendas.stream().mapToInt(venda -> venda.getItens().size()).sum();
+	}
+
+}
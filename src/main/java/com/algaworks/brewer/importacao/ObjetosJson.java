@@ -0,0 +1,61 @@
+package com.algaworks.brewer.importacao;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Array JSON de objetos planos lido como registros: o campo teor_alcoolico é procurado
+ * como "teorAlcoolico".
+ */
+final class ObjetosJson implements ArquivoRegistros {
+
+	private final ArrayJson arquivo;
+	private JsonNode atual;
+
+	/**
+	 * @param descricao o que o array contém, para a mensagem de arquivo inválido
+	 */
+	ObjetosJson(ObjectMapper objectMapper, Reader entrada, String descricao) throws IOException {
+		this.arquivo = new ArrayJson(objectMapper, entrada, descricao);
+	}
+
+	@Override
+	public boolean avancar() throws IOException {
+		atual = arquivo.proximo();
+		return atual != null;
+	}
+
+	@Override
+	public String campo(String nome) {
+		return atual != null ? ArrayJson.texto(atual, camelCase(nome)) : null;
+	}
+
+	@Override
+	public int linha() {
+		return arquivo.linha();
+	}
+
+	@Override
+	public void close() throws IOException {
+		arquivo.close();
+	}
+
+	/** teor_alcoolico -> teorAlcoolico */
+	private static String camelCase(String nome) {
+		StringBuilder resultado = new StringBuilder(nome.length());
+		boolean maiuscula = false;
+		for (char c : nome.toCharArray()) {
+			if (c == '_') {
+				maiuscula = true;
+			} else {
+				resultado.append(maiuscula ? Character.toUpperCase(c) : c);
+				maiuscula = false;
+			}
+		}
+		return resultado.toString();
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.algaworks.brewer.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido como veio no arquivo, antes de resolver cliente e SKUs. Erros de formato
+ * (número, data) não interrompem a leitura: ficam no pedido e ele é rejeitado.
+ */
+public class PedidoImportado implements RegistroImportado {
+
+	private final String numero;
+	private final int linha;
+	private String cpfOuCnpjCliente;
+	private BigDecimal valorFrete;
+	private BigDecimal valorDesconto;
+	private String observacao;
+	private LocalDate dataEntrega;
+	private LocalTime horarioEntrega;
+	private final List<ItemImportado> itens = new ArrayList<>();
+	private final List<String> erros = new ArrayList<>();
+
+	public PedidoImportado(String numero, int linha) {
+		this.numero = numero;
+		this.linha = linha;
+	}
+
+	/**
+	 * @return identificador do pedido no sistema do distribuidor
+	 */
+	public String getNumero() {
+		return numero;
+	}
+
+	/**
+	 * @return linha do arquivo onde o pedido começa
+	 */
+	public int getLinha() {
+		return linha;
+	}
+
+	public String getCpfOuCnpjCliente() {
+		return cpfOuCnpjCliente;
+	}
+
+	public void setCpfOuCnpjCliente(String cpfOuCnpjCliente) {
+		this.cpfOuCnpjCliente = cpfOuCnpjCliente;
+	}
+
+	public BigDecimal getValorFrete() {
+		return valorFrete;
+	}
+
+	public void setValorFrete(BigDecimal valorFrete) {
+		this.valorFrete = valorFrete;
+	}
+
+	public BigDecimal getValorDesconto() {
+		return valorDesconto;
+	}
+
+	public void setValorDesconto(BigDecimal valorDesconto) {
+		this.valorDesconto = valorDesconto;
+	}
+
+	public String getObservacao() {
+		return observacao;
+	}
+
+	public void setObservacao(String observacao) {
+		this.observacao = observacao;
+	}
+
+	public LocalDate getDataEntrega() {
+		return dataEntrega;
+	}
+
+	public void setDataEntrega(LocalDate dataEntrega) {
+		this.dataEntrega = dataEntrega;
+	}
+
+	public LocalTime getHorarioEntrega() {
+		return horarioEntrega;
+	}
+
+	public void setHorarioEntrega(LocalTime horarioEntrega) {
+		this.horarioEntrega = horarioEntrega;
+	}
+
+	public List<ItemImportado> getItens() {
+		return itens;
+	}
+
+	public void adicionarItem(ItemImportado item) {
+		itens.add(item);
+	}
+
+	public List<String> getErros() {
+		return erros;
+	}
+
+	@Override
+	public void rejeitar(String erro) {
+		erros.add(erro);
+	}
+
+	/**
+	 * Item do pedido; valorUnitario nulo usa o preço de tabela da cerveja.
+	 */
+	public record ItemImportado(String sku, Integer quantidade, BigDecimal valorUnitario, int linha) {
+	}
+
+}
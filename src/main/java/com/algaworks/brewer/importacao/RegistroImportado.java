@@ -0,0 +1,11 @@
+package com.algaworks.brewer.importacao;
+
+/**
+ * Registro lido de um arquivo de importação (pedido, cerveja) que acumula os próprios
+ * erros em vez de interromper a leitura.
+ */
+interface RegistroImportado {
+
+	void rejeitar(String erro);
+
+}
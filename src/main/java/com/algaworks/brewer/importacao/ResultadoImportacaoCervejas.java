@@ -0,0 +1,19 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.List;
+
+/**
+ * Resposta da API de importação de catálogo. A gravação é por SKU, então reenviar o
+ * arquivo depois de uma falha só regrava os lotes que já tinham entrado.
+ *
+ * @param linhas cervejas lidas do arquivo, inclusive as rejeitadas
+ * @param mensagem motivo da interrupção, ou null se o arquivo foi lido até o fim
+ */
+public record ResultadoImportacaoCervejas(int linhas, int inseridas, int atualizadas, int rejeitadas,
+		String mensagem, List<ErroCervejaImportada> erros) {
+
+	public boolean isConcluida() {
+		return mensagem == null;
+	}
+
+}
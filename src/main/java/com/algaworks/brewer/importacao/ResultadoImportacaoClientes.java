@@ -0,0 +1,20 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.List;
+
+/**
+ * Resposta da API de importação de clientes. Os CPF/CNPJ já cadastrados são pulados,
+ * então reenviar o arquivo depois de uma falha só importa o que faltou.
+ *
+ * @param linhas clientes lidos do arquivo, inclusive os duplicados e rejeitados
+ * @param duplicados CPF/CNPJ já cadastrados ou repetidos no arquivo (vale a primeira linha)
+ * @param mensagem motivo da interrupção, ou null se o arquivo foi lido até o fim
+ */
+public record ResultadoImportacaoClientes(int linhas, int importados, int duplicados, int rejeitados,
+		String mensagem, List<ErroClienteImportado> erros) {
+
+	public boolean isConcluida() {
+		return mensagem == null;
+	}
+
+}
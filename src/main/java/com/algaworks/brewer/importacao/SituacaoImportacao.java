@@ -0,0 +1,23 @@
+package com.algaworks.brewer.importacao;
+
+import java.util.List;
+
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.model.StatusImportacao;
+
+/**
+ * Resposta da API de importação. Para retomar uma importação que falhou, reenviar o
+ * mesmo arquivo com ?importacao={codigo}: os pedidosProcessados já gravados são pulados.
+ */
+public record SituacaoImportacao(Long codigo, StatusImportacao status, FormatoImportacao formato,
+		int pedidosProcessados, int vendasImportadas, int pedidosRejeitados, String mensagem,
+		List<ErroImportacao> erros) {
+
+	static SituacaoImportacao de(ImportacaoVenda importacao, List<ErroImportacao> erros) {
+		return new SituacaoImportacao(importacao.getCodigo(), importacao.getStatus(), importacao.getFormato(),
+				importacao.getPedidosProcessados(), importacao.getVendasImportadas(),
+				importacao.getPedidosRejeitados(), importacao.getMensagem(), erros);
+	}
+
+}
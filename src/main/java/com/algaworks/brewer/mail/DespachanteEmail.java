@@ -0,0 +1,63 @@
+package com.algaworks.brewer.mail;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.algaworks.brewer.model.EmailPendente;
+
+/**
+ * Drena a fila de e-mails em lotes.
+ *
+ * Cada ciclo reserva um lote, envia tudo por uma única conexão SMTP e registra o
+ * resultado. Enquanto os lotes vierem cheios o ciclo continua, para que picos
+ * (confirmações de fim de dia) não esperem o próximo agendamento.
+ */
+@Component
+@ConditionalOnProperty(name = "brewer.mail.fila.habilitada", havingValue = "true", matchIfMissing = true)
+public class DespachanteEmail {
+
+	private static final Logger logger = LoggerFactory.getLogger(DespachanteEmail.class);
+
+	@Autowired
+	private FilaEmail filaEmail;
+
+	@Autowired
+	private Mailer mailer;
+
+	@Scheduled(fixedDelayString = "${brewer.mail.fila.intervalo:5s}")
+	public void despachar() {
+		List<EmailPendente> lote;
+		do {
+			lote = filaEmail.reservarLote();
+			if (!lote.isEmpty()) {
+				processar(lote);
+			}
+		} while (lote.size() >= filaEmail.getTamanhoLote());
+	}
+
+	void processar(List<EmailPendente> lote) {
+		Map<EmailPendente, Exception> falhas = mailer.enviarLote(lote);
+
+		List<Long> enviados = lote.stream()
+				.filter(email -> !falhas.containsKey(email))
+				.map(EmailPendente::getCodigo)
+				.toList();
+		filaEmail.registrarEnvio(enviados);
+
+		falhas.forEach((email, erro) -> {
+			logger.warn("Falha ao enviar e-mail #{} para {}: {}",
+					email.getCodigo(), email.getDestinatario(), erro.getMessage());
+			filaEmail.registrarFalha(email.getCodigo(), erro.getMessage());
+		});
+
+		logger.info("Lote de e-mails processado: {} enviados, {} com falha", enviados.size(), falhas.size());
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.algaworks.brewer.mail;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.EmailPendente;
+import com.algaworks.brewer.model.StatusEmail;
+import com.algaworks.brewer.repository.EmailsPendentes;
+
+/**
+ * Operações transacionais sobre a tabela email_pendente.
+ *
+ * Cada método roda em uma transação curta: a conexão com o banco nunca fica
+ * aberta enquanto o despachante conversa com o servidor SMTP.
+ */
+@Component
+public class FilaEmail {
+
+	private static final Logger logger = LoggerFactory.getLogger(FilaEmail.class);
+
+	private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+	@Autowired
+	private EmailsPendentes emailsPendentes;
+
+	@Autowired
+	private Clock clock;
+
+	@Value("${brewer.mail.fila.tamanho-lote:50}")
+	private int tamanhoLote;
+
+	@Value("${brewer.mail.fila.max-tentativas:6}")
+	private int maxTentativas;
+
+	@Value("${brewer.mail.fila.backoff-inicial:30s}")
+	private Duration backoffInicial;
+
+	@Value("${brewer.mail.fila.backoff-maximo:1h}")
+	private Duration backoffMaximo;
+
+	@Value("${brewer.mail.fila.lease:5m}")
+	private Duration lease;
+
+	@Transactional
+	public void enfileirar(EmailPendente email) {
+		LocalDateTime agora = LocalDateTime.now(clock);
+		email.setStatus(StatusEmail.PENDENTE);
+		email.setDataCriacao(agora);
+		email.setProximaTentativa(agora);
+		emailsPendentes.save(email);
+	}
+
+	/**
+	 * Reserva um lote de e-mails prontos para envio.
+	 *
+	 * A próxima tentativa é empurrada para frente pelo tempo do lease: se o processo
+	 * morrer no meio do envio, o lote volta a ficar disponível quando o lease expirar.
+	 */
+	@Transactional
+	public List<EmailPendente> reservarLote() {
+		LocalDateTime agora = LocalDateTime.now(clock);
+		List<EmailPendente> lote = emailsPendentes.reservarProntos(agora, tamanhoLote);
+		lote.forEach(email -> email.setProximaTentativa(agora.plus(lease)));
+		return lote;
+	}
+
+	@Transactional
+	public void registrarEnvio(Collection<Long> codigos) {
+		if (codigos.isEmpty()) {
+			return;
+		}
+
+		LocalDateTime agora = LocalDateTime.now(clock);
+		emailsPendentes.findAllById(codigos).forEach(email -> {
+			email.setStatus(StatusEmail.ENVIADO);
+			email.setDataEnvio(agora);
+			email.setUltimoErro(null);
+		});
+	}
+
+	@Transactional
+	public void registrarFalha(Long codigo, String erro) {
+		emailsPendentes.findById(codigo).ifPresent(email -> {
+			int tentativas = email.getTentativas() + 1;
+			email.setTentativas(tentativas);
+			email.setUltimoErro(erro != null && erro.length() > TAMANHO_MAXIMO_ERRO
+					? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro);
+
+			if (tentativas >= maxTentativas) {
+				email.setStatus(StatusEmail.FALHA);
+				logger.error("E-mail #{} para {} descartado após {} tentativas. Último erro: {}",
+						codigo, email.getDestinatario(), tentativas, erro);
+			} else {
+				email.setProximaTentativa(LocalDateTime.now(clock)
+						.plus(calcularBackoff(tentativas, backoffInicial, backoffMaximo)));
+			}
+		});
+	}
+
+	public int getTamanhoLote() {
+		return tamanhoLote;
+	}
+
+	/**
+	 * Backoff exponencial: inicial, 2x inicial, 4x inicial... limitado ao máximo.
+	 */
+	static Duration calcularBackoff(int tentativas, Duration inicial, Duration maximo) {
+		int expoente = Math.min(Math.max(tentativas - 1, 0), 30);
+		Duration espera = inicial.multipliedBy(1L << expoente);
+		return espera.compareTo(maximo) > 0 ? maximo : espera;
+	}
+
+}
@@ -1,20 +1,25 @@
 package com.algaworks.brewer.mail;
 
-import java.util.HashMap;
-import java.util.Locale;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
+import com.algaworks.brewer.dto.ResumoVenda;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.EmailPendente;
 import com.algaworks.brewer.model.Venda;
 
 import jakarta.mail.MessagingException;
@@ -29,40 +34,98 @@ public class Mailer {
 	private JavaMailSender mailSender;
 
 	@Autowired
-	private TemplateEngine thymeleaf;
+	private ResumoVendaRenderer resumoVendaRenderer;
+
+	@Autowired
+	private FilaEmail filaEmail;
 
 	@Value("${brewer.mail.from}")
 	private String from;
 
-	@Value("${brewer.mail.logo-url}")
-	private String logo;
-
-	@Async
+	/**
+	 * Renderiza o resumo da venda e grava na fila de e-mails.
+	 *
+	 * Precisa rodar dentro da transação que salva a venda: o e-mail só existe se
+	 * a venda for confirmada, e o snapshot é montado enquanto as associações ainda
+	 * podem ser carregadas. O envio de fato é feito pelo {@link DespachanteEmail}.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
 	public void enviar(Venda venda) {
-		Context context = new Context(new Locale("pt", "BR"));
+		String mensagem = resumoVendaRenderer.renderizar(ResumoVenda.de(venda));
+
+		EmailPendente email = new EmailPendente();
+		email.setDestinatario(venda.getCliente().getEmail());
+		email.setAssunto(String.format("Brewer - Venda nº %d", venda.getCodigo()));
+		email.setCorpo(mensagem);
+		email.setCodigoVenda(venda.getCodigo());
+		filaEmail.enfileirar(email);
+
+		logger.info("E-mail para {} referente à venda #{} adicionado à fila",
+				venda.getCliente().getEmail(), venda.getCodigo());
+	}
+
+	/**
+	 * Coloca na fila o aviso de que a cerveja chegou ao ponto de reposição.
+	 */
+	public void enviarAlertaEstoque(String destinatario, Cerveja cerveja, int quantidade, int estoqueMinimo) {
+		EmailPendente email = new EmailPendente();
+		email.setDestinatario(destinatario);
+		email.setAssunto(String.format("Brewer - Estoque baixo: %s (%s)", cerveja.getNome(), cerveja.getSku()));
+		email.setCorpo(String.format("<p>A cerveja <strong>%s</strong> (SKU %s) está com %d unidade(s) em estoque,"
+				+ " no ponto de reposição de %d.</p>", HtmlUtils.htmlEscape(cerveja.getNome()),
+				HtmlUtils.htmlEscape(cerveja.getSku()), quantidade, estoqueMinimo));
+		filaEmail.enfileirar(email);
+	}
+
+	/**
+	 * Envia um lote de e-mails usando uma única conexão SMTP.
+	 *
+	 * @return e-mails que falharam, com o respectivo erro; vazio se todos foram enviados
+	 */
+	public Map<EmailPendente, Exception> enviarLote(List<EmailPendente> lote) {
+		Map<EmailPendente, Exception> falhas = new LinkedHashMap<>();
+		Map<MimeMessage, EmailPendente> mensagens = new LinkedHashMap<>();
 
-		Map<String, Object> variaveis = new HashMap<>();
-		variaveis.put("venda", venda);
-		variaveis.put("logo", logo);
-		context.setVariables(variaveis);
+		for (EmailPendente email : lote) {
+			try {
+				mensagens.put(criarMensagem(email), email);
+			} catch (MessagingException e) {
+				falhas.put(email, e);
+			}
+		}
 
-		String mensagem = thymeleaf.process("mail/ResumoVenda", context);
+		if (mensagens.isEmpty()) {
+			return falhas;
+		}
 
 		try {
-			MimeMessage mimeMessage = mailSender.createMimeMessage();
-			MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-			helper.setFrom(from);
-			helper.setTo(venda.getCliente().getEmail());
-			helper.setSubject(String.format("Brewer - Venda nº %d", venda.getCodigo()));
-			helper.setText(mensagem, true);
-
-			mailSender.send(mimeMessage);
-			logger.info("E-mail enviado com sucesso para {} referente à venda #{}",
-					venda.getCliente().getEmail(), venda.getCodigo());
-		} catch (MessagingException e) {
-			logger.error("Erro ao enviar e-mail para {} referente à venda #{}. Erro: {}",
-					venda.getCliente().getEmail(), venda.getCodigo(), e.getMessage(), e);
-			throw new RuntimeException("Erro ao enviar e-mail", e);
+			// JavaMailSenderImpl abre o transporte uma vez e envia todas as mensagens por ele
+			mailSender.send(mensagens.keySet().toArray(new MimeMessage[0]));
+		} catch (MailSendException e) {
+			e.getFailedMessages().forEach((mensagem, erro) -> {
+				EmailPendente email = mensagens.get(mensagem);
+				if (email != null) {
+					falhas.put(email, erro);
+				}
+			});
+			if (e.getFailedMessages().isEmpty()) {
+				mensagens.values().forEach(email -> falhas.put(email, e));
+			}
+		} catch (MailException e) {
+			logger.error("Erro ao conectar ao servidor SMTP: {}", e.getMessage(), e);
+			mensagens.values().forEach(email -> falhas.put(email, e));
 		}
+
+		return falhas;
+	}
+
+	private MimeMessage criarMensagem(EmailPendente email) throws MessagingException {
+		MimeMessage mimeMessage = mailSender.createMimeMessage();
+		MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+		helper.setFrom(from);
+		helper.setTo(email.getDestinatario());
+		helper.setSubject(email.getAssunto());
+		helper.setText(email.getCorpo(), true);
+		return mimeMessage;
 	}
-}
\ No newline at end of file
+}
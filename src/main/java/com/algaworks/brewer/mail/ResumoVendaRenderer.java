@@ -0,0 +1,82 @@
+package com.algaworks.brewer.mail;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.algaworks.brewer.dto.ResumoVenda;
+import com.algaworks.brewer.thymeleaf.PreCompilacaoTemplates;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Renderiza o e-mail de resumo da venda.
+ *
+ * Usa um TemplateEngine próprio, com cache sempre ligado e compilador SpEL habilitado,
+ * independente da configuração das páginas (que em dev roda sem cache). O template é
+ * parseado na inicialização, então o primeiro e-mail não paga o custo do parse.
+ */
+@Component
+public class ResumoVendaRenderer {
+
+	static final String TEMPLATE = "mail/ResumoVenda";
+
+	private static final Locale LOCALE = new Locale("pt", "BR");
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.mail.logo-url}")
+	private String logo;
+
+	private final TemplateEngine templateEngine = criarTemplateEngine();
+
+	private Timer tempoRenderizacao;
+
+	@PostConstruct
+	void inicializar() {
+		tempoRenderizacao = Timer.builder("brewer.mail.renderizacao")
+				.description("Tempo de renderização dos e-mails")
+				.tag("template", TEMPLATE)
+				.register(meterRegistry);
+
+		PreCompilacaoTemplates.precompilar(templateEngine, TEMPLATE);
+	}
+
+	public String renderizar(ResumoVenda venda) {
+		Context context = new Context(LOCALE);
+		context.setVariable("venda", venda);
+		context.setVariable("logo", logo);
+
+		return tempoRenderizacao.record(() -> templateEngine.process(TEMPLATE, context));
+	}
+
+	TemplateEngine getTemplateEngine() {
+		return templateEngine;
+	}
+
+	private static TemplateEngine criarTemplateEngine() {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCheckExistence(true);
+		resolver.setCacheable(true);
+
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(resolver);
+		engine.setEnableSpringELCompiler(true);
+		return engine;
+	}
+
+}
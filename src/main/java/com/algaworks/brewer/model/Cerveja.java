@@ -70,6 +70,10 @@ public class Cerveja implements Serializable {
 	@Column(name = "quantidade_estoque")
 	private Integer quantidadeEstoque;
 
+	@Max(value = 9999, message = "O estoque mínimo deve ser menor que 9.999")
+	@Column(name = "estoque_minimo")
+	private Integer estoqueMinimo;
+
 	@NotNull(message = "A origem é obrigatória")
 	@Enumerated(EnumType.STRING)
 	private Origem origem;
@@ -167,6 +171,14 @@ public class Cerveja implements Serializable {
 		this.quantidadeEstoque = quantidadeEstoque;
 	}
 
+	public Integer getEstoqueMinimo() {
+		return estoqueMinimo;
+	}
+
+	public void setEstoqueMinimo(Integer estoqueMinimo) {
+		this.estoqueMinimo = estoqueMinimo;
+	}
+
 	public Origem getOrigem() {
 		return origem;
 	}
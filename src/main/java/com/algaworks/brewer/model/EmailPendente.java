@@ -0,0 +1,170 @@
+package com.algaworks.brewer.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * E-mail já renderizado aguardando envio (transactional outbox).
+ *
+ * É gravado na mesma transação da venda; se a transação sofrer rollback o e-mail
+ * também desaparece, e se o SMTP falhar a linha continua no banco para nova tentativa.
+ */
+@Entity
+@Table(name = "email_pendente")
+public class EmailPendente implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long codigo;
+
+	private String destinatario;
+
+	private String assunto;
+
+	private String corpo;
+
+	@Column(name = "codigo_venda")
+	private Long codigoVenda;
+
+	@Enumerated(EnumType.STRING)
+	private StatusEmail status = StatusEmail.PENDENTE;
+
+	private int tentativas;
+
+	@Column(name = "proxima_tentativa")
+	private LocalDateTime proximaTentativa;
+
+	@Column(name = "ultimo_erro")
+	private String ultimoErro;
+
+	@Column(name = "data_criacao", updatable = false)
+	private LocalDateTime dataCriacao;
+
+	@Column(name = "data_envio")
+	private LocalDateTime dataEnvio;
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public void setCodigo(Long codigo) {
+		this.codigo = codigo;
+	}
+
+	public String getDestinatario() {
+		return destinatario;
+	}
+
+	public void setDestinatario(String destinatario) {
+		this.destinatario = destinatario;
+	}
+
+	public String getAssunto() {
+		return assunto;
+	}
+
+	public void setAssunto(String assunto) {
+		this.assunto = assunto;
+	}
+
+	public String getCorpo() {
+		return corpo;
+	}
+
+	public void setCorpo(String corpo) {
+		this.corpo = corpo;
+	}
+
+	public Long getCodigoVenda() {
+		return codigoVenda;
+	}
+
+	public void setCodigoVenda(Long codigoVenda) {
+		this.codigoVenda = codigoVenda;
+	}
+
+	public StatusEmail getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusEmail status) {
+		this.status = status;
+	}
+
+	public int getTentativas() {
+		return tentativas;
+	}
+
+	public void setTentativas(int tentativas) {
+		this.tentativas = tentativas;
+	}
+
+	public LocalDateTime getProximaTentativa() {
+		return proximaTentativa;
+	}
+
+	public void setProximaTentativa(LocalDateTime proximaTentativa) {
+		this.proximaTentativa = proximaTentativa;
+	}
+
+	public String getUltimoErro() {
+		return ultimoErro;
+	}
+
+	public void setUltimoErro(String ultimoErro) {
+		this.ultimoErro = ultimoErro;
+	}
+
+	public LocalDateTime getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(LocalDateTime dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+
+	public LocalDateTime getDataEnvio() {
+		return dataEnvio;
+	}
+
+	public void setDataEnvio(LocalDateTime dataEnvio) {
+		this.dataEnvio = dataEnvio;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((codigo == null) ? 0 : codigo.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		EmailPendente other = (EmailPendente) obj;
+		if (codigo == null) {
+			if (other.codigo != null)
+				return false;
+		} else if (!codigo.equals(other.codigo))
+			return false;
+		return true;
+	}
+
+}
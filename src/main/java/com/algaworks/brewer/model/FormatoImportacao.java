@@ -0,0 +1,37 @@
+package com.algaworks.brewer.model;
+
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+
+public enum FormatoImportacao {
+
+	CSV("text/csv"),
+	JSON("application/json");
+
+	private String tipoConteudo;
+
+	FormatoImportacao(String tipoConteudo) {
+		this.tipoConteudo = tipoConteudo;
+	}
+
+	public String getTipoConteudo() {
+		return tipoConteudo;
+	}
+
+	/**
+	 * @param contentType da requisição, com ou sem parâmetros (text/csv;charset=UTF-8)
+	 */
+	public static Optional<FormatoImportacao> doTipoConteudo(String contentType) {
+		if (contentType != null) {
+			MediaType tipo = MediaType.parseMediaType(contentType);
+			for (FormatoImportacao formato : values()) {
+				if (tipo.isCompatibleWith(MediaType.parseMediaType(formato.tipoConteudo))) {
+					return Optional.of(formato);
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+}
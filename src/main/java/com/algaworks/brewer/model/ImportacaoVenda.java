@@ -0,0 +1,165 @@
+package com.algaworks.brewer.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Importação de um arquivo de vendas. Os contadores são gravados junto com cada lote,
+ * então pedidosProcessados é sempre o ponto de onde uma importação interrompida retoma.
+ */
+@Entity
+@Table(name = "importacao_venda")
+public class ImportacaoVenda implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long codigo;
+
+	@Enumerated(EnumType.STRING)
+	private StatusImportacao status = StatusImportacao.PROCESSANDO;
+
+	@Enumerated(EnumType.STRING)
+	@Column(updatable = false)
+	private FormatoImportacao formato;
+
+	@Column(name = "pedidos_processados")
+	private int pedidosProcessados;
+
+	@Column(name = "vendas_importadas")
+	private int vendasImportadas;
+
+	@Column(name = "pedidos_rejeitados")
+	private int pedidosRejeitados;
+
+	private String mensagem;
+
+	@Column(name = "codigo_usuario", updatable = false)
+	private Long codigoUsuario;
+
+	@Column(name = "data_criacao", updatable = false)
+	private LocalDateTime dataCriacao;
+
+	@Column(name = "data_atualizacao")
+	private LocalDateTime dataAtualizacao;
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public void setCodigo(Long codigo) {
+		this.codigo = codigo;
+	}
+
+	public StatusImportacao getStatus() {
+		return status;
+	}
+
+	public void setStatus(StatusImportacao status) {
+		this.status = status;
+	}
+
+	public FormatoImportacao getFormato() {
+		return formato;
+	}
+
+	public void setFormato(FormatoImportacao formato) {
+		this.formato = formato;
+	}
+
+	public int getPedidosProcessados() {
+		return pedidosProcessados;
+	}
+
+	public void setPedidosProcessados(int pedidosProcessados) {
+		this.pedidosProcessados = pedidosProcessados;
+	}
+
+	public int getVendasImportadas() {
+		return vendasImportadas;
+	}
+
+	public void setVendasImportadas(int vendasImportadas) {
+		this.vendasImportadas = vendasImportadas;
+	}
+
+	public int getPedidosRejeitados() {
+		return pedidosRejeitados;
+	}
+
+	public void setPedidosRejeitados(int pedidosRejeitados) {
+		this.pedidosRejeitados = pedidosRejeitados;
+	}
+
+	public String getMensagem() {
+		return mensagem;
+	}
+
+	public void setMensagem(String mensagem) {
+		this.mensagem = mensagem;
+	}
+
+	public Long getCodigoUsuario() {
+		return codigoUsuario;
+	}
+
+	public void setCodigoUsuario(Long codigoUsuario) {
+		this.codigoUsuario = codigoUsuario;
+	}
+
+	public LocalDateTime getDataCriacao() {
+		return dataCriacao;
+	}
+
+	public void setDataCriacao(LocalDateTime dataCriacao) {
+		this.dataCriacao = dataCriacao;
+	}
+
+	public LocalDateTime getDataAtualizacao() {
+		return dataAtualizacao;
+	}
+
+	public void setDataAtualizacao(LocalDateTime dataAtualizacao) {
+		this.dataAtualizacao = dataAtualizacao;
+	}
+
+	public boolean isConcluida() {
+		return StatusImportacao.CONCLUIDA.equals(status);
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((codigo == null) ? 0 : codigo.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ImportacaoVenda other = (ImportacaoVenda) obj;
+		if (codigo == null) {
+			if (other.codigo != null)
+				return false;
+		} else if (!codigo.equals(other.codigo))
+			return false;
+		return true;
+	}
+
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 
 @Entity
 @Table(name = "item_venda")
@@ -18,8 +19,17 @@ public class ItemVenda implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/** Ids reservados por ida à tabela sequencia_id (ver V21 e GravadorVendasImportadas) */
+	public static final int BLOCO_IDS = 50;
+
+	/**
+	 * Id gerado em tabela, em blocos, e não IDENTITY: o Hibernate conhece o id antes do
+	 * INSERT e pode mandar os itens de uma venda em batch JDBC (hibernate.jdbc.batch_size).
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.TABLE, generator = "item_venda")
+	@TableGenerator(name = "item_venda", table = "sequencia_id", pkColumnName = "nome",
+			valueColumnName = "proximo_valor", pkColumnValue = "item_venda", allocationSize = BLOCO_IDS)
 	private Long codigo;
 
 	private Integer quantidade;
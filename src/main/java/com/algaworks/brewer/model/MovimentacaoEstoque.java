@@ -0,0 +1,128 @@
+package com.algaworks.brewer.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Lançamento do livro de estoque: só é inserido, nunca alterado (exceto a marca de
+ * projetada). A quantidade tem sinal - negativa para saídas, positiva para entradas.
+ */
+@Entity
+@Table(name = "movimentacao_estoque")
+public class MovimentacaoEstoque implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long codigo;
+
+	@Column(name = "codigo_cerveja", updatable = false)
+	private Long codigoCerveja;
+
+	@Column(name = "codigo_venda", updatable = false)
+	private Long codigoVenda;
+
+	@Enumerated(EnumType.STRING)
+	@Column(updatable = false)
+	private TipoMovimentacaoEstoque tipo;
+
+	@Column(updatable = false)
+	private int quantidade;
+
+	@Column(name = "data_hora", updatable = false)
+	private LocalDateTime dataHora;
+
+	private boolean projetada;
+
+	public Long getCodigo() {
+		return codigo;
+	}
+
+	public void setCodigo(Long codigo) {
+		this.codigo = codigo;
+	}
+
+	public Long getCodigoCerveja() {
+		return codigoCerveja;
+	}
+
+	public void setCodigoCerveja(Long codigoCerveja) {
+		this.codigoCerveja = codigoCerveja;
+	}
+
+	public Long getCodigoVenda() {
+		return codigoVenda;
+	}
+
+	public void setCodigoVenda(Long codigoVenda) {
+		this.codigoVenda = codigoVenda;
+	}
+
+	public TipoMovimentacaoEstoque getTipo() {
+		return tipo;
+	}
+
+	public void setTipo(TipoMovimentacaoEstoque tipo) {
+		this.tipo = tipo;
+	}
+
+	public int getQuantidade() {
+		return quantidade;
+	}
+
+	public void setQuantidade(int quantidade) {
+		this.quantidade = quantidade;
+	}
+
+	public LocalDateTime getDataHora() {
+		return dataHora;
+	}
+
+	public void setDataHora(LocalDateTime dataHora) {
+		this.dataHora = dataHora;
+	}
+
+	public boolean isProjetada() {
+		return projetada;
+	}
+
+	public void setProjetada(boolean projetada) {
+		this.projetada = projetada;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((codigo == null) ? 0 : codigo.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MovimentacaoEstoque other = (MovimentacaoEstoque) obj;
+		if (codigo == null) {
+			if (other.codigo != null)
+				return false;
+		} else if (!codigo.equals(other.codigo))
+			return false;
+		return true;
+	}
+
+}
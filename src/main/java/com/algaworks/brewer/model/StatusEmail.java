@@ -0,0 +1,19 @@
+package com.algaworks.brewer.model;
+
+public enum StatusEmail {
+
+	PENDENTE("Pendente"),
+	ENVIADO("Enviado"),
+	FALHA("Falha");
+
+	private String descricao;
+
+	StatusEmail(String descricao) {
+		this.descricao = descricao;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+}
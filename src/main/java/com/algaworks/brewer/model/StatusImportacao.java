@@ -0,0 +1,19 @@
+package com.algaworks.brewer.model;
+
+public enum StatusImportacao {
+
+	PROCESSANDO("Processando"),
+	CONCLUIDA("Concluída"),
+	FALHOU("Falhou");
+
+	private String descricao;
+
+	StatusImportacao(String descricao) {
+		this.descricao = descricao;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+}
@@ -0,0 +1,18 @@
+package com.algaworks.brewer.model;
+
+public enum TipoMovimentacaoEstoque {
+
+	VENDA("Venda"),
+	CANCELAMENTO_VENDA("Cancelamento de venda");
+
+	private String descricao;
+
+	TipoMovimentacaoEstoque(String descricao) {
+		this.descricao = descricao;
+	}
+
+	public String getDescricao() {
+		return descricao;
+	}
+
+}
@@ -1,12 +1,32 @@
 package com.algaworks.brewer.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.algaworks.brewer.dto.NivelEstoque;
+import com.algaworks.brewer.dto.ReferenciaCerveja;
 import com.algaworks.brewer.model.Cerveja;
 import com.algaworks.brewer.repository.helper.cerveja.CervejasQueries;
 
 @Repository
 public interface Cervejas extends JpaRepository<Cerveja, Long>, CervejasQueries {
 
+	/**
+	 * Quantidade e último lançamento do livro lidos no mesmo SELECT, portanto da mesma
+	 * versão dos dados; o max é uma descida no índice (codigo_cerveja, codigo).
+	 */
+	@Query("select new com.algaworks.brewer.dto.NivelEstoque(c.codigo, c.quantidadeEstoque, c.estoqueMinimo,"
+			+ " (select max(m.codigo) from MovimentacaoEstoque m where m.codigoCerveja = c.codigo))"
+			+ " from Cerveja c where c.codigo in :codigos")
+	public List<NivelEstoque> niveisEstoque(@Param("codigos") Collection<Long> codigos);
+
+	@Query("select new com.algaworks.brewer.dto.ReferenciaCerveja(c.codigo, c.sku, c.valor)"
+			+ " from Cerveja c where c.sku in :skus")
+	public List<ReferenciaCerveja> referenciasPorSku(@Param("skus") Collection<String> skus);
+
 }
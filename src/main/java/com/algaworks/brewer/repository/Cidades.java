@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.algaworks.brewer.model.Cidade;
 import com.algaworks.brewer.model.Estado;
@@ -14,5 +15,12 @@ public interface Cidades extends JpaRepository<Cidade, Long>, CidadesQueries {
 	public List<Cidade> findByEstadoCodigo(Long codigoEstado);
 
 	public Optional<Cidade> findByNomeAndEstado(String nome, Estado estado);
+
+	/**
+	 * Todas as cidades com o estado numa consulta, para resolver nome e sigla em memória
+	 * (importação de clientes).
+	 */
+	@Query("select c from Cidade c join fetch c.estado")
+	public List<Cidade> findAllComEstado();
 	
 }
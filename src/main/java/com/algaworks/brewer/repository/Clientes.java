@@ -1,10 +1,14 @@
 package com.algaworks.brewer.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.algaworks.brewer.dto.ReferenciaCliente;
 import com.algaworks.brewer.model.Cliente;
 import com.algaworks.brewer.repository.helper.cliente.ClientesQueries;
 
@@ -14,4 +18,8 @@ public interface Clientes extends JpaRepository<Cliente, Long>, ClientesQueries
 
 	public List<Cliente> findByNomeStartingWithIgnoreCase(String nome);
 
+	@Query("select new com.algaworks.brewer.dto.ReferenciaCliente(c.codigo, c.cpfOuCnpj)"
+			+ " from Cliente c where c.cpfOuCnpj in :documentos")
+	public List<ReferenciaCliente> referenciasPorCpfOuCnpj(@Param("documentos") Collection<String> documentos);
+
 }
@@ -0,0 +1,25 @@
+package com.algaworks.brewer.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.algaworks.brewer.model.EmailPendente;
+
+public interface EmailsPendentes extends JpaRepository<EmailPendente, Long> {
+
+	/**
+	 * Trava um lote de e-mails prontos para envio.
+	 *
+	 * SKIP LOCKED permite que mais de uma instância drene a fila ao mesmo tempo
+	 * sem disputar as mesmas linhas (MySQL 8+).
+	 */
+	@Query(value = "SELECT * FROM email_pendente"
+			+ " WHERE status = 'PENDENTE' AND proxima_tentativa <= :agora"
+			+ " ORDER BY proxima_tentativa LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	public List<EmailPendente> reservarProntos(@Param("agora") LocalDateTime agora, @Param("limite") int limite);
+
+}
@@ -0,0 +1,28 @@
+package com.algaworks.brewer.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.model.StatusImportacao;
+
+/**
+ * Os contadores de uma importação só mudam junto com os lotes (GravadorVendasImportadas);
+ * por isso a situação é alterada por UPDATE de colunas, e não salvando a entidade, que
+ * regravaria contadores lidos antes de outra requisição avançar a importação.
+ */
+public interface ImportacoesVenda extends JpaRepository<ImportacaoVenda, Long> {
+
+	@Transactional
+	@Modifying
+	@Query("update ImportacaoVenda set status = :status, mensagem = :mensagem, dataAtualizacao = :agora"
+			+ " where codigo = :codigo")
+	public int atualizarSituacao(@Param("codigo") Long codigo, @Param("status") StatusImportacao status,
+			@Param("mensagem") String mensagem, @Param("agora") LocalDateTime agora);
+
+}
@@ -0,0 +1,37 @@
+package com.algaworks.brewer.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+
+public interface MovimentacoesEstoque extends JpaRepository<MovimentacaoEstoque, Long> {
+
+	/**
+	 * Trava um lote de movimentações ainda não projetadas, na ordem em que foram gravadas.
+	 * SKIP LOCKED deixa mais de uma instância projetar ao mesmo tempo (MySQL 8+).
+	 */
+	@Query(value = "SELECT * FROM movimentacao_estoque WHERE projetada = false"
+			+ " ORDER BY codigo LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	public List<MovimentacaoEstoque> reservarNaoProjetadas(@Param("limite") int limite);
+
+	@Modifying
+	@Query(value = "INSERT INTO estoque_diario (codigo_cerveja, data, entradas, saidas)"
+			+ " VALUES (:cerveja, :data, :entradas, :saidas) AS novo"
+			+ " ON DUPLICATE KEY UPDATE entradas = estoque_diario.entradas + novo.entradas,"
+			+ " saidas = estoque_diario.saidas + novo.saidas", nativeQuery = true)
+	public void acumularDiario(@Param("cerveja") Long codigoCerveja, @Param("data") LocalDate data,
+			@Param("entradas") int entradas, @Param("saidas") int saidas);
+
+	@Query("from MovimentacaoEstoque where codigoCerveja = :cerveja and dataHora between :inicio and :fim"
+			+ " order by dataHora")
+	public List<MovimentacaoEstoque> porCerveja(@Param("cerveja") Long codigoCerveja,
+			@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+}
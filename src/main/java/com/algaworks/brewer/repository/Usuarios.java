@@ -4,6 +4,9 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.algaworks.brewer.model.Usuario;
 import com.algaworks.brewer.repository.helper.usuario.UsuariosQueries;
@@ -14,4 +17,8 @@ public interface Usuarios extends JpaRepository<Usuario, Long>, UsuariosQueries
 
 	public List<Usuario> findByCodigoIn(Long[] codigos);
 
+	@Modifying
+	@Query("update Usuario u set u.senha = :senha where u.codigo = :codigo")
+	public int atualizarSenha(@Param("codigo") Long codigo, @Param("senha") String senha);
+
 }
@@ -1,10 +1,27 @@
 package com.algaworks.brewer.repository;
 
+import java.util.Optional;
+
 import com.algaworks.brewer.model.Venda;
+
+import jakarta.persistence.LockModeType;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface Vendas extends JpaRepository<Venda, Long>, VendasQueries {
 
-}
\ No newline at end of file
+	/**
+	 * Carrega a venda com bloqueio da linha (select ... for update) até o fim da transação:
+	 * emissões e cancelamentos simultâneos da mesma venda passam um de cada vez pela
+	 * mudança de status e pelo estoque.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select v from Venda v where v.codigo = :codigo")
+	public Optional<Venda> porCodigoComBloqueio(@Param("codigo") Long codigo);
+
+}
@@ -4,8 +4,8 @@ import com.algaworks.brewer.dto.VendaMes;
 import com.algaworks.brewer.dto.VendaOrigem;
 import com.algaworks.brewer.model.Venda;
 import com.algaworks.brewer.repository.filter.VendaFilter;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -13,7 +13,7 @@ import java.util.Optional;
 
 public interface VendasQueries {
 
-    Page<Venda> filtrar(VendaFilter filtro, Pageable pageable);
+    Slice<Venda> filtrar(VendaFilter filtro, Pageable pageable);
 
     Optional<Venda> buscarComItens(Long codigo);
 
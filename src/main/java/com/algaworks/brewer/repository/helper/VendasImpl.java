@@ -7,16 +7,16 @@ import com.algaworks.brewer.model.Venda;
 import com.algaworks.brewer.model.StatusVenda;
 import com.algaworks.brewer.repository.VendasQueries;
 import com.algaworks.brewer.repository.filter.VendaFilter;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.algaworks.brewer.repository.paginacao.PlanoConsulta;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -33,43 +33,34 @@ import java.util.Optional;
 @Repository
 public class VendasImpl implements VendasQueries {
 
+    // Fetch joins para evitar N+1
+    private static final PlanoConsulta<VendaFilter, Venda> PESQUISA = PlanoConsulta
+            .de(VendaFilter.class, Venda.class)
+            .igual("codigo", VendaFilter::getCodigo)
+            .igual("status", VendaFilter::getStatus)
+            .aPartirDe("dataCriacao", VendaFilter::getDesde)
+            .ate("dataCriacao", VendaFilter::getAte)
+            .aPartirDe("dataCriacao", VendaFilter::getDataCriacaoInicio)
+            .ate("dataCriacao", VendaFilter::getDataCriacaoFim)
+            .aPartirDe("valorTotal", VendaFilter::getValorMinimo)
+            .ate("valorTotal", VendaFilter::getValorMaximo)
+            .contem("cliente.nome", VendaFilter::getNomeCliente)
+            .igual("cliente.cpfOuCnpj", VendaFilter::getCpfOuCnpjCliente)
+            .buscando("left join fetch e.cliente left join fetch e.usuario")
+            .ordenaveis("codigo", "dataCriacao", "valorTotal", "status")
+            .criar();
+
     @PersistenceContext
     private EntityManager manager;
 
-    @Override
-    public Page<Venda> filtrar(VendaFilter filtro, Pageable pageable) {
-        CriteriaBuilder builder = manager.getCriteriaBuilder();
-        CriteriaQuery<Venda> criteria = builder.createQuery(Venda.class);
-        Root<Venda> root = criteria.from(Venda.class);
-
-        // Fetch joins para evitar N+1
-        root.fetch("cliente", JoinType.LEFT);
-        root.fetch("usuario", JoinType.LEFT);
-
-        List<Predicate> predicates = criarPredicates(filtro, builder, root);
-        criteria.where(predicates.toArray(new Predicate[0]));
-
-        // Adicionar ordenação
-        if (pageable.getSort().isSorted()) {
-            List<Order> orders = new ArrayList<>();
-            for (Sort.Order order : pageable.getSort()) {
-                if (order.isAscending()) {
-                    orders.add(builder.asc(root.get(order.getProperty())));
-                } else {
-                    orders.add(builder.desc(root.get(order.getProperty())));
-                }
-            }
-            criteria.orderBy(orders);
-        }
-
-        TypedQuery<Venda> query = manager.createQuery(criteria);
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
-
-        List<Venda> vendas = query.getResultList();
-        long total = total(filtro);
+    @Autowired
+    private Paginador paginador;
 
-        return new PageImpl<>(vendas, pageable, total);
+    // Sem COUNT: a pesquisa de vendas só precisa saber se há próxima página
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Venda> filtrar(VendaFilter filtro, Pageable pageable) {
+        return paginador.fatia(PESQUISA, filtro, pageable);
     }
 
     @Override
@@ -91,18 +82,21 @@ public class VendasImpl implements VendasQueries {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal valorTotalNoAno() {
         LocalDateTime dataInicio = Year.now().atDay(1).atStartOfDay();
         return valorTotalNoPeriodo(dataInicio);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal valorTotalNoMes() {
         LocalDateTime dataInicio = YearMonth.now().atDay(1).atStartOfDay();
         return valorTotalNoPeriodo(dataInicio);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BigDecimal valorTicketMedioNoAno() {
         LocalDateTime dataInicio = Year.now().atDay(1).atStartOfDay();
 
@@ -135,71 +129,8 @@ public class VendasImpl implements VendasQueries {
         return valorTotal != null ? valorTotal : BigDecimal.ZERO;
     }
 
-    private Long total(VendaFilter filtro) {
-        CriteriaBuilder builder = manager.getCriteriaBuilder();
-        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
-        Root<Venda> root = criteria.from(Venda.class);
-
-        List<Predicate> predicates = criarPredicates(filtro, builder, root);
-        criteria.where(predicates.toArray(new Predicate[0]));
-        criteria.select(builder.count(root));
-
-        return manager.createQuery(criteria).getSingleResult();
-    }
-
-    private List<Predicate> criarPredicates(VendaFilter filtro, CriteriaBuilder builder, Root<Venda> root) {
-        List<Predicate> predicates = new ArrayList<>();
-
-        if (filtro.getCodigo() != null) {
-            predicates.add(builder.equal(root.get("codigo"), filtro.getCodigo()));
-        }
-
-        if (filtro.getStatus() != null) {
-            predicates.add(builder.equal(root.get("status"), filtro.getStatus()));
-        }
-
-        if (filtro.getDesde() != null) {
-            predicates.add(builder.greaterThanOrEqualTo(root.get("dataCriacao"), filtro.getDesde()));
-        }
-
-        if (filtro.getAte() != null) {
-            predicates.add(builder.lessThanOrEqualTo(root.get("dataCriacao"), filtro.getAte()));
-        }
-
-        if (filtro.getDataCriacaoInicio() != null) {
-            predicates.add(builder.greaterThanOrEqualTo(root.get("dataCriacao"), filtro.getDataCriacaoInicio()));
-        }
-
-        if (filtro.getDataCriacaoFim() != null) {
-            predicates.add(builder.lessThanOrEqualTo(root.get("dataCriacao"), filtro.getDataCriacaoFim()));
-        }
-
-        if (filtro.getValorMinimo() != null) {
-            predicates.add(builder.greaterThanOrEqualTo(root.get("valorTotal"), filtro.getValorMinimo()));
-        }
-
-        if (filtro.getValorMaximo() != null) {
-            predicates.add(builder.lessThanOrEqualTo(root.get("valorTotal"), filtro.getValorMaximo()));
-        }
-
-        if (StringUtils.hasText(filtro.getNomeCliente())) {
-            predicates.add(builder.like(
-                builder.lower(root.get("cliente").get("nome")),
-                "%" + filtro.getNomeCliente().toLowerCase() + "%"
-            ));
-        }
-
-        if (StringUtils.hasText(filtro.getCpfOuCnpjCliente())) {
-            predicates.add(builder.equal(
-                root.get("cliente").get("cpfOuCnpj"),
-                filtro.getCpfOuCnpjCliente()
-            ));
-        }
-
-        return predicates;
-    }
-
     @Override
+    @Transactional(readOnly = true)
     public List<VendaMes> totalPorMes() {
         List<VendaMes> vendasMes = new ArrayList<>();
 
@@ -223,6 +154,7 @@ public class VendasImpl implements VendasQueries {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VendaOrigem> totalPorOrigem() {
         // Query nativa para buscar total de vendas por origem da cerveja
         String jpql = "SELECT c.origem, COUNT(v) " +
@@ -1,111 +1,56 @@
 package com.algaworks.brewer.repository.helper.cerveja;
 
+import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
 import com.algaworks.brewer.dto.CervejaDTO;
 import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Estilo;
 import com.algaworks.brewer.repository.filter.CervejaFilter;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.algaworks.brewer.repository.paginacao.PlanoConsulta;
 
 public class CervejasImpl implements CervejasQueries {
 
+	private static final String BAIXAR_ESTOQUE = "update cerveja set quantidade_estoque = quantidade_estoque - ? "
+			+ "where codigo = ? and quantidade_estoque >= ?";
+	private static final String DEVOLVER_ESTOQUE = "update cerveja set quantidade_estoque = quantidade_estoque + ? "
+			+ "where codigo = ?";
+
+	private static final PlanoConsulta<CervejaFilter, Cerveja> PESQUISA = PlanoConsulta
+			.de(CervejaFilter.class, Cerveja.class)
+			.igual("sku", CervejaFilter::getSku)
+			.contem("nome", CervejaFilter::getNome)
+			.igual("estilo", CervejaFilter::getEstilo, Estilo::getCodigo)
+			.igual("sabor", CervejaFilter::getSabor)
+			.igual("origem", CervejaFilter::getOrigem)
+			.aPartirDe("valor", CervejaFilter::getValorDe)
+			.ate("valor", CervejaFilter::getValorAte)
+			.ordenaveis("sku", "nome", "valor", "quantidadeEstoque")
+			.criar();
+
 	@PersistenceContext
 	private EntityManager manager;
 
+	@Autowired
+	private Paginador paginador;
+
 	@Override
 	@Transactional(readOnly = true)
 	public Page<Cerveja> filtrar(CervejaFilter filtro, Pageable pageable) {
-		CriteriaBuilder builder = manager.getCriteriaBuilder();
-		CriteriaQuery<Cerveja> criteriaQuery = builder.createQuery(Cerveja.class);
-		Root<Cerveja> root = criteriaQuery.from(Cerveja.class);
-
-		Predicate[] predicates = criarPredicates(filtro, builder, root);
-		criteriaQuery.where(predicates);
-
-		// Apply sorting from Pageable
-		if (pageable.getSort().isSorted()) {
-			pageable.getSort().forEach(order -> {
-				if (order.isAscending()) {
-					criteriaQuery.orderBy(builder.asc(root.get(order.getProperty())));
-				} else {
-					criteriaQuery.orderBy(builder.desc(root.get(order.getProperty())));
-				}
-			});
-		}
-
-		TypedQuery<Cerveja> query = manager.createQuery(criteriaQuery);
-		query.setFirstResult((int) pageable.getOffset());
-		query.setMaxResults(pageable.getPageSize());
-
-		return new PageImpl<>(query.getResultList(), pageable, total(filtro));
-	}
-
-	private Long total(CervejaFilter filtro) {
-		CriteriaBuilder builder = manager.getCriteriaBuilder();
-		CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
-		Root<Cerveja> root = criteriaQuery.from(Cerveja.class);
-
-		Predicate[] predicates = criarPredicates(filtro, builder, root);
-		criteriaQuery.where(predicates);
-		criteriaQuery.select(builder.count(root));
-
-		return manager.createQuery(criteriaQuery).getSingleResult();
-	}
-
-	private Predicate[] criarPredicates(CervejaFilter filtro, CriteriaBuilder builder, Root<Cerveja> root) {
-		List<Predicate> predicates = new ArrayList<>();
-
-		if (filtro != null) {
-			if (!StringUtils.isEmpty(filtro.getSku())) {
-				predicates.add(builder.equal(root.get("sku"), filtro.getSku()));
-			}
-
-			if (!StringUtils.isEmpty(filtro.getNome())) {
-				predicates.add(builder.like(builder.lower(root.get("nome")),
-					"%" + filtro.getNome().toLowerCase() + "%"));
-			}
-
-			if (isEstiloPresente(filtro)) {
-				predicates.add(builder.equal(root.get("estilo"), filtro.getEstilo()));
-			}
-
-			if (filtro.getSabor() != null) {
-				predicates.add(builder.equal(root.get("sabor"), filtro.getSabor()));
-			}
-
-			if (filtro.getOrigem() != null) {
-				predicates.add(builder.equal(root.get("origem"), filtro.getOrigem()));
-			}
-
-			if (filtro.getValorDe() != null) {
-				predicates.add(builder.greaterThanOrEqualTo(root.get("valor"), filtro.getValorDe()));
-			}
-
-			if (filtro.getValorAte() != null) {
-				predicates.add(builder.lessThanOrEqualTo(root.get("valor"), filtro.getValorAte()));
-			}
-		}
-
-		return predicates.toArray(new Predicate[0]);
-	}
-
-	private boolean isEstiloPresente(CervejaFilter filtro) {
-		return filtro.getEstilo() != null && filtro.getEstilo().getCodigo() != null;
+		return paginador.pagina(PESQUISA, filtro, pageable);
 	}
 
 	@Override
@@ -118,4 +63,51 @@ public class CervejasImpl implements CervejasQueries {
 		return cervejasFiltradas;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Um UPDATE condicional por cerveja, enviados num único batch JDBC: a verificação e a
+	 * baixa acontecem no mesmo comando, sem ler a entidade e sem janela para vender além
+	 * do estoque. As linhas são atualizadas em ordem de código, a mesma em todas as
+	 * transações, para que duas vendas com as mesmas cervejas esperem uma pela outra em vez
+	 * de entrarem em deadlock. Cabe ao chamador desfazer a transação se alguma faltar.
+	 */
+	@Override
+	public List<Long> baixarEstoque(Map<Long, Integer> quantidades) {
+		return executarEmLote(BAIXAR_ESTOQUE, quantidades, true);
+	}
+
+	@Override
+	public void devolverEstoque(Map<Long, Integer> quantidades) {
+		executarEmLote(DEVOLVER_ESTOQUE, quantidades, false);
+	}
+
+	private List<Long> executarEmLote(String sql, Map<Long, Integer> quantidades, boolean condicional) {
+		if (quantidades.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Integer> emOrdem = new TreeMap<>(quantidades);
+
+		return manager.unwrap(Session.class).doReturningWork(conexao -> {
+			try (PreparedStatement comando = conexao.prepareStatement(sql)) {
+				for (Map.Entry<Long, Integer> item : emOrdem.entrySet()) {
+					comando.setInt(1, item.getValue());
+					comando.setLong(2, item.getKey());
+					if (condicional) {
+						comando.setInt(3, item.getValue());
+					}
+					comando.addBatch();
+				}
+
+				int[] atualizadas = comando.executeBatch();
+				List<Long> naoAtualizadas = new ArrayList<>();
+				int indice = 0;
+				for (Long codigo : emOrdem.keySet()) {
+					if (atualizadas[indice++] == 0) {
+						naoAtualizadas.add(codigo);
+					}
+				}
+				return naoAtualizadas;
+			}
+		});
+	}
+
+}
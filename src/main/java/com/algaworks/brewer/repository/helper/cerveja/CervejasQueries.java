@@ -1,6 +1,7 @@
 package com.algaworks.brewer.repository.helper.cerveja;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,5 +15,14 @@ public interface CervejasQueries {
 	public Page<Cerveja> filtrar(CervejaFilter filtro, Pageable pageable);
 	
 	public List<CervejaDTO> porSkuOuNome(String skuOuNome);
-	
+
+	/**
+	 * Baixa o estoque das cervejas (código -> quantidade) só onde há quantidade suficiente.
+	 *
+	 * @return códigos das cervejas sem estoque suficiente, que não foram baixadas
+	 */
+	public List<Long> baixarEstoque(Map<Long, Integer> quantidades);
+
+	public void devolverEstoque(Map<Long, Integer> quantidades);
+
 }
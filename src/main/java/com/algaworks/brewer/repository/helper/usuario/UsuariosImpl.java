@@ -1,38 +1,51 @@
 package com.algaworks.brewer.repository.helper.usuario;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
 
-import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.StringUtils;
 
 import com.algaworks.brewer.model.Grupo;
 import com.algaworks.brewer.model.Usuario;
-import com.algaworks.brewer.model.UsuarioGrupo;
 import com.algaworks.brewer.repository.filter.UsuarioFilter;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.algaworks.brewer.repository.paginacao.PlanoConsulta;
 
 public class UsuariosImpl implements UsuariosQueries {
 
+	/**
+	 * Com grupos no filtro, só usuários que pertencem a todos eles, numa única subconsulta:
+	 * codigo_grupo in (...) group by codigo_usuario having count = n.
+	 */
+	private static final PlanoConsulta<UsuarioFilter, Usuario> PESQUISA = PlanoConsulta
+			.de(UsuarioFilter.class, Usuario.class)
+			.contem("nome", UsuarioFilter::getNome)
+			.comecaCom("email", UsuarioFilter::getEmail)
+			.condicao("e.codigo in (select ug.id.usuario.codigo from UsuarioGrupo ug"
+					+ " where ug.id.grupo.codigo in :grupos group by ug.id.usuario.codigo"
+					+ " having count(ug.id.grupo.codigo) = :totalGrupos)", UsuarioFilter::getGrupos,
+					(consulta, grupos) -> {
+						Set<Long> codigos = grupos.stream().map(Grupo::getCodigo).collect(Collectors.toSet());
+						consulta.setParameter("grupos", codigos);
+						consulta.setParameter("totalGrupos", (long) codigos.size());
+					})
+			.ordenaveis("nome", "email")
+			.criar();
+
 	@PersistenceContext
 	private EntityManager manager;
 
+	@Autowired
+	private Paginador paginador;
+
 	@Override
 	public Optional<Usuario> porEmailEAtivo(String email) {
 		return manager
@@ -51,81 +64,23 @@ public class UsuariosImpl implements UsuariosQueries {
 	@Transactional(readOnly = true)
 	@Override
 	public Page<Usuario> filtrar(UsuarioFilter filtro, Pageable pageable) {
-		CriteriaBuilder builder = manager.getCriteriaBuilder();
-		CriteriaQuery<Usuario> criteriaQuery = builder.createQuery(Usuario.class);
-		Root<Usuario> root = criteriaQuery.from(Usuario.class);
-
-		Predicate[] predicates = criarPredicates(filtro, builder, root, criteriaQuery);
-		criteriaQuery.where(predicates);
-
-		// Apply sorting from Pageable
-		if (pageable.getSort().isSorted()) {
-			pageable.getSort().forEach(order -> {
-				if (order.isAscending()) {
-					criteriaQuery.orderBy(builder.asc(root.get(order.getProperty())));
-				} else {
-					criteriaQuery.orderBy(builder.desc(root.get(order.getProperty())));
-				}
-			});
-		}
-
-		TypedQuery<Usuario> query = manager.createQuery(criteriaQuery);
-		query.setFirstResult((int) pageable.getOffset());
-		query.setMaxResults(pageable.getPageSize());
-
-		List<Usuario> filtrados = query.getResultList();
-		filtrados.forEach(u -> Hibernate.initialize(u.getGrupos()));
-		return new PageImpl<>(filtrados, pageable, total(filtro));
-	}
-
-	private Long total(UsuarioFilter filtro) {
-		CriteriaBuilder builder = manager.getCriteriaBuilder();
-		CriteriaQuery<Long> criteriaQuery = builder.createQuery(Long.class);
-		Root<Usuario> root = criteriaQuery.from(Usuario.class);
-
-		Predicate[] predicates = criarPredicates(filtro, builder, root, criteriaQuery);
-		criteriaQuery.where(predicates);
-		criteriaQuery.select(builder.count(root));
-
-		return manager.createQuery(criteriaQuery).getSingleResult();
+		Page<Usuario> filtrados = paginador.pagina(PESQUISA, filtro, pageable);
+		carregarGrupos(filtrados.getContent());
+		return filtrados;
 	}
 
-	private Predicate[] criarPredicates(UsuarioFilter filtro, CriteriaBuilder builder,
-			Root<Usuario> root, CriteriaQuery<?> criteriaQuery) {
-		List<Predicate> predicates = new ArrayList<>();
-
-		if (filtro != null) {
-			if (!StringUtils.isEmpty(filtro.getNome())) {
-				predicates.add(builder.like(builder.lower(root.get("nome")),
-					"%" + filtro.getNome().toLowerCase() + "%"));
-			}
-
-			if (!StringUtils.isEmpty(filtro.getEmail())) {
-				predicates.add(builder.like(builder.lower(root.get("email")),
-					filtro.getEmail().toLowerCase() + "%"));
-			}
-
-			if (filtro.getGrupos() != null && !filtro.getGrupos().isEmpty()) {
-				List<Predicate> subqueryPredicates = new ArrayList<>();
-
-				for (Grupo grupo : filtro.getGrupos()) {
-					Subquery<Long> subquery = criteriaQuery.subquery(Long.class);
-					Root<UsuarioGrupo> subRoot = subquery.from(UsuarioGrupo.class);
-
-					subquery.select(subRoot.get("id").get("usuario").get("codigo"));
-					subquery.where(builder.equal(
-						subRoot.get("id").get("grupo").get("codigo"),
-						grupo.getCodigo()
-					));
-
-					subqueryPredicates.add(builder.in(root.get("codigo")).value(subquery));
-				}
-
-				predicates.add(builder.and(subqueryPredicates.toArray(new Predicate[0])));
-			}
+	/**
+	 * Inicializa os grupos de todos os usuários da página numa única consulta, em vez de
+	 * uma por usuário. O fetch join fica fora da consulta paginada para o limit continuar
+	 * valendo sobre usuários, e não sobre linhas usuário x grupo.
+	 */
+	private void carregarGrupos(List<Usuario> usuarios) {
+		if (usuarios.isEmpty()) {
+			return;
 		}
-
-		return predicates.toArray(new Predicate[0]);
+		manager.createQuery("select distinct u from Usuario u left join fetch u.grupos where u in :usuarios", Usuario.class)
+				.setParameter("usuarios", usuarios)
+				.getResultList();
 	}
 
-}
\ No newline at end of file
+}
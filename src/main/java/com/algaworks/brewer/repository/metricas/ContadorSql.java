@@ -0,0 +1,119 @@
+package com.algaworks.brewer.repository.metricas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL preparados pelo Hibernate na thread atual.
+ *
+ * Registrado como hibernate.session_factory.statement_inspector. Fora de uma contagem
+ * ativa ({@link #iniciar()} / {@link #medir(Runnable)}) não faz nada além de um
+ * ThreadLocal.get. Contagens aninhadas também somam na contagem externa, de modo que
+ * um teste pode medir um trecho dentro de uma requisição já medida pelo
+ * {@link OrcamentoSqlFilter}.
+ */
+public class ContadorSql implements StatementInspector {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final ThreadLocal<Contagem> CONTAGEM = new ThreadLocal<>();
+
+	@Override
+	public String inspect(String sql) {
+		Contagem contagem = CONTAGEM.get();
+		if (contagem != null) {
+			contagem.registrar(sql);
+		}
+		return sql;
+	}
+
+	public static Contagem iniciar() {
+		Contagem contagem = new Contagem(CONTAGEM.get());
+		CONTAGEM.set(contagem);
+		return contagem;
+	}
+
+	public static void encerrar(Contagem contagem) {
+		if (contagem.externa == null) {
+			CONTAGEM.remove();
+		} else {
+			CONTAGEM.set(contagem.externa);
+		}
+	}
+
+	public static Contagem medir(Runnable acao) {
+		Contagem contagem = iniciar();
+		try {
+			acao.run();
+		} finally {
+			encerrar(contagem);
+		}
+		return contagem;
+	}
+
+	public static final class Contagem {
+
+		private static final int MAXIMO_COMANDOS_DISTINTOS = 200;
+
+		private final Contagem externa;
+		private final Map<String, Integer> comandos = new LinkedHashMap<>();
+		private int total;
+		private int selects;
+
+		private Contagem(Contagem externa) {
+			this.externa = externa;
+		}
+
+		private void registrar(String sql) {
+			total++;
+			if (sql.regionMatches(true, 0, "select", 0, 6)) {
+				selects++;
+			}
+			if (comandos.containsKey(sql) || comandos.size() < MAXIMO_COMANDOS_DISTINTOS) {
+				comandos.merge(sql, 1, Integer::sum);
+			}
+			if (externa != null) {
+				externa.registrar(sql);
+			}
+		}
+
+		public int getTotal() {
+			return total;
+		}
+
+		public int getSelects() {
+			return selects;
+		}
+
+		/**
+		 * Comandos executados mais de uma vez, do mais repetido para o menos: a assinatura
+		 * típica de um N+1.
+		 */
+		public List<Map.Entry<String, Integer>> getRepetidos() {
+			List<Map.Entry<String, Integer>> repetidos = new ArrayList<>();
+			comandos.entrySet().stream()
+					.filter(comando -> comando.getValue() > 1)
+					.sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+					.forEach(comando -> repetidos.add(Map.entry(comando.getKey(), comando.getValue())));
+			return Collections.unmodifiableList(repetidos);
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder descricao = new StringBuilder().append(total).append(" comando(s) SQL, ")
+					.append(selects).append(" select(s)");
+			List<Map.Entry<String, Integer>> repetidos = getRepetidos();
+			if (!repetidos.isEmpty()) {
+				descricao.append("; mais repetido (").append(repetidos.get(0).getValue()).append("x): ")
+						.append(repetidos.get(0).getKey());
+			}
+			return descricao.toString();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.algaworks.brewer.repository.metricas;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Descreve o "formato" de um filtro de pesquisa: os nomes das propriedades preenchidas,
+ * em ordem alfabética e unidos por '+' (ex.: "desde+status"). Os valores ficam de fora
+ * para a tag ter cardinalidade limitada.
+ *
+ * Só entram objetos do pacote repository.filter; demais argumentos (códigos, textos,
+ * Pageable) não alteram o formato.
+ */
+public final class FormatoFiltro {
+
+	static final String SEM_FILTRO = "nenhum";
+	private static final String PACOTE_FILTROS = "com.algaworks.brewer.repository.filter.";
+
+	private FormatoFiltro() {
+	}
+
+	public static String de(Object[] argumentos) {
+		if (argumentos == null) {
+			return SEM_FILTRO;
+		}
+
+		for (Object argumento : argumentos) {
+			if (argumento != null && argumento.getClass().getName().startsWith(PACOTE_FILTROS)) {
+				return formato(argumento);
+			}
+		}
+		return SEM_FILTRO;
+	}
+
+	private static String formato(Object filtro) {
+		List<String> preenchidas = new ArrayList<>();
+		for (PropertyDescriptor propriedade : BeanUtils.getPropertyDescriptors(filtro.getClass())) {
+			// Só propriedades graváveis: getters derivados (ex.: getCpfOuCnpjSemFormatacao) repetiriam outra
+			if (propriedade.getReadMethod() == null || propriedade.getWriteMethod() == null) {
+				continue;
+			}
+			try {
+				if (preenchido(propriedade.getReadMethod().invoke(filtro))) {
+					preenchidas.add(propriedade.getName());
+				}
+			} catch (ReflectiveOperationException e) {
+				// Propriedade ilegível não entra no formato
+			}
+		}
+
+		if (preenchidas.isEmpty()) {
+			return SEM_FILTRO;
+		}
+		preenchidas.sort(null);
+		return String.join("+", preenchidas);
+	}
+
+	private static boolean preenchido(Object valor) {
+		if (valor == null) {
+			return false;
+		}
+		if (valor instanceof CharSequence texto) {
+			return !texto.toString().isBlank();
+		}
+		if (valor instanceof Collection<?> colecao) {
+			return !colecao.isEmpty();
+		}
+		if (valor instanceof Map<?, ?> mapa) {
+			return !mapa.isEmpty();
+		}
+		if (valor.getClass().isArray()) {
+			return Array.getLength(valor) > 0;
+		}
+		return true;
+	}
+
+}
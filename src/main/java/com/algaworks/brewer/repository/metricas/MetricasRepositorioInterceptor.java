@@ -0,0 +1,130 @@
+package com.algaworks.brewer.repository.metricas;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada chamada de um repositório: tempo (brewer.repositorio.consulta), linhas
+ * retornadas (brewer.repositorio.linhas) e consultas acima do limite configurado
+ * (brewer.repositorio.consulta.lenta, com log WARN).
+ *
+ * As tags são repositorio, metodo e filtro (ver {@link FormatoFiltro}); o timer também
+ * leva erro. Agregações (count, sum, exists) não contam como linhas.
+ */
+public class MetricasRepositorioInterceptor implements MethodInterceptor {
+
+	private static final Logger logger = LoggerFactory.getLogger(MetricasRepositorioInterceptor.class);
+
+	static final String METRICA_CONSULTA = "brewer.repositorio.consulta";
+	static final String METRICA_LINHAS = "brewer.repositorio.linhas";
+	static final String METRICA_CONSULTA_LENTA = "brewer.repositorio.consulta.lenta";
+
+	private final Supplier<MeterRegistry> meterRegistry;
+	private final String repositorio;
+	private final long limiteConsultaLentaNanos;
+
+	public MetricasRepositorioInterceptor(Supplier<MeterRegistry> meterRegistry, Class<?> repositorio,
+			Duration limiteConsultaLenta) {
+		this.meterRegistry = meterRegistry;
+		this.repositorio = repositorio.getSimpleName();
+		this.limiteConsultaLentaNanos = limiteConsultaLenta == null ? 0 : limiteConsultaLenta.toNanos();
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		Method method = invocation.getMethod();
+		if (method.getDeclaringClass() == Object.class) {
+			return invocation.proceed();
+		}
+
+		long inicio = System.nanoTime();
+		Object resultado = null;
+		Throwable erro = null;
+		try {
+			resultado = invocation.proceed();
+			return resultado;
+		} catch (Throwable e) {
+			erro = e;
+			throw e;
+		} finally {
+			registrar(method, FormatoFiltro.de(invocation.getArguments()), System.nanoTime() - inicio, resultado, erro);
+		}
+	}
+
+	private void registrar(Method method, String filtro, long nanos, Object resultado, Throwable erro) {
+		MeterRegistry registry = meterRegistry.get();
+		if (registry == null) {
+			return;
+		}
+
+		String metodo = method.getName();
+		Timer.builder(METRICA_CONSULTA)
+				.description("Tempo das chamadas aos repositórios")
+				.tag("repositorio", repositorio)
+				.tag("metodo", metodo)
+				.tag("filtro", filtro)
+				.tag("erro", erro == null ? "nenhum" : erro.getClass().getSimpleName())
+				.register(registry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+
+		long linhas = erro == null && method.getReturnType() != void.class ? contarLinhas(resultado) : -1;
+		if (linhas >= 0) {
+			DistributionSummary.builder(METRICA_LINHAS)
+					.description("Linhas retornadas pelas chamadas aos repositórios")
+					.baseUnit("linhas")
+					.tag("repositorio", repositorio)
+					.tag("metodo", metodo)
+					.tag("filtro", filtro)
+					.register(registry)
+					.record(linhas);
+		}
+
+		if (limiteConsultaLentaNanos > 0 && nanos > limiteConsultaLentaNanos) {
+			Counter.builder(METRICA_CONSULTA_LENTA)
+					.description("Chamadas aos repositórios acima do limite de consulta lenta")
+					.tag("repositorio", repositorio)
+					.tag("metodo", metodo)
+					.tag("filtro", filtro)
+					.register(registry)
+					.increment();
+			logger.warn("Consulta lenta: {}.{} (filtro: {}) levou {} ms{}", repositorio, metodo, filtro,
+					TimeUnit.NANOSECONDS.toMillis(nanos), linhas >= 0 ? " e retornou " + linhas + " linha(s)" : "");
+		}
+	}
+
+	static long contarLinhas(Object resultado) {
+		if (resultado == null) {
+			return 0;
+		}
+		if (resultado instanceof Slice<?> pagina) {
+			return pagina.getNumberOfElements();
+		}
+		if (resultado instanceof Collection<?> colecao) {
+			return colecao.size();
+		}
+		if (resultado instanceof Optional<?> opcional) {
+			return opcional.isPresent() ? 1 : 0;
+		}
+		if (resultado instanceof Number || resultado instanceof Boolean || resultado instanceof Iterable<?>
+				|| resultado instanceof java.util.stream.BaseStream<?, ?>) {
+			return -1;
+		}
+		return 1;
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.algaworks.brewer.repository.metricas;
+
+public class OrcamentoSqlExcedidoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public OrcamentoSqlExcedidoException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.algaworks.brewer.repository.metricas;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Orçamento de comandos SQL por requisição, para pegar N+1 antes de produção.
+ *
+ * Conta os comandos da requisição com o {@link ContadorSql} e compara com o orçamento do
+ * endpoint (padrão de URL mais específico que casar, ou o orçamento padrão). Acima do
+ * orçamento loga um WARN com o comando mais repetido (modo LOG) ou lança
+ * {@link OrcamentoSqlExcedidoException} (modo FALHAR, usado em dev/testes). Com
+ * MeterRegistry, registra brewer.sql.comandos e brewer.sql.orcamento.excedido por uri.
+ *
+ * No modo FALHAR a resposta fica em memória até o orçamento ser avaliado: a exceção chega
+ * antes de qualquer byte ao cliente e vira a página de erro, em vez de uma resposta já
+ * enviada. Em requisições assíncronas o corpo é copiado ao fim do despacho assíncrono.
+ */
+public class OrcamentoSqlFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrcamentoSqlFilter.class);
+
+	public enum Modo {
+		DESLIGADO, LOG, FALHAR
+	}
+
+	private final Modo modo;
+	private final int orcamentoPadrao;
+	private final Map<String, Integer> orcamentos;
+	private final MeterRegistry meterRegistry;
+	private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+	public OrcamentoSqlFilter(Modo modo, int orcamentoPadrao, Map<String, Integer> orcamentos,
+			MeterRegistry meterRegistry) {
+		this.modo = modo;
+		this.orcamentoPadrao = orcamentoPadrao;
+		this.orcamentos = Map.copyOf(orcamentos);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (modo == Modo.DESLIGADO) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		if (isAsyncDispatch(request)) {
+			filterChain.doFilter(request, response);
+			copiarCorpo(request, response);
+			return;
+		}
+
+		HttpServletResponse saida = modo == Modo.FALHAR ? new ContentCachingResponseWrapper(response) : response;
+		ContadorSql.Contagem contagem = ContadorSql.iniciar();
+		try {
+			filterChain.doFilter(request, saida);
+		} finally {
+			ContadorSql.encerrar(contagem);
+		}
+		avaliar(request, contagem);
+		copiarCorpo(request, saida);
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	/**
+	 * Envia a resposta guardada no modo FALHAR, quando a requisição não continua assíncrona.
+	 */
+	private void copiarCorpo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		ContentCachingResponseWrapper guardada = WebUtils.getNativeResponse(response,
+				ContentCachingResponseWrapper.class);
+		if (guardada != null && !isAsyncStarted(request)) {
+			guardada.copyBodyToResponse();
+		}
+	}
+
+	private void avaliar(HttpServletRequest request, ContadorSql.Contagem contagem) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = padrao != null ? padrao.toString() : "desconhecida";
+		int orcamento = orcamentoPara(caminho);
+
+		if (meterRegistry != null) {
+			DistributionSummary.builder("brewer.sql.comandos")
+					.description("Comandos SQL por requisição")
+					.tag("uri", uri)
+					.register(meterRegistry)
+					.record(contagem.getTotal());
+		}
+
+		if (contagem.getTotal() <= orcamento) {
+			return;
+		}
+
+		if (meterRegistry != null) {
+			Counter.builder("brewer.sql.orcamento.excedido")
+					.description("Requisições acima do orçamento de comandos SQL")
+					.tag("uri", uri)
+					.register(meterRegistry)
+					.increment();
+		}
+
+		String mensagem = String.format("%s %s excedeu o orçamento de %d comandos SQL: %s",
+				request.getMethod(), caminho, orcamento, contagem);
+		if (modo == Modo.FALHAR) {
+			throw new OrcamentoSqlExcedidoException(mensagem);
+		}
+		logger.warn(mensagem);
+	}
+
+	int orcamentoPara(String caminho) {
+		Comparator<String> maisEspecifico = pathMatcher.getPatternComparator(caminho);
+		return orcamentos.entrySet().stream()
+				.filter(orcamento -> pathMatcher.match(orcamento.getKey(), caminho))
+				.min((a, b) -> maisEspecifico.compare(a.getKey(), b.getKey()))
+				.map(Map.Entry::getValue)
+				.orElse(orcamentoPadrao);
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Normalização dos valores de uma pesquisa para a chave do total em cache
+ * ({@link PlanoConsulta.Pesquisa#chave()}): dois valores com a mesma forma geram os mesmos
+ * parâmetros na consulta.
+ *
+ * Entidades entram pelo código, coleções ordenadas e BigDecimal sem zeros à direita. O
+ * texto é mantido como veio, porque os predicados usam o valor sem trim.
+ */
+public final class ChaveFiltro {
+
+	public static final String SEM_FILTRO = "";
+
+	private ChaveFiltro() {
+	}
+
+	public static String valor(Object valor) {
+		String normalizado = normalizar(valor);
+		return normalizado != null ? normalizado : "";
+	}
+
+	private static String normalizar(Object valor) {
+		if (valor == null) {
+			return null;
+		}
+		if (valor instanceof CharSequence texto) {
+			return texto.isEmpty() ? null : texto.toString();
+		}
+		if (valor instanceof Collection<?> colecao) {
+			List<String> elementos = new ArrayList<>();
+			for (Object elemento : colecao) {
+				String normalizado = normalizar(elemento);
+				if (normalizado != null) {
+					elementos.add(normalizado);
+				}
+			}
+			if (elementos.isEmpty()) {
+				return null;
+			}
+			elementos.sort(null);
+			return "[" + String.join(",", elementos) + "]";
+		}
+		if (valor instanceof Enum<?> constante) {
+			return constante.name();
+		}
+		if (valor instanceof BigDecimal numero) {
+			return numero.stripTrailingZeros().toPlainString();
+		}
+
+		// Entidade (Estilo, Estado, Grupo): o predicado compara pelo código
+		PropertyDescriptor codigo = BeanUtils.getPropertyDescriptor(valor.getClass(), "codigo");
+		if (codigo != null && codigo.getReadMethod() != null) {
+			Object valorCodigo = ler(codigo.getReadMethod(), valor);
+			return valorCodigo != null ? "#" + valorCodigo : null;
+		}
+		return valor.toString();
+	}
+
+	private static Object ler(Method leitura, Object origem) {
+		try {
+			return leitura.invoke(origem);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Não foi possível ler " + leitura.getName() + " de "
+					+ origem.getClass().getSimpleName(), e);
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Descarta os totais do {@link Paginador} de uma entidade quando ela é inserida, alterada ou
+ * excluída pelo Hibernate: no flush, para a própria transação já contar de novo, e de novo
+ * depois do commit, porque entre os dois outra requisição pode ter guardado o total antigo.
+ *
+ * Entidades sem {@link PlanoConsulta} não têm totais e são ignoradas já no registro da ação:
+ * nem o trabalho depois do commit fica agendado para elas.
+ *
+ * Só vale para este pod; nos demais o total fica defasado até brewer.paginacao.validade-total.
+ */
+@Component
+public class InvalidacaoTotais implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+		PostCommitDeleteEventListener {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private Paginador paginador;
+
+	@PostConstruct
+	void registrar() {
+		EventListenerRegistry registro = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+				.getServiceRegistry().getService(EventListenerRegistry.class);
+		registro.appendListeners(EventType.POST_INSERT, this);
+		registro.appendListeners(EventType.POST_UPDATE, this);
+		registro.appendListeners(EventType.POST_DELETE, this);
+		registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+		registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+		registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+	}
+
+	@Override
+	public void onPostInsert(PostInsertEvent event) {
+		invalidar(event.getPersister());
+	}
+
+	@Override
+	public void onPostUpdate(PostUpdateEvent event) {
+		invalidar(event.getPersister());
+	}
+
+	@Override
+	public void onPostDelete(PostDeleteEvent event) {
+		invalidar(event.getPersister());
+	}
+
+	@Override
+	public void onPostInsertCommitFailed(PostInsertEvent event) {
+	}
+
+	@Override
+	public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+	}
+
+	@Override
+	public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+	}
+
+	@Override
+	public boolean requiresPostCommitHandling(EntityPersister persister) {
+		return PlanoConsulta.paginada(persister.getMappedClass());
+	}
+
+	private void invalidar(EntityPersister persister) {
+		Class<?> entidade = persister.getMappedClass();
+		if (PlanoConsulta.paginada(entidade)) {
+			paginador.invalidar(entidade);
+		}
+	}
+
+}
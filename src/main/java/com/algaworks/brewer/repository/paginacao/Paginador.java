@@ -0,0 +1,193 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import jakarta.persistence.TypedQuery;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Paginação das pesquisas (filtrar dos repositórios) sem o COUNT a cada página.
+ *
+ * As consultas vêm do {@link PlanoConsulta} do repositório. Para {@link Page}, o total vem,
+ * nesta ordem, da própria página (se veio incompleta ela é a última e o total é conhecido),
+ * do cache por entidade e valores do filtro ({@link PlanoConsulta.Pesquisa#chave()}) válido por
+ * brewer.paginacao.validade-total, da estimativa do MySQL para listagens sem filtro de
+ * tabelas grandes (information_schema.TABLES, a partir de brewer.paginacao.limiar-estimativa
+ * linhas) e, por fim, do COUNT. Para {@link Slice}, busca uma linha a mais e nunca conta.
+ *
+ * Os totais de uma entidade são descartados quando ela é gravada neste pod
+ * ({@link InvalidacaoTotais}) ou por importação; gravações em outro pod aparecem depois de
+ * validade-total. Total em cache ou estimado pode estar alguns registros defasado; o
+ * conteúdo da página não.
+ */
+@Component
+public class Paginador {
+
+	private static final String ESTIMAR_LINHAS = "select TABLE_ROWS from information_schema.TABLES"
+			+ " where TABLE_SCHEMA = database() and TABLE_NAME = ?1";
+
+	@PersistenceContext
+	private EntityManager manager;
+
+	@Autowired
+	private Clock clock;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.paginacao.validade-total:10s}")
+	private Duration validadeTotal;
+
+	@Value("${brewer.paginacao.limiar-estimativa:10000}")
+	private long limiarEstimativa;
+
+	@Value("${brewer.paginacao.maximo-totais:1000}")
+	private int maximoTotais;
+
+	/** Por entidade e, dentro dela, por chave do filtro: invalidar é um remove só */
+	private final Map<Class<?>, Map<String, Total>> totais = new ConcurrentHashMap<>();
+
+	public <F, T> Page<T> pagina(PlanoConsulta<F, T> plano, F filtro, Pageable pageable) {
+		PlanoConsulta<F, T>.Pesquisa pesquisa = plano.pesquisa(filtro);
+		List<T> conteudo = limitar(pesquisa.consulta(manager, pageable.getSort()), pageable, 0).getResultList();
+		if (pageable.isUnpaged()) {
+			return new PageImpl<>(conteudo);
+		}
+
+		// Página incompleta (e não vazia, ou a primeira): é a última, o total sai dela
+		if (conteudo.size() < pageable.getPageSize() && (!conteudo.isEmpty() || pageable.getOffset() == 0)) {
+			contar("pagina");
+			return new PageImpl<>(conteudo, pageable, pageable.getOffset() + conteudo.size());
+		}
+
+		long total = total(plano.getEntidade(), pesquisa.chave(), () -> pesquisa.contagem(manager).getSingleResult());
+		// Total defasado não pode esconder a próxima página nem encolher a atual
+		long minimo = pageable.getOffset() + conteudo.size() + (conteudo.size() == pageable.getPageSize() ? 1 : 0);
+		return new PageImpl<>(conteudo, pageable, Math.max(total, conteudo.isEmpty() ? 0 : minimo));
+	}
+
+	/**
+	 * Fatia sem total: busca uma linha além do tamanho da página para saber se há próxima.
+	 */
+	public <F, T> Slice<T> fatia(PlanoConsulta<F, T> plano, F filtro, Pageable pageable) {
+		TypedQuery<T> consulta = plano.pesquisa(filtro).consulta(manager, pageable.getSort());
+		if (pageable.isUnpaged()) {
+			return new SliceImpl<>(consulta.getResultList());
+		}
+		List<T> conteudo = limitar(consulta, pageable, 1).getResultList();
+		boolean haProxima = conteudo.size() > pageable.getPageSize();
+		contar("fatia");
+		return new SliceImpl<>(haProxima ? conteudo.subList(0, pageable.getPageSize()) : conteudo, pageable,
+				haProxima);
+	}
+
+	/**
+	 * Descarta os totais em cache da entidade, para a próxima pesquisa contar de novo.
+	 */
+	public void invalidar(Class<?> entidade) {
+		totais.remove(entidade);
+	}
+
+	private long total(Class<?> entidade, String chaveFiltro, LongSupplier contar) {
+		long agora = clock.millis();
+		Map<String, Total> daEntidade = totais.computeIfAbsent(entidade, e -> new ConcurrentHashMap<>());
+		Total emCache = daEntidade.get(chaveFiltro);
+		if (emCache != null && agora - emCache.calculadoEm() < validadeTotal.toMillis()) {
+			contar("cache");
+			return emCache.valor();
+		}
+
+		long total = -1;
+		if (ChaveFiltro.SEM_FILTRO.equals(chaveFiltro)) {
+			total = estimar(entidade);
+			if (total >= 0) {
+				contar("estimativa");
+			}
+		}
+		if (total < 0) {
+			total = contar.getAsLong();
+			contar("count");
+		}
+
+		guardar(daEntidade, chaveFiltro, new Total(total, agora), agora);
+		return total;
+	}
+
+	/**
+	 * @return linhas estimadas pelo MySQL, ou -1 se a tabela é pequena (o COUNT é barato e exato)
+	 *         ou a estimativa não está disponível
+	 */
+	private long estimar(Class<?> entidade) {
+		Table tabela = AnnotationUtils.findAnnotation(entidade, Table.class);
+		if (tabela == null || tabela.name().isEmpty()) {
+			return -1;
+		}
+		List<?> resultado = manager.createNativeQuery(ESTIMAR_LINHAS)
+				.setParameter(1, tabela.name())
+				.getResultList();
+		if (resultado.isEmpty() || !(resultado.get(0) instanceof Number linhas)) {
+			return -1;
+		}
+		return linhas.longValue() >= limiarEstimativa ? linhas.longValue() : -1;
+	}
+
+	/**
+	 * O limite de brewer.paginacao.maximo-totais vale por entidade.
+	 */
+	private void guardar(Map<String, Total> totais, String chave, Total total, long agora) {
+		if (totais.size() >= maximoTotais) {
+			// Remove os vencidos; se todos estão válidos, recomeça (muitos filtros distintos em 10s)
+			Iterator<Total> valores = totais.values().iterator();
+			while (valores.hasNext()) {
+				if (agora - valores.next().calculadoEm() >= validadeTotal.toMillis()) {
+					valores.remove();
+				}
+			}
+			if (totais.size() >= maximoTotais) {
+				totais.clear();
+			}
+		}
+		totais.put(chave, total);
+	}
+
+	private static <T> TypedQuery<T> limitar(TypedQuery<T> consulta, Pageable pageable, int extra) {
+		if (pageable.isPaged()) {
+			consulta.setFirstResult((int) pageable.getOffset());
+			consulta.setMaxResults(pageable.getPageSize() + extra);
+		}
+		return consulta;
+	}
+
+	private void contar(String origem) {
+		Counter.builder("brewer.paginacao.total")
+				.description("Origem do total das pesquisas paginadas")
+				.tag("origem", origem)
+				.register(meterRegistry)
+				.increment();
+	}
+
+	private record Total(long valor, long calculadoEm) {
+	}
+
+}
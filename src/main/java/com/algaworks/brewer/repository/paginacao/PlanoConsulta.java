@@ -0,0 +1,316 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Plano de consulta de uma pesquisa com filtro, montado uma vez por repositório (campo
+ * static final) e usado pelo {@link Paginador}.
+ *
+ * Cada condição é um trecho JPQL sobre a raiz {@value #RAIZ} e a leitura do valor no
+ * filtro; a condição entra quando o valor está preenchido (não nulo, texto não em branco,
+ * coleção não vazia). O JPQL da consulta e o da contagem são gerados uma vez por combinação
+ * de condições preenchidas e ordenação, e o mesmo texto a cada requisição aproveita o cache
+ * de planos de consulta do Hibernate, sem remontar árvore de Criteria.
+ *
+ * A ordenação só aceita as propriedades declaradas em {@link Construtor#ordenaveis}; as
+ * demais são ignoradas, em vez de chegarem à consulta vindas do parâmetro sort da URL.
+ */
+public final class PlanoConsulta<F, T> {
+
+	public static final String RAIZ = "e";
+
+	private static final Logger logger = LoggerFactory.getLogger(PlanoConsulta.class);
+
+	/** Combinações de condições e ordenação guardadas; além disso o JPQL é montado a cada vez */
+	private static final int MAXIMO_FORMAS = 256;
+
+	/** Entidades com plano; só elas têm totais no Paginador para descartar */
+	private static final Set<Class<?>> PAGINADAS = ConcurrentHashMap.newKeySet();
+
+	private final Class<T> entidade;
+	private final String selecao;
+	private final String contagem;
+	private final List<Condicao<F>> condicoes;
+	private final Map<String, String> ordenaveis;
+
+	private final Map<Forma, String> consultas = new ConcurrentHashMap<>();
+	private final Map<Long, String> contagens = new ConcurrentHashMap<>();
+
+	private PlanoConsulta(Construtor<F, T> construtor) {
+		this.entidade = construtor.entidade;
+		String from = " from " + entidade.getSimpleName() + " " + RAIZ;
+		this.selecao = "select " + (construtor.distinto ? "distinct " : "") + RAIZ + from
+				+ (construtor.busca.isEmpty() ? "" : " " + construtor.busca);
+		this.contagem = "select count(" + RAIZ + ")" + from;
+		this.condicoes = List.copyOf(construtor.condicoes);
+		this.ordenaveis = Map.copyOf(construtor.ordenaveis);
+		PAGINADAS.add(entidade);
+	}
+
+	public static <F, T> Construtor<F, T> de(Class<F> filtro, Class<T> entidade) {
+		return new Construtor<>(entidade);
+	}
+
+	public Class<T> getEntidade() {
+		return entidade;
+	}
+
+	/**
+	 * @return true se algum repositório criou um plano para a entidade (campos static final,
+	 *         criados junto com os repositórios, antes da primeira gravação)
+	 */
+	static boolean paginada(Class<?> entidade) {
+		return PAGINADAS.contains(entidade);
+	}
+
+	/**
+	 * Lê o filtro uma vez; a consulta, a contagem e a chave do total saem dos mesmos valores.
+	 */
+	public Pesquisa pesquisa(F filtro) {
+		Object[] valores = new Object[condicoes.size()];
+		long preenchidas = 0;
+		if (filtro != null) {
+			for (int i = 0; i < condicoes.size(); i++) {
+				Object valor = condicoes.get(i).leitura().apply(filtro);
+				if (preenchido(valor)) {
+					valores[i] = valor;
+					preenchidas |= 1L << i;
+				}
+			}
+		}
+		return new Pesquisa(valores, preenchidas);
+	}
+
+	private static boolean preenchido(Object valor) {
+		if (valor instanceof CharSequence texto) {
+			return StringUtils.hasText(texto);
+		}
+		if (valor instanceof Collection<?> colecao) {
+			return !colecao.isEmpty();
+		}
+		return valor != null;
+	}
+
+	private String where(long preenchidas) {
+		if (preenchidas == 0) {
+			return "";
+		}
+		List<String> trechos = new ArrayList<>();
+		for (int i = 0; i < condicoes.size(); i++) {
+			if ((preenchidas & 1L << i) != 0) {
+				trechos.add(condicoes.get(i).fragmento());
+			}
+		}
+		return " where " + String.join(" and ", trechos);
+	}
+
+	private String orderBy(Sort sort) {
+		if (sort == null || sort.isUnsorted()) {
+			return "";
+		}
+		StringBuilder ordem = new StringBuilder();
+		Set<String> usadas = new HashSet<>();
+		for (Sort.Order order : sort) {
+			String caminho = ordenaveis.get(order.getProperty());
+			if (caminho == null) {
+				logger.debug("Ordenação por {} ignorada em {}: propriedade não ordenável", order.getProperty(),
+						entidade.getSimpleName());
+				continue;
+			}
+			if (usadas.add(caminho)) {
+				ordem.append(ordem.isEmpty() ? " order by " : ", ").append(caminho)
+						.append(order.isAscending() ? " asc" : " desc");
+			}
+		}
+		return ordem.toString();
+	}
+
+	private static <K> String guardado(Map<K, String> cache, K chave, Function<K, String> montar) {
+		String jpql = cache.get(chave);
+		if (jpql == null) {
+			jpql = montar.apply(chave);
+			if (cache.size() < MAXIMO_FORMAS) {
+				cache.putIfAbsent(chave, jpql);
+			}
+		}
+		return jpql;
+	}
+
+	/**
+	 * Valores de um filtro já lidos pelo plano.
+	 */
+	public final class Pesquisa {
+
+		private final Object[] valores;
+		private final long preenchidas;
+
+		private Pesquisa(Object[] valores, long preenchidas) {
+			this.valores = valores;
+			this.preenchidas = preenchidas;
+		}
+
+		public TypedQuery<T> consulta(EntityManager manager, Sort sort) {
+			String ordem = orderBy(sort);
+			String jpql = guardado(consultas, new Forma(preenchidas, ordem), forma -> selecao + where(preenchidas) + ordem);
+			return vincular(manager.createQuery(jpql, entidade));
+		}
+
+		public TypedQuery<Long> contagem(EntityManager manager) {
+			String jpql = guardado(contagens, preenchidas, p -> contagem + where(p));
+			return vincular(manager.createQuery(jpql, Long.class));
+		}
+
+		/**
+		 * Chave do total em cache: as condições preenchidas com os valores normalizados, ou
+		 * {@link ChaveFiltro#SEM_FILTRO} sem nenhuma.
+		 */
+		public String chave() {
+			if (preenchidas == 0) {
+				return ChaveFiltro.SEM_FILTRO;
+			}
+			StringBuilder chave = new StringBuilder();
+			for (int i = 0; i < valores.length; i++) {
+				if ((preenchidas & 1L << i) != 0) {
+					chave.append(chave.isEmpty() ? "" : ";").append(i).append('=').append(ChaveFiltro.valor(valores[i]));
+				}
+			}
+			return chave.toString();
+		}
+
+		private <Q extends Query> Q vincular(Q query) {
+			for (int i = 0; i < valores.length; i++) {
+				if ((preenchidas & 1L << i) != 0) {
+					condicoes.get(i).vinculo().accept(query, valores[i]);
+				}
+			}
+			return query;
+		}
+
+	}
+
+	public static final class Construtor<F, T> {
+
+		private final Class<T> entidade;
+		private final List<Condicao<F>> condicoes = new ArrayList<>();
+		private final Map<String, String> ordenaveis = new LinkedHashMap<>();
+		private String busca = "";
+		private boolean distinto;
+
+		private Construtor(Class<T> entidade) {
+			this.entidade = entidade;
+		}
+
+		public Construtor<F, T> igual(String caminho, Function<? super F, ?> leitura) {
+			return comparacao(RAIZ + "." + caminho + " = ", leitura, Function.identity());
+		}
+
+		/**
+		 * Igualdade com uma entidade do filtro (estilo, estado), que só conta como preenchida
+		 * se tiver identificador: o combo vazio chega como entidade sem código.
+		 */
+		public <V> Construtor<F, T> igual(String caminho, Function<? super F, V> leitura,
+				Function<? super V, ?> identificador) {
+			return igual(caminho, filtro -> {
+				V valor = leitura.apply(filtro);
+				return valor != null && identificador.apply(valor) != null ? valor : null;
+			});
+		}
+
+		/** lower(caminho) like %valor% */
+		public Construtor<F, T> contem(String caminho, Function<? super F, String> leitura) {
+			return comparacao("lower(" + RAIZ + "." + caminho + ") like ", leitura,
+					valor -> "%" + valor.toString().toLowerCase() + "%");
+		}
+
+		/** lower(caminho) like valor% */
+		public Construtor<F, T> comecaCom(String caminho, Function<? super F, String> leitura) {
+			return comparacao("lower(" + RAIZ + "." + caminho + ") like ", leitura,
+					valor -> valor.toString().toLowerCase() + "%");
+		}
+
+		public Construtor<F, T> aPartirDe(String caminho, Function<? super F, ?> leitura) {
+			return comparacao(RAIZ + "." + caminho + " >= ", leitura, Function.identity());
+		}
+
+		public Construtor<F, T> ate(String caminho, Function<? super F, ?> leitura) {
+			return comparacao(RAIZ + "." + caminho + " <= ", leitura, Function.identity());
+		}
+
+		/**
+		 * Condição escrita à mão (subconsulta, mais de um parâmetro): o vínculo recebe o valor
+		 * preenchido e define os parâmetros nomeados do trecho.
+		 */
+		@SuppressWarnings("unchecked")
+		public <V> Construtor<F, T> condicao(String jpql, Function<? super F, V> leitura,
+				BiConsumer<Query, ? super V> vinculo) {
+			return adicionar(new Condicao<>("(" + jpql + ")", leitura,
+					(query, valor) -> vinculo.accept(query, (V) valor)));
+		}
+
+		/**
+		 * Fetch joins só da consulta dos dados, ex.: "left join fetch e.cliente". A contagem
+		 * não os usa.
+		 */
+		public Construtor<F, T> buscando(String joins) {
+			this.busca = joins;
+			return this;
+		}
+
+		public Construtor<F, T> distinto() {
+			this.distinto = true;
+			return this;
+		}
+
+		public Construtor<F, T> ordenaveis(String... propriedades) {
+			for (String propriedade : propriedades) {
+				ordenaveis.put(propriedade, RAIZ + "." + propriedade);
+			}
+			return this;
+		}
+
+		public PlanoConsulta<F, T> criar() {
+			return new PlanoConsulta<>(this);
+		}
+
+		private Construtor<F, T> comparacao(String trecho, Function<? super F, ?> leitura,
+				Function<Object, Object> preparo) {
+			String parametro = "p" + condicoes.size();
+			return adicionar(new Condicao<>(trecho + ":" + parametro, leitura,
+					(query, valor) -> query.setParameter(parametro, preparo.apply(valor))));
+		}
+
+		private Construtor<F, T> adicionar(Condicao<F> condicao) {
+			if (condicoes.size() == Long.SIZE) {
+				throw new IllegalStateException("Plano de " + entidade.getSimpleName() + " com condições demais");
+			}
+			condicoes.add(condicao);
+			return this;
+		}
+
+	}
+
+	private record Condicao<F>(String fragmento, Function<? super F, ?> leitura, BiConsumer<Query, Object> vinculo) {
+	}
+
+	private record Forma(long preenchidas, String ordem) {
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.algaworks.brewer.repository.replica;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Read-your-writes: quando uma transação de escrita feita numa requisição com sessão faz
+ * commit, o instante fica guardado na sessão. Até passar brewer.datasource.replica.atraso-maximo,
+ * as leituras dessa sessão continuam na primária - a réplica só é usada com atraso menor que
+ * esse, então depois dele a escrita já chegou lá. As outras sessões seguem na réplica.
+ */
+@Component
+@ConditionalOnProperty(name = "brewer.datasource.replica.habilitada", havingValue = "true")
+public class EscritasRecentes {
+
+	static final String ATRIBUTO_ULTIMA_ESCRITA = EscritasRecentes.class.getName() + ".ultimaEscrita";
+
+	@Autowired
+	private Clock clock;
+
+	@Value("${brewer.datasource.replica.atraso-maximo:5s}")
+	private Duration atrasoMaximo;
+
+	/**
+	 * Chamado a cada conexão obtida da primária. Registra uma sincronização por transação
+	 * de escrita; fora de transação, em transação readOnly ou sem sessão não faz nada.
+	 */
+	public void registrar() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return;
+		}
+		for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+			if (sincronizacao instanceof MarcaEscrita) {
+				return;
+			}
+		}
+		HttpSession sessao = sessaoAtual();
+		if (sessao != null) {
+			TransactionSynchronizationManager.registerSynchronization(new MarcaEscrita(sessao));
+		}
+	}
+
+	/**
+	 * @return true se a sessão da requisição atual gravou algo há menos que o atraso máximo
+	 */
+	public boolean houveEscritaRecente() {
+		HttpSession sessao = sessaoAtual();
+		if (sessao == null) {
+			return false;
+		}
+		Object ultimaEscrita;
+		try {
+			ultimaEscrita = sessao.getAttribute(ATRIBUTO_ULTIMA_ESCRITA);
+		} catch (IllegalStateException e) {
+			// Sessão invalidada durante a requisição (logout)
+			return false;
+		}
+		return ultimaEscrita instanceof Long instante && clock.millis() - instante < atrasoMaximo.toMillis();
+	}
+
+	/** Só a sessão já existente: uma leitura ou escrita não deve criar sessão (API com HTTP Basic) */
+	private static HttpSession sessaoAtual() {
+		RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+		if (atributos instanceof ServletRequestAttributes servletAtributos) {
+			return servletAtributos.getRequest().getSession(false);
+		}
+		return null;
+	}
+
+	private class MarcaEscrita implements TransactionSynchronization {
+
+		private final HttpSession sessao;
+
+		MarcaEscrita(HttpSession sessao) {
+			this.sessao = sessao;
+		}
+
+		@Override
+		public void afterCommit() {
+			try {
+				sessao.setAttribute(ATRIBUTO_ULTIMA_ESCRITA, clock.millis());
+			} catch (IllegalStateException e) {
+				// Sessão invalidada durante a transação: não há próxima página para proteger
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+package com.algaworks.brewer.repository.replica;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mede o atraso da réplica (SHOW REPLICA STATUS, Seconds_Behind_Source) a cada
+ * brewer.datasource.replica.intervalo-verificacao.
+ *
+ * A réplica só recebe leituras com atraso medido até brewer.datasource.replica.atraso-maximo.
+ * Replicação parada, réplica fora do ar ou sem permissão para a consulta contam como
+ * indisponível, e até a primeira verificação também: na dúvida, a leitura vai para a primária.
+ */
+@Component
+@ConditionalOnProperty(name = "brewer.datasource.replica.habilitada", havingValue = "true")
+public class MonitorReplica {
+
+	private static final Logger logger = LoggerFactory.getLogger(MonitorReplica.class);
+
+	static final long INDISPONIVEL = -1;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replica;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.datasource.replica.atraso-maximo:5s}")
+	private Duration atrasoMaximo;
+
+	private volatile long atrasoSegundos = INDISPONIVEL;
+
+	@PostConstruct
+	void registrarMetricas() {
+		Gauge.builder("brewer.datasource.replica.atraso", this,
+						monitor -> monitor.atrasoSegundos == INDISPONIVEL ? Double.NaN : monitor.atrasoSegundos)
+				.description("Atraso da réplica de leitura em segundos (NaN se indisponível)")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${brewer.datasource.replica.intervalo-verificacao:2s}")
+	public void verificar() {
+		boolean estavaDisponivel = isDisponivel();
+		atrasoSegundos = consultarAtraso();
+		boolean disponivel = isDisponivel();
+
+		if (estavaDisponivel && !disponivel) {
+			logger.warn("Réplica de leitura fora do ar ou atrasada ({}); leituras voltam para a primária",
+					atrasoSegundos == INDISPONIVEL ? "indisponível" : atrasoSegundos + "s");
+		} else if (!estavaDisponivel && disponivel) {
+			logger.info("Réplica de leitura disponível (atraso {}s)", atrasoSegundos);
+		}
+	}
+
+	public boolean isDisponivel() {
+		long atraso = atrasoSegundos;
+		return atraso != INDISPONIVEL && atraso * 1000 <= atrasoMaximo.toMillis();
+	}
+
+	private long consultarAtraso() {
+		try (Connection conexao = replica.getConnection();
+				Statement consulta = conexao.createStatement();
+				ResultSet resultado = consulta.executeQuery("SHOW REPLICA STATUS")) {
+			if (!resultado.next()) {
+				logger.debug("SHOW REPLICA STATUS sem linhas: o banco configurado não é uma réplica");
+				return INDISPONIVEL;
+			}
+			long atraso = resultado.getLong("Seconds_Behind_Source");
+			return resultado.wasNull() ? INDISPONIVEL : atraso;
+		} catch (SQLException e) {
+			logger.debug("Falha ao consultar o atraso da réplica", e);
+			return INDISPONIVEL;
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.algaworks.brewer.repository.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * DataSource das conexões readOnly (ver ReplicaDataSourceConfig): entrega conexões da
+ * réplica enquanto ela estiver em dia e a sessão não tiver escrito nada recentemente;
+ * senão, da primária.
+ *
+ * A escolha é feita a cada conexão, então uma transação inteira fica num banco só.
+ */
+public class RoteadorLeitura extends AbstractDataSource {
+
+	private final DataSource replica;
+	private final DataSource primaria;
+	private final MonitorReplica monitor;
+	private final EscritasRecentes escritasRecentes;
+
+	private final Counter leiturasReplica;
+	private final Counter leiturasReplicaIndisponivel;
+	private final Counter leiturasEscritaRecente;
+
+	public RoteadorLeitura(DataSource replica, DataSource primaria, MonitorReplica monitor,
+			EscritasRecentes escritasRecentes, MeterRegistry meterRegistry) {
+		this.replica = replica;
+		this.primaria = primaria;
+		this.monitor = monitor;
+		this.escritasRecentes = escritasRecentes;
+		this.leiturasReplica = contador(meterRegistry, "replica", "replica");
+		this.leiturasReplicaIndisponivel = contador(meterRegistry, "primaria", "replica_indisponivel");
+		this.leiturasEscritaRecente = contador(meterRegistry, "primaria", "escrita_recente");
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return destino().getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return destino().getConnection(username, password);
+	}
+
+	DataSource destino() {
+		if (!monitor.isDisponivel()) {
+			leiturasReplicaIndisponivel.increment();
+			return primaria;
+		}
+		if (escritasRecentes.houveEscritaRecente()) {
+			leiturasEscritaRecente.increment();
+			return primaria;
+		}
+		leiturasReplica.increment();
+		return replica;
+	}
+
+	private static Counter contador(MeterRegistry meterRegistry, String destino, String motivo) {
+		return Counter.builder("brewer.datasource.leituras")
+				.description("Conexões readOnly por banco de destino")
+				.tag("destino", destino)
+				.tag("motivo", motivo)
+				.register(meterRegistry);
+	}
+
+}
@@ -2,7 +2,6 @@ package com.algaworks.brewer.security;
 
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -10,19 +9,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.algaworks.brewer.model.Usuario;
 import com.algaworks.brewer.repository.Usuarios;
 
 @Service
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 	@Autowired
 	private Usuarios usuarios;
-	
+
+	@Autowired
+	private PermissoesUsuarios permissoesUsuarios;
+
 	@Override
 	public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 		Optional<Usuario> usuarioOptional = usuarios.porEmailEAtivo(email);
@@ -30,12 +34,24 @@ public class AppUserDetailsService implements UserDetailsService {
 		return new UsuarioSistema(usuario, getPermissoes(usuario));
 	}
 
+	/**
+	 * Chamado pelo Spring Security após um login bem-sucedido quando o hash da senha está
+	 * num algoritmo ou custo diferente do configurado (brewer.senha.*): regrava a senha
+	 * com o codificador atual, sem exigir troca de senha.
+	 */
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		UsuarioSistema usuarioSistema = (UsuarioSistema) user;
+		Usuario usuario = usuarioSistema.getUsuario();
+		usuarios.atualizarSenha(usuario.getCodigo(), newPassword);
+		usuario.setSenha(newPassword);
+		return new UsuarioSistema(usuario, usuarioSistema.getAuthorities());
+	}
+
 	private Collection<? extends GrantedAuthority> getPermissoes(Usuario usuario) {
 		Set<SimpleGrantedAuthority> authorities = new HashSet<>();
-		
-		List<String> permissoes = usuarios.permissoes(usuario);
-		permissoes.forEach(p -> authorities.add(new SimpleGrantedAuthority(p.toUpperCase())));
-		
+		permissoesUsuarios.de(usuario).forEach(p -> authorities.add(new SimpleGrantedAuthority(p)));
 		return authorities;
 	}
 
@@ -13,4 +13,7 @@ public final class Permissoes {
 
 	public static final String EMITIR_VENDA = "ROLE_EMITIR_VENDA";
 	public static final String CANCELAR_VENDA = "ROLE_CANCELAR_VENDA";
+	public static final String IMPORTAR_VENDA = "ROLE_IMPORTAR_VENDA";
+	public static final String IMPORTAR_CERVEJA = "ROLE_IMPORTAR_CERVEJA";
+	public static final String IMPORTAR_CLIENTE = "ROLE_IMPORTAR_CLIENTE";
 }
@@ -0,0 +1,68 @@
+package com.algaworks.brewer.security;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.algaworks.brewer.model.Usuario;
+import com.algaworks.brewer.repository.Usuarios;
+
+/**
+ * Permissões por usuário (cache "permissoes", chave: código do usuário), resolvidas uma vez
+ * em vez de a cada login.
+ *
+ * Alterações de usuário invalidam a entrada depois do commit, para que um login concorrente
+ * não volte a guardar as permissões antigas antes da transação terminar. Sessões já abertas
+ * mantêm as authorities do {@link UsuarioSistema} até o próximo login. A invalidação é deste
+ * pod; nos demais a entrada expira em brewer.permissoes.validade (ver WebConfig#cacheManager).
+ */
+@Component
+public class PermissoesUsuarios {
+
+	public static final String CACHE = "permissoes";
+
+	@Autowired
+	private Usuarios usuarios;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Cacheable(value = CACHE, key = "#usuario.codigo")
+	public Set<String> de(Usuario usuario) {
+		List<String> permissoes = usuarios.permissoes(usuario);
+		return permissoes.stream().map(String::toUpperCase).collect(Collectors.toUnmodifiableSet());
+	}
+
+	public void invalidar(Long... codigos) {
+		executarAposCommit(() -> {
+			Cache cache = cacheManager.getCache(CACHE);
+			if (cache != null) {
+				for (Long codigo : codigos) {
+					cache.evict(codigo);
+				}
+			}
+		});
+	}
+
+	private void executarAposCommit(Runnable acao) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			acao.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				acao.run();
+			}
+		});
+	}
+
+}
@@ -15,11 +15,31 @@ public class UsuarioSistema extends User {
 
 	public UsuarioSistema(Usuario usuario, Collection<? extends GrantedAuthority> authorities) {
 		super(usuario.getEmail(), usuario.getSenha(), authorities);
-		this.usuario = usuario;
+		this.usuario = resumo(usuario);
 	}
 
 	public Usuario getUsuario() {
 		return usuario;
 	}
 
+	/**
+	 * Cópia só com a identificação do usuário, que fica na sessão (serializada quando as
+	 * sessões estão no banco): sem hash da senha e sem a coleção lazy de grupos.
+	 */
+	private static Usuario resumo(Usuario usuario) {
+		Usuario resumo = new Usuario();
+		resumo.setCodigo(usuario.getCodigo());
+		resumo.setNome(usuario.getNome());
+		resumo.setEmail(usuario.getEmail());
+		resumo.setAtivo(usuario.getAtivo());
+		return resumo;
+	}
+
+	/**
+	 * Verifica a permissão pelas authorities carregadas no login, sem consultar o banco.
+	 */
+	public boolean temPermissao(String permissao) {
+		return getAuthorities().stream().anyMatch(authority -> permissao.equals(authority.getAuthority()));
+	}
+
 }
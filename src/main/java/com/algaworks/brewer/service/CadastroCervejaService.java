@@ -2,8 +2,10 @@ package com.algaworks.brewer.service;
 
 import jakarta.persistence.PersistenceException;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -12,11 +14,15 @@ import com.algaworks.brewer.model.Cerveja;
 import com.algaworks.brewer.repository.Cervejas;
 import com.algaworks.brewer.service.event.cerveja.CervejaSalvaEvent;
 import com.algaworks.brewer.service.exception.ImpossivelExcluirEntidadeException;
+import com.algaworks.brewer.service.exception.SkuCervejaJaCadastradoException;
 import com.algaworks.brewer.storage.FotoStorage;
 
 @Service
 public class CadastroCervejaService {
 
+	/** Índice único do SKU (V27); o MySQL informa como tabela.índice */
+	private static final String INDICE_SKU = "uk_cerveja_sku";
+
 	@Autowired
 	private Cervejas cervejas;
 
@@ -28,7 +34,14 @@ public class CadastroCervejaService {
 
 	@Transactional
 	public void salvar(Cerveja cerveja) {
-		cervejas.save(cerveja);
+		try {
+			cervejas.saveAndFlush(cerveja);
+		} catch (DataIntegrityViolationException e) {
+			if (violouIndiceSku(e)) {
+				throw new SkuCervejaJaCadastradoException("SKU já cadastrado");
+			}
+			throw e;
+		}
 
 		publisher.publishEvent(new CervejaSalvaEvent(cerveja));
 	}
@@ -47,4 +60,14 @@ public class CadastroCervejaService {
 		}
 	}
 
+	private static boolean violouIndiceSku(DataIntegrityViolationException e) {
+		for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+			if (causa instanceof ConstraintViolationException violacao) {
+				String indice = violacao.getConstraintName();
+				return indice != null && indice.toLowerCase().endsWith(INDICE_SKU);
+			}
+		}
+		return false;
+	}
+
 }
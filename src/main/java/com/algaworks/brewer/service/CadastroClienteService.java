@@ -5,7 +5,9 @@ import java.util.Optional;
 
 import jakarta.persistence.PersistenceException;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,6 +19,9 @@ import com.algaworks.brewer.service.exception.ImpossivelExcluirEntidadeException
 @Service
 public class CadastroClienteService {
 
+	/** Índice único do documento (V24); o MySQL informa como tabela.índice */
+	private static final String INDICE_CPF_CNPJ = "uk_cliente_cpf_cnpj";
+
 	@Autowired
 	private Clientes clientes;
 	
@@ -32,7 +37,26 @@ public class CadastroClienteService {
 			}
 		}
 
-		clientes.save(cliente);
+		try {
+			// flush aqui: na edição o UPDATE só iria ao banco no commit, fora deste try
+			clientes.saveAndFlush(cliente);
+		} catch (DataIntegrityViolationException e) {
+			// Outro cadastro com o mesmo documento entre a consulta e o INSERT/UPDATE
+			if (violouIndiceCpfCnpj(e)) {
+				throw new CpfCnpjClienteJaCadastradoException("CPF/CNPJ já cadastrado");
+			}
+			throw e;
+		}
+	}
+
+	private static boolean violouIndiceCpfCnpj(DataIntegrityViolationException e) {
+		for (Throwable causa = e.getCause(); causa != null; causa = causa.getCause()) {
+			if (causa instanceof ConstraintViolationException violacao) {
+				String indice = violacao.getConstraintName();
+				return indice != null && indice.toLowerCase().endsWith(INDICE_CPF_CNPJ);
+			}
+		}
+		return false;
 	}
 
 	@Transactional
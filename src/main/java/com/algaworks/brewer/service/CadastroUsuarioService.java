@@ -10,6 +10,7 @@ import org.springframework.util.StringUtils;
 
 import com.algaworks.brewer.model.Usuario;
 import com.algaworks.brewer.repository.Usuarios;
+import com.algaworks.brewer.security.PermissoesUsuarios;
 import com.algaworks.brewer.service.exception.EmailUsuarioJaCadastradoException;
 import com.algaworks.brewer.service.exception.SenhaObrigatoriaUsuarioException;
 
@@ -21,6 +22,9 @@ public class CadastroUsuarioService {
 	
 	@Autowired
 	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private PermissoesUsuarios permissoesUsuarios;
 	
 	@Transactional
 	public void salvar(Usuario usuario) {
@@ -39,11 +43,13 @@ public class CadastroUsuarioService {
 		}
 		
 		usuarios.save(usuario);
+		permissoesUsuarios.invalidar(usuario.getCodigo());
 	}
 
 	@Transactional
 	public void alterarStatus(Long[] codigos, StatusUsuario statusUsuario) {
 		statusUsuario.executar(codigos, usuarios);
+		permissoesUsuarios.invalidar(codigos);
 	}
 	
 }
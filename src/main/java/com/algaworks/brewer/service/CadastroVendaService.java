@@ -2,18 +2,24 @@ package com.algaworks.brewer.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.algaworks.brewer.mail.Mailer;
 import com.algaworks.brewer.model.StatusVenda;
-import com.algaworks.brewer.model.Usuario;
 import com.algaworks.brewer.model.Venda;
 import com.algaworks.brewer.repository.Vendas;
 import com.algaworks.brewer.security.Permissoes;
+import com.algaworks.brewer.security.UsuarioSistema;
+import com.algaworks.brewer.service.event.venda.VendaCanceladaEvent;
+import com.algaworks.brewer.service.event.venda.VendaEmitidaEvent;
+import com.algaworks.brewer.service.event.venda.VendaSalvaEvent;
 import com.algaworks.brewer.service.exception.ImpossivelEmitirVendaException;
 
 @Service
@@ -22,6 +28,16 @@ public class CadastroVendaService {
 	@Autowired
 	private Vendas vendas;
 
+	@Autowired
+	private Mailer mailer;
+
+	@Autowired
+	private EstoqueService estoqueService;
+
+	/** Eventos entregues aos consumidores só depois do commit (DespachanteEventosVenda) */
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
 	@Transactional
 	public Venda salvar(Venda venda) {
 		if (venda.isNova()) {
@@ -32,23 +48,42 @@ public class CadastroVendaService {
 			venda.setDataHoraEntrega(LocalDateTime.of(venda.getDataEntrega(), venda.getHorarioEntrega()));
 		}
 
-		return vendas.saveAndFlush(venda);
+		boolean nova = venda.isNova();
+		Venda vendaSalva = vendas.saveAndFlush(venda);
+
+		publisher.publishEvent(new VendaSalvaEvent(vendaSalva.getCodigo(), nova));
+		return vendaSalva;
+	}
+
+	/**
+	 * Salva a venda e coloca o resumo na fila de e-mails na mesma transação.
+	 * Se o cliente não tiver e-mail cadastrado, apenas salva.
+	 */
+	@Transactional
+	public Venda salvarEEnviarResumo(Venda venda) {
+		Venda vendaSalva = salvar(venda);
+
+		if (vendaSalva.getCliente() != null && vendaSalva.getCliente().getEmail() != null
+				&& !vendaSalva.getCliente().getEmail().isBlank()) {
+			mailer.enviar(vendaSalva);
+		}
+
+		return vendaSalva;
 	}
 
 	@Transactional
-	public void emitir(Venda vendaParam, Usuario usuarioLogado) {
-		// Carregar venda do banco para ter o usuario carregado
-		Venda venda = vendas.findById(vendaParam.getCodigo())
+	public void emitir(Venda vendaParam, UsuarioSistema usuarioLogado) {
+		// Carregar venda do banco (com bloqueio da linha) para ter o usuario carregado
+		Venda venda = vendas.porCodigoComBloqueio(vendaParam.getCodigo())
 				.orElseThrow(() -> new IllegalArgumentException("Venda não encontrada"));
 
 		// Verificar autorização manualmente (SECURITY FIX)
 		// Usuário só pode emitir vendas próprias OU ter a permissão EMITIR_VENDA
 		boolean isProprietario = venda.getUsuario() != null &&
-				venda.getUsuario().getCodigo().equals(usuarioLogado.getCodigo());
+				venda.getUsuario().getCodigo().equals(usuarioLogado.getUsuario().getCodigo());
 
-		boolean temPermissao = usuarioLogado.getGrupos().stream()
-				.flatMap(grupo -> grupo.getPermissoes().stream())
-				.anyMatch(permissao -> Permissoes.EMITIR_VENDA.equals(permissao.getNome()));
+		// Authorities do principal, carregadas no login: sem percorrer grupos/permissões
+		boolean temPermissao = usuarioLogado.temPermissao(Permissoes.EMITIR_VENDA);
 
 		if (!isProprietario && !temPermissao) {
 			throw new AccessDeniedException("Você não tem permissão para emitir esta venda");
@@ -58,46 +93,42 @@ public class CadastroVendaService {
 			throw new ImpossivelEmitirVendaException("Não é possível emitir uma venda cancelada");
 		}
 
+		if (venda.isEmitida()) {
+			// Emissão repetida (duplo clique, retry): o estoque já foi baixado
+			return;
+		}
+
+		Map<Long, Long> lancamentos = estoqueService.baixar(venda);
 		venda.setStatus(StatusVenda.EMITIDA);
 		vendas.save(venda);
 
-		// FUTURE ENHANCEMENT: Implementar sistema de eventos para controle de estoque
-		// Quando implementado, publicar VendaEmitidaEvent para:
-		// 1. Decrementar estoque dos itens vendidos
-		// 2. Registrar movimentação de estoque
-		// 3. Notificar sistema de reposição se estoque baixo
-		// Issue: #TBD - Event-driven stock control
+		publisher.publishEvent(new VendaEmitidaEvent(venda.getCodigo(), EstoqueService.quantidades(venda), lancamentos));
 	}
 
 	@Transactional
-	public void cancelar(Venda vendaParam, Usuario usuarioLogado) {
-		// Carregar venda do banco para ter o usuario carregado
-		Venda venda = vendas.findById(vendaParam.getCodigo())
+	public void cancelar(Venda vendaParam, UsuarioSistema usuarioLogado) {
+		// Carregar venda do banco (com bloqueio da linha) para ter o usuario carregado
+		Venda venda = vendas.porCodigoComBloqueio(vendaParam.getCodigo())
 				.orElseThrow(() -> new IllegalArgumentException("Venda não encontrada"));
 
 		// Verificar autorização manualmente (SECURITY FIX)
 		// Usuário só pode cancelar vendas próprias OU ter a permissão CANCELAR_VENDA
 		boolean isProprietario = venda.getUsuario() != null &&
-				venda.getUsuario().getCodigo().equals(usuarioLogado.getCodigo());
+				venda.getUsuario().getCodigo().equals(usuarioLogado.getUsuario().getCodigo());
 
-		boolean temPermissao = usuarioLogado.getGrupos().stream()
-				.flatMap(grupo -> grupo.getPermissoes().stream())
-				.anyMatch(permissao -> Permissoes.CANCELAR_VENDA.equals(permissao.getNome()));
+		// Authorities do principal, carregadas no login: sem percorrer grupos/permissões
+		boolean temPermissao = usuarioLogado.temPermissao(Permissoes.CANCELAR_VENDA);
 
 		if (!isProprietario && !temPermissao) {
 			throw new AccessDeniedException("Você não tem permissão para cancelar esta venda");
 		}
 
 		if (venda.isEmitida()) {
+			Map<Long, Long> lancamentos = estoqueService.devolver(venda);
 			venda.setStatus(StatusVenda.CANCELADA);
 			vendas.save(venda);
 
-			// FUTURE ENHANCEMENT: Implementar sistema de eventos para controle de estoque
-			// Quando implementado, publicar VendaCanceladaEvent para:
-			// 1. Retornar itens ao estoque (reverter decremento)
-			// 2. Registrar movimentação de estoque (cancelamento)
-			// 3. Atualizar relatórios e dashboards
-			// Issue: #TBD - Event-driven stock control
+			publisher.publishEvent(new VendaCanceladaEvent(venda.getCodigo(), EstoqueService.quantidades(venda), lancamentos));
 		}
 	}
 
@@ -0,0 +1,105 @@
+package com.algaworks.brewer.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+import com.algaworks.brewer.model.TipoMovimentacaoEstoque;
+import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.MovimentacoesEstoque;
+import com.algaworks.brewer.service.exception.EstoqueInsuficienteException;
+
+/**
+ * Baixa e devolução do estoque das cervejas de uma venda, com UPDATEs condicionais em
+ * lote (CervejasImpl.baixarEstoque). Roda dentro da transação de emissão/cancelamento:
+ * se faltar estoque de alguma cerveja, a exceção desfaz também as baixas já feitas.
+ *
+ * Cada baixa/devolução também grava o lançamento no livro (movimentacao_estoque); as
+ * consolidações diárias ficam para o ProjetorEstoque, fora da transação da venda.
+ * O código de cada lançamento segue nos eventos de venda e diz ao MonitorEstoqueBaixo
+ * se uma leitura do estoque já inclui a venda.
+ */
+@Service
+public class EstoqueService {
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private MovimentacoesEstoque movimentacoes;
+
+	@Autowired
+	private Clock clock;
+
+	/**
+	 * @return código do lançamento gravado no livro, por código de cerveja
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public Map<Long, Long> baixar(Venda venda) {
+		List<Long> semEstoque = cervejas.baixarEstoque(quantidades(venda));
+		if (!semEstoque.isEmpty()) {
+			String nomes = venda.getItens().stream()
+					.filter(item -> semEstoque.contains(item.getCerveja().getCodigo()))
+					.map(item -> item.getCerveja().getNome())
+					.distinct()
+					.collect(Collectors.joining(", "));
+			throw new EstoqueInsuficienteException("Estoque insuficiente para: " + nomes);
+		}
+		return registrar(venda, TipoMovimentacaoEstoque.VENDA, -1);
+	}
+
+	/**
+	 * @return código do lançamento gravado no livro, por código de cerveja
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public Map<Long, Long> devolver(Venda venda) {
+		cervejas.devolverEstoque(quantidades(venda));
+		return registrar(venda, TipoMovimentacaoEstoque.CANCELAMENTO_VENDA, 1);
+	}
+
+	private Map<Long, Long> registrar(Venda venda, TipoMovimentacaoEstoque tipo, int sinal) {
+		LocalDateTime agora = LocalDateTime.now(clock);
+		List<MovimentacaoEstoque> lancamentos = new ArrayList<>();
+		quantidades(venda).forEach((cerveja, quantidade) -> {
+			MovimentacaoEstoque movimentacao = new MovimentacaoEstoque();
+			movimentacao.setCodigoCerveja(cerveja);
+			movimentacao.setCodigoVenda(venda.getCodigo());
+			movimentacao.setTipo(tipo);
+			movimentacao.setQuantidade(sinal * quantidade);
+			movimentacao.setDataHora(agora);
+			lancamentos.add(movimentacao);
+		});
+		// IDENTITY: o INSERT sai no saveAll e o código já vem preenchido
+		Map<Long, Long> codigos = new HashMap<>();
+		for (MovimentacaoEstoque lancamento : movimentacoes.saveAll(lancamentos)) {
+			if (lancamento.getCodigo() != null) {
+				codigos.put(lancamento.getCodigoCerveja(), lancamento.getCodigo());
+			}
+		}
+		return codigos;
+	}
+
+	/**
+	 * Quantidade por cerveja, somando itens repetidos da mesma cerveja.
+	 */
+	static Map<Long, Integer> quantidades(Venda venda) {
+		Map<Long, Integer> quantidades = new HashMap<>();
+		for (ItemVenda item : venda.getItens()) {
+			quantidades.merge(item.getCerveja().getCodigo(), item.getQuantidade(), Integer::sum);
+		}
+		return quantidades;
+	}
+
+}
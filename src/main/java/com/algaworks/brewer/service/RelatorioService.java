@@ -43,6 +43,9 @@ public class RelatorioService {
 		Connection con = this.dataSource.getConnection();
 
 		try {
+			// Só leitura: com réplica habilitada, a conexão vem do pool da réplica (ReplicaDataSourceConfig)
+			con.setReadOnly(true);
+
 			JasperPrint jasperPrint = JasperFillManager.fillReport(inputStream, parametros, con);
 			return JasperExportManager.exportReportToPdf(jasperPrint);
 		} finally {
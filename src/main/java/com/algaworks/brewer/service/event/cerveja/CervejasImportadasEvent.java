@@ -0,0 +1,22 @@
+package com.algaworks.brewer.service.event.cerveja;
+
+import java.util.Set;
+
+/**
+ * Equivale a um CervejaSalvaEvent por cerveja de um lote da importação de catálogo,
+ * publicado uma vez só, dentro da transação do lote: ouvintes AFTER_COMMIT recebem os
+ * códigos juntos, depois que o lote inteiro foi gravado.
+ */
+public class CervejasImportadasEvent {
+
+	private final Set<Long> codigos;
+
+	public CervejasImportadasEvent(Set<Long> codigos) {
+		this.codigos = Set.copyOf(codigos);
+	}
+
+	public Set<Long> getCodigos() {
+		return codigos;
+	}
+
+}
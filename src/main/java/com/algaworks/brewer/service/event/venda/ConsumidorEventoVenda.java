@@ -0,0 +1,15 @@
+package com.algaworks.brewer.service.event.venda;
+
+/**
+ * Consumidor assíncrono dos eventos de venda. Basta ser um bean: o
+ * DespachanteEventosVenda entrega cada evento a todos os consumidores, fora da
+ * transação que o publicou e na ordem em que os eventos da mesma venda aconteceram.
+ *
+ * Falhas são logadas e contadas, sem afetar os outros consumidores nem a venda. O que
+ * não pode se perder (estoque, e-mail) continua gravado na própria transação.
+ */
+public interface ConsumidorEventoVenda {
+
+	void consumir(VendaEvent evento);
+
+}
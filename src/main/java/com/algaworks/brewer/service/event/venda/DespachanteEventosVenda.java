@@ -0,0 +1,169 @@
+package com.algaworks.brewer.service.event.venda;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Entrega os eventos de venda aos ConsumidorEventoVenda depois do commit.
+ *
+ * Os eventos são distribuídos em faixas pelo código da venda; cada faixa tem uma única
+ * thread e uma fila limitada, então os eventos da mesma venda são consumidos na ordem
+ * em que foram publicados, e vendas diferentes andam em paralelo. Com a fila cheia, a
+ * thread da requisição espera até brewer.eventos.venda.espera-fila; passado isso o
+ * evento é descartado e contado (brewer.eventos.venda.descartados).
+ */
+@Component
+public class DespachanteEventosVenda {
+
+	private static final Logger logger = LoggerFactory.getLogger(DespachanteEventosVenda.class);
+
+	@Autowired
+	private ObjectProvider<ConsumidorEventoVenda> consumidoresDisponiveis;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${brewer.eventos.venda.faixas:4}")
+	private int quantidadeFaixas;
+
+	@Value("${brewer.eventos.venda.capacidade-fila:1000}")
+	private int capacidadeFila;
+
+	@Value("${brewer.eventos.venda.espera-fila:2s}")
+	private Duration esperaFila;
+
+	private List<ConsumidorEventoVenda> consumidores;
+
+	private ThreadPoolExecutor[] faixas;
+
+	@PostConstruct
+	void inicializar() {
+		consumidores = consumidoresDisponiveis.orderedStream().toList();
+
+		faixas = new ThreadPoolExecutor[quantidadeFaixas];
+		for (int i = 0; i < quantidadeFaixas; i++) {
+			String nome = "eventos-venda-" + i;
+			faixas[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+					new ArrayBlockingQueue<>(capacidadeFila),
+					tarefa -> new Thread(tarefa, nome),
+					this::aguardarVaga);
+		}
+
+		Gauge.builder("brewer.eventos.venda.pendentes", this, DespachanteEventosVenda::pendentes)
+				.description("Eventos de venda aguardando consumo")
+				.register(meterRegistry);
+
+		logger.info("Eventos de venda: {} faixas, {} consumidores", quantidadeFaixas, consumidores.size());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void aoConfirmar(VendaEvent evento) {
+		despachar(evento);
+	}
+
+	void despachar(VendaEvent evento) {
+		if (consumidores.isEmpty()) {
+			return;
+		}
+		faixa(evento.getCodigoVenda()).execute(new Entrega(evento));
+	}
+
+	@PreDestroy
+	void encerrar() throws InterruptedException {
+		for (ThreadPoolExecutor faixa : faixas) {
+			faixa.shutdown();
+		}
+		for (ThreadPoolExecutor faixa : faixas) {
+			if (!faixa.awaitTermination(10, TimeUnit.SECONDS)) {
+				logger.warn("Eventos de venda não consumidos no encerramento: {}", faixa.getQueue().size());
+			}
+		}
+	}
+
+	int pendentes() {
+		int pendentes = 0;
+		for (ThreadPoolExecutor faixa : faixas) {
+			pendentes += faixa.getQueue().size();
+		}
+		return pendentes;
+	}
+
+	private ThreadPoolExecutor faixa(Long codigoVenda) {
+		return faixas[Math.floorMod(codigoVenda.hashCode(), faixas.length)];
+	}
+
+	/**
+	 * Fila cheia: espera por vaga no fim da mesma fila (rodar na thread do chamador
+	 * furaria a ordem da venda) e, sem vaga no prazo, descarta.
+	 */
+	private void aguardarVaga(Runnable tarefa, ThreadPoolExecutor faixa) {
+		VendaEvent evento = ((Entrega) tarefa).evento;
+		try {
+			if (!faixa.isShutdown() && faixa.getQueue().offer(tarefa, esperaFila.toMillis(), TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		logger.error("Evento descartado, fila de eventos de venda cheia: {}", evento);
+		Counter.builder("brewer.eventos.venda.descartados")
+				.tag("evento", evento.getClass().getSimpleName())
+				.register(meterRegistry)
+				.increment();
+	}
+
+	private class Entrega implements Runnable {
+
+		private final VendaEvent evento;
+
+		Entrega(VendaEvent evento) {
+			this.evento = evento;
+		}
+
+		@Override
+		public void run() {
+			for (ConsumidorEventoVenda consumidor : consumidores) {
+				String nomeConsumidor = ClassUtils.getUserClass(consumidor).getSimpleName();
+				String erro = "nenhum";
+				long inicio = System.nanoTime();
+				try {
+					consumidor.consumir(evento);
+				} catch (RuntimeException e) {
+					erro = e.getClass().getSimpleName();
+					logger.error("Falha no consumidor {} ao processar {}", nomeConsumidor, evento, e);
+				} finally {
+					Timer.builder("brewer.eventos.venda.consumo")
+							.description("Tempo de consumo dos eventos de venda")
+							.tag("consumidor", nomeConsumidor)
+							.tag("evento", evento.getClass().getSimpleName())
+							.tag("erro", erro)
+							.register(meterRegistry)
+							.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+				}
+			}
+		}
+	}
+
+}
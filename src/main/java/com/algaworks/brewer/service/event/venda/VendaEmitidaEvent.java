@@ -0,0 +1,28 @@
+package com.algaworks.brewer.service.event.venda;
+
+import java.util.Map;
+
+public class VendaEmitidaEvent extends VendaEvent {
+
+	private final Map<Long, Integer> quantidades;
+	private final Map<Long, Long> lancamentos;
+
+	/**
+	 * @param quantidades quantidade vendida por código de cerveja
+	 * @param lancamentos código do lançamento no livro de estoque, por código de cerveja
+	 */
+	public VendaEmitidaEvent(Long codigoVenda, Map<Long, Integer> quantidades, Map<Long, Long> lancamentos) {
+		super(codigoVenda);
+		this.quantidades = Map.copyOf(quantidades);
+		this.lancamentos = Map.copyOf(lancamentos);
+	}
+
+	public Map<Long, Integer> getQuantidades() {
+		return quantidades;
+	}
+
+	public Map<Long, Long> getLancamentos() {
+		return lancamentos;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.algaworks.brewer.service.event.venda;
+
+/**
+ * Evento do ciclo de vida de uma venda, publicado dentro da transação e entregue aos
+ * consumidores só depois do commit (DespachanteEventosVenda).
+ *
+ * Carrega apenas dados imutáveis - nunca a entidade -, porque é consumido em outra
+ * thread, fora da sessão do Hibernate.
+ */
+public abstract class VendaEvent {
+
+	private final Long codigoVenda;
+
+	protected VendaEvent(Long codigoVenda) {
+		this.codigoVenda = codigoVenda;
+	}
+
+	public Long getCodigoVenda() {
+		return codigoVenda;
+	}
+
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + "[venda=" + codigoVenda + "]";
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.algaworks.brewer.service.event.venda;
+
+public class VendaSalvaEvent extends VendaEvent {
+
+	private final boolean nova;
+
+	public VendaSalvaEvent(Long codigoVenda, boolean nova) {
+		super(codigoVenda);
+		this.nova = nova;
+	}
+
+	public boolean isNova() {
+		return nova;
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.algaworks.brewer.service.exception;
+
+public class ArquivoImportacaoInvalidoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ArquivoImportacaoInvalidoException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.algaworks.brewer.service.exception;
+
+public class EstoqueInsuficienteException extends ImpossivelEmitirVendaException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EstoqueInsuficienteException(String message) {
+		super(message);
+	}
+
+}
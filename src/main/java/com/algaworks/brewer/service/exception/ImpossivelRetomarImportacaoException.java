@@ -0,0 +1,11 @@
+package com.algaworks.brewer.service.exception;
+
+public class ImpossivelRetomarImportacaoException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImpossivelRetomarImportacaoException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.algaworks.brewer.service.exception;
+
+public class SkuCervejaJaCadastradoException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public SkuCervejaJaCadastradoException(String message) {
+		super(message);
+	}
+
+}
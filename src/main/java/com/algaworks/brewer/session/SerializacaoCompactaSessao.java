@@ -0,0 +1,66 @@
+package com.algaworks.brewer.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+
+/**
+ * Serialização dos atributos de sessão gravados no banco: serialização Java comprimida
+ * com Deflate. O contexto de segurança e a TabelaItensVenda repetem muitos nomes de
+ * classe e campos, que comprimem bem, e cada requisição que altera a sessão regrava os
+ * atributos alterados.
+ */
+public class SerializacaoCompactaSessao {
+
+	private static final int BUFFER = 1024;
+
+	private final DefaultSerializer serializer = new DefaultSerializer();
+	private final DefaultDeserializer deserializer;
+
+	public SerializacaoCompactaSessao(ClassLoader classLoader) {
+		this.deserializer = new DefaultDeserializer(classLoader);
+	}
+
+	public byte[] serializar(Object atributo) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER);
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		try (OutputStream saida = new DeflaterOutputStream(bytes, deflater, BUFFER)) {
+			serializer.serialize(atributo, saida);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erro ao serializar atributo de sessão " + atributo.getClass().getName(), e);
+		} finally {
+			deflater.end();
+		}
+		return bytes.toByteArray();
+	}
+
+	public Object desserializar(byte[] bytes) {
+		try (InputStream entrada = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+			return deserializer.deserialize(entrada);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Erro ao desserializar atributo de sessão", e);
+		}
+	}
+
+	/**
+	 * ConversionService no formato esperado pelo Spring Session (Object <-> byte[]).
+	 */
+	public GenericConversionService conversionService() {
+		GenericConversionService conversionService = new GenericConversionService();
+		conversionService.addConverter(Object.class, byte[].class, (Converter<Object, byte[]>) this::serializar);
+		conversionService.addConverter(byte[].class, Object.class, (Converter<byte[], Object>) this::desserializar);
+		return conversionService;
+	}
+
+}
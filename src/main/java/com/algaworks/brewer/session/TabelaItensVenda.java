@@ -1,5 +1,6 @@
 package com.algaworks.brewer.session;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -15,7 +16,10 @@ import com.algaworks.brewer.model.ItemVenda;
 
 @SessionScope
 @Component
-public class TabelaItensVenda {
+public class TabelaItensVenda implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
 
 	private String uuid;
 	private final List<ItemVenda> itens = Collections.synchronizedList(new ArrayList<>());
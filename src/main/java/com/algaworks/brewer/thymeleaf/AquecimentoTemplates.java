@@ -0,0 +1,81 @@
+package com.algaworks.brewer.thymeleaf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Parseia todos os templates de página na inicialização (apenas com cache ligado).
+ *
+ * Roda como ApplicationRunner, antes de a aplicação ser marcada como pronta para
+ * receber tráfego; assim a primeira requisição após um deploy não paga o parse.
+ * Templates de e-mail ficam de fora porque são renderizados pelo ResumoVendaRenderer.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.thymeleaf.cache", havingValue = "true", matchIfMissing = true)
+public class AquecimentoTemplates implements ApplicationRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(AquecimentoTemplates.class);
+
+	private static final String DIRETORIO = "/templates/";
+	private static final String SUFIXO = ".html";
+	private static final String PREFIXO_IGNORADO = "mail/";
+
+	@Autowired
+	private TemplateEngine templateEngine;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	private ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		long inicio = System.nanoTime();
+		List<String> templates = listarTemplates();
+
+		int precompilados = 0;
+		for (String template : templates) {
+			Timer timer = Timer.builder("brewer.thymeleaf.precompilacao")
+					.description("Tempo de parse do template no aquecimento")
+					.tag("template", template)
+					.register(meterRegistry);
+
+			if (timer.record(() -> PreCompilacaoTemplates.precompilar(templateEngine, template))) {
+				precompilados++;
+			}
+		}
+
+		logger.info("{} de {} templates pré-compilados em {} ms", precompilados, templates.size(),
+				(System.nanoTime() - inicio) / 1_000_000);
+	}
+
+	List<String> listarTemplates() throws IOException {
+		List<String> templates = new ArrayList<>();
+		for (Resource resource : resourceResolver.getResources("classpath*:" + DIRETORIO + "**/*" + SUFIXO)) {
+			String url = resource.getURL().toString();
+			String nome = url.substring(url.lastIndexOf(DIRETORIO) + DIRETORIO.length(), url.length() - SUFIXO.length());
+			if (!nome.startsWith(PREFIXO_IGNORADO)) {
+				templates.add(nome);
+			}
+		}
+		templates.sort(null);
+		return templates;
+	}
+
+}
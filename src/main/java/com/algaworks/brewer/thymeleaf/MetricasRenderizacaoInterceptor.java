@@ -0,0 +1,63 @@
+package com.algaworks.brewer.thymeleaf;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mede o tempo de renderização da view, por template.
+ *
+ * O intervalo entre postHandle (controller terminou, view ainda não foi renderizada)
+ * e afterCompletion corresponde à renderização do template. Redirects e respostas
+ * sem view não são medidos.
+ */
+public class MetricasRenderizacaoInterceptor implements HandlerInterceptor {
+
+	private static final String ATRIBUTO_INICIO = MetricasRenderizacaoInterceptor.class.getName() + ".inicio";
+	private static final String ATRIBUTO_TEMPLATE = MetricasRenderizacaoInterceptor.class.getName() + ".template";
+
+	private final MeterRegistry meterRegistry;
+
+	public MetricasRenderizacaoInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+			ModelAndView modelAndView) {
+		if (modelAndView == null || !modelAndView.hasView() || !modelAndView.isReference()) {
+			return;
+		}
+
+		String viewName = modelAndView.getViewName();
+		if (viewName.startsWith("redirect:") || viewName.startsWith("forward:")) {
+			return;
+		}
+
+		request.setAttribute(ATRIBUTO_TEMPLATE, viewName);
+		request.setAttribute(ATRIBUTO_INICIO, System.nanoTime());
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		Object inicio = request.getAttribute(ATRIBUTO_INICIO);
+		if (!(inicio instanceof Long)) {
+			return;
+		}
+
+		Timer.builder("brewer.thymeleaf.renderizacao")
+				.description("Tempo de renderização da view")
+				.tag("template", (String) request.getAttribute(ATRIBUTO_TEMPLATE))
+				.tag("erro", ex == null ? "nenhum" : ex.getClass().getSimpleName())
+				.register(meterRegistry)
+				.record(System.nanoTime() - (Long) inicio, TimeUnit.NANOSECONDS);
+	}
+
+}
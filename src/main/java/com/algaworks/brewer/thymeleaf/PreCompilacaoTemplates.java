@@ -0,0 +1,65 @@
+package com.algaworks.brewer.thymeleaf;
+
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * Força o parse de templates cacheáveis antes do primeiro uso.
+ *
+ * O TemplateManager parseia o template inteiro e guarda no cache antes de processá-lo,
+ * com a mesma chave usada por {@code engine.process(nome, ...)}. Processar com um contexto
+ * vazio basta para popular o cache; o erro de avaliação que vem em seguida é esperado.
+ * O TemplateManager é chamado diretamente para que esse erro não seja logado como ERROR
+ * pelo TemplateEngine.
+ */
+public final class PreCompilacaoTemplates {
+
+	private static final Logger logger = LoggerFactory.getLogger(PreCompilacaoTemplates.class);
+
+	private PreCompilacaoTemplates() {
+	}
+
+	/**
+	 * @return true se o template ficou no cache; false se o engine não tem cache de templates,
+	 *         o template não é cacheável ou não pôde ser parseado
+	 */
+	public static boolean precompilar(TemplateEngine templateEngine, String template) {
+		TemplateSpec templateSpec = new TemplateSpec(template, (Set<String>) null, (TemplateMode) null,
+				(Map<String, Object>) null);
+		RuntimeException erro = null;
+		try {
+			templateEngine.getConfiguration().getTemplateManager()
+					.parseAndProcess(templateSpec, new Context(), Writer.nullWriter());
+		} catch (RuntimeException e) {
+			erro = e;
+		}
+
+		if (estaNoCache(templateEngine, template)) {
+			return true;
+		}
+
+		if (erro != null) {
+			logger.warn("Não foi possível pré-compilar o template {}: {}", template, erro.getMessage());
+		}
+		return false;
+	}
+
+	private static boolean estaNoCache(TemplateEngine templateEngine, String template) {
+		if (templateEngine.getCacheManager() == null) {
+			return false;
+		}
+		ICache<TemplateCacheKey, ?> cache = templateEngine.getCacheManager().getTemplateCache();
+		return cache != null && cache.get(new TemplateCacheKey(null, template, null, 0, 0, null, null)) != null;
+	}
+
+}
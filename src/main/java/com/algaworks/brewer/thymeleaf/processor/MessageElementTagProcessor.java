@@ -23,8 +23,8 @@ public class MessageElementTagProcessor extends AbstractElementTagProcessor {
 		IModelFactory modelFactory = context.getModelFactory();
 		
 		IModel model = modelFactory.createModel();
-		model.add(modelFactory.createStandaloneElementTag("th:block", "th:replace", "fragments/MensagemSucesso :: alert"));
-		model.add(modelFactory.createStandaloneElementTag("th:block", "th:replace", "fragments/MensagensErroValidacao :: alert"));
+		model.add(modelFactory.createStandaloneElementTag("th:block", "th:replace", "~{fragments/MensagemSucesso :: alert}"));
+		model.add(modelFactory.createStandaloneElementTag("th:block", "th:replace", "~{fragments/MensagensErroValidacao :: alert}"));
 		
 		structureHandler.replaceWith(model, true);
 	}
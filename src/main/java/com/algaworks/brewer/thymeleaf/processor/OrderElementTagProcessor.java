@@ -30,7 +30,8 @@ public class OrderElementTagProcessor extends AbstractElementTagProcessor {
 		IModel model = modelFactory.createModel();
 		model.add(modelFactory.createStandaloneElementTag("th:block"
 				, "th:replace"
-				, String.format("fragments/Ordenacao :: order (%s, %s, '%s')", page.getValue(), field.getValue(), text.getValue())));
+				, "~{fragments/Ordenacao :: order(" + page.getValue() + ", " + field.getValue()
+						+ ", '" + text.getValue() + "')}"));
 		
 		structureHandler.replaceWith(model, true);
 	}
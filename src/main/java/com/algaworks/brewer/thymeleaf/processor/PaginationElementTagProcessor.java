@@ -1,5 +1,8 @@
 package com.algaworks.brewer.thymeleaf.processor;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.model.IAttribute;
 import org.thymeleaf.model.IModel;
@@ -13,6 +16,12 @@ public class PaginationElementTagProcessor extends AbstractElementTagProcessor {
 
 	private static final String NOME_TAG = "pagination";
 	private static final int PRECEDENCIA = 1000;
+
+	/**
+	 * Expressões th:replace já montadas, por valor do atributo page. Os valores vêm
+	 * do próprio template, então o número de entradas é limitado pelas tags existentes.
+	 */
+	private final Map<String, String> expressoes = new ConcurrentHashMap<>();
 	
 	public PaginationElementTagProcessor(String dialectPrefix) {
 		super(TemplateMode.HTML, dialectPrefix, NOME_TAG, true, null, false, PRECEDENCIA);
@@ -28,7 +37,8 @@ public class PaginationElementTagProcessor extends AbstractElementTagProcessor {
 		IModel model = modelFactory.createModel();
 		model.add(modelFactory.createStandaloneElementTag("th:block"
 				, "th:replace"
-				, String.format("fragments/Paginacao :: pagination (%s)", page.getValue())));
+				, expressoes.computeIfAbsent(page.getValue(),
+						valor -> "~{fragments/Paginacao :: pagination(" + valor + ")}")));
 		
 		structureHandler.replaceWith(model, true);
 	}
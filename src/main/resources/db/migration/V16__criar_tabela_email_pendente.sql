@@ -0,0 +1,19 @@
+-- Fila persistente (outbox) de e-mails
+-- A linha é gravada na mesma transação da venda e drenada em lotes pelo DespachanteEmail
+
+CREATE TABLE email_pendente (
+    codigo BIGINT(20) PRIMARY KEY AUTO_INCREMENT,
+    destinatario VARCHAR(100) NOT NULL,
+    assunto VARCHAR(200) NOT NULL,
+    corpo MEDIUMTEXT NOT NULL,
+    codigo_venda BIGINT(20),
+    status VARCHAR(20) NOT NULL,
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    proxima_tentativa TIMESTAMP NOT NULL,
+    ultimo_erro VARCHAR(500),
+    data_criacao TIMESTAMP NOT NULL,
+    data_envio TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Consulta do despachante: status = 'PENDENTE' AND proxima_tentativa <= agora ORDER BY proxima_tentativa
+CREATE INDEX idx_email_pendente_status_proxima ON email_pendente(status, proxima_tentativa);
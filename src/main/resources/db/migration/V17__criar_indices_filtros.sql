@@ -0,0 +1,21 @@
+-- Índices para os caminhos de filtro das pesquisas (*Impl.filtrar) e para o login
+-- Cobertos pelo PlanoConsultaIntegrationTest, que roda EXPLAIN em cada filtro
+
+-- Pesquisa de vendas: status + período (ORCAMENTO/CANCELADA são minoria), só período, valor
+CREATE INDEX idx_venda_status_data_criacao ON venda(status, data_criacao);
+CREATE INDEX idx_venda_data_criacao ON venda(data_criacao);
+CREATE INDEX idx_venda_valor_total ON venda(valor_total);
+
+-- Pesquisa de clientes por CPF/CNPJ (também usado no filtro de vendas por cliente) e ordenação por nome
+CREATE INDEX idx_cliente_cpf_cnpj ON cliente(cpf_cnpj);
+CREATE INDEX idx_cliente_nome ON cliente(nome);
+
+-- Pesquisa de cervejas por SKU e por origem + sabor
+CREATE INDEX idx_cerveja_sku ON cerveja(sku);
+CREATE INDEX idx_cerveja_origem_sabor ON cerveja(origem, sabor);
+
+-- Pesquisa de cidades por estado ordenada por nome (substitui o índice da FK em codigo_estado)
+CREATE INDEX idx_cidade_estado_nome ON cidade(codigo_estado, nome);
+
+-- Login: porEmailEAtivo
+CREATE INDEX idx_usuario_email ON usuario(email);
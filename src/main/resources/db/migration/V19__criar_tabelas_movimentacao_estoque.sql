@@ -0,0 +1,28 @@
+-- Livro de movimentações de estoque (append-only)
+-- Gravado na mesma transação da baixa/devolução; o ProjetorEstoque consolida em estoque_diario
+
+CREATE TABLE movimentacao_estoque (
+    codigo BIGINT(20) PRIMARY KEY AUTO_INCREMENT,
+    codigo_cerveja BIGINT(20) NOT NULL,
+    codigo_venda BIGINT(20),
+    tipo VARCHAR(30) NOT NULL,
+    quantidade INTEGER NOT NULL,
+    data_hora TIMESTAMP NOT NULL,
+    projetada BOOLEAN NOT NULL DEFAULT FALSE,
+    FOREIGN KEY (codigo_cerveja) REFERENCES cerveja(codigo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Consulta do projetor: projetada = false ORDER BY codigo
+CREATE INDEX idx_movimentacao_estoque_projetada ON movimentacao_estoque(projetada, codigo);
+-- Auditoria: movimentações de uma cerveja num período (substitui o índice da FK)
+CREATE INDEX idx_movimentacao_estoque_cerveja_data ON movimentacao_estoque(codigo_cerveja, data_hora);
+
+-- Entradas e saídas consolidadas por cerveja e dia
+CREATE TABLE estoque_diario (
+    codigo_cerveja BIGINT(20) NOT NULL,
+    data DATE NOT NULL,
+    entradas INTEGER NOT NULL DEFAULT 0,
+    saidas INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (codigo_cerveja, data),
+    FOREIGN KEY (codigo_cerveja) REFERENCES cerveja(codigo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
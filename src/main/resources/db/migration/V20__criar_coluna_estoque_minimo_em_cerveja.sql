@@ -0,0 +1,2 @@
+-- Ponto de reposição por cerveja; nulo usa brewer.estoque.alerta.limite-padrao
+ALTER TABLE cerveja ADD estoque_minimo INTEGER;
@@ -0,0 +1,12 @@
+-- Gerador de ids em tabela (TABLE + otimizador pooled) para item_venda
+-- Com IDENTITY o Hibernate precisa do INSERT para saber o id e não consegue agrupar os itens
+-- em lote; aqui cada instância reserva blocos de 50 ids e os INSERTs vão em batch JDBC
+
+CREATE TABLE sequencia_id (
+    nome VARCHAR(50) PRIMARY KEY,
+    proximo_valor BIGINT(20) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Primeiro bloco começa depois dos itens já gravados (o tamanho do bloco é o de ItemVenda.BLOCO_IDS)
+INSERT INTO sequencia_id (nome, proximo_valor)
+SELECT 'item_venda', COALESCE(MAX(codigo), 0) + 50 FROM item_venda;
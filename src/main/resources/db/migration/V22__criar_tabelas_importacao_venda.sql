@@ -0,0 +1,26 @@
+-- Importação de vendas em lote (arquivos CSV/JSON de distribuidores)
+-- pedidos_processados é o ponto de retomada: atualizado na mesma transação de cada lote gravado
+
+CREATE TABLE importacao_venda (
+    codigo BIGINT(20) PRIMARY KEY AUTO_INCREMENT,
+    status VARCHAR(30) NOT NULL,
+    formato VARCHAR(10) NOT NULL,
+    pedidos_processados INTEGER NOT NULL DEFAULT 0,
+    vendas_importadas INTEGER NOT NULL DEFAULT 0,
+    pedidos_rejeitados INTEGER NOT NULL DEFAULT 0,
+    mensagem VARCHAR(500),
+    codigo_usuario BIGINT(20),
+    data_criacao TIMESTAMP NOT NULL,
+    data_atualizacao TIMESTAMP NOT NULL,
+    FOREIGN KEY (codigo_usuario) REFERENCES usuario(codigo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
+
+-- Erros por pedido rejeitado (só os primeiros brewer.importacao.max-erros de cada importação)
+CREATE TABLE importacao_venda_erro (
+    codigo BIGINT(20) PRIMARY KEY AUTO_INCREMENT,
+    codigo_importacao BIGINT(20) NOT NULL,
+    pedido VARCHAR(50),
+    linha INTEGER NOT NULL,
+    mensagem VARCHAR(500) NOT NULL,
+    FOREIGN KEY (codigo_importacao) REFERENCES importacao_venda(codigo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8;
@@ -0,0 +1,7 @@
+-- CPF/CNPJ único: o CadastroClienteService já impedia duplicados, mas só por consulta;
+-- o índice fecha a corrida entre dois cadastros e é a base da importação de clientes.
+-- Substitui o índice simples da V17. Falha se houver duplicados; para achá-los:
+--   SELECT cpf_cnpj, COUNT(*) FROM cliente GROUP BY cpf_cnpj HAVING COUNT(*) > 1;
+ALTER TABLE cliente
+    DROP INDEX idx_cliente_cpf_cnpj,
+    ADD UNIQUE INDEX uk_cliente_cpf_cnpj (cpf_cnpj);
@@ -0,0 +1,8 @@
+-- Permissão para importar clientes, associada ao grupo Administrador (mesmo padrão da V14)
+INSERT INTO permissao (codigo, nome) VALUES (6, 'ROLE_IMPORTAR_CLIENTE');
+
+INSERT INTO grupo_permissao (codigo_grupo, codigo_permissao)
+VALUES (
+    (SELECT codigo FROM grupo WHERE nome = 'Administrador'),
+    (SELECT codigo FROM permissao WHERE nome = 'ROLE_IMPORTAR_CLIENTE')
+);
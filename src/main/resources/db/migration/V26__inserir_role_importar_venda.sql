@@ -0,0 +1,8 @@
+-- Permissão para importar vendas, associada ao grupo Administrador (mesmo padrão da V14)
+INSERT INTO permissao (codigo, nome) VALUES (4, 'ROLE_IMPORTAR_VENDA');
+
+INSERT INTO grupo_permissao (codigo_grupo, codigo_permissao)
+VALUES (
+    (SELECT codigo FROM grupo WHERE nome = 'Administrador'),
+    (SELECT codigo FROM permissao WHERE nome = 'ROLE_IMPORTAR_VENDA')
+);
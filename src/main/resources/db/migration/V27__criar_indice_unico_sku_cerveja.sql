@@ -0,0 +1,8 @@
+-- SKU único: a importação de catálogo grava por SKU (INSERT ... ON DUPLICATE KEY UPDATE), e
+-- reenvio do arquivo, importações simultâneas ou cadastro pelo formulário durante a importação
+-- não podem criar duas cervejas com o mesmo SKU.
+-- Substitui o índice simples da V17. Falha se houver duplicados; para achá-los:
+--   SELECT sku, COUNT(*) FROM cerveja GROUP BY sku HAVING COUNT(*) > 1;
+ALTER TABLE cerveja
+    DROP INDEX idx_cerveja_sku,
+    ADD UNIQUE INDEX uk_cerveja_sku (sku);
@@ -0,0 +1,3 @@
+-- Último lançamento de uma cerveja (max(codigo) WHERE codigo_cerveja = ?), lido junto com o
+-- estoque pelo MonitorEstoqueBaixo: com este índice o max é uma única descida na árvore
+CREATE INDEX idx_movimentacao_estoque_cerveja_codigo ON movimentacao_estoque(codigo_cerveja, codigo);
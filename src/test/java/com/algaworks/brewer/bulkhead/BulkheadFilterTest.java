@@ -0,0 +1,114 @@
+package com.algaworks.brewer.bulkhead;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes Unitários - BulkheadFilter")
+class BulkheadFilterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private CargaTrabalho relatorios;
+	private CargaTrabalho importacoes;
+	private CargaTrabalho interativo;
+	private BulkheadFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		relatorios = new CargaTrabalho("relatorios", 1, Duration.ofMillis(20), List.of("/relatorios/**"));
+		importacoes = new CargaTrabalho("importacoes", 1, Duration.ofMillis(20),
+				List.of("/vendas/importacoes/**", "/cervejas/importacoes/**"));
+		interativo = new CargaTrabalho("interativo", 5, Duration.ofSeconds(1), List.of());
+		filter = new BulkheadFilter(List.of(relatorios, importacoes), interativo,
+				List.of("/layout/**", "/actuator/**"), meterRegistry);
+	}
+
+	@Test
+	@DisplayName("Deve escolher a carga pelo padrão mais específico, senão a padrão")
+	void deveEscolherCargaPeloPadraoMaisEspecifico() {
+		assertThat(filter.cargaPara("/relatorios/vendasEmitidas")).contains(relatorios);
+		assertThat(filter.cargaPara("/vendas/importacoes")).contains(importacoes);
+		assertThat(filter.cargaPara("/vendas/importacoes/12")).contains(importacoes);
+		assertThat(filter.cargaPara("/vendas/nova")).contains(interativo);
+		assertThat(filter.cargaPara("/layout/stylesheets/brewer.css")).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Carga sem vaga deve recusar com 503 sem afetar as outras cargas")
+	void cargaSemVagaDeveRecusarSemAfetarOutras() throws Exception {
+		// Relatório em andamento ocupa a única vaga da carga
+		assertThat(relatorios.entrar()).isTrue();
+		try {
+			MockHttpServletResponse recusada = new MockHttpServletResponse();
+			filter.doFilter(new MockHttpServletRequest("POST", "/relatorios/vendasEmitidas"), recusada,
+					(request, response) -> {
+						throw new AssertionError("não deveria executar");
+					});
+			assertThat(recusada.getStatus()).isEqualTo(503);
+			assertThat(recusada.getHeader("Retry-After")).isEqualTo("1");
+
+			AtomicReference<String> cargaNoCheckout = new AtomicReference<>();
+			MockHttpServletResponse checkout = new MockHttpServletResponse();
+			filter.doFilter(new MockHttpServletRequest("POST", "/vendas/nova"), checkout,
+					(request, response) -> cargaNoCheckout.set(CargaTrabalho.atual()));
+			assertThat(checkout.getStatus()).isEqualTo(200);
+			assertThat(cargaNoCheckout.get()).isEqualTo("interativo");
+		} finally {
+			relatorios.sair();
+		}
+
+		assertThat(interativo.getEmUso()).isZero();
+		assertThat(CargaTrabalho.atual()).isEqualTo(CargaTrabalho.FUNDO);
+		assertThat(meterRegistry.get("brewer.bulkhead.rejeitadas").tag("carga", "relatorios").counter().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.bulkhead.espera").tags("carga", "interativo", "resultado", "obtida")
+				.timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.bulkhead.limite").tag("carga", "interativo").gauge().value())
+				.isEqualTo(5);
+	}
+
+	@Test
+	@DisplayName("Espera e uso de conexão do pool devem ser medidos pela carga da requisição")
+	void metricasDoPoolDevemSerPorCarga() throws Exception {
+		IMetricsTracker tracker = new MetricasPoolPorCarga(() -> meterRegistry).create("brewer-primaria",
+				new PoolStats(0) {
+					@Override
+					protected void update() {
+					}
+				});
+
+		assertThat(relatorios.entrar()).isTrue();
+		try {
+			tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(30));
+			tracker.recordConnectionUsageMillis(4000);
+		} finally {
+			relatorios.sair();
+		}
+		tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(1));
+
+		assertThat(meterRegistry.get("brewer.bulkhead.conexao.uso").tags("pool", "brewer-primaria", "carga", "relatorios")
+				.timer().totalTime(TimeUnit.SECONDS)).isEqualTo(4.0);
+		assertThat(meterRegistry.get("brewer.bulkhead.conexao.espera").tag("carga", "relatorios").timer().count())
+				.isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.bulkhead.conexao.espera").tag("carga", CargaTrabalho.FUNDO).timer()
+				.count()).isEqualTo(1);
+		// As métricas padrão do Hikari continuam
+		assertThat(meterRegistry.get("hikaricp.connections.usage").timer().count()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.algaworks.brewer.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("Testes - SecurityConfig")
+class SecurityConfigTest {
+
+	/** Hash do admin inserido pela V10, sem prefixo {id} */
+	private static final String HASH_BCRYPT_LEGADO = "$2a$10$nhvirOgASZuJUeaCXpPKfusXma7m05CKKfVR/8fcYib0uo5hqOyrC";
+
+	@Test
+	@DisplayName("Hashes BCrypt sem prefixo devem continuar válidos e ser regravados")
+	void hashesLegadosDevemContinuarValidos() {
+		PasswordEncoder passwordEncoder = passwordEncoder("bcrypt", 10);
+
+		assertThat(passwordEncoder.matches("admin", HASH_BCRYPT_LEGADO)).isTrue();
+		assertThat(passwordEncoder.matches("outra", HASH_BCRYPT_LEGADO)).isFalse();
+		assertThat(passwordEncoder.upgradeEncoding(HASH_BCRYPT_LEGADO)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Deve regravar hashes com custo menor que o configurado")
+	void deveRegravarHashesComCustoMenor() {
+		String hash = passwordEncoder("bcrypt", 4).encode("senha");
+
+		assertThat(hash).startsWith("{bcrypt}");
+		assertThat(passwordEncoder("bcrypt", 4).upgradeEncoding(hash)).isFalse();
+		assertThat(passwordEncoder("bcrypt", 5).upgradeEncoding(hash)).isTrue();
+		assertThat(passwordEncoder("bcrypt", 5).matches("senha", hash)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Deve migrar de BCrypt para Argon2 no login")
+	void deveMigrarParaArgon2() {
+		String hashBcrypt = passwordEncoder("bcrypt", 4).encode("senha");
+		PasswordEncoder argon2 = passwordEncoder("argon2", 4);
+
+		assertThat(argon2.matches("senha", hashBcrypt)).isTrue();
+		assertThat(argon2.upgradeEncoding(hashBcrypt)).isTrue();
+
+		String hashArgon2 = argon2.encode("senha");
+		assertThat(hashArgon2).startsWith("{argon2}").hasSizeLessThanOrEqualTo(120);
+		assertThat(argon2.matches("senha", hashArgon2)).isTrue();
+		assertThat(argon2.upgradeEncoding(hashArgon2)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Deve recusar algoritmo desconhecido")
+	void deveRecusarAlgoritmoDesconhecido() {
+		assertThatThrownBy(() -> passwordEncoder("md5", 10))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("md5");
+	}
+
+	@Test
+	@DisplayName("Prometheus sem login só pela porta de gerência")
+	void prometheusSoPelaPortaGerencia() {
+		SecurityConfig config = new SecurityConfig();
+		ReflectionTestUtils.setField(config, "portaGerencia", 8081);
+		RequestMatcher matcher = config.prometheusNaPortaGerencia();
+
+		assertThat(matcher.matches(requisicao("/actuator/prometheus", 8081))).isTrue();
+		assertThat(matcher.matches(requisicao("/actuator/prometheus", 8080))).isFalse();
+		assertThat(matcher.matches(requisicao("/actuator/metrics", 8081))).isFalse();
+
+		ReflectionTestUtils.setField(config, "portaGerencia", -1);
+		assertThat(config.prometheusNaPortaGerencia().matches(requisicao("/actuator/prometheus", 8080))).isFalse();
+	}
+
+	private MockHttpServletRequest requisicao(String caminho, int porta) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", caminho);
+		request.setServletPath(caminho);
+		request.setLocalPort(porta);
+		return request;
+	}
+
+	private PasswordEncoder passwordEncoder(String algoritmo, int forcaBcrypt) {
+		SecurityConfig config = new SecurityConfig();
+		ReflectionTestUtils.setField(config, "algoritmoSenha", algoritmo);
+		ReflectionTestUtils.setField(config, "forcaBcrypt", forcaBcrypt);
+		ReflectionTestUtils.setField(config, "memoriaArgon2", 1024);
+		ReflectionTestUtils.setField(config, "iteracoesArgon2", 1);
+		ReflectionTestUtils.setField(config, "paralelismoArgon2", 1);
+		return config.passwordEncoder();
+	}
+}
@@ -0,0 +1,128 @@
+package com.algaworks.brewer.controller.page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+@DisplayName("Testes - PageWrapper")
+class PageWrapperTest {
+
+	@Test
+	@DisplayName("Deve montar link de página substituindo o parâmetro page")
+	void deveMontarLinkDePagina() {
+		PageWrapper<String> pagina = pagina("nome=Pale+Ale&page=2&sort=nome,asc", Sort.by("nome"));
+
+		assertThat(pagina.urlParaPagina(3))
+				.isEqualTo("http://localhost:8080/cervejas?nome=Pale%20Ale&sort=nome,asc&page=3");
+		assertThat(pagina.urlParaPagina(0))
+				.isEqualTo("http://localhost:8080/cervejas?nome=Pale%20Ale&sort=nome,asc&page=0");
+	}
+
+	@Test
+	@DisplayName("Deve montar link de página sem query string")
+	void deveMontarLinkDePaginaSemQueryString() {
+		PageWrapper<String> pagina = pagina(null, Sort.unsorted());
+
+		assertThat(pagina.urlParaPagina(1)).isEqualTo("http://localhost:8080/cervejas?page=1");
+		assertThat(pagina.urlOrdenada("nome")).isEqualTo("http://localhost:8080/cervejas?sort=nome,asc");
+	}
+
+	@Test
+	@DisplayName("Deve montar link de ordenação invertendo a direção atual")
+	void deveMontarLinkDeOrdenacao() {
+		PageWrapper<String> pagina = pagina("nome=Pale+Ale&page=2&sort=nome,asc", Sort.by("nome"));
+
+		assertThat(pagina.urlOrdenada("nome"))
+				.isEqualTo("http://localhost:8080/cervejas?nome=Pale%20Ale&page=2&sort=nome,desc");
+		assertThat(pagina.urlOrdenada("valor"))
+				.isEqualTo("http://localhost:8080/cervejas?nome=Pale%20Ale&page=2&sort=valor,asc");
+	}
+
+	@Test
+	@DisplayName("Deve preservar parâmetros repetidos, vazios e já codificados")
+	void devePreservarParametros() {
+		PageWrapper<String> pagina = pagina("grupos=1&grupos=2&email=&cpf=123.456%2F0001&page=1", Sort.unsorted());
+
+		assertThat(pagina.urlParaPagina(2))
+				.isEqualTo("http://localhost:8080/cervejas?grupos=1&grupos=2&email=&cpf=123.456%2F0001&page=2");
+		assertThat(pagina.urlOrdenada("cliente.nome"))
+				.isEqualTo("http://localhost:8080/cervejas?grupos=1&grupos=2&email=&cpf=123.456%2F0001&page=1&sort=cliente.nome,asc");
+	}
+
+	@Test
+	@DisplayName("Deve remover todos os parâmetros sort ao ordenar")
+	void deveRemoverTodosOsParametrosSort() {
+		PageWrapper<String> pagina = pagina("sort=nome,asc&sort=valor,desc&nome=x",
+				Sort.by(Sort.Order.asc("nome"), Sort.Order.desc("valor")));
+
+		assertThat(pagina.urlOrdenada("valor")).isEqualTo("http://localhost:8080/cervejas?nome=x&sort=valor,asc");
+		assertThat(pagina.descendente("valor")).isTrue();
+		assertThat(pagina.ordenada("valor")).isTrue();
+		assertThat(pagina.ordenada("sku")).isFalse();
+	}
+
+	@Test
+	@DisplayName("Deve expor links precomputados das páginas")
+	void deveExporLinksDasPaginas() {
+		PageWrapper<String> pagina = pagina("nome=x&page=1", Sort.unsorted());
+
+		List<PageWrapper.LinkPagina> links = pagina.getLinks();
+
+		assertThat(links).hasSize(3);
+		assertThat(links.get(0).getNumero()).isEqualTo(1);
+		assertThat(links.get(0).getUrl()).isEqualTo("http://localhost:8080/cervejas?nome=x&page=0");
+		assertThat(links.get(1).isAtual()).isTrue();
+		assertThat(links.get(2).isAtual()).isFalse();
+		assertThat(pagina.getLinks()).isSameAs(links);
+	}
+
+	@Test
+	@DisplayName("Deve expor link de ordenação consolidado por propriedade")
+	void deveExporLinkDeOrdenacao() {
+		PageWrapper<String> pagina = pagina("sort=nome,desc", Sort.by(Sort.Order.desc("nome")));
+
+		PageWrapper.LinkOrdenacao ordenacao = pagina.ordenacao("nome");
+
+		assertThat(ordenacao.getUrl()).isEqualTo("http://localhost:8080/cervejas?sort=nome,asc");
+		assertThat(ordenacao.isOrdenada()).isTrue();
+		assertThat(ordenacao.isDescendente()).isTrue();
+		assertThat(pagina.ordenacao("nome")).isSameAs(ordenacao);
+	}
+
+	@Test
+	@DisplayName("Deve paginar fatia sem total até a próxima página")
+	void devePaginarFatiaSemTotal() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/vendas");
+		PageRequest pageable = PageRequest.of(1, 10);
+
+		PageWrapper<String> comProxima = new PageWrapper<>(
+				new SliceImpl<>(Collections.nCopies(10, "x"), pageable, true), request);
+		PageWrapper<String> ultima = new PageWrapper<>(
+				new SliceImpl<>(Collections.nCopies(4, "x"), pageable, false), request);
+
+		assertThat(comProxima.getTotal()).isEqualTo(3);
+		assertThat(comProxima.isUltima()).isFalse();
+		assertThat(comProxima.getLinks()).hasSize(3);
+		assertThat(ultima.getTotal()).isEqualTo(2);
+		assertThat(ultima.isUltima()).isTrue();
+	}
+
+	private PageWrapper<String> pagina(String queryString, Sort sort) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cervejas");
+		request.setServerPort(8080);
+		request.setQueryString(queryString);
+
+		Page<String> page = new PageImpl<>(Collections.nCopies(10, "x"), PageRequest.of(1, 10, sort), 25);
+		return new PageWrapper<>(page, request);
+	}
+}
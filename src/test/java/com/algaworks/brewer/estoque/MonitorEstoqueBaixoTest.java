@@ -0,0 +1,112 @@
+package com.algaworks.brewer.estoque;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.dto.NivelEstoque;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.service.event.cerveja.CervejaSalvaEvent;
+import com.algaworks.brewer.service.event.venda.VendaCanceladaEvent;
+import com.algaworks.brewer.service.event.venda.VendaEmitidaEvent;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - MonitorEstoqueBaixo")
+class MonitorEstoqueBaixoTest {
+
+	@Mock
+	private Cervejas cervejas;
+
+	@Mock
+	private NotificadorEstoqueBaixo notificador;
+
+	@InjectMocks
+	private MonitorEstoqueBaixo monitor;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(monitor, "clock", Clock.fixed(Instant.parse("2024-03-15T18:00:00Z"), ZoneOffset.UTC));
+		ReflectionTestUtils.setField(monitor, "limitePadrao", 10);
+		ReflectionTestUtils.setField(monitor, "validade", Duration.ofMinutes(5));
+	}
+
+	@Test
+	@DisplayName("Primeira venda deve ler o nível do banco sem descontar a venda de novo")
+	void primeiraVendaDeveLerDoBancoSemDescontarDeNovo() {
+		when(cervejas.niveisEstoque(List.of(1L))).thenReturn(List.of(new NivelEstoque(1L, 11, null, 1L)));
+
+		monitor.consumir(new VendaEmitidaEvent(1L, Map.of(1L, 4), Map.of(1L, 1L)));
+		verify(notificador, never()).notificar(any());
+
+		monitor.consumir(new VendaEmitidaEvent(2L, Map.of(1L, 1), Map.of(1L, 2L)));
+		verify(notificador).notificar(new AlertaEstoqueBaixo(1L, 10, 10));
+		verify(cervejas, times(1)).niveisEstoque(anyCollection());
+	}
+
+	@Test
+	@DisplayName("Venda de outra raia já incluída na leitura não deve ser descontada de novo")
+	void vendaDeOutraRaiaJaLidaNaoDeveSerDescontadaDeNovo() {
+		// A raia da venda 1 lê depois do commit da venda 2, cujo evento ainda não chegou
+		when(cervejas.niveisEstoque(List.of(1L))).thenReturn(List.of(new NivelEstoque(1L, 11, null, 3L)));
+
+		monitor.consumir(new VendaEmitidaEvent(1L, Map.of(1L, 4), Map.of(1L, 2L)));
+		monitor.consumir(new VendaEmitidaEvent(2L, Map.of(1L, 5), Map.of(1L, 3L)));
+		verify(notificador, never()).notificar(any());
+
+		monitor.consumir(new VendaEmitidaEvent(3L, Map.of(1L, 1), Map.of(1L, 4L)));
+		verify(notificador).notificar(new AlertaEstoqueBaixo(1L, 10, 10));
+	}
+
+	@Test
+	@DisplayName("Deve alertar uma única vez até o estoque voltar acima do mínimo")
+	void deveDeduplicarAteRearmar() {
+		when(cervejas.niveisEstoque(List.of(1L))).thenReturn(List.of(new NivelEstoque(1L, 3, 5, 1L)));
+
+		monitor.consumir(new VendaEmitidaEvent(1L, Map.of(1L, 2), Map.of(1L, 1L)));
+		monitor.consumir(new VendaEmitidaEvent(2L, Map.of(1L, 1), Map.of(1L, 2L)));
+		verify(notificador, times(1)).notificar(any());
+
+		monitor.consumir(new VendaCanceladaEvent(2L, Map.of(1L, 4), Map.of(1L, 3L)));
+		monitor.consumir(new VendaEmitidaEvent(3L, Map.of(1L, 2), Map.of(1L, 4L)));
+		verify(notificador).notificar(new AlertaEstoqueBaixo(1L, 4, 5));
+		verify(notificador, times(2)).notificar(any());
+	}
+
+	@Test
+	@DisplayName("Cerveja alterada no cadastro deve ser relida no próximo evento")
+	void cervejaAlteradaDeveSerRelida() {
+		when(cervejas.niveisEstoque(List.of(1L)))
+			.thenReturn(List.of(new NivelEstoque(1L, 50, null, 1L)))
+			.thenReturn(List.of(new NivelEstoque(1L, 8, null, 2L)));
+		monitor.consumir(new VendaEmitidaEvent(1L, Map.of(1L, 1), Map.of(1L, 1L)));
+
+		Cerveja cerveja = new Cerveja();
+		cerveja.setCodigo(1L);
+		monitor.aoSalvarCerveja(new CervejaSalvaEvent(cerveja));
+		monitor.consumir(new VendaEmitidaEvent(2L, Map.of(1L, 1), Map.of(1L, 2L)));
+
+		verify(cervejas, times(2)).niveisEstoque(anyCollection());
+		verify(notificador).notificar(new AlertaEstoqueBaixo(1L, 8, 10));
+	}
+
+}
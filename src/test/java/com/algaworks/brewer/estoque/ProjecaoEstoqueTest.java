@@ -0,0 +1,77 @@
+package com.algaworks.brewer.estoque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+import com.algaworks.brewer.repository.MovimentacoesEstoque;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - ProjecaoEstoque")
+class ProjecaoEstoqueTest {
+
+	private static final LocalDate HOJE = LocalDate.of(2024, 3, 15);
+
+	@Mock
+	private MovimentacoesEstoque movimentacoes;
+
+	@InjectMocks
+	private ProjecaoEstoque projecaoEstoque;
+
+	@Test
+	@DisplayName("Deve consolidar entradas e saídas por cerveja e dia, em ordem de chave")
+	void deveConsolidarPorCervejaEDia() {
+		List<MovimentacaoEstoque> lote = List.of(
+				movimentacao(2L, HOJE, -3),
+				movimentacao(1L, HOJE, -2),
+				movimentacao(2L, HOJE, -1),
+				movimentacao(2L, HOJE, 4),
+				movimentacao(1L, HOJE.minusDays(1), -5));
+		when(movimentacoes.reservarNaoProjetadas(anyInt())).thenReturn(lote);
+
+		int projetadas = projecaoEstoque.projetarLote();
+
+		assertThat(projetadas).isEqualTo(5);
+		InOrder ordem = inOrder(movimentacoes);
+		ordem.verify(movimentacoes).reservarNaoProjetadas(anyInt());
+		ordem.verify(movimentacoes).acumularDiario(1L, HOJE.minusDays(1), 0, 5);
+		ordem.verify(movimentacoes).acumularDiario(1L, HOJE, 0, 2);
+		ordem.verify(movimentacoes).acumularDiario(2L, HOJE, 4, 4);
+		verifyNoMoreInteractions(movimentacoes);
+		assertThat(lote).allMatch(MovimentacaoEstoque::isProjetada);
+	}
+
+	@Test
+	@DisplayName("Lote vazio não deve acumular nada")
+	void loteVazioNaoDeveAcumular() {
+		when(movimentacoes.reservarNaoProjetadas(anyInt())).thenReturn(List.of());
+
+		assertThat(projecaoEstoque.projetarLote()).isZero();
+
+		verifyNoMoreInteractions(movimentacoes);
+	}
+
+	private MovimentacaoEstoque movimentacao(Long cerveja, LocalDate data, int quantidade) {
+		MovimentacaoEstoque movimentacao = new MovimentacaoEstoque();
+		movimentacao.setCodigoCerveja(cerveja);
+		movimentacao.setDataHora(data.atTime(12, 0));
+		movimentacao.setQuantidade(quantidade);
+		return movimentacao;
+	}
+
+}
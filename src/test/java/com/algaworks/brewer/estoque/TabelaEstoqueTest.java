@@ -0,0 +1,81 @@
+package com.algaworks.brewer.estoque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Testes Unitários - TabelaEstoque")
+class TabelaEstoqueTest {
+
+	@Test
+	@DisplayName("Deve alertar só na passagem para baixo do limite e rearmar acima dele")
+	void deveAlertarSoNaPassagemDoLimite() {
+		TabelaEstoque tabela = new TabelaEstoque(8);
+		tabela.carregar(7L, 12, 10, 0, 0);
+
+		assertThat(tabela.somar(7L, -1, 1)).isFalse();
+		assertThat(tabela.somar(7L, -1, 2)).isTrue();
+		assertThat(tabela.somar(7L, -3, 3)).isFalse();
+		assertThat(tabela.quantidade(7L)).isEqualTo(7);
+
+		assertThat(tabela.somar(7L, 4, 4)).isFalse();
+		assertThat(tabela.somar(7L, -1, 5)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Lançamento já incluído na leitura não deve ser somado de novo")
+	void lancamentoJaLidoNaoDeveSerSomado() {
+		TabelaEstoque tabela = new TabelaEstoque(8);
+		tabela.carregar(7L, 20, 10, 42, 0);
+
+		assertThat(tabela.somar(7L, -5, 40)).isFalse();
+		assertThat(tabela.somar(7L, -5, 42)).isFalse();
+		assertThat(tabela.quantidade(7L)).isEqualTo(20);
+
+		tabela.somar(7L, -5, 43);
+		assertThat(tabela.quantidade(7L)).isEqualTo(15);
+	}
+
+	@Test
+	@DisplayName("Recarga do banco deve manter o estado de alerta")
+	void recargaDeveManterEstadoDeAlerta() {
+		TabelaEstoque tabela = new TabelaEstoque(8);
+		tabela.carregar(7L, 5, 10, 0, 0);
+		assertThat(tabela.avaliar(7L)).isTrue();
+
+		tabela.carregar(7L, 4, 10, 0, 100);
+
+		assertThat(tabela.avaliar(7L)).isFalse();
+		assertThat(tabela.atual(7L, 100)).isTrue();
+	}
+
+	@Test
+	@DisplayName("Invalidar deve forçar nova leitura")
+	void invalidarDeveForcarNovaLeitura() {
+		TabelaEstoque tabela = new TabelaEstoque(8);
+		tabela.carregar(7L, 5, 10, 0, 100);
+
+		tabela.invalidar(7L);
+
+		assertThat(tabela.atual(7L, 0)).isFalse();
+		assertThat(tabela.atual(8L, 0)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Deve crescer mantendo todas as entradas")
+	void deveCrescerMantendoEntradas() {
+		TabelaEstoque tabela = new TabelaEstoque(8);
+		for (long codigo = 1; codigo <= 5000; codigo++) {
+			tabela.carregar(codigo, (int) codigo, 0, codigo, codigo);
+		}
+
+		assertThat(tabela.tamanho()).isEqualTo(5000);
+		for (long codigo = 1; codigo <= 5000; codigo++) {
+			assertThat(tabela.quantidade(codigo)).isEqualTo((int) codigo);
+			assertThat(tabela.atual(codigo, codigo)).isTrue();
+		}
+		assertThat(tabela.somar(5001L, -1, 1)).isFalse();
+	}
+
+}
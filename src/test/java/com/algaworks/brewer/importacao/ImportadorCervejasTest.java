@@ -0,0 +1,161 @@
+package com.algaworks.brewer.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.dto.ReferenciaCerveja;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Estilo;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.Estilos;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - ImportadorCervejas")
+class ImportadorCervejasTest {
+
+	private static final String CABECALHO = "sku;nome;descricao;valor;teor_alcoolico;comissao;sabor;origem;estilo\n";
+
+	@Mock
+	private Cervejas cervejas;
+
+	@Mock
+	private Estilos estilos;
+
+	@Mock
+	private GravadorCervejasImportadas gravador;
+
+	@Mock
+	private Paginador paginador;
+
+	@InjectMocks
+	private ImportadorCervejas importador;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(importador, "validator",
+				Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(importador, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(importador, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(importador, "tamanhoLote", 3);
+		ReflectionTestUtils.setField(importador, "maxErros", 1000);
+		when(estilos.findAll()).thenReturn(List.of(estilo(1L, "Pilsner"), estilo(2L, "Dark Lager")));
+	}
+
+	@Test
+	@DisplayName("Deve inserir os SKUs novos e atualizar os existentes, um evento e uma gravação por lote")
+	void deveInserirNovosEAtualizarExistentesPorLote() {
+		when(cervejas.referenciasPorSku(anyCollection())).thenAnswer(invocacao -> invocacao
+				.<List<String>>getArgument(0).contains("AA1111")
+						? List.of(new ReferenciaCerveja(10L, "AA1111", null))
+						: List.of());
+		doAnswer(invocacao -> {
+			long codigo = 100;
+			for (Cerveja nova : invocacao.<List<Cerveja>>getArgument(1)) {
+				nova.setCodigo(codigo++);
+			}
+			return null;
+		}).when(gravador).gravar(anyList(), anyList());
+
+		ResultadoImportacaoCervejas resultado = importador.importar(FormatoImportacao.CSV, csv(
+				"aa1111;Eisenbahn;Pilsen;9.90;4.8;5;Suave;Nacional;pilsner",
+				"BB2222;Stout;Escura;12.00;6;5;Amarga;Nacional;Dark Lager",
+				"BB2222;Stout Especial;Escura;13.00;6;5;Amarga;Nacional;Dark Lager",
+				"CC3333;Weiss;Trigo;10.00;5;5;Frutada;Nacional;Weissbier",
+				"BB2222;Stout;Escura;14.00;6;5;Amarga;Nacional;Dark Lager"), StandardCharsets.UTF_8);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Cerveja>> alteradas = ArgumentCaptor.forClass(List.class);
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Cerveja>> novas = ArgumentCaptor.forClass(List.class);
+		verify(gravador, times(2)).gravar(alteradas.capture(), novas.capture());
+
+		// Primeiro lote: o SKU repetido vale pela última linha
+		assertThat(alteradas.getAllValues().get(0)).extracting(Cerveja::getSku).containsExactly("AA1111");
+		assertThat(alteradas.getAllValues().get(0).get(0).getCodigo()).isEqualTo(10L);
+		assertThat(novas.getAllValues().get(0)).singleElement()
+				.satisfies(cerveja -> assertThat(cerveja.getNome()).isEqualTo("Stout Especial"))
+				.satisfies(cerveja -> assertThat(cerveja.getEstilo().getCodigo()).isEqualTo(2L));
+		// Segundo lote: o SKU inserido no primeiro vira atualização, sem nova consulta
+		assertThat(alteradas.getAllValues().get(1)).singleElement()
+				.satisfies(cerveja -> assertThat(cerveja.getCodigo()).isEqualTo(100L));
+		assertThat(novas.getAllValues().get(1)).isEmpty();
+		verify(cervejas, times(2)).referenciasPorSku(anyCollection());
+
+		assertThat(resultado.isConcluida()).isTrue();
+		assertThat(resultado.linhas()).isEqualTo(5);
+		assertThat(resultado.inseridas()).isEqualTo(1);
+		assertThat(resultado.atualizadas()).isEqualTo(2);
+		assertThat(resultado.rejeitadas()).isEqualTo(1);
+		assertThat(resultado.erros()).containsExactly(
+				new ErroCervejaImportada("CC3333", 5, "Linha 5: estilo não encontrado: Weissbier"));
+		verify(estilos, times(1)).findAll();
+	}
+
+	@Test
+	@DisplayName("Linha deve passar pelas mesmas validações do cadastro")
+	void linhaDevePassarPelasValidacoesDoCadastro() {
+		ResultadoImportacaoCervejas resultado = importador.importar(FormatoImportacao.CSV, csv(
+				"A11111;Eisenbahn;;0.10;4.8;5;Suave;Nacional;Pilsner"), StandardCharsets.UTF_8);
+
+		verify(gravador).gravar(List.of(), List.of());
+		assertThat(resultado.rejeitadas()).isEqualTo(1);
+		assertThat(resultado.erros()).singleElement().satisfies(erro -> assertThat(erro.mensagem())
+				.isEqualTo("Linha 2: A descrição é obrigatória; Linha 2: SKU deve seguir o padrão XX9999;"
+						+ " Linha 2: O valor da cerveja deve ser maior que R$0,50"));
+	}
+
+	@Test
+	@DisplayName("Arquivo inválido deve interromper a importação com o motivo")
+	void arquivoInvalidoDeveInterromper() {
+		ResultadoImportacaoCervejas resultado = importador.importar(FormatoImportacao.JSON,
+				new ByteArrayInputStream("{\"sku\": \"AA1111\"}".getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8);
+
+		assertThat(resultado.isConcluida()).isFalse();
+		assertThat(resultado.mensagem()).contains("array de cervejas");
+		verify(gravador, never()).gravar(any(), any());
+	}
+
+	private static Estilo estilo(Long codigo, String nome) {
+		Estilo estilo = new Estilo();
+		estilo.setCodigo(codigo);
+		estilo.setNome(nome);
+		return estilo;
+	}
+
+	private static InputStream csv(String... linhas) {
+		return new ByteArrayInputStream((CABECALHO + String.join("\n", linhas)).getBytes(StandardCharsets.UTF_8));
+	}
+
+}
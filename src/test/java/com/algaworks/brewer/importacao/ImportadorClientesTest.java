@@ -0,0 +1,170 @@
+package com.algaworks.brewer.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import jakarta.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.dto.ReferenciaCliente;
+import com.algaworks.brewer.model.Cidade;
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.Estado;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.model.TipoPessoa;
+import com.algaworks.brewer.repository.Cidades;
+import com.algaworks.brewer.repository.Clientes;
+import com.algaworks.brewer.repository.paginacao.Paginador;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - ImportadorClientes")
+class ImportadorClientesTest {
+
+	private static final String CABECALHO = "nome;cpf_cnpj;email;cidade;estado\n";
+
+	@Mock
+	private Clientes clientes;
+
+	@Mock
+	private Cidades cidades;
+
+	@Mock
+	private GravadorClientesImportados gravador;
+
+	@Mock
+	private Paginador paginador;
+
+	@InjectMocks
+	private ImportadorClientes importador;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(importador, "validator",
+				Validation.buildDefaultValidatorFactory().getValidator());
+		ReflectionTestUtils.setField(importador, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(importador, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(importador, "tamanhoLote", 3);
+		ReflectionTestUtils.setField(importador, "maxErros", 1000);
+		when(cidades.findAllComEstado()).thenReturn(List.of(cidade(1L, "Uberlândia", "MG")));
+	}
+
+	@Test
+	@DisplayName("Deve deduplicar contra o banco e dentro do arquivo com uma consulta por lote")
+	void deveDeduplicarContraOBancoEDentroDoArquivo() {
+		when(clientes.referenciasPorCpfOuCnpj(anyCollection())).thenAnswer(invocacao -> invocacao
+				.<List<String>>getArgument(0).contains("11144477735")
+						? List.of(new ReferenciaCliente(9L, "11144477735"))
+						: List.of());
+
+		ResultadoImportacaoClientes resultado = importador.importar(FormatoImportacao.CSV, csv(
+				"Já Cadastrado;111.444.777-35;a@brewer.com;;",
+				"Maria;123.456.789-09;maria@brewer.com;uberlândia;mg",
+				"Empresa;11.222.333/0001-81;empresa@brewer.com;;",
+				"Maria de novo;12345678909;maria2@brewer.com;;",
+				"Outro já cadastrado;11144477735;b@brewer.com;;"), StandardCharsets.UTF_8);
+
+		ArgumentCaptor<List<Cliente>> lotes = ArgumentCaptor.captor();
+		verify(gravador, times(2)).gravar(lotes.capture());
+		List<Cliente> primeiro = lotes.getAllValues().get(0);
+		assertThat(primeiro).extracting(Cliente::getCpfOuCnpj).containsExactly("12345678909", "11222333000181");
+		assertThat(primeiro).extracting(Cliente::getTipoPessoa).containsExactly(TipoPessoa.FISICA, TipoPessoa.JURIDICA);
+		assertThat(primeiro.get(0).getEndereco().getCidade().getCodigo()).isEqualTo(1L);
+		assertThat(lotes.getAllValues().get(1)).isEmpty();
+		// No segundo lote todos os documentos já foram vistos: nenhuma consulta
+		verify(clientes, times(1)).referenciasPorCpfOuCnpj(anyCollection());
+
+		assertThat(resultado.isConcluida()).isTrue();
+		assertThat(resultado.linhas()).isEqualTo(5);
+		assertThat(resultado.importados()).isEqualTo(2);
+		assertThat(resultado.duplicados()).isEqualTo(3);
+		assertThat(resultado.rejeitados()).isZero();
+		assertThat(resultado.erros()).extracting(ErroClienteImportado::mensagem).containsExactly(
+				"Linha 2: CPF/CNPJ já cadastrado",
+				"Linha 5: CPF/CNPJ repetido no arquivo",
+				"Linha 6: CPF/CNPJ já cadastrado");
+	}
+
+	@Test
+	@DisplayName("Linha inválida deve ser rejeitada sem reservar o CPF/CNPJ")
+	void linhaInvalidaNaoDeveReservarDocumento() {
+		when(clientes.referenciasPorCpfOuCnpj(anyCollection())).thenReturn(List.of());
+
+		ResultadoImportacaoClientes resultado = importador.importar(FormatoImportacao.CSV, csv(
+				"Maria;123.456.789-00;maria@brewer.com;;",
+				"Maria;123.456.789-09;;Gotham;MG",
+				"Maria;123.456.789-09;maria@brewer.com;;"), StandardCharsets.UTF_8);
+
+		ArgumentCaptor<List<Cliente>> lote = ArgumentCaptor.captor();
+		verify(gravador).gravar(lote.capture());
+		assertThat(lote.getValue()).singleElement()
+				.satisfies(cliente -> assertThat(cliente.getEmail()).isEqualTo("maria@brewer.com"));
+		assertThat(resultado.rejeitados()).isEqualTo(2);
+		// A mensagem do @CPF vem do Hibernate Validator, no idioma da JVM
+		assertThat(resultado.erros().get(0).mensagem()).startsWith("Linha 2: ").contains("CPF");
+		assertThat(resultado.erros().get(1).mensagem())
+				.isEqualTo("Linha 3: cidade não encontrada: Gotham/MG; Linha 3: E-mail é obrigatório");
+	}
+
+	@Test
+	@DisplayName("Falha na gravação deve interromper a importação com o motivo")
+	void falhaNaGravacaoDeveInterromper() {
+		when(clientes.referenciasPorCpfOuCnpj(anyCollection())).thenReturn(List.of());
+		doThrow(new DataIntegrityViolationException("Duplicate entry"))
+				.when(gravador).gravar(anyList());
+
+		ResultadoImportacaoClientes resultado = importador.importar(FormatoImportacao.JSON,
+				arquivo("[{\"nome\": \"Maria\", \"cpfCnpj\": \"12345678909\", \"email\": \"maria@brewer.com\"}]"),
+				StandardCharsets.UTF_8);
+
+		assertThat(resultado.isConcluida()).isFalse();
+		assertThat(resultado.mensagem()).isEqualTo("Duplicate entry");
+		assertThat(resultado.importados()).isZero();
+		verify(clientes, never()).findByCpfOuCnpj(any());
+	}
+
+	private static Cidade cidade(Long codigo, String nome, String siglaEstado) {
+		Estado estado = new Estado();
+		estado.setSigla(siglaEstado);
+		Cidade cidade = new Cidade();
+		cidade.setCodigo(codigo);
+		cidade.setNome(nome);
+		cidade.setEstado(estado);
+		return cidade;
+	}
+
+	private static InputStream csv(String... linhas) {
+		return arquivo(CABECALHO + String.join("\n", linhas));
+	}
+
+	private static InputStream arquivo(String conteudo) {
+		return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,198 @@
+package com.algaworks.brewer.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.dto.ReferenciaCerveja;
+import com.algaworks.brewer.dto.ReferenciaCliente;
+import com.algaworks.brewer.model.FormatoImportacao;
+import com.algaworks.brewer.model.ImportacaoVenda;
+import com.algaworks.brewer.model.StatusImportacao;
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.Clientes;
+import com.algaworks.brewer.repository.ImportacoesVenda;
+import com.algaworks.brewer.service.VendaValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - ImportadorVendas")
+class ImportadorVendasTest {
+
+	private static final String CABECALHO = "pedido;cliente;sku;quantidade;valor_unitario\n";
+
+	@Mock
+	private Cervejas cervejas;
+
+	@Mock
+	private Clientes clientes;
+
+	@Mock
+	private ImportacoesVenda importacoes;
+
+	@Mock
+	private GravadorVendasImportadas gravador;
+
+	@Spy
+	private VendaValidator vendaValidator = new VendaValidator();
+
+	@InjectMocks
+	private ImportadorVendas importador;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(importador, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(importador, "clock", Clock.fixed(Instant.parse("2024-03-15T18:00:00Z"), ZoneOffset.UTC));
+		ReflectionTestUtils.setField(importador, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(importador, "tamanhoLote", 2);
+		ReflectionTestUtils.setField(importador, "maxErros", 1000);
+	}
+
+	@Test
+	@DisplayName("Deve gravar em lotes, rejeitando só os pedidos inválidos")
+	void deveGravarEmLotesRejeitandoPedidosInvalidos() {
+		catalogo();
+		when(gravador.reservarIdsItens(anyInt())).thenReturn(1000L);
+		ImportacaoVenda importacao = importacao(0);
+
+		importador.importar(importacao, csv(
+				"A-1;123.456.789-09;AA1111;2;9.90",
+				"A-1;123.456.789-09;BB2222;1;",
+				"A-2;123.456.789-09;XX9999;1;",
+				"A-3;123.456.789-09;AA1111;3;"), StandardCharsets.UTF_8);
+
+		ArgumentCaptor<LoteImportacao> lotes = ArgumentCaptor.forClass(LoteImportacao.class);
+		verify(gravador, times(2)).gravar(eq(importacao), lotes.capture(), eq(1000L), any());
+		LoteImportacao primeiro = lotes.getAllValues().get(0);
+		assertThat(primeiro.pedidos()).isEqualTo(2);
+		assertThat(primeiro.vendas()).hasSize(1);
+		assertThat(primeiro.erros()).containsExactly(new ErroImportacao("A-2", 4, "Linha 4: SKU não encontrado: XX9999"));
+
+		Venda venda = primeiro.vendas().get(0);
+		assertThat(venda.getStatus()).isEqualTo(StatusVenda.ORCAMENTO);
+		assertThat(venda.getCliente().getCodigo()).isEqualTo(7L);
+		// Sem valor no arquivo vale o preço de tabela
+		assertThat(venda.getItens()).extracting(item -> item.getValorUnitario())
+				.containsExactly(new BigDecimal("9.90"), new BigDecimal("12.00"));
+		assertThat(venda.getValorTotal()).isEqualByComparingTo("31.80");
+		verify(gravador).reservarIdsItens(2);
+
+		assertThat(importacao.getStatus()).isEqualTo(StatusImportacao.CONCLUIDA);
+		assertThat(importacao.getPedidosProcessados()).isEqualTo(3);
+		assertThat(importacao.getVendasImportadas()).isEqualTo(2);
+		assertThat(importacao.getPedidosRejeitados()).isEqualTo(1);
+		verify(importacoes).atualizarSituacao(eq(10L), eq(StatusImportacao.CONCLUIDA), isNull(), any());
+		// O segundo lote só tem SKU e cliente já conhecidos: nenhuma consulta nova
+		verify(cervejas, times(1)).referenciasPorSku(anyCollection());
+		verify(clientes, times(1)).referenciasPorCpfOuCnpj(anyCollection());
+	}
+
+	@Test
+	@DisplayName("Pedido sem cliente deve ser rejeitado com a mensagem do VendaValidator")
+	void pedidoSemClienteDeveUsarMensagemDoValidator() {
+		catalogo();
+
+		importador.importar(importacao(0), csv("A-1;;AA1111;1;"), StandardCharsets.UTF_8);
+
+		ArgumentCaptor<LoteImportacao> lote = ArgumentCaptor.forClass(LoteImportacao.class);
+		verify(gravador).gravar(any(), lote.capture(), eq(0L), any());
+		assertThat(lote.getValue().vendas()).isEmpty();
+		assertThat(lote.getValue().erros()).extracting(ErroImportacao::mensagem).containsExactly("Selecione um cliente");
+		verify(gravador, never()).reservarIdsItens(anyInt());
+	}
+
+	@Test
+	@DisplayName("Retomada deve pular os pedidos já processados")
+	void retomadaDevePularPedidosProcessados() {
+		catalogo();
+		when(gravador.reservarIdsItens(anyInt())).thenReturn(1L);
+		ImportacaoVenda importacao = importacao(2);
+		importacao.setVendasImportadas(2);
+
+		importador.importar(importacao, csv(
+				"A-1;123.456.789-09;AA1111;1;",
+				"A-2;123.456.789-09;AA1111;1;",
+				"A-3;123.456.789-09;BB2222;4;"), StandardCharsets.UTF_8);
+
+		ArgumentCaptor<LoteImportacao> lote = ArgumentCaptor.forClass(LoteImportacao.class);
+		verify(gravador).gravar(any(), lote.capture(), eq(1L), any());
+		assertThat(lote.getValue().vendas()).singleElement()
+				.satisfies(venda -> assertThat(venda.getItens().get(0).getQuantidade()).isEqualTo(4));
+		assertThat(importacao.getPedidosProcessados()).isEqualTo(3);
+		assertThat(importacao.getVendasImportadas()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Arquivo inválido deve encerrar a importação como FALHOU mantendo o ponto de retomada")
+	void arquivoInvalidoDeveFalhar() {
+		ImportacaoVenda importacao = importacao(0);
+
+		importador.importar(importacao, new ByteArrayInputStream("sku;quantidade\n".getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8);
+
+		assertThat(importacao.getStatus()).isEqualTo(StatusImportacao.FALHOU);
+		assertThat(importacao.getMensagem()).contains("pedido");
+		verify(importacoes).atualizarSituacao(eq(10L), eq(StatusImportacao.FALHOU), eq(importacao.getMensagem()), any());
+		verify(gravador, never()).gravar(any(), any(), anyLong(), any());
+	}
+
+	private void catalogo() {
+		when(cervejas.referenciasPorSku(anyCollection())).thenAnswer(invocacao -> {
+			List<ReferenciaCerveja> catalogo = List.of(
+					new ReferenciaCerveja(1L, "AA1111", new BigDecimal("8.00")),
+					new ReferenciaCerveja(2L, "BB2222", new BigDecimal("12.00")));
+			return catalogo.stream().filter(cerveja -> invocacao.<List<String>>getArgument(0).contains(cerveja.getSku()))
+					.toList();
+		});
+		lenient().when(clientes.referenciasPorCpfOuCnpj(anyCollection()))
+				.thenReturn(List.of(new ReferenciaCliente(7L, "12345678909")));
+	}
+
+	private static ImportacaoVenda importacao(int processados) {
+		ImportacaoVenda importacao = new ImportacaoVenda();
+		importacao.setCodigo(10L);
+		importacao.setFormato(FormatoImportacao.CSV);
+		importacao.setPedidosProcessados(processados);
+		return importacao;
+	}
+
+	private static InputStream csv(String... linhas) {
+		return new ByteArrayInputStream((CABECALHO + String.join("\n", linhas)).getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.algaworks.brewer.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Origem;
+import com.algaworks.brewer.model.Sabor;
+import com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Testes Unitários - Leitores do catálogo de cervejas importado")
+class LeitorCervejasTest {
+
+	@Test
+	@DisplayName("CSV deve ler uma cerveja por linha aceitando sabor e origem pela descrição")
+	void csvDeveLerUmaCervejaPorLinha() throws IOException {
+		String csv = """
+				sku;nome;descricao;valor;teor_alcoolico;comissao;sabor;origem;estilo;estoque_minimo
+				aa1111;Eisenbahn;Pilsen puro malte;"9,90";4.8;5;Suave;nacional;Pilsner;12
+
+				BB2222;Stout;Escura;12.00;6;5;AMARGA;INTERNACIONAL;Dark Lager;
+				""";
+
+		List<CervejaImportada> linhas = lerTodos(LeitorCervejas.csv(new StringReader(csv)));
+
+		assertThat(linhas).hasSize(2);
+		CervejaImportada primeira = linhas.get(0);
+		Cerveja cerveja = primeira.getCerveja();
+		assertThat(primeira.getLinha()).isEqualTo(2);
+		assertThat(primeira.getErros()).isEmpty();
+		assertThat(primeira.getEstilo()).isEqualTo("Pilsner");
+		assertThat(cerveja.getSku()).isEqualTo("aa1111");
+		assertThat(cerveja.getValor()).isEqualByComparingTo("9.90");
+		assertThat(cerveja.getTeorAlcoolico()).isEqualByComparingTo("4.8");
+		assertThat(cerveja.getSabor()).isEqualTo(Sabor.SUAVE);
+		assertThat(cerveja.getOrigem()).isEqualTo(Origem.NACIONAL);
+		assertThat(cerveja.getEstoqueMinimo()).isEqualTo(12);
+		assertThat(linhas.get(1).getLinha()).isEqualTo(4);
+		assertThat(linhas.get(1).getCerveja().getEstoqueMinimo()).isNull();
+	}
+
+	@Test
+	@DisplayName("Valor inválido deve rejeitar só a linha")
+	void valorInvalidoDeveRejeitarSoALinha() throws IOException {
+		String csv = """
+				sku;nome;valor;sabor;origem;estilo
+				AA1111;Eisenbahn;caro;Azeda;Nacional;Pilsner
+				BB2222;Stout;12.00;Amarga;Nacional;Pilsner
+				""";
+
+		List<CervejaImportada> linhas = lerTodos(LeitorCervejas.csv(new StringReader(csv)));
+
+		assertThat(linhas.get(0).getErros()).containsExactly(
+				"Linha 2: valor inválido para valor (caro)",
+				"Linha 2: valor inválido para sabor (Azeda)");
+		assertThat(linhas.get(1).getErros()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("CSV sem coluna obrigatória no cabeçalho deve ser recusado")
+	void csvSemColunaObrigatoriaDeveSerRecusado() {
+		assertThatThrownBy(() -> LeitorCervejas.csv(new StringReader("sku;nome;valor;sabor;origem\n")))
+				.isInstanceOf(ArquivoImportacaoInvalidoException.class)
+				.hasMessageContaining("estilo");
+	}
+
+	@Test
+	@DisplayName("JSON deve ler os campos em camelCase com a linha onde a cerveja começa")
+	void jsonDeveLerCamposEmCamelCase() throws IOException {
+		String json = """
+				[
+				  {"sku": "AA1111", "nome": "Eisenbahn", "descricao": "Pilsen", "valor": 9.9,
+				   "teorAlcoolico": 4.8, "comissao": 5, "sabor": "Frutada", "origem": "Nacional",
+				   "estilo": "Pilsner", "estoqueMinimo": 20},
+				  {"sku": "BB2222", "estoqueMinimo": "vinte"}
+				]
+				""";
+
+		List<CervejaImportada> linhas = lerTodos(LeitorCervejas.json(new ObjectMapper(), new StringReader(json)));
+
+		assertThat(linhas).hasSize(2);
+		Cerveja cerveja = linhas.get(0).getCerveja();
+		assertThat(linhas.get(0).getLinha()).isEqualTo(2);
+		assertThat(cerveja.getTeorAlcoolico()).isEqualByComparingTo("4.8");
+		assertThat(cerveja.getSabor()).isEqualTo(Sabor.FRUTADA);
+		assertThat(cerveja.getEstoqueMinimo()).isEqualTo(20);
+		assertThat(linhas.get(1).getLinha()).isEqualTo(5);
+		assertThat(linhas.get(1).getErros()).containsExactly("Linha 5: valor inválido para estoque mínimo (vinte)");
+	}
+
+	private static List<CervejaImportada> lerTodos(LeitorArquivo<CervejaImportada> leitor) throws IOException {
+		List<CervejaImportada> linhas = new ArrayList<>();
+		try (leitor) {
+			CervejaImportada linha;
+			while ((linha = leitor.proximo()) != null) {
+				linhas.add(linha);
+			}
+		}
+		return linhas;
+	}
+
+}
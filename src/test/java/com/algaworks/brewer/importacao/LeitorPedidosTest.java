@@ -0,0 +1,121 @@
+package com.algaworks.brewer.importacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.algaworks.brewer.importacao.PedidoImportado.ItemImportado;
+import com.algaworks.brewer.service.exception.ArquivoImportacaoInvalidoException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("Testes Unitários - Leitores de pedidos importados")
+class LeitorPedidosTest {
+
+	@Test
+	@DisplayName("CSV deve agrupar linhas seguidas do mesmo pedido numa venda")
+	void csvDeveAgruparLinhasDoMesmoPedido() throws IOException {
+		String csv = """
+				pedido;cliente;sku;quantidade;valor_unitario;frete;data_entrega;observacao
+				A-1;123.456.789-09;AA1111;2;"9,90";10.00;31/12/2024;"Entregar ""cedo""\"
+				A-1;123.456.789-09;BB2222;1;;;;
+
+				A-2;98.765.432/0001-10;AA1111;5;;;2024-12-30;
+				""";
+
+		List<PedidoImportado> pedidos = lerTodos(new LeitorPedidosCsv(new StringReader(csv)));
+
+		assertThat(pedidos).hasSize(2);
+		PedidoImportado primeiro = pedidos.get(0);
+		assertThat(primeiro.getNumero()).isEqualTo("A-1");
+		assertThat(primeiro.getLinha()).isEqualTo(2);
+		assertThat(primeiro.getValorFrete()).isEqualByComparingTo("10.00");
+		assertThat(primeiro.getDataEntrega()).isEqualTo(LocalDate.of(2024, 12, 31));
+		assertThat(primeiro.getObservacao()).isEqualTo("Entregar \"cedo\"");
+		assertThat(primeiro.getItens()).containsExactly(
+				new ItemImportado("AA1111", 2, new BigDecimal("9.90"), 2),
+				new ItemImportado("BB2222", 1, null, 3));
+		assertThat(primeiro.getErros()).isEmpty();
+		assertThat(pedidos.get(1).getLinha()).isEqualTo(5);
+		assertThat(pedidos.get(1).getDataEntrega()).isEqualTo(LocalDate.of(2024, 12, 30));
+	}
+
+	@Test
+	@DisplayName("CSV com valor inválido deve rejeitar só o pedido e seguir a leitura")
+	void csvComValorInvalidoDeveRejeitarSoOPedido() throws IOException {
+		String csv = """
+				sku;quantidade;pedido;cliente
+				AA1111;dois;A-1;111
+				AA1111;3;A-2;111
+				""";
+
+		List<PedidoImportado> pedidos = lerTodos(new LeitorPedidosCsv(new StringReader(csv)));
+
+		assertThat(pedidos).hasSize(2);
+		assertThat(pedidos.get(0).getErros()).containsExactly("Linha 2: valor inválido para quantidade (dois)");
+		assertThat(pedidos.get(1).getErros()).isEmpty();
+		assertThat(pedidos.get(1).getItens().get(0).quantidade()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("CSV sem coluna obrigatória no cabeçalho deve ser recusado")
+	void csvSemColunaObrigatoriaDeveSerRecusado() {
+		assertThatThrownBy(() -> new LeitorPedidosCsv(new StringReader("pedido;sku;quantidade\nA-1;AA1111;1\n")))
+				.isInstanceOf(ArquivoImportacaoInvalidoException.class)
+				.hasMessageContaining("cliente");
+	}
+
+	@Test
+	@DisplayName("JSON deve ler um pedido por vez com a linha onde ele começa")
+	void jsonDeveLerPedidosComLinha() throws IOException {
+		String json = """
+				[
+				  {"pedido": "B-1", "cliente": "12345678909", "frete": 5.5, "desconto": "1,50",
+				   "dataEntrega": "2024-12-31", "horarioEntrega": "14:30",
+				   "itens": [{"sku": "aa1111", "quantidade": 2, "valorUnitario": 9.9}]},
+				  {"pedido": "B-2", "cliente": "12345678909",
+				   "itens": [{"sku": "BB2222", "quantidade": 1.5}]}
+				]
+				""";
+
+		List<PedidoImportado> pedidos = lerTodos(new LeitorPedidosJson(new ObjectMapper(), new StringReader(json)));
+
+		assertThat(pedidos).hasSize(2);
+		PedidoImportado primeiro = pedidos.get(0);
+		assertThat(primeiro.getLinha()).isEqualTo(2);
+		assertThat(primeiro.getValorFrete()).isEqualByComparingTo("5.5");
+		assertThat(primeiro.getValorDesconto()).isEqualByComparingTo("1.50");
+		assertThat(primeiro.getHorarioEntrega()).isEqualTo(LocalTime.of(14, 30));
+		assertThat(primeiro.getItens()).containsExactly(new ItemImportado("aa1111", 2, new BigDecimal("9.9"), 2));
+		assertThat(pedidos.get(1).getLinha()).isEqualTo(5);
+		assertThat(pedidos.get(1).getErros()).containsExactly("Linha 5: valor inválido para quantidade (1.5)");
+	}
+
+	@Test
+	@DisplayName("JSON que não é um array de pedidos deve ser recusado")
+	void jsonQueNaoEArrayDeveSerRecusado() {
+		assertThatThrownBy(() -> new LeitorPedidosJson(new ObjectMapper(), new StringReader("{\"pedido\": \"B-1\"}")))
+				.isInstanceOf(ArquivoImportacaoInvalidoException.class);
+	}
+
+	private static List<PedidoImportado> lerTodos(LeitorArquivo<PedidoImportado> leitor) throws IOException {
+		List<PedidoImportado> pedidos = new ArrayList<>();
+		try (leitor) {
+			PedidoImportado pedido;
+			while ((pedido = leitor.proximo()) != null) {
+				pedidos.add(pedido);
+			}
+		}
+		return pedidos;
+	}
+
+}
@@ -0,0 +1,135 @@
+package com.algaworks.brewer.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.model.EmailPendente;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Testa o envio em lote da fila de e-mails contra um SMTP local (GreenMail).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes - DespachanteEmail")
+class DespachanteEmailTest {
+
+	@RegisterExtension
+	static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+	@Mock
+	private FilaEmail filaEmail;
+
+	private Mailer mailer;
+
+	private DespachanteEmail despachante;
+
+	@BeforeEach
+	void setUp() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+		mailer = new Mailer();
+		ReflectionTestUtils.setField(mailer, "mailSender", mailSender);
+		ReflectionTestUtils.setField(mailer, "from", "noreply@brewer.com");
+
+		despachante = new DespachanteEmail();
+		ReflectionTestUtils.setField(despachante, "filaEmail", filaEmail);
+		ReflectionTestUtils.setField(despachante, "mailer", mailer);
+	}
+
+	@Test
+	@DisplayName("Deve enviar todo o lote e marcar os e-mails como enviados")
+	void deveEnviarLoteEMarcarComoEnviados() {
+		List<EmailPendente> lote = List.of(
+				email(1L, "cliente1@brewer.com"),
+				email(2L, "cliente2@brewer.com"),
+				email(3L, "cliente3@brewer.com"));
+		when(filaEmail.reservarLote()).thenReturn(lote);
+		when(filaEmail.getTamanhoLote()).thenReturn(50);
+
+		despachante.despachar();
+
+		MimeMessage[] recebidas = greenMail.getReceivedMessages();
+		assertThat(recebidas).hasSize(3);
+		assertThat(GreenMailUtil.getBody(recebidas[0])).contains("Resumo da venda 1");
+		verify(filaEmail).registrarEnvio(List.of(1L, 2L, 3L));
+		verify(filaEmail, never()).registrarFalha(eq(1L), anyString());
+	}
+
+	@Test
+	@DisplayName("Deve devolver à fila apenas o e-mail com destinatário inválido")
+	void deveDevolverAFilaApenasEmailInvalido() {
+		List<EmailPendente> lote = List.of(
+				email(1L, "cliente1@brewer.com"),
+				email(2L, "destinatario invalido"),
+				email(3L, "cliente3@brewer.com"));
+		when(filaEmail.reservarLote()).thenReturn(lote);
+		when(filaEmail.getTamanhoLote()).thenReturn(50);
+
+		despachante.despachar();
+
+		assertThat(greenMail.getReceivedMessages()).hasSize(2);
+		verify(filaEmail).registrarEnvio(List.of(1L, 3L));
+		verify(filaEmail).registrarFalha(eq(2L), anyString());
+	}
+
+	@Test
+	@DisplayName("Deve registrar falha de todo o lote quando o SMTP está fora do ar")
+	void deveRegistrarFalhaQuandoSmtpForaDoAr() {
+		greenMail.stop();
+		List<EmailPendente> lote = List.of(
+				email(1L, "cliente1@brewer.com"),
+				email(2L, "cliente2@brewer.com"));
+
+		despachante.processar(lote);
+
+		verify(filaEmail).registrarEnvio(List.of());
+		verify(filaEmail).registrarFalha(eq(1L), anyString());
+		verify(filaEmail).registrarFalha(eq(2L), anyString());
+	}
+
+	@Test
+	@DisplayName("Deve continuar drenando enquanto os lotes vierem cheios")
+	void deveContinuarDrenandoEnquantoLotesVieremCheios() {
+		when(filaEmail.reservarLote())
+				.thenReturn(List.of(email(1L, "cliente1@brewer.com"), email(2L, "cliente2@brewer.com")))
+				.thenReturn(List.of(email(3L, "cliente3@brewer.com")));
+		when(filaEmail.getTamanhoLote()).thenReturn(2);
+
+		despachante.despachar();
+
+		assertThat(greenMail.getReceivedMessages()).hasSize(3);
+		verify(filaEmail).registrarEnvio(List.of(1L, 2L));
+		verify(filaEmail).registrarEnvio(List.of(3L));
+	}
+
+	private EmailPendente email(Long codigo, String destinatario) {
+		EmailPendente email = new EmailPendente();
+		email.setCodigo(codigo);
+		email.setDestinatario(destinatario);
+		email.setAssunto("Brewer - Venda nº " + codigo);
+		email.setCorpo("<p>Resumo da venda " + codigo + "</p>");
+		return email;
+	}
+}
@@ -0,0 +1,126 @@
+package com.algaworks.brewer.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.model.EmailPendente;
+import com.algaworks.brewer.model.StatusEmail;
+import com.algaworks.brewer.repository.EmailsPendentes;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - FilaEmail")
+class FilaEmailTest {
+
+	private static final ZoneId ZONA = ZoneId.of("America/Sao_Paulo");
+	private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 15, 18, 0);
+
+	@Mock
+	private EmailsPendentes emailsPendentes;
+
+	@InjectMocks
+	private FilaEmail filaEmail;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(filaEmail, "clock", Clock.fixed(AGORA.atZone(ZONA).toInstant(), ZONA));
+		ReflectionTestUtils.setField(filaEmail, "tamanhoLote", 50);
+		ReflectionTestUtils.setField(filaEmail, "maxTentativas", 3);
+		ReflectionTestUtils.setField(filaEmail, "backoffInicial", Duration.ofSeconds(30));
+		ReflectionTestUtils.setField(filaEmail, "backoffMaximo", Duration.ofMinutes(10));
+		ReflectionTestUtils.setField(filaEmail, "lease", Duration.ofMinutes(5));
+	}
+
+	@Test
+	@DisplayName("Backoff deve dobrar a cada tentativa até o máximo")
+	void backoffDeveDobrarACadaTentativaAteOMaximo() {
+		Duration inicial = Duration.ofSeconds(30);
+		Duration maximo = Duration.ofMinutes(10);
+
+		assertThat(FilaEmail.calcularBackoff(1, inicial, maximo)).isEqualTo(Duration.ofSeconds(30));
+		assertThat(FilaEmail.calcularBackoff(2, inicial, maximo)).isEqualTo(Duration.ofSeconds(60));
+		assertThat(FilaEmail.calcularBackoff(3, inicial, maximo)).isEqualTo(Duration.ofSeconds(120));
+		assertThat(FilaEmail.calcularBackoff(6, inicial, maximo)).isEqualTo(maximo);
+		assertThat(FilaEmail.calcularBackoff(100, inicial, maximo)).isEqualTo(maximo);
+	}
+
+	@Test
+	@DisplayName("Deve reagendar e-mail com falha usando backoff")
+	void deveReagendarEmailComFalha() {
+		EmailPendente email = email(StatusEmail.PENDENTE, 1);
+		when(emailsPendentes.findById(1L)).thenReturn(Optional.of(email));
+
+		filaEmail.registrarFalha(1L, "Connection refused");
+
+		assertThat(email.getTentativas()).isEqualTo(2);
+		assertThat(email.getStatus()).isEqualTo(StatusEmail.PENDENTE);
+		assertThat(email.getProximaTentativa()).isEqualTo(AGORA.plusSeconds(60));
+		assertThat(email.getUltimoErro()).isEqualTo("Connection refused");
+	}
+
+	@Test
+	@DisplayName("Deve desistir do e-mail ao atingir o máximo de tentativas")
+	void deveDesistirAoAtingirMaximoDeTentativas() {
+		EmailPendente email = email(StatusEmail.PENDENTE, 2);
+		when(emailsPendentes.findById(1L)).thenReturn(Optional.of(email));
+
+		filaEmail.registrarFalha(1L, "550 mailbox unavailable");
+
+		assertThat(email.getTentativas()).isEqualTo(3);
+		assertThat(email.getStatus()).isEqualTo(StatusEmail.FALHA);
+	}
+
+	@Test
+	@DisplayName("Deve aplicar lease aos e-mails reservados")
+	void deveAplicarLeaseAosEmailsReservados() {
+		EmailPendente email = email(StatusEmail.PENDENTE, 0);
+		when(emailsPendentes.reservarProntos(any(LocalDateTime.class), anyInt())).thenReturn(List.of(email));
+
+		List<EmailPendente> lote = filaEmail.reservarLote();
+
+		assertThat(lote).containsExactly(email);
+		assertThat(email.getProximaTentativa()).isEqualTo(AGORA.plusMinutes(5));
+	}
+
+	@Test
+	@DisplayName("Deve marcar e-mails como enviados")
+	void deveMarcarEmailsComoEnviados() {
+		EmailPendente email = email(StatusEmail.PENDENTE, 1);
+		email.setUltimoErro("timeout");
+		when(emailsPendentes.findAllById(List.of(1L))).thenReturn(List.of(email));
+
+		filaEmail.registrarEnvio(List.of(1L));
+
+		assertThat(email.getStatus()).isEqualTo(StatusEmail.ENVIADO);
+		assertThat(email.getDataEnvio()).isEqualTo(AGORA);
+		assertThat(email.getUltimoErro()).isNull();
+	}
+
+	private EmailPendente email(StatusEmail status, int tentativas) {
+		EmailPendente email = new EmailPendente();
+		email.setCodigo(1L);
+		email.setDestinatario("cliente@brewer.com");
+		email.setStatus(status);
+		email.setTentativas(tentativas);
+		email.setProximaTentativa(LocalDateTime.ofInstant(Instant.EPOCH, ZONA));
+		return email;
+	}
+}
@@ -0,0 +1,118 @@
+package com.algaworks.brewer.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.dto.ResumoVenda;
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Cliente;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.model.Venda;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes - ResumoVendaRenderer")
+class ResumoVendaRendererTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private ResumoVendaRenderer renderer;
+	private Venda venda;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+
+		renderer = new ResumoVendaRenderer();
+		ReflectionTestUtils.setField(renderer, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(renderer, "logo", "http://localhost:8080/layout/images/logo.png");
+		renderer.inicializar();
+
+		Cliente cliente = new Cliente();
+		cliente.setNome("João Silva");
+		cliente.setEmail("joao.silva@example.com");
+
+		Cerveja cerveja = new Cerveja();
+		cerveja.setSku("AA1234");
+		cerveja.setNome("Cerveja Pilsen");
+
+		ItemVenda item = new ItemVenda();
+		item.setCerveja(cerveja);
+		item.setQuantidade(5);
+		item.setValorUnitario(new BigDecimal("20.00"));
+
+		venda = new Venda();
+		venda.setCodigo(42L);
+		venda.setCliente(cliente);
+		venda.setStatus(StatusVenda.EMITIDA);
+		venda.setDataCriacao(LocalDate.of(2024, 3, 15));
+		venda.setValorFrete(new BigDecimal("10.00"));
+		venda.setValorTotal(new BigDecimal("110.00"));
+		venda.setItens(new ArrayList<>());
+		venda.getItens().add(item);
+	}
+
+	@Test
+	@DisplayName("Deve pré-compilar o template na inicialização")
+	void devePrecompilarTemplateNaInicializacao() {
+		assertThat(renderer.getTemplateEngine().getCacheManager().getTemplateCache().keySet()).isNotEmpty();
+	}
+
+	@Test
+	@DisplayName("Deve renderizar o snapshot da venda")
+	void deveRenderizarSnapshotDaVenda() {
+		String html = renderer.renderizar(ResumoVenda.de(venda));
+
+		assertThat(html).contains("42");
+		assertThat(html).contains("João Silva");
+		assertThat(html).contains("AA1234");
+		assertThat(html).contains("Cerveja Pilsen");
+		assertThat(html).contains("Emitida");
+	}
+
+	@Test
+	@DisplayName("Deve registrar o tempo de renderização")
+	void deveRegistrarTempoDeRenderizacao() {
+		renderer.renderizar(ResumoVenda.de(venda));
+		renderer.renderizar(ResumoVenda.de(venda));
+
+		Timer timer = meterRegistry.find("brewer.mail.renderizacao").tag("template", "mail/ResumoVenda").timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("Snapshot não deve refletir alterações feitas na venda depois de montado")
+	void snapshotNaoDeveRefletirAlteracoesPosteriores() {
+		ResumoVenda resumo = ResumoVenda.de(venda);
+
+		venda.getCliente().setNome("Outro Cliente");
+		venda.getItens().clear();
+
+		assertThat(resumo.getCliente().getNome()).isEqualTo("João Silva");
+		assertThat(resumo.getItens()).hasSize(1);
+		assertThat(resumo.getValorTotalItens()).isEqualByComparingTo("100.00");
+	}
+
+	@Test
+	@DisplayName("Snapshot deve recuperar a entrega a partir de dataHoraEntrega")
+	void snapshotDeveRecuperarEntregaDeDataHoraEntrega() {
+		venda.setDataHoraEntrega(LocalDateTime.of(2024, 3, 20, 14, 30));
+
+		ResumoVenda resumo = ResumoVenda.de(venda);
+
+		assertThat(resumo.getDataEntrega()).isEqualTo(LocalDate.of(2024, 3, 20));
+		assertThat(resumo.getHorarioEntrega()).isEqualTo(LocalTime.of(14, 30));
+	}
+}
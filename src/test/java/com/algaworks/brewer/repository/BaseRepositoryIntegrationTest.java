@@ -36,6 +36,8 @@ public abstract class BaseRepositoryIntegrationTest {
 
         // Limpar TODOS os dados das tabelas de teste
         // Os testes criam seus próprios dados, não dependem de migrations
+        em.createNativeQuery("DELETE FROM movimentacao_estoque").executeUpdate();
+        em.createNativeQuery("DELETE FROM estoque_diario").executeUpdate();
         em.createNativeQuery("DELETE FROM item_venda").executeUpdate();
         em.createNativeQuery("DELETE FROM venda").executeUpdate();
         em.createNativeQuery("DELETE FROM cerveja").executeUpdate();
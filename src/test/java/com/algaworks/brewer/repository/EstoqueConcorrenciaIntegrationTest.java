@@ -0,0 +1,168 @@
+package com.algaworks.brewer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.algaworks.brewer.config.FlywayTestConfig;
+import com.algaworks.brewer.config.TestConfig;
+
+/**
+ * Baixa de estoque concorrente: várias transações emitindo as mesmas cervejas ao mesmo
+ * tempo, cada uma em ordem diferente. Sem transação do teste em volta, para que cada
+ * thread faça commit de verdade e dispute os locks das linhas de cerveja.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnableAutoConfiguration(exclude = {
+	SecurityAutoConfiguration.class,
+	UserDetailsServiceAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties",
+		properties = "spring.datasource.hikari.maximum-pool-size=" + EstoqueConcorrenciaIntegrationTest.THREADS)
+@Import({FlywayTestConfig.class, TestConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes de Integração - Baixa de estoque concorrente")
+class EstoqueConcorrenciaIntegrationTest {
+
+	static final int THREADS = 8;
+
+	private static final int EMISSOES = 40;
+	private static final int ESTOQUE_INICIAL = 25;
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private long cervejaA;
+	private long cervejaB;
+
+	@BeforeEach
+	void setUp() {
+		limpar();
+		jdbcTemplate.update("INSERT INTO estilo (nome) VALUES ('Concorrência')");
+		long estilo = jdbcTemplate.queryForObject("SELECT MAX(codigo) FROM estilo", Long.class);
+		cervejaA = criarCerveja("CC0001", estilo);
+		cervejaB = criarCerveja("CC0002", estilo);
+	}
+
+	@AfterEach
+	void tearDown() {
+		limpar();
+	}
+
+	@Test
+	@DisplayName("Emissões simultâneas não devem vender além do estoque nem entrar em deadlock")
+	void emissoesSimultaneasNaoDevemVenderAlemDoEstoque() throws Exception {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		CountDownLatch largada = new CountDownLatch(1);
+		List<Callable<Boolean>> emissoes = new ArrayList<>();
+		for (int i = 0; i < EMISSOES; i++) {
+			// Metade pede A depois B, metade B depois A: a baixa tem de ordenar os locks
+			Map<Long, Integer> itens = new LinkedHashMap<>();
+			itens.put(i % 2 == 0 ? cervejaA : cervejaB, 1);
+			itens.put(i % 2 == 0 ? cervejaB : cervejaA, 1);
+			emissoes.add(() -> {
+				largada.await();
+				return transacao.execute(status -> {
+					boolean baixou = cervejas.baixarEstoque(itens).isEmpty();
+					if (!baixou) {
+						status.setRollbackOnly();
+					}
+					return baixou;
+				});
+			});
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Boolean>> resultados = new ArrayList<>();
+			for (Callable<Boolean> emissao : emissoes) {
+				resultados.add(executor.submit(emissao));
+			}
+			largada.countDown();
+
+			int sucessos = 0;
+			for (Future<Boolean> resultado : resultados) {
+				// Deadlock ou lock wait timeout estouraria aqui como ExecutionException
+				if (resultado.get(30, TimeUnit.SECONDS)) {
+					sucessos++;
+				}
+			}
+
+			assertThat(sucessos).isEqualTo(ESTOQUE_INICIAL);
+			assertThat(estoque(cervejaA)).isZero();
+			assertThat(estoque(cervejaB)).isZero();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	@DisplayName("Devolução deve restaurar o estoque baixado")
+	void devolucaoDeveRestaurarEstoque() {
+		TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+		Map<Long, Integer> itens = Map.of(cervejaA, 5, cervejaB, 3);
+
+		transacao.executeWithoutResult(status -> cervejas.baixarEstoque(itens));
+		transacao.executeWithoutResult(status -> cervejas.devolverEstoque(itens));
+
+		assertThat(estoque(cervejaA)).isEqualTo(ESTOQUE_INICIAL);
+		assertThat(estoque(cervejaB)).isEqualTo(ESTOQUE_INICIAL);
+	}
+
+	private long criarCerveja(String sku, long estilo) {
+		jdbcTemplate.update("INSERT INTO cerveja (sku, nome, descricao, valor, teor_alcoolico, comissao, "
+				+ "sabor, origem, quantidade_estoque, codigo_estilo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+				sku, "Cerveja " + sku, "Concorrência", new BigDecimal("10.00"), new BigDecimal("4.50"),
+				new BigDecimal("5.00"), "SUAVE", "NACIONAL", ESTOQUE_INICIAL, estilo);
+		return jdbcTemplate.queryForObject("SELECT codigo FROM cerveja WHERE sku = ?", Long.class, sku);
+	}
+
+	private int estoque(long cerveja) {
+		return jdbcTemplate.queryForObject("SELECT quantidade_estoque FROM cerveja WHERE codigo = ?",
+				Integer.class, cerveja);
+	}
+
+	private void limpar() {
+		jdbcTemplate.update("DELETE FROM cerveja WHERE sku LIKE 'CC%'");
+		jdbcTemplate.update("DELETE FROM estilo WHERE nome = 'Concorrência'");
+	}
+
+}
@@ -0,0 +1,365 @@
+package com.algaworks.brewer.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.algaworks.brewer.config.FlywayTestConfig;
+import com.algaworks.brewer.config.TestConfig;
+import com.algaworks.brewer.model.Estado;
+import com.algaworks.brewer.model.Estilo;
+import com.algaworks.brewer.model.Origem;
+import com.algaworks.brewer.model.Sabor;
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.repository.filter.CervejaFilter;
+import com.algaworks.brewer.repository.filter.CidadeFilter;
+import com.algaworks.brewer.repository.filter.ClienteFilter;
+import com.algaworks.brewer.repository.filter.VendaFilter;
+
+/**
+ * Regressão de plano de consulta dos filtros das pesquisas.
+ *
+ * Popula um MySQL real (Testcontainers) com volume e distribuição parecidos com os de
+ * produção, executa cada filtro "quente" dos *Impl.filtrar, captura o SQL gerado pelo
+ * Hibernate e roda EXPLAIN em cada SELECT. O teste falha quando alguma tabela grande é
+ * lida por full scan (type = ALL), o que indica índice ausente ou filtro que deixou de
+ * usá-lo. Filtros por "contém" (like '%x%') não usam índice por natureza e ficam de fora.
+ *
+ * Exige Docker: sem ele a classe falha em vez de ser ignorada, para a regressão não sumir
+ * em silêncio do CI (ubuntu-latest, que tem Docker).
+ */
+@Testcontainers
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnableAutoConfiguration(exclude = {
+	SecurityAutoConfiguration.class,
+	UserDetailsServiceAutoConfiguration.class
+})
+@ActiveProfiles("test")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Import({FlywayTestConfig.class, TestConfig.class, PlanoConsultaIntegrationTest.CapturaSqlConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Testes de Integração - Plano de consulta dos filtros")
+class PlanoConsultaIntegrationTest {
+
+	/** Tabelas lidas por inteiro com mais linhas que isso reprovam o filtro. */
+	private static final long LIMITE_LINHAS_FULL_SCAN = 200;
+
+	private static final int TOTAL_ESTILOS = 40;
+	private static final int TOTAL_CIDADES = 1500;
+	private static final int TOTAL_CLIENTES = 3000;
+	private static final int TOTAL_CERVEJAS = 2000;
+	private static final int TOTAL_VENDAS = 20000;
+
+	@Container
+	private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+	@DynamicPropertySource
+	static void configurarBanco(DynamicPropertyRegistry registry) {
+		registry.add("spring.datasource.url", () -> MYSQL.getJdbcUrl()
+				+ (MYSQL.getJdbcUrl().contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+		registry.add("spring.datasource.username", MYSQL::getUsername);
+		registry.add("spring.datasource.password", MYSQL::getPassword);
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private Vendas vendas;
+
+	@Autowired
+	private Clientes clientes;
+
+	@Autowired
+	private Cervejas cervejas;
+
+	@Autowired
+	private Cidades cidades;
+
+	private long primeiroEstilo;
+
+	@BeforeAll
+	void popularBanco() {
+		primeiroEstilo = popularEstilos();
+		popularCidades();
+		popularClientes();
+		popularCervejas();
+		popularVendas();
+
+		jdbcTemplate.execute("ANALYZE TABLE estilo, cidade, cliente, cerveja, venda");
+	}
+
+	@Test
+	@DisplayName("Vendas por status e período recente devem usar índice")
+	void vendasPorStatusEPeriodo() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setStatus(StatusVenda.ORCAMENTO);
+		filtro.setDesde(LocalDate.now().minusDays(30));
+
+		assertSemFullScan("vendas por status e período", () -> vendas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Vendas só por período recente devem usar índice")
+	void vendasPorPeriodo() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setDesde(LocalDate.now().minusDays(7));
+		filtro.setAte(LocalDate.now());
+
+		assertSemFullScan("vendas por período", () -> vendas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Vendas de valor alto devem usar índice")
+	void vendasPorValorMinimo() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setValorMinimo(new BigDecimal("9000.00"));
+
+		assertSemFullScan("vendas por valor mínimo", () -> vendas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Venda por código deve usar a chave primária")
+	void vendasPorCodigo() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setCodigo(42L);
+
+		assertSemFullScan("vendas por código", () -> vendas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Vendas por CPF/CNPJ do cliente devem usar índice")
+	void vendasPorCpfDoCliente() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setCpfOuCnpjCliente(cpf(1234));
+
+		assertSemFullScan("vendas por CPF/CNPJ do cliente", () -> vendas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Clientes por CPF/CNPJ devem usar índice")
+	void clientesPorCpf() {
+		ClienteFilter filtro = new ClienteFilter();
+		filtro.setCpfOuCnpj(cpf(1234));
+
+		assertSemFullScan("clientes por CPF/CNPJ", () -> clientes.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Cervejas por SKU devem usar índice")
+	void cervejasPorSku() {
+		CervejaFilter filtro = new CervejaFilter();
+		filtro.setSku(sku(777));
+
+		assertSemFullScan("cervejas por SKU", () -> cervejas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Cervejas por origem e sabor devem usar índice")
+	void cervejasPorOrigemESabor() {
+		CervejaFilter filtro = new CervejaFilter();
+		filtro.setOrigem(Origem.INTERNACIONAL);
+		filtro.setSabor(Sabor.FRUTADA);
+
+		assertSemFullScan("cervejas por origem e sabor", () -> cervejas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Cervejas por estilo devem usar índice")
+	void cervejasPorEstilo() {
+		Estilo estilo = new Estilo();
+		estilo.setCodigo(primeiroEstilo);
+		CervejaFilter filtro = new CervejaFilter();
+		filtro.setEstilo(estilo);
+
+		assertSemFullScan("cervejas por estilo", () -> cervejas.filtrar(filtro, pagina()));
+	}
+
+	@Test
+	@DisplayName("Cidades por estado devem usar índice")
+	void cidadesPorEstado() {
+		Estado estado = new Estado();
+		estado.setCodigo(1L);
+		CidadeFilter filtro = new CidadeFilter();
+		filtro.setEstado(estado);
+
+		assertSemFullScan("cidades por estado", () -> cidades.filtrar(filtro, PageRequest.of(0, 10)));
+	}
+
+	private void assertSemFullScan(String descricao, Supplier<?> filtro) {
+		CapturaSql.limpar();
+		filtro.get();
+		List<String> selects = CapturaSql.selects();
+
+		assertThat(selects).as("SQL capturado para %s", descricao).isNotEmpty();
+
+		for (String sql : selects) {
+			String explicavel = sql
+					.replaceAll("(?i)limit \\?\\s*,\\s*\\?", "limit 0, 10")
+					.replaceAll("(?i)limit \\?", "limit 10")
+					.replaceAll("(?i)offset \\?", "offset 0");
+			if (explicavel.contains("?")) {
+				fail("Parâmetro não inlinado em %s: %s", descricao, sql);
+			}
+
+			List<Map<String, Object>> plano = jdbcTemplate.queryForList("EXPLAIN " + explicavel);
+			for (Map<String, Object> linha : plano) {
+				Number linhas = (Number) linha.get("rows");
+				if ("ALL".equals(linha.get("type")) && linhas != null && linhas.longValue() > LIMITE_LINHAS_FULL_SCAN) {
+					fail("Full scan em %s (tabela %s, ~%d linhas)%nSQL: %s%nPlano: %s",
+							descricao, linha.get("table"), linhas.longValue(), sql, plano);
+				}
+			}
+		}
+	}
+
+	private Pageable pagina() {
+		return PageRequest.of(0, 10);
+	}
+
+	private long popularEstilos() {
+		List<Object[]> estilos = new ArrayList<>();
+		for (int i = 0; i < TOTAL_ESTILOS; i++) {
+			estilos.add(new Object[] { "Estilo carga " + i });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO estilo (nome) VALUES (?)", estilos);
+		return jdbcTemplate.queryForObject("SELECT MAX(codigo) FROM estilo", Long.class) - TOTAL_ESTILOS + 1;
+	}
+
+	private void popularCidades() {
+		// Acre (1) com poucas cidades; o restante espalhado pelos demais estados
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 0; i < TOTAL_CIDADES; i++) {
+			long estado = i < 20 ? 1 : 2 + (i % 5);
+			linhas.add(new Object[] { "Cidade " + i, estado });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO cidade (nome, codigo_estado) VALUES (?, ?)", linhas);
+	}
+
+	private void popularClientes() {
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 0; i < TOTAL_CLIENTES; i++) {
+			linhas.add(new Object[] { "Cliente " + i, "FISICA", cpf(i), "cliente" + i + "@brewer.com" });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO cliente (nome, tipo_pessoa, cpf_cnpj, email) VALUES (?, ?, ?, ?)", linhas);
+	}
+
+	private void popularCervejas() {
+		// Quase tudo nacional; INTERNACIONAL + FRUTADA é combinação rara
+		Sabor[] sabores = Sabor.values();
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 0; i < TOTAL_CERVEJAS; i++) {
+			Origem origem = i % 20 == 0 ? Origem.INTERNACIONAL : Origem.NACIONAL;
+			Sabor sabor = origem == Origem.INTERNACIONAL && i % 100 != 0
+					? Sabor.AMARGA : sabores[i % sabores.length];
+			linhas.add(new Object[] { sku(i), "Cerveja " + i, "Carga de teste", new BigDecimal("10.00"),
+					new BigDecimal("4.50"), new BigDecimal("5.00"), sabor.name(), origem.name(), 100,
+					primeiroEstilo + (i % TOTAL_ESTILOS) });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO cerveja (sku, nome, descricao, valor, teor_alcoolico, comissao, "
+				+ "sabor, origem, quantidade_estoque, codigo_estilo) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", linhas);
+	}
+
+	private void popularVendas() {
+		// Dois anos de vendas; ORCAMENTO ~5%, CANCELADA ~3%, valores altos raros
+		List<Long> codigosClientes = jdbcTemplate.queryForList("SELECT codigo FROM cliente", Long.class);
+		LocalDate hoje = LocalDate.now();
+		List<Object[]> linhas = new ArrayList<>();
+		for (int i = 0; i < TOTAL_VENDAS; i++) {
+			String status = i % 20 == 0 ? StatusVenda.ORCAMENTO.name()
+					: i % 33 == 0 ? StatusVenda.CANCELADA.name() : StatusVenda.EMITIDA.name();
+			BigDecimal valor = i % 500 == 0 ? new BigDecimal("9500.00") : BigDecimal.valueOf(50 + (i % 400));
+			LocalDate data = hoje.minusDays(i % 730);
+			linhas.add(new Object[] { Date.valueOf(data), valor, status,
+					codigosClientes.get(i % codigosClientes.size()) });
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO venda (data_criacao, valor_total, status, codigo_cliente) "
+				+ "VALUES (?, ?, ?, ?)", linhas);
+	}
+
+	private static String cpf(int i) {
+		return String.format("%011d", 10000000000L + i);
+	}
+
+	private static String sku(int i) {
+		return String.format("SK%04d", i);
+	}
+
+	/**
+	 * Registra o CapturaSql como StatementInspector e faz o Hibernate inlinar os valores
+	 * dos filtros, para que o SQL capturado possa ir direto para o EXPLAIN.
+	 */
+	@TestConfiguration
+	static class CapturaSqlConfig {
+
+		@Bean
+		HibernatePropertiesCustomizer capturaSqlCustomizer() {
+			return propriedades -> {
+				propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, new CapturaSql());
+				propriedades.put(AvailableSettings.CRITERIA_VALUE_HANDLING_MODE, "inline");
+			};
+		}
+	}
+
+	static class CapturaSql implements StatementInspector {
+
+		private static final List<String> SQL = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public String inspect(String sql) {
+			SQL.add(sql);
+			return sql;
+		}
+
+		static void limpar() {
+			SQL.clear();
+		}
+
+		static List<String> selects() {
+			synchronized (SQL) {
+				return SQL.stream().filter(sql -> sql.trim().toLowerCase().startsWith("select")).toList();
+			}
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,8 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.context.annotation.Import;
@@ -25,6 +28,8 @@ import com.algaworks.brewer.config.FlywayTestConfig;
 
 import com.algaworks.brewer.model.Grupo;
 import com.algaworks.brewer.model.Usuario;
+import com.algaworks.brewer.repository.filter.UsuarioFilter;
+import com.algaworks.brewer.repository.metricas.ContadorSql;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -243,6 +248,56 @@ class UsuariosIntegrationTest extends BaseRepositoryIntegrationTest {
 		assertThat(naoEhNovoDepoisDeSalvar).isFalse();
 	}
 
+	@Test
+	@DisplayName("Deve filtrar usuários que pertencem a todos os grupos selecionados")
+	void deveFiltrarUsuariosComTodosOsGrupos() {
+		// Given
+		usuarios.save(criarUsuario("Só Admin", "filtro.admin@email.com", "senha", true,
+				LocalDate.of(1990, 1, 1), Arrays.asList(grupoAdmin)));
+		usuarios.save(criarUsuario("Só Vendedor", "filtro.vendedor@email.com", "senha", true,
+				LocalDate.of(1990, 1, 1), Arrays.asList(grupoVendedor)));
+		usuarios.save(criarUsuario("Ambos", "filtro.ambos@email.com", "senha", true,
+				LocalDate.of(1990, 1, 1), Arrays.asList(grupoAdmin, grupoVendedor)));
+		entityManager.flush();
+		entityManager.clear();
+
+		UsuarioFilter filtro = new UsuarioFilter();
+		filtro.setEmail("filtro.");
+		filtro.setGrupos(Arrays.asList(grupoAdmin, grupoVendedor));
+
+		// When
+		Page<Usuario> pagina = usuarios.filtrar(filtro, PageRequest.of(0, 10));
+
+		// Then
+		assertThat(pagina.getTotalElements()).isEqualTo(1);
+		assertThat(pagina.getContent()).extracting(Usuario::getEmail).containsExactly("filtro.ambos@email.com");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	@DisplayName("Deve carregar os grupos da página sem uma consulta por usuário")
+	void deveCarregarGruposDaPaginaSemNMaisUm() {
+		// Given
+		for (int i = 0; i < 5; i++) {
+			usuarios.save(criarUsuario("Pagina " + i, "pagina" + i + "@email.com", "senha", true,
+					LocalDate.of(1990, 1, 1), Arrays.asList(grupoAdmin, grupoVendedor)));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		UsuarioFilter filtro = new UsuarioFilter();
+		filtro.setEmail("pagina");
+
+		// When
+		Page<Usuario>[] pagina = new Page[1];
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> pagina[0] = usuarios.filtrar(filtro, PageRequest.of(0, 10)));
+
+		// Then - página e grupos da página; página incompleta já dá o total, sem COUNT
+		assertThat(pagina[0].getContent()).hasSize(5)
+				.allSatisfy(usuario -> assertThat(Hibernate.isInitialized(usuario.getGrupos())).isTrue());
+		assertThat(contagem.getSelects()).as(contagem.toString()).isEqualTo(2);
+	}
+
 	// Helper method
 	private Usuario criarUsuario(String nome, String email, String senha, Boolean ativo,
 			LocalDate dataNascimento, List<Grupo> grupos) {
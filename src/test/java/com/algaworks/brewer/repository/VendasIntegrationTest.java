@@ -40,6 +40,7 @@ import com.algaworks.brewer.model.Sabor;
 import com.algaworks.brewer.model.StatusVenda;
 import com.algaworks.brewer.model.TipoPessoa;
 import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.repository.metricas.ContadorSql;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -277,6 +278,47 @@ class VendasIntegrationTest extends BaseRepositoryIntegrationTest {
 		assertThat(resultado.get(0).getOrigem()).isEqualTo("Nacional");
 	}
 
+	@Test
+	@DisplayName("Deve buscar venda com itens sem N+1")
+	void deveBuscarVendaComItensSemNMaisUm() {
+		// Given
+		Venda venda = criarVendaBase(LocalDate.now(), StatusVenda.EMITIDA);
+		adicionarItem(venda, cervejaNacional, 2);
+		adicionarItem(venda, cervejaInternacional, 3);
+		Long codigo = vendas.save(venda).getCodigo();
+
+		entityManager.flush();
+		entityManager.clear();
+
+		// When
+		Venda[] encontrada = new Venda[1];
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> {
+			encontrada[0] = vendas.buscarComItens(codigo).orElseThrow();
+			encontrada[0].getItens().forEach(item -> item.getCerveja().getEstilo().getNome());
+		});
+
+		// Then - itens e cervejas no mesmo select; nenhum comando repetido por item
+		assertThat(encontrada[0].getItens()).hasSize(2);
+		assertThat(contagem.getRepetidos()).as(contagem.toString()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Deve gravar os itens de uma venda grande em lote")
+	void deveGravarItensDeVendaGrandeEmLote() {
+		// Given - pedido B2B com muitas linhas
+		Venda venda = criarVendaBase(LocalDate.now(), StatusVenda.ORCAMENTO);
+		for (int i = 0; i < 120; i++) {
+			adicionarItem(venda, i % 2 == 0 ? cervejaNacional : cervejaInternacional, 1 + i % 3);
+		}
+
+		// When
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> vendas.saveAndFlush(venda));
+
+		// Then - ids vêm em blocos da sequencia_id e os INSERTs de item_venda vão em batch
+		assertThat(venda.getItens()).allMatch(item -> item.getCodigo() != null);
+		assertThat(contagem.getTotal()).as(contagem.toString()).isLessThan(10);
+	}
+
 	// Helper methods
 
 	private Cerveja criarCerveja(String sku, String nome, Estilo estilo, Origem origem, BigDecimal valor) {
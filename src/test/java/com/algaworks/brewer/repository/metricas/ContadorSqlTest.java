@@ -0,0 +1,84 @@
+package com.algaworks.brewer.repository.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Testes - ContadorSql")
+class ContadorSqlTest {
+
+	private final ContadorSql contadorSql = new ContadorSql();
+
+	@Test
+	@DisplayName("Deve contar comandos e selects dentro da medição")
+	void deveContarComandosESelects() {
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> {
+			contadorSql.inspect("select * from venda where codigo=?");
+			contadorSql.inspect("update cerveja set quantidade_estoque=? where codigo=?");
+		});
+
+		assertThat(contagem.getTotal()).isEqualTo(2);
+		assertThat(contagem.getSelects()).isEqualTo(1);
+		assertThat(contagem.getRepetidos()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Não deve contar fora de uma medição")
+	void naoDeveContarForaDeMedicao() {
+		String sql = "select * from venda";
+
+		assertThat(contadorSql.inspect(sql)).isSameAs(sql);
+		assertThat(ContadorSql.medir(() -> { }).getTotal()).isZero();
+	}
+
+	@Test
+	@DisplayName("Deve apontar comandos repetidos do mais para o menos frequente")
+	void deveApontarComandosRepetidos() {
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> {
+			contadorSql.inspect("select * from venda");
+			for (int i = 0; i < 3; i++) {
+				contadorSql.inspect("select * from grupo where codigo_usuario=?");
+			}
+			for (int i = 0; i < 2; i++) {
+				contadorSql.inspect("select * from permissao where codigo_grupo=?");
+			}
+		});
+
+		assertThat(contagem.getRepetidos()).containsExactly(
+				Map.entry("select * from grupo where codigo_usuario=?", 3),
+				Map.entry("select * from permissao where codigo_grupo=?", 2));
+		assertThat(contagem.toString()).contains("6 comando(s)", "(3x)");
+	}
+
+	@Test
+	@DisplayName("Medições aninhadas também devem somar na externa")
+	void medicoesAninhadasDevemSomarNaExterna() {
+		ContadorSql.Contagem externa = ContadorSql.iniciar();
+		ContadorSql.Contagem interna;
+		try {
+			contadorSql.inspect("select 1");
+			interna = ContadorSql.medir(() -> contadorSql.inspect("select 2"));
+			contadorSql.inspect("select 3");
+		} finally {
+			ContadorSql.encerrar(externa);
+		}
+
+		assertThat(interna.getTotal()).isEqualTo(1);
+		assertThat(externa.getTotal()).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("Deve encerrar a medição mesmo quando o trecho falha")
+	void deveEncerrarMedicaoQuandoTrechoFalha() {
+		assertThatThrownBy(() -> ContadorSql.medir(() -> {
+			throw new IllegalStateException("falha");
+		})).isInstanceOf(IllegalStateException.class);
+
+		ContadorSql.Contagem contagem = ContadorSql.medir(() -> contadorSql.inspect("select 1"));
+		assertThat(contagem.getTotal()).isEqualTo(1);
+	}
+}
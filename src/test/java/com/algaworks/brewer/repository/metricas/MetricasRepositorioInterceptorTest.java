@@ -0,0 +1,150 @@
+package com.algaworks.brewer.repository.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.algaworks.brewer.model.StatusVenda;
+import com.algaworks.brewer.repository.filter.ClienteFilter;
+import com.algaworks.brewer.repository.filter.VendaFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes - MetricasRepositorioInterceptor")
+class MetricasRepositorioInterceptorTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	@DisplayName("Deve registrar tempo e linhas com o formato do filtro")
+	void deveRegistrarTempoELinhasComFormatoDoFiltro() {
+		VendaFilter filtro = new VendaFilter();
+		filtro.setStatus(StatusVenda.EMITIDA);
+		filtro.setDesde(LocalDate.now());
+
+		repositorio(Duration.ofSeconds(10)).filtrar(filtro, PageRequest.of(0, 10));
+
+		assertThat(meterRegistry.get("brewer.repositorio.consulta")
+				.tag("repositorio", "RepositorioFalso").tag("metodo", "filtrar")
+				.tag("filtro", "desde+status").tag("erro", "nenhum").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.repositorio.linhas")
+				.tag("filtro", "desde+status").summary().totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.find("brewer.repositorio.consulta.lenta").counter()).isNull();
+	}
+
+	@Test
+	@DisplayName("Deve ignorar propriedades derivadas e usar 'nenhum' sem filtro")
+	void deveIgnorarPropriedadesDerivadas() {
+		ClienteFilter filtro = new ClienteFilter();
+		filtro.setCpfOuCnpj("123.456.789-00");
+		RepositorioFalso repositorio = repositorio(Duration.ZERO);
+
+		repositorio.porCliente(filtro);
+		repositorio.porCliente(new ClienteFilter());
+
+		assertThat(meterRegistry.get("brewer.repositorio.consulta").tag("filtro", "cpfOuCnpj").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.repositorio.consulta").tag("filtro", "nenhum").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Agregações não devem contar como linhas")
+	void agregacoesNaoDevemContarComoLinhas() {
+		RepositorioFalso repositorio = repositorio(Duration.ZERO);
+
+		repositorio.contar();
+		repositorio.porCodigo(1L);
+
+		assertThat(meterRegistry.get("brewer.repositorio.consulta").tag("metodo", "contar").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.find("brewer.repositorio.linhas").tag("metodo", "contar").summary()).isNull();
+		assertThat(meterRegistry.get("brewer.repositorio.linhas").tag("metodo", "porCodigo").summary().totalAmount())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Deve contar e logar consultas acima do limite")
+	void deveContarConsultasLentas() {
+		repositorio(Duration.ofNanos(1)).filtrar(new VendaFilter(), PageRequest.of(0, 10));
+
+		assertThat(meterRegistry.get("brewer.repositorio.consulta.lenta")
+				.tag("metodo", "filtrar").tag("filtro", "nenhum").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Deve marcar chamadas com erro sem registrar linhas")
+	void deveMarcarChamadasComErro() {
+		RepositorioFalso repositorio = repositorio(Duration.ZERO);
+
+		assertThatThrownBy(repositorio::falhar).isInstanceOf(IllegalStateException.class);
+
+		assertThat(meterRegistry.get("brewer.repositorio.consulta")
+				.tag("metodo", "falhar").tag("erro", "IllegalStateException").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.find("brewer.repositorio.linhas").tag("metodo", "falhar").summary()).isNull();
+	}
+
+	private RepositorioFalso repositorio(Duration limiteConsultaLenta) {
+		ProxyFactory proxyFactory = new ProxyFactory(new RepositorioFalsoImpl());
+		proxyFactory.addInterface(RepositorioFalso.class);
+		proxyFactory.addAdvice(new MetricasRepositorioInterceptor(() -> meterRegistry, RepositorioFalso.class,
+				limiteConsultaLenta));
+		return (RepositorioFalso) proxyFactory.getProxy();
+	}
+
+	interface RepositorioFalso {
+
+		Page<String> filtrar(VendaFilter filtro, Pageable pageable);
+
+		List<String> porCliente(ClienteFilter filtro);
+
+		long contar();
+
+		Optional<String> porCodigo(Long codigo);
+
+		List<String> falhar();
+	}
+
+	static class RepositorioFalsoImpl implements RepositorioFalso {
+
+		@Override
+		public Page<String> filtrar(VendaFilter filtro, Pageable pageable) {
+			return new PageImpl<>(List.of("a", "b", "c"), pageable, 3);
+		}
+
+		@Override
+		public List<String> porCliente(ClienteFilter filtro) {
+			return List.of("a");
+		}
+
+		@Override
+		public long contar() {
+			return 42;
+		}
+
+		@Override
+		public Optional<String> porCodigo(Long codigo) {
+			return Optional.of("a");
+		}
+
+		@Override
+		public List<String> falhar() {
+			throw new IllegalStateException("falha");
+		}
+	}
+}
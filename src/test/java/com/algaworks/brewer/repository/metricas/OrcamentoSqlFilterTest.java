@@ -0,0 +1,117 @@
+package com.algaworks.brewer.repository.metricas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.algaworks.brewer.repository.metricas.OrcamentoSqlFilter.Modo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+@DisplayName("Testes - OrcamentoSqlFilter")
+class OrcamentoSqlFilterTest {
+
+	private static final Map<String, Integer> ORCAMENTOS = Map.of("/vendas/**", 10, "/vendas/nova", 4);
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@Test
+	@DisplayName("Deve registrar os comandos da requisição dentro do orçamento")
+	void deveRegistrarComandosDentroDoOrcamento() throws Exception {
+		filtrar(Modo.FALHAR, requisicao("/vendas/nova", "/vendas/nova"), 4);
+
+		assertThat(meterRegistry.get("brewer.sql.comandos").tag("uri", "/vendas/nova").summary().totalAmount())
+				.isEqualTo(4);
+		assertThat(meterRegistry.find("brewer.sql.orcamento.excedido").counter()).isNull();
+	}
+
+	@Test
+	@DisplayName("Deve falhar quando exceder o orçamento do padrão mais específico")
+	void deveFalharAoExcederOrcamentoMaisEspecifico() {
+		assertThatThrownBy(() -> filtrar(Modo.FALHAR, requisicao("/vendas/nova", "/vendas/nova"), 5))
+				.isInstanceOf(OrcamentoSqlExcedidoException.class)
+				.hasMessageContaining("/vendas/nova")
+				.hasMessageContaining("orçamento de 4");
+
+		assertThat(meterRegistry.get("brewer.sql.orcamento.excedido").tag("uri", "/vendas/nova").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Modo FALHAR não deve enviar a resposta antes de avaliar o orçamento")
+	void modoFalharNaoDeveEnviarRespostaAntesDeAvaliar() throws Exception {
+		MockHttpServletResponse excedida = new MockHttpServletResponse();
+		assertThatThrownBy(() -> filtrar(Modo.FALHAR, requisicao("/vendas/nova", "/vendas/nova"), 5, excedida))
+				.isInstanceOf(OrcamentoSqlExcedidoException.class);
+		assertThat(excedida.isCommitted()).isFalse();
+		assertThat(excedida.getContentAsString()).isEmpty();
+
+		MockHttpServletResponse dentro = new MockHttpServletResponse();
+		filtrar(Modo.FALHAR, requisicao("/vendas/nova", "/vendas/nova"), 4, dentro);
+		assertThat(dentro.getContentAsString()).isEqualTo("<html>venda</html>");
+	}
+
+	@Test
+	@DisplayName("Modo LOG deve apenas contar a requisição acima do orçamento")
+	void modoLogDeveApenasContar() throws Exception {
+		filtrar(Modo.LOG, requisicao("/vendas/12", "/vendas/{codigo}"), 11);
+
+		assertThat(meterRegistry.get("brewer.sql.orcamento.excedido").tag("uri", "/vendas/{codigo}").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Deve usar o orçamento padrão fora dos padrões configurados")
+	void deveUsarOrcamentoPadrao() {
+		OrcamentoSqlFilter filtro = new OrcamentoSqlFilter(Modo.LOG, 25, ORCAMENTOS, null);
+
+		assertThat(filtro.orcamentoPara("/clientes")).isEqualTo(25);
+		assertThat(filtro.orcamentoPara("/vendas")).isEqualTo(10);
+		assertThat(filtro.orcamentoPara("/vendas/nova")).isEqualTo(4);
+	}
+
+	@Test
+	@DisplayName("Modo DESLIGADO não deve medir")
+	void modoDesligadoNaoDeveMedir() throws Exception {
+		filtrar(Modo.DESLIGADO, requisicao("/vendas/nova", "/vendas/nova"), 50);
+
+		assertThat(meterRegistry.find("brewer.sql.comandos").summary()).isNull();
+	}
+
+	private void filtrar(Modo modo, MockHttpServletRequest request, int comandos) throws Exception {
+		filtrar(modo, request, comandos, new MockHttpServletResponse());
+	}
+
+	private void filtrar(Modo modo, MockHttpServletRequest request, int comandos, MockHttpServletResponse response)
+			throws Exception {
+		ContadorSql contadorSql = new ContadorSql();
+		FilterChain chain = (req, res) -> {
+			for (int i = 0; i < comandos; i++) {
+				contadorSql.inspect("select * from venda where codigo=?");
+			}
+			res.getWriter().write("<html>venda</html>");
+			res.flushBuffer();
+		};
+		new OrcamentoSqlFilter(modo, 25, ORCAMENTOS, meterRegistry).doFilter(request, response, chain);
+	}
+
+	private MockHttpServletRequest requisicao(String caminho, String padrao) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", caminho);
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, padrao);
+		return request;
+	}
+}
@@ -0,0 +1,194 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Estilo;
+import com.algaworks.brewer.repository.filter.CervejaFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes Unitários - Paginador")
+class PaginadorTest {
+
+	private final EntityManager manager = mock(EntityManager.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final AtomicInteger contagens = new AtomicInteger();
+
+	private final PlanoConsulta<CervejaFilter, Cerveja> plano = PlanoConsulta.de(CervejaFilter.class, Cerveja.class)
+			.contem("nome", CervejaFilter::getNome)
+			.igual("estilo", CervejaFilter::getEstilo, Estilo::getCodigo)
+			.criar();
+
+	private Paginador paginador;
+	private Query estimativa;
+	private TypedQuery<Cerveja> consulta;
+
+	@BeforeEach
+	void setUp() {
+		estimativa = mock(Query.class);
+		when(manager.createNativeQuery(anyString())).thenReturn(estimativa);
+		when(estimativa.setParameter(anyInt(), anyString())).thenReturn(estimativa);
+		when(estimativa.getResultList()).thenReturn(List.of());
+		linhas(10);
+
+		@SuppressWarnings("unchecked")
+		TypedQuery<Long> contagem = mock(TypedQuery.class);
+		when(contagem.getSingleResult()).thenAnswer(invocacao -> contar());
+		when(manager.createQuery(anyString(), eq(Long.class))).thenReturn(contagem);
+
+		paginador = new Paginador();
+		ReflectionTestUtils.setField(paginador, "manager", manager);
+		ReflectionTestUtils.setField(paginador, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(paginador, "validadeTotal", Duration.ofSeconds(10));
+		ReflectionTestUtils.setField(paginador, "limiarEstimativa", 10000L);
+		ReflectionTestUtils.setField(paginador, "maximoTotais", 1000);
+		relogio(Instant.parse("2024-03-15T18:00:00Z"));
+	}
+
+	@Test
+	@DisplayName("Página incompleta deve calcular o total sem COUNT")
+	void paginaIncompletaNaoDeveContar() {
+		linhas(4);
+		Page<Cerveja> pagina = paginador.pagina(plano, new CervejaFilter(), PageRequest.of(2, 10));
+
+		assertThat(pagina.getTotalElements()).isEqualTo(24);
+		assertThat(contagens).hasValue(0);
+	}
+
+	@Test
+	@DisplayName("Deve reaproveitar o total do mesmo filtro até vencer a validade")
+	void deveReaproveitarTotalDoMesmoFiltro() {
+		CervejaFilter filtro = filtro("ipa", 3L);
+
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+		Page<Cerveja> segunda = paginador.pagina(plano, filtro("ipa", 3L), PageRequest.of(1, 10));
+		assertThat(segunda.getTotalElements()).isEqualTo(57);
+		assertThat(contagens).hasValue(1);
+
+		paginador.pagina(plano, filtro("ipa", 4L), PageRequest.of(0, 10));
+		assertThat(contagens).hasValue(2);
+
+		relogio(Instant.parse("2024-03-15T18:00:11Z"));
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+		assertThat(contagens).hasValue(3);
+		assertThat(meterRegistry.get("brewer.paginacao.total").tag("origem", "cache").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Deve contar de novo depois de invalidar os totais da entidade")
+	void deveContarDeNovoDepoisDeInvalidar() {
+		CervejaFilter filtro = filtro("ipa", null);
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+
+		paginador.invalidar(Estilo.class);
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+		assertThat(contagens).hasValue(1);
+
+		paginador.invalidar(Cerveja.class);
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+		assertThat(contagens).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("Listagem sem filtro de tabela grande deve usar a estimativa do MySQL")
+	void listagemSemFiltroDeveUsarEstimativa() {
+		when(estimativa.getResultList()).thenReturn(List.of(BigInteger.valueOf(250_000)));
+
+		Page<Cerveja> pagina = paginador.pagina(plano, new CervejaFilter(), PageRequest.of(0, 10));
+
+		assertThat(pagina.getTotalElements()).isEqualTo(250_000);
+		assertThat(contagens).hasValue(0);
+		verify(estimativa).setParameter(1, "cerveja");
+
+		// Com filtro, sempre o total exato
+		paginador.pagina(plano, filtro("ipa", null), PageRequest.of(0, 10));
+		assertThat(contagens).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("Total defasado não deve esconder a próxima página")
+	void totalDefasadoNaoDeveEsconderProximaPagina() {
+		CervejaFilter filtro = filtro("ipa", null);
+		paginador.pagina(plano, filtro, PageRequest.of(0, 10));
+
+		// 57 no COUNT, mas a página 6 veio cheia
+		Page<Cerveja> setima = paginador.pagina(plano, filtro, PageRequest.of(6, 10));
+
+		assertThat(setima.hasNext()).isTrue();
+		assertThat(setima.getTotalElements()).isEqualTo(71);
+		assertThat(contagens).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("Fatia deve buscar uma linha a mais e nunca contar")
+	void fatiaDeveBuscarUmaLinhaAMais() {
+		linhas(11);
+
+		Slice<Cerveja> fatia = paginador.fatia(plano, new CervejaFilter(), PageRequest.of(3, 10));
+
+		assertThat(fatia.getContent()).hasSize(10);
+		assertThat(fatia.hasNext()).isTrue();
+		verify(consulta).setFirstResult(30);
+		verify(consulta).setMaxResults(11);
+		verify(manager, never()).createNativeQuery(anyString());
+		verify(manager, never()).createQuery(anyString(), eq(Long.class));
+	}
+
+	private long contar() {
+		contagens.incrementAndGet();
+		return 57;
+	}
+
+	private CervejaFilter filtro(String nome, Long codigoEstilo) {
+		CervejaFilter filtro = new CervejaFilter();
+		filtro.setNome(nome);
+		if (codigoEstilo != null) {
+			Estilo estilo = new Estilo();
+			estilo.setCodigo(codigoEstilo);
+			filtro.setEstilo(estilo);
+		}
+		return filtro;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void linhas(int linhas) {
+		consulta = mock(TypedQuery.class);
+		when(consulta.getResultList()).thenReturn(Collections.nCopies(linhas, new Cerveja()));
+		when(manager.createQuery(anyString(), eq(Cerveja.class))).thenReturn(consulta);
+	}
+
+	private void relogio(Instant instante) {
+		ReflectionTestUtils.setField(paginador, "clock", Clock.fixed(instante, ZoneOffset.UTC));
+	}
+
+}
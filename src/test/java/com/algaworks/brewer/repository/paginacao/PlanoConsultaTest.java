@@ -0,0 +1,117 @@
+package com.algaworks.brewer.repository.paginacao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Sort;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Estilo;
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+import com.algaworks.brewer.repository.filter.CervejaFilter;
+
+@DisplayName("Testes Unitários - PlanoConsulta")
+class PlanoConsultaTest {
+
+	private final PlanoConsulta<CervejaFilter, Cerveja> plano = PlanoConsulta.de(CervejaFilter.class, Cerveja.class)
+			.igual("sku", CervejaFilter::getSku)
+			.contem("nome", CervejaFilter::getNome)
+			.igual("estilo", CervejaFilter::getEstilo, Estilo::getCodigo)
+			.aPartirDe("valor", CervejaFilter::getValorDe)
+			.buscando("join fetch e.estilo")
+			.ordenaveis("sku", "nome", "valor")
+			.criar();
+
+	private final EntityManager manager = mock(EntityManager.class);
+	private TypedQuery<Cerveja> consulta;
+	private TypedQuery<Long> contagem;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		consulta = mock(TypedQuery.class);
+		contagem = mock(TypedQuery.class);
+		when(manager.createQuery(anyString(), eq(Cerveja.class))).thenReturn(consulta);
+		when(manager.createQuery(anyString(), eq(Long.class))).thenReturn(contagem);
+	}
+
+	@Test
+	@DisplayName("Só entidades com plano devem ser consideradas paginadas")
+	void soEntidadesComPlanoDevemSerPaginadas() {
+		assertThat(PlanoConsulta.paginada(Cerveja.class)).isTrue();
+		assertThat(PlanoConsulta.paginada(MovimentacaoEstoque.class)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Deve gerar consulta e contagem só com as condições preenchidas")
+	void deveGerarConsultaComCondicoesPreenchidas() {
+		CervejaFilter filtro = new CervejaFilter();
+		filtro.setNome("IPA");
+		filtro.setSku("  ");
+		filtro.setEstilo(new Estilo());
+		filtro.setValorDe(new BigDecimal("10.00"));
+
+		PlanoConsulta<CervejaFilter, Cerveja>.Pesquisa pesquisa = plano.pesquisa(filtro);
+		pesquisa.consulta(manager, Sort.unsorted());
+		pesquisa.contagem(manager);
+
+		assertThat(jpql(Cerveja.class)).isEqualTo(
+				"select e from Cerveja e join fetch e.estilo where lower(e.nome) like :p1 and e.valor >= :p3");
+		assertThat(jpql(Long.class)).isEqualTo(
+				"select count(e) from Cerveja e where lower(e.nome) like :p1 and e.valor >= :p3");
+		verify(consulta).setParameter("p1", "%ipa%");
+		verify(consulta).setParameter("p3", new BigDecimal("10.00"));
+		assertThat(pesquisa.chave()).isEqualTo("1=IPA;3=10");
+		assertThat(plano.pesquisa(new CervejaFilter()).chave()).isEqualTo(ChaveFiltro.SEM_FILTRO);
+	}
+
+	@Test
+	@DisplayName("Deve aplicar todas as ordenações permitidas e ignorar as demais")
+	void deveAplicarOrdenacoesPermitidas() {
+		Sort sort = Sort.by(Sort.Order.desc("valor"), Sort.Order.asc("senha"), Sort.Order.asc("nome"));
+
+		plano.pesquisa(null).consulta(manager, sort);
+
+		assertThat(jpql(Cerveja.class))
+				.isEqualTo("select e from Cerveja e join fetch e.estilo order by e.valor desc, e.nome asc");
+	}
+
+	@Test
+	@DisplayName("Deve reaproveitar o JPQL da mesma combinação de filtro e ordenação")
+	void deveReaproveitarJpql() {
+		CervejaFilter ipa = new CervejaFilter();
+		ipa.setNome("IPA");
+		CervejaFilter lager = new CervejaFilter();
+		lager.setNome("Lager");
+
+		plano.pesquisa(ipa).consulta(manager, Sort.by("nome"));
+		plano.pesquisa(lager).consulta(manager, Sort.by("nome"));
+
+		ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+		verify(manager, times(2)).createQuery(jpql.capture(), eq(Cerveja.class));
+		List<String> gerados = jpql.getAllValues();
+		assertThat(gerados.get(1)).isSameAs(gerados.get(0));
+	}
+
+	private String jpql(Class<?> tipo) {
+		ArgumentCaptor<String> jpql = ArgumentCaptor.forClass(String.class);
+		verify(manager).createQuery(jpql.capture(), eq(tipo));
+		return jpql.getValue();
+	}
+
+}
@@ -0,0 +1,158 @@
+package com.algaworks.brewer.repository.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes Unitários - RoteadorLeitura")
+class RoteadorLeituraTest {
+
+	private final DataSource replica = mock(DataSource.class);
+	private final DataSource primaria = mock(DataSource.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private MonitorReplica monitor;
+	private EscritasRecentes escritasRecentes;
+	private RoteadorLeitura roteador;
+	private ResultSet statusReplica;
+
+	private final Instant agora = Instant.parse("2024-03-15T18:00:00Z");
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statusReplica = mock(ResultSet.class);
+		Statement consulta = mock(Statement.class);
+		Connection conexao = mock(Connection.class);
+		when(replica.getConnection()).thenReturn(conexao);
+		when(conexao.createStatement()).thenReturn(consulta);
+		when(consulta.executeQuery(anyString())).thenReturn(statusReplica);
+
+		monitor = new MonitorReplica();
+		ReflectionTestUtils.setField(monitor, "replica", replica);
+		ReflectionTestUtils.setField(monitor, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(monitor, "atrasoMaximo", Duration.ofSeconds(5));
+		monitor.registrarMetricas();
+
+		escritasRecentes = new EscritasRecentes();
+		relogio(agora);
+		ReflectionTestUtils.setField(escritasRecentes, "atrasoMaximo", Duration.ofSeconds(5));
+
+		roteador = new RoteadorLeitura(replica, primaria, monitor, escritasRecentes, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	@Test
+	@DisplayName("Deve ler da réplica só com o atraso medido dentro do máximo")
+	void deveUsarReplicaComAtrasoDentroDoMaximo() throws Exception {
+		// Antes da primeira verificação a réplica não é usada
+		assertThat(roteador.destino()).isSameAs(primaria);
+
+		atraso(2L);
+		assertThat(roteador.destino()).isSameAs(replica);
+		assertThat(meterRegistry.get("brewer.datasource.replica.atraso").gauge().value()).isEqualTo(2.0);
+
+		atraso(7L);
+		assertThat(roteador.destino()).isSameAs(primaria);
+
+		// Replicação parada: Seconds_Behind_Source nulo
+		atraso(null);
+		assertThat(roteador.destino()).isSameAs(primaria);
+		assertThat(meterRegistry.get("brewer.datasource.replica.atraso").gauge().value()).isNaN();
+
+		assertThat(meterRegistry.get("brewer.datasource.leituras").tag("motivo", "replica_indisponivel")
+				.counter().count()).isEqualTo(3);
+		assertThat(meterRegistry.get("brewer.datasource.leituras").tag("destino", "replica").counter().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Sessão que gravou deve ler da primária até passar o atraso máximo")
+	void sessaoQueGravouDeveLerDaPrimaria() throws Exception {
+		atraso(1L);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.getSession(true);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		// Transação de escrita obtém conexão da primária duas vezes e faz commit
+		TransactionSynchronizationManager.initSynchronization();
+		escritasRecentes.registrar();
+		escritasRecentes.registrar();
+		assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		TransactionSynchronizationManager.clearSynchronization();
+
+		relogio(agora.plusSeconds(4));
+		assertThat(roteador.destino()).isSameAs(primaria);
+
+		relogio(agora.plusSeconds(5));
+		assertThat(roteador.destino()).isSameAs(replica);
+
+		// Outra sessão não é afetada pela escrita
+		MockHttpServletRequest outra = new MockHttpServletRequest();
+		outra.getSession(true);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(outra));
+		relogio(agora.plusSeconds(1));
+		assertThat(roteador.destino()).isSameAs(replica);
+	}
+
+	@Test
+	@DisplayName("Transação readOnly ou requisição sem sessão não devem marcar escrita")
+	void semSessaoOuReadOnlyNaoDeveMarcarEscrita() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		TransactionSynchronizationManager.initSynchronization();
+
+		escritasRecentes.registrar();
+		assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+		assertThat(request.getSession(false)).isNull();
+
+		request.getSession(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		escritasRecentes.registrar();
+		assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+	}
+
+	private void relogio(Instant instante) {
+		ReflectionTestUtils.setField(escritasRecentes, "clock", Clock.fixed(instante, ZoneOffset.UTC));
+	}
+
+	private void atraso(Long segundos) throws Exception {
+		when(statusReplica.next()).thenReturn(true);
+		when(statusReplica.getLong("Seconds_Behind_Source")).thenReturn(segundos != null ? segundos : 0L);
+		when(statusReplica.wasNull()).thenReturn(segundos == null);
+		monitor.verificar();
+	}
+
+}
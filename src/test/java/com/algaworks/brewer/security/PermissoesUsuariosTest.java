@@ -0,0 +1,130 @@
+package com.algaworks.brewer.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.algaworks.brewer.config.WebConfig;
+import com.algaworks.brewer.model.Usuario;
+import com.algaworks.brewer.repository.Usuarios;
+
+@DisplayName("Testes - PermissoesUsuarios")
+class PermissoesUsuariosTest {
+
+	private AnnotationConfigApplicationContext context;
+	private PermissoesUsuarios permissoesUsuarios;
+	private Usuarios usuarios;
+	private Usuario usuario;
+
+	@BeforeEach
+	void setUp() {
+		context = new AnnotationConfigApplicationContext(CacheTestConfig.class);
+		permissoesUsuarios = context.getBean(PermissoesUsuarios.class);
+		usuarios = context.getBean(Usuarios.class);
+
+		usuario = new Usuario();
+		usuario.setCodigo(1L);
+		when(usuarios.permissoes(any(Usuario.class))).thenReturn(List.of("role_emitir_venda"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		context.close();
+	}
+
+	@Test
+	@DisplayName("Deve consultar as permissões uma única vez por usuário")
+	void deveConsultarPermissoesUmaVez() {
+		assertThat(permissoesUsuarios.de(usuario)).containsExactly("ROLE_EMITIR_VENDA");
+		assertThat(permissoesUsuarios.de(usuario)).containsExactly("ROLE_EMITIR_VENDA");
+
+		verify(usuarios, times(1)).permissoes(any(Usuario.class));
+	}
+
+	@Test
+	@DisplayName("Deve invalidar imediatamente fora de transação")
+	void deveInvalidarForaDeTransacao() {
+		permissoesUsuarios.de(usuario);
+
+		permissoesUsuarios.invalidar(1L);
+		permissoesUsuarios.de(usuario);
+
+		verify(usuarios, times(2)).permissoes(any(Usuario.class));
+	}
+
+	@Test
+	@DisplayName("Deve invalidar só no fim da transação")
+	void deveInvalidarNoFimDaTransacao() {
+		permissoesUsuarios.de(usuario);
+		clearInvocations(usuarios);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			permissoesUsuarios.invalidar(1L, 2L);
+			permissoesUsuarios.de(usuario);
+			verify(usuarios, times(0)).permissoes(any(Usuario.class));
+
+			TransactionSynchronizationManager.getSynchronizations()
+					.forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		permissoesUsuarios.de(usuario);
+		verify(usuarios, times(1)).permissoes(any(Usuario.class));
+	}
+
+	@Test
+	@DisplayName("Deve limitar e expirar só o cache de permissões")
+	void deveLimitarEExpirarCacheDePermissoes() {
+		CacheManager cacheManager = context.getBean(CacheManager.class);
+
+		assertThat(cacheManager.getCache(PermissoesUsuarios.CACHE)).isInstanceOfSatisfying(CaffeineCache.class,
+				cache -> {
+					var politica = cache.getNativeCache().policy();
+					assertThat(politica.eviction()).hasValueSatisfying(
+							limite -> assertThat(limite.getMaximum()).isEqualTo(100));
+					assertThat(politica.expireAfterWrite()).hasValueSatisfying(
+							expiracao -> assertThat(expiracao.getExpiresAfter()).isEqualTo(Duration.ofMinutes(5)));
+				});
+		assertThat(cacheManager.getCache("cidades")).isInstanceOf(ConcurrentMapCache.class);
+	}
+
+	@Configuration
+	@EnableCaching
+	@Import(PermissoesUsuarios.class)
+	static class CacheTestConfig {
+
+		@Bean
+		CacheManager cacheManager() {
+			return new WebConfig().cacheManager(Duration.ofMinutes(5), 100);
+		}
+
+		@Bean
+		Usuarios usuarios() {
+			return mock(Usuarios.class);
+		}
+	}
+}
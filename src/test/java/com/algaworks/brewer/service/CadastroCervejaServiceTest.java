@@ -0,0 +1,81 @@
+package com.algaworks.brewer.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.service.exception.SkuCervejaJaCadastradoException;
+import com.algaworks.brewer.storage.FotoStorage;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes - CadastroCervejaService")
+class CadastroCervejaServiceTest {
+
+	@Mock
+	private Cervejas cervejas;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
+	@Mock
+	private FotoStorage fotoStorage;
+
+	@InjectMocks
+	private CadastroCervejaService service;
+
+	private Cerveja cerveja;
+
+	@BeforeEach
+	void setUp() {
+		cerveja = new Cerveja();
+		cerveja.setSku("AA1234");
+		cerveja.setNome("Eisenbahn Pilsen");
+	}
+
+	@Test
+	@DisplayName("Deve tratar SKU gravado por outro cadastro ou pela importação")
+	void deveTratarSkuJaCadastrado() {
+		// Given - o índice único recusa o INSERT
+		when(cervejas.saveAndFlush(cerveja)).thenThrow(violacao("cerveja.uk_cerveja_sku"));
+
+		// When & Then
+		assertThatThrownBy(() -> service.salvar(cerveja))
+			.isInstanceOf(SkuCervejaJaCadastradoException.class)
+			.hasMessage("SKU já cadastrado");
+		verify(publisher, never()).publishEvent(any());
+	}
+
+	@Test
+	@DisplayName("Deve propagar violação de outra restrição sem tratar como SKU duplicado")
+	void devePropagarViolacaoDeOutraRestricao() {
+		// Given - estilo inexistente (chave estrangeira)
+		DataIntegrityViolationException violacao = violacao("cerveja_ibfk_1");
+		when(cervejas.saveAndFlush(cerveja)).thenThrow(violacao);
+
+		// When & Then
+		assertThatThrownBy(() -> service.salvar(cerveja)).isSameAs(violacao);
+	}
+
+	private DataIntegrityViolationException violacao(String restricao) {
+		ConstraintViolationException causa = new ConstraintViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException(), restricao);
+		return new DataIntegrityViolationException(restricao, causa);
+	}
+}
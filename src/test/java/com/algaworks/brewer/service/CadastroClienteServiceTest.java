@@ -7,8 +7,10 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.Optional;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
 import com.algaworks.brewer.model.Cliente;
 import com.algaworks.brewer.model.TipoPessoa;
@@ -63,7 +66,7 @@ class CadastroClienteServiceTest {
 		service.salvar(clienteNovo);
 
 		// Then
-		verify(clientes).save(clienteNovo);
+		verify(clientes).saveAndFlush(clienteNovo);
 	}
 
 	@Test
@@ -77,7 +80,7 @@ class CadastroClienteServiceTest {
 			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class)
 			.hasMessage("CPF/CNPJ já cadastrado");
 
-		verify(clientes, never()).save(any());
+		verify(clientes, never()).saveAndFlush(any());
 	}
 
 	@Test
@@ -97,7 +100,7 @@ class CadastroClienteServiceTest {
 		service.salvar(clienteEditado);
 
 		// Then - Deve salvar normalmente
-		verify(clientes).save(clienteEditado);
+		verify(clientes).saveAndFlush(clienteEditado);
 	}
 
 	@Test
@@ -126,7 +129,7 @@ class CadastroClienteServiceTest {
 			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class)
 			.hasMessage("CPF/CNPJ já cadastrado");
 
-		verify(clientes, never()).save(any());
+		verify(clientes, never()).saveAndFlush(any());
 	}
 
 	@Test
@@ -145,7 +148,7 @@ class CadastroClienteServiceTest {
 		service.salvar(clientePJ);
 
 		// Then
-		verify(clientes).save(clientePJ);
+		verify(clientes).saveAndFlush(clientePJ);
 	}
 
 	@Test
@@ -172,7 +175,7 @@ class CadastroClienteServiceTest {
 			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class)
 			.hasMessage("CPF/CNPJ já cadastrado");
 
-		verify(clientes, never()).save(any());
+		verify(clientes, never()).saveAndFlush(any());
 	}
 
 	@Test
@@ -194,7 +197,7 @@ class CadastroClienteServiceTest {
 			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class)
 			.hasMessage("CPF/CNPJ já cadastrado");
 
-		verify(clientes, never()).save(any());
+		verify(clientes, never()).saveAndFlush(any());
 	}
 
 	@Test
@@ -215,6 +218,49 @@ class CadastroClienteServiceTest {
 		service.salvar(novoClienteComCodigoNull);
 
 		// Then - Deve salvar normalmente
-		verify(clientes).save(novoClienteComCodigoNull);
+		verify(clientes).saveAndFlush(novoClienteComCodigoNull);
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Deve tratar CPF cadastrado por outra requisição entre a consulta e o INSERT")
+	void deveTratarCpfCadastradoEntreConsultaEInsert() {
+		// Given - a consulta não acha, mas o índice único recusa o INSERT
+		when(clientes.findByCpfOuCnpj("11144477735")).thenReturn(Optional.empty());
+		when(clientes.saveAndFlush(clienteNovo)).thenThrow(violacao("cliente.uk_cliente_cpf_cnpj"));
+
+		// When & Then
+		assertThatThrownBy(() -> service.salvar(clienteNovo))
+			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class)
+			.hasMessage("CPF/CNPJ já cadastrado");
+	}
+
+	@Test
+	@DisplayName("Deve tratar CPF cadastrado por outra requisição entre a consulta e o UPDATE da edição")
+	void deveTratarCpfCadastradoEntreConsultaEUpdate() {
+		// Given - editando o cliente 1 com um documento gravado por outra requisição
+		when(clientes.findByCpfOuCnpj("11144477735")).thenReturn(Optional.empty());
+		when(clientes.saveAndFlush(clienteExistente)).thenThrow(violacao("cliente.uk_cliente_cpf_cnpj"));
+
+		// When & Then
+		assertThatThrownBy(() -> service.salvar(clienteExistente))
+			.isInstanceOf(CpfCnpjClienteJaCadastradoException.class);
+	}
+
+	@Test
+	@DisplayName("Deve propagar violação de outra restrição sem tratar como CPF duplicado")
+	void devePropagarViolacaoDeOutraRestricao() {
+		// Given - cidade inexistente (chave estrangeira)
+		DataIntegrityViolationException violacao = violacao("cliente_ibfk_1");
+		when(clientes.findByCpfOuCnpj("11144477735")).thenReturn(Optional.empty());
+		when(clientes.saveAndFlush(clienteNovo)).thenThrow(violacao);
+
+		// When & Then
+		assertThatThrownBy(() -> service.salvar(clienteNovo)).isSameAs(violacao);
+	}
+
+	private DataIntegrityViolationException violacao(String restricao) {
+		ConstraintViolationException causa = new ConstraintViolationException("could not execute statement",
+				new SQLIntegrityConstraintViolationException(), restricao);
+		return new DataIntegrityViolationException(restricao, causa);
+	}
+}
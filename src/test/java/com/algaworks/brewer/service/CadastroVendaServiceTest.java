@@ -3,31 +3,40 @@ package com.algaworks.brewer.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
-import com.algaworks.brewer.model.Grupo;
-import com.algaworks.brewer.model.Permissao;
+import com.algaworks.brewer.mail.Mailer;
+import com.algaworks.brewer.model.Cliente;
 import com.algaworks.brewer.model.StatusVenda;
 import com.algaworks.brewer.model.Usuario;
 import com.algaworks.brewer.model.Venda;
 import com.algaworks.brewer.repository.Vendas;
 import com.algaworks.brewer.security.Permissoes;
+import com.algaworks.brewer.security.UsuarioSistema;
+import com.algaworks.brewer.service.event.venda.VendaCanceladaEvent;
+import com.algaworks.brewer.service.event.venda.VendaEmitidaEvent;
+import com.algaworks.brewer.service.event.venda.VendaSalvaEvent;
+import com.algaworks.brewer.service.exception.EstoqueInsuficienteException;
 import com.algaworks.brewer.service.exception.ImpossivelEmitirVendaException;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,54 +46,39 @@ class CadastroVendaServiceTest {
 	@Mock
 	private Vendas vendas;
 
+	@Mock
+	private Mailer mailer;
+
+	@Mock
+	private EstoqueService estoqueService;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
 	@InjectMocks
 	private CadastroVendaService service;
 
-	private Usuario usuarioProprietario;
-	private Usuario usuarioComPermissao;
-	private Usuario usuarioSemPermissao;
+	private UsuarioSistema usuarioProprietario;
+	private UsuarioSistema usuarioComPermissao;
+	private UsuarioSistema usuarioSemPermissao;
 	private Venda venda;
 
 	@BeforeEach
 	void setUp() {
 		// Criar usuário proprietário da venda
-		usuarioProprietario = new Usuario();
-		usuarioProprietario.setCodigo(1L);
-		usuarioProprietario.setNome("Proprietário");
-		usuarioProprietario.setGrupos(new ArrayList<>());
+		usuarioProprietario = usuarioSistema(1L, "Proprietário");
 
-		// Criar usuário com permissão EMITIR_VENDA
-		usuarioComPermissao = new Usuario();
-		usuarioComPermissao.setCodigo(2L);
-		usuarioComPermissao.setNome("Usuario Com Permissão");
-
-		Grupo grupoAdmin = new Grupo();
-		grupoAdmin.setCodigo(1L);
-		grupoAdmin.setNome("Administrador");
-
-		Permissao permissaoEmitir = new Permissao();
-		permissaoEmitir.setCodigo(1L);
-		permissaoEmitir.setNome(Permissoes.EMITIR_VENDA);
-
-		List<Permissao> permissoes = new ArrayList<>();
-		permissoes.add(permissaoEmitir);
-		grupoAdmin.setPermissoes(permissoes);
-
-		List<Grupo> grupos = new ArrayList<>();
-		grupos.add(grupoAdmin);
-		usuarioComPermissao.setGrupos(grupos);
+		// Criar usuário com permissão EMITIR_VENDA (authority carregada no login)
+		usuarioComPermissao = usuarioSistema(2L, "Usuario Com Permissão", Permissoes.EMITIR_VENDA);
 
 		// Criar usuário sem permissão
-		usuarioSemPermissao = new Usuario();
-		usuarioSemPermissao.setCodigo(3L);
-		usuarioSemPermissao.setNome("Usuario Sem Permissão");
-		usuarioSemPermissao.setGrupos(new ArrayList<>());
+		usuarioSemPermissao = usuarioSistema(3L, "Usuario Sem Permissão");
 
 		// Criar venda
 		venda = new Venda();
 		venda.setCodigo(1L);
 		venda.setStatus(StatusVenda.ORCAMENTO);
-		venda.setUsuario(usuarioProprietario);
+		venda.setUsuario(usuarioProprietario.getUsuario());
 		venda.setValorTotal(BigDecimal.valueOf(100.00));
 	}
 
@@ -92,7 +86,7 @@ class CadastroVendaServiceTest {
 	@DisplayName("Deve emitir venda quando usuário é proprietário")
 	void deveEmitirVendaQuandoUsuarioEhProprietario() {
 		// Given
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 		when(vendas.save(any(Venda.class))).thenReturn(venda);
 
 		// When
@@ -107,7 +101,7 @@ class CadastroVendaServiceTest {
 	@DisplayName("Deve emitir venda quando usuário tem permissão EMITIR_VENDA")
 	void deveEmitirVendaQuandoUsuarioTemPermissao() {
 		// Given
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 		when(vendas.save(any(Venda.class))).thenReturn(venda);
 
 		// When
@@ -122,7 +116,7 @@ class CadastroVendaServiceTest {
 	@DisplayName("Não deve emitir venda quando usuário não tem permissão")
 	void naoDeveEmitirVendaQuandoUsuarioNaoTemPermissao() {
 		// Given
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 
 		// When & Then
 		assertThatThrownBy(() -> service.emitir(venda, usuarioSemPermissao))
@@ -137,7 +131,7 @@ class CadastroVendaServiceTest {
 	void naoDeveEmitirVendaCancelada() {
 		// Given
 		venda.setStatus(StatusVenda.CANCELADA);
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 
 		// When & Then
 		assertThatThrownBy(() -> service.emitir(venda, usuarioProprietario))
@@ -151,7 +145,7 @@ class CadastroVendaServiceTest {
 	@DisplayName("Deve lançar exceção quando venda não encontrada ao emitir")
 	void deveLancarExcecaoQuandoVendaNaoEncontradaAoEmitir() {
 		// Given
-		when(vendas.findById(1L)).thenReturn(Optional.empty());
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.empty());
 
 		// When & Then
 		assertThatThrownBy(() -> service.emitir(venda, usuarioProprietario))
@@ -166,7 +160,7 @@ class CadastroVendaServiceTest {
 	void deveCancelarVendaQuandoUsuarioEhProprietario() {
 		// Given
 		venda.setStatus(StatusVenda.EMITIDA);
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 		when(vendas.save(any(Venda.class))).thenReturn(venda);
 
 		// When
@@ -184,22 +178,9 @@ class CadastroVendaServiceTest {
 		venda.setStatus(StatusVenda.EMITIDA);
 
 		// Criar usuário com permissão CANCELAR_VENDA
-		Usuario usuarioComPermissaoCancelar = new Usuario();
-		usuarioComPermissaoCancelar.setCodigo(4L);
-
-		Grupo grupo = new Grupo();
-		Permissao permissao = new Permissao();
-		permissao.setNome(Permissoes.CANCELAR_VENDA);
-
-		List<Permissao> permissoes = new ArrayList<>();
-		permissoes.add(permissao);
-		grupo.setPermissoes(permissoes);
+		UsuarioSistema usuarioComPermissaoCancelar = usuarioSistema(4L, "Usuario Cancelar", Permissoes.CANCELAR_VENDA);
 
-		List<Grupo> grupos = new ArrayList<>();
-		grupos.add(grupo);
-		usuarioComPermissaoCancelar.setGrupos(grupos);
-
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 		when(vendas.save(any(Venda.class))).thenReturn(venda);
 
 		// When
@@ -215,7 +196,7 @@ class CadastroVendaServiceTest {
 	void naoDeveCancelarVendaQuandoUsuarioNaoTemPermissao() {
 		// Given
 		venda.setStatus(StatusVenda.EMITIDA);
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 
 		// When & Then
 		assertThatThrownBy(() -> service.cancelar(venda, usuarioSemPermissao))
@@ -230,7 +211,7 @@ class CadastroVendaServiceTest {
 	void naoDeveCancelarVendaQueNaoEstaEmitida() {
 		// Given
 		venda.setStatus(StatusVenda.ORCAMENTO);
-		when(vendas.findById(1L)).thenReturn(Optional.of(venda));
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
 
 		// When
 		service.cancelar(venda, usuarioProprietario);
@@ -244,7 +225,7 @@ class CadastroVendaServiceTest {
 	@DisplayName("Deve lançar exceção quando venda não encontrada ao cancelar")
 	void deveLancarExcecaoQuandoVendaNaoEncontradaAoCancelar() {
 		// Given
-		when(vendas.findById(1L)).thenReturn(Optional.empty());
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.empty());
 
 		// When & Then
 		assertThatThrownBy(() -> service.cancelar(venda, usuarioProprietario))
@@ -253,4 +234,139 @@ class CadastroVendaServiceTest {
 
 		verify(vendas, never()).save(any(Venda.class));
 	}
+
+	@Test
+	@DisplayName("Deve baixar o estoque ao emitir venda")
+	void deveBaixarEstoqueAoEmitirVenda() {
+		// Given
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+
+		// When
+		service.emitir(venda, usuarioProprietario);
+
+		// Then
+		verify(estoqueService).baixar(venda);
+		assertThat(venda.getStatus()).isEqualTo(StatusVenda.EMITIDA);
+	}
+
+	@Test
+	@DisplayName("Deve publicar VendaEmitidaEvent ao emitir venda")
+	void devePublicarEventoAoEmitirVenda() {
+		// Given
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+
+		// When
+		service.emitir(venda, usuarioProprietario);
+
+		// Then
+		ArgumentCaptor<Object> evento = ArgumentCaptor.forClass(Object.class);
+		verify(publisher).publishEvent(evento.capture());
+		assertThat(evento.getValue()).isInstanceOf(VendaEmitidaEvent.class);
+		assertThat(((VendaEmitidaEvent) evento.getValue()).getCodigoVenda()).isEqualTo(1L);
+	}
+
+	@Test
+	@DisplayName("Não deve emitir venda sem estoque suficiente")
+	void naoDeveEmitirVendaSemEstoqueSuficiente() {
+		// Given
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+		doThrow(new EstoqueInsuficienteException("Estoque insuficiente para: Cerveja"))
+			.when(estoqueService).baixar(venda);
+
+		// When & Then
+		assertThatThrownBy(() -> service.emitir(venda, usuarioProprietario))
+			.isInstanceOf(ImpossivelEmitirVendaException.class)
+			.hasMessage("Estoque insuficiente para: Cerveja");
+
+		assertThat(venda.getStatus()).isEqualTo(StatusVenda.ORCAMENTO);
+		verify(vendas, never()).save(any(Venda.class));
+	}
+
+	@Test
+	@DisplayName("Emitir venda já emitida não deve baixar o estoque de novo")
+	void emitirVendaJaEmitidaNaoDeveBaixarEstoqueDeNovo() {
+		// Given
+		venda.setStatus(StatusVenda.EMITIDA);
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+
+		// When
+		service.emitir(venda, usuarioProprietario);
+
+		// Then
+		verify(estoqueService, never()).baixar(any(Venda.class));
+		verify(vendas, never()).save(any(Venda.class));
+		verify(publisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	@DisplayName("Deve devolver o estoque ao cancelar venda emitida")
+	void deveDevolverEstoqueAoCancelarVendaEmitida() {
+		// Given
+		venda.setStatus(StatusVenda.EMITIDA);
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+
+		// When
+		service.cancelar(venda, usuarioProprietario);
+
+		// Then
+		verify(estoqueService).devolver(venda);
+		assertThat(venda.getStatus()).isEqualTo(StatusVenda.CANCELADA);
+		verify(publisher).publishEvent(any(VendaCanceladaEvent.class));
+	}
+
+	@Test
+	@DisplayName("Não deve devolver estoque de venda que não está emitida")
+	void naoDeveDevolverEstoqueDeVendaNaoEmitida() {
+		// Given
+		when(vendas.porCodigoComBloqueio(1L)).thenReturn(Optional.of(venda));
+
+		// When
+		service.cancelar(venda, usuarioProprietario);
+
+		// Then
+		verify(estoqueService, never()).devolver(any(Venda.class));
+	}
+
+	@Test
+	@DisplayName("Deve salvar venda e enfileirar resumo quando cliente possui e-mail")
+	void deveSalvarVendaEEnfileirarResumoQuandoClientePossuiEmail() {
+		// Given
+		Cliente cliente = new Cliente();
+		cliente.setEmail("cliente@brewer.com");
+		venda.setCliente(cliente);
+		when(vendas.saveAndFlush(venda)).thenReturn(venda);
+
+		// When
+		Venda vendaSalva = service.salvarEEnviarResumo(venda);
+
+		// Then
+		assertThat(vendaSalva).isSameAs(venda);
+		verify(mailer).enviar(venda);
+	}
+
+	@Test
+	@DisplayName("Deve salvar venda sem enfileirar e-mail quando cliente não possui e-mail")
+	void deveSalvarVendaSemEnfileirarEmailQuandoClienteNaoPossuiEmail() {
+		// Given
+		venda.setCliente(new Cliente());
+		when(vendas.saveAndFlush(venda)).thenReturn(venda);
+
+		// When
+		service.salvarEEnviarResumo(venda);
+
+		// Then
+		verify(vendas).saveAndFlush(venda);
+		verify(mailer, never()).enviar(any(Venda.class));
+		verify(publisher).publishEvent(any(VendaSalvaEvent.class));
+	}
+
+	private UsuarioSistema usuarioSistema(Long codigo, String nome, String... permissoes) {
+		Usuario usuario = new Usuario();
+		usuario.setCodigo(codigo);
+		usuario.setNome(nome);
+		usuario.setEmail("usuario" + codigo + "@brewer.com");
+		usuario.setSenha("senha");
+		usuario.setGrupos(new ArrayList<>());
+		return new UsuarioSistema(usuario, Arrays.stream(permissoes).map(SimpleGrantedAuthority::new).toList());
+	}
 }
@@ -0,0 +1,138 @@
+package com.algaworks.brewer.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.ItemVenda;
+import com.algaworks.brewer.model.MovimentacaoEstoque;
+import com.algaworks.brewer.model.TipoMovimentacaoEstoque;
+import com.algaworks.brewer.model.Venda;
+import com.algaworks.brewer.repository.Cervejas;
+import com.algaworks.brewer.repository.MovimentacoesEstoque;
+import com.algaworks.brewer.service.exception.EstoqueInsuficienteException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - EstoqueService")
+class EstoqueServiceTest {
+
+	private static final ZoneId ZONA = ZoneId.of("America/Sao_Paulo");
+	private static final LocalDateTime AGORA = LocalDateTime.of(2024, 3, 15, 18, 0);
+
+	@Mock
+	private Cervejas cervejas;
+
+	@Mock
+	private MovimentacoesEstoque movimentacoes;
+
+	@InjectMocks
+	private EstoqueService estoqueService;
+
+	@Captor
+	private ArgumentCaptor<List<MovimentacaoEstoque>> lancamentos;
+
+	private Venda venda;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(estoqueService, "clock", Clock.fixed(AGORA.atZone(ZONA).toInstant(), ZONA));
+
+		Cerveja ipa = cerveja(1L, "IPA");
+		Cerveja stout = cerveja(2L, "Stout");
+		venda = new Venda();
+		venda.setCodigo(10L);
+		venda.adicionarItens(List.of(item(ipa, 2), item(stout, 1), item(ipa, 3)));
+	}
+
+	@Test
+	@DisplayName("Deve baixar somando itens da mesma cerveja e lançar saídas no livro")
+	void deveBaixarELancarSaidas() {
+		when(cervejas.baixarEstoque(anyMap())).thenReturn(List.of());
+		when(movimentacoes.saveAll(any())).thenAnswer(invocacao -> {
+			List<MovimentacaoEstoque> gravados = invocacao.getArgument(0);
+			gravados.forEach(movimentacao -> movimentacao.setCodigo(100L + movimentacao.getCodigoCerveja()));
+			return gravados;
+		});
+
+		Map<Long, Long> codigos = estoqueService.baixar(venda);
+
+		assertThat(codigos).isEqualTo(Map.of(1L, 101L, 2L, 102L));
+		verify(cervejas).baixarEstoque(Map.of(1L, 5, 2L, 1));
+		verify(movimentacoes).saveAll(lancamentos.capture());
+		assertThat(lancamentos.getValue())
+			.extracting(MovimentacaoEstoque::getCodigoCerveja, MovimentacaoEstoque::getQuantidade)
+			.containsExactlyInAnyOrder(
+				tuple(1L, -5),
+				tuple(2L, -1));
+		assertThat(lancamentos.getValue()).allSatisfy(movimentacao -> {
+			assertThat(movimentacao.getTipo()).isEqualTo(TipoMovimentacaoEstoque.VENDA);
+			assertThat(movimentacao.getCodigoVenda()).isEqualTo(10L);
+			assertThat(movimentacao.getDataHora()).isEqualTo(AGORA);
+			assertThat(movimentacao.isProjetada()).isFalse();
+		});
+	}
+
+	@Test
+	@DisplayName("Sem estoque suficiente deve lançar exceção com o nome da cerveja e não lançar no livro")
+	void semEstoqueNaoDeveLancarNoLivro() {
+		when(cervejas.baixarEstoque(anyMap())).thenReturn(List.of(2L));
+
+		assertThatThrownBy(() -> estoqueService.baixar(venda))
+			.isInstanceOf(EstoqueInsuficienteException.class)
+			.hasMessage("Estoque insuficiente para: Stout");
+
+		verify(movimentacoes, never()).saveAll(any());
+	}
+
+	@Test
+	@DisplayName("Deve devolver e lançar entradas de cancelamento no livro")
+	void deveDevolverELancarEntradas() {
+		estoqueService.devolver(venda);
+
+		verify(cervejas).devolverEstoque(Map.of(1L, 5, 2L, 1));
+		verify(movimentacoes).saveAll(lancamentos.capture());
+		assertThat(lancamentos.getValue())
+			.allSatisfy(movimentacao -> assertThat(movimentacao.getTipo())
+				.isEqualTo(TipoMovimentacaoEstoque.CANCELAMENTO_VENDA))
+			.extracting(MovimentacaoEstoque::getQuantidade)
+			.containsExactlyInAnyOrder(5, 1);
+	}
+
+	private Cerveja cerveja(Long codigo, String nome) {
+		Cerveja cerveja = new Cerveja();
+		cerveja.setCodigo(codigo);
+		cerveja.setNome(nome);
+		return cerveja;
+	}
+
+	private ItemVenda item(Cerveja cerveja, int quantidade) {
+		ItemVenda item = new ItemVenda();
+		item.setCerveja(cerveja);
+		item.setQuantidade(quantidade);
+		return item;
+	}
+
+}
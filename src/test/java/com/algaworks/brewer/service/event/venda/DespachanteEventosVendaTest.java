@@ -0,0 +1,144 @@
+package com.algaworks.brewer.service.event.venda;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes Unitários - DespachanteEventosVenda")
+class DespachanteEventosVendaTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private DespachanteEventosVenda despachante;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		despachante.encerrar();
+	}
+
+	@Test
+	@DisplayName("Eventos da mesma venda devem ser consumidos na ordem de publicação")
+	void eventosDaMesmaVendaDevemManterOrdem() throws InterruptedException {
+		Registro registro = new Registro(200);
+		despachante = despachante(4, 1000, registro);
+
+		for (int i = 0; i < 50; i++) {
+			for (long venda = 1; venda <= 4; venda++) {
+				despachante.despachar(i % 2 == 0 ? new VendaEmitidaEvent(venda, Map.of(1L, i), Map.of())
+						: new VendaCanceladaEvent(venda, Map.of(1L, i), Map.of()));
+			}
+		}
+
+		assertThat(registro.concluidos.await(5, TimeUnit.SECONDS)).isTrue();
+		for (long venda = 1; venda <= 4; venda++) {
+			List<Integer> sequencia = registro.sequenciaDa(venda);
+			assertThat(sequencia).hasSize(50).isSorted();
+		}
+	}
+
+	@Test
+	@DisplayName("Falha de um consumidor não deve impedir os demais")
+	void falhaDeUmConsumidorNaoDeveImpedirOsDemais() throws InterruptedException {
+		Registro registro = new Registro(1);
+		ConsumidorEventoVenda falho = evento -> {
+			throw new IllegalStateException("falha");
+		};
+		despachante = despachante(1, 10, falho, registro);
+
+		despachante.despachar(new VendaSalvaEvent(1L, true));
+
+		assertThat(registro.concluidos.await(5, TimeUnit.SECONDS)).isTrue();
+		despachante.encerrar();
+		assertThat(meterRegistry.get("brewer.eventos.venda.consumo")
+				.tag("erro", "IllegalStateException").tag("evento", "VendaSalvaEvent").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.eventos.venda.consumo")
+				.tag("consumidor", "Registro").tag("erro", "nenhum").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Com a fila cheia além do prazo deve descartar e contar o evento")
+	void filaCheiaDeveDescartarEContar() throws InterruptedException {
+		CountDownLatch liberar = new CountDownLatch(1);
+		CountDownLatch consumindo = new CountDownLatch(1);
+		ConsumidorEventoVenda lento = evento -> {
+			consumindo.countDown();
+			try {
+				liberar.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		despachante = despachante(1, 1, lento);
+		ReflectionTestUtils.setField(despachante, "esperaFila", Duration.ofMillis(10));
+
+		despachante.despachar(new VendaSalvaEvent(1L, true));
+		assertThat(consumindo.await(5, TimeUnit.SECONDS)).isTrue();
+		despachante.despachar(new VendaSalvaEvent(1L, false));
+		despachante.despachar(new VendaEmitidaEvent(1L, Map.of(), Map.of()));
+
+		assertThat(meterRegistry.get("brewer.eventos.venda.pendentes").gauge().value()).isEqualTo(1);
+		assertThat(meterRegistry.get("brewer.eventos.venda.descartados")
+				.tag("evento", "VendaEmitidaEvent").counter().count()).isEqualTo(1);
+		liberar.countDown();
+	}
+
+	private DespachanteEventosVenda despachante(int faixas, int capacidade, ConsumidorEventoVenda... consumidores) {
+		Map<String, Object> beans = new LinkedHashMap<>();
+		for (int i = 0; i < consumidores.length; i++) {
+			beans.put("consumidor" + i, consumidores[i]);
+		}
+
+		DespachanteEventosVenda despachante = new DespachanteEventosVenda();
+		ReflectionTestUtils.setField(despachante, "consumidoresDisponiveis",
+				new StaticListableBeanFactory(beans).getBeanProvider(ConsumidorEventoVenda.class));
+		ReflectionTestUtils.setField(despachante, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(despachante, "quantidadeFaixas", faixas);
+		ReflectionTestUtils.setField(despachante, "capacidadeFila", capacidade);
+		ReflectionTestUtils.setField(despachante, "esperaFila", Duration.ofSeconds(2));
+		despachante.inicializar();
+		return despachante;
+	}
+
+	static class Registro implements ConsumidorEventoVenda {
+
+		private final List<VendaEvent> eventos = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch concluidos;
+
+		Registro(int esperados) {
+			concluidos = new CountDownLatch(esperados);
+		}
+
+		@Override
+		public void consumir(VendaEvent evento) {
+			eventos.add(evento);
+			concluidos.countDown();
+		}
+
+		List<Integer> sequenciaDa(long venda) {
+			synchronized (eventos) {
+				return eventos.stream()
+						.filter(evento -> evento.getCodigoVenda() == venda)
+						.map(evento -> evento instanceof VendaEmitidaEvent emitida
+								? emitida.getQuantidades().get(1L)
+								: ((VendaCanceladaEvent) evento).getQuantidades().get(1L))
+						.toList();
+			}
+		}
+	}
+
+}
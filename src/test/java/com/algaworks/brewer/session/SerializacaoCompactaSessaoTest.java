@@ -0,0 +1,99 @@
+package com.algaworks.brewer.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import com.algaworks.brewer.model.Cerveja;
+import com.algaworks.brewer.model.Grupo;
+import com.algaworks.brewer.model.Usuario;
+import com.algaworks.brewer.security.UsuarioSistema;
+
+@DisplayName("Testes - SerializacaoCompactaSessao")
+class SerializacaoCompactaSessaoTest {
+
+	private final ConversionService conversionService = new SerializacaoCompactaSessao(getClass().getClassLoader())
+			.conversionService();
+
+	@Test
+	@DisplayName("Deve gravar e ler o carrinho da venda")
+	void deveGravarELerCarrinho() {
+		TabelaItensVenda tabela = new TabelaItensVenda();
+		tabela.adicionarItem(cerveja(1L, "10.00"), 2);
+		tabela.adicionarItem(cerveja(2L, "7.50"), 1);
+
+		byte[] bytes = conversionService.convert(tabela, byte[].class);
+		TabelaItensVenda lida = (TabelaItensVenda) conversionService.convert(bytes, Object.class);
+
+		assertThat(lida.getItens()).hasSize(2);
+		assertThat(lida.getValorTotal()).isEqualByComparingTo("27.50");
+	}
+
+	@Test
+	@DisplayName("Contexto de segurança deve ficar menor que na serialização Java pura")
+	void contextoDeSegurancaDeveFicarMenor() throws Exception {
+		SecurityContext contexto = contextoDeSeguranca();
+
+		byte[] compacto = conversionService.convert(contexto, byte[].class);
+		SecurityContext lido = (SecurityContext) conversionService.convert(compacto, Object.class);
+
+		UsuarioSistema principal = (UsuarioSistema) lido.getAuthentication().getPrincipal();
+		assertThat(principal.getUsuario().getNome()).isEqualTo("Vendedor");
+		assertThat(principal.temPermissao("ROLE_EMITIR_VENDA")).isTrue();
+		assertThat(compacto.length).isLessThan(serializacaoJava(contexto).length);
+	}
+
+	@Test
+	@DisplayName("Principal não deve levar hash da senha nem grupos do usuário")
+	void principalNaoDeveLevarSenhaNemGrupos() {
+		UsuarioSistema principal = (UsuarioSistema) contextoDeSeguranca().getAuthentication().getPrincipal();
+
+		assertThat(principal.getUsuario().getSenha()).isNull();
+		assertThat(principal.getUsuario().getGrupos()).isNull();
+		assertThat(principal.getUsuario().getCodigo()).isEqualTo(7L);
+	}
+
+	private SecurityContext contextoDeSeguranca() {
+		Usuario usuario = new Usuario();
+		usuario.setCodigo(7L);
+		usuario.setNome("Vendedor");
+		usuario.setEmail("vendedor@brewer.com");
+		usuario.setSenha("{bcrypt}$2a$10$nhvirOgASZuJUeaCXpPKfusXma7m05CKKfVR/8fcYib0uo5hqOyrC");
+		usuario.setAtivo(true);
+		usuario.setGrupos(new ArrayList<>(List.of(new Grupo())));
+
+		UsuarioSistema principal = new UsuarioSistema(usuario, List.of(
+				new SimpleGrantedAuthority("ROLE_EMITIR_VENDA"), new SimpleGrantedAuthority("ROLE_CANCELAR_VENDA")));
+		return new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+	}
+
+	private Cerveja cerveja(Long codigo, String valor) {
+		Cerveja cerveja = new Cerveja();
+		cerveja.setCodigo(codigo);
+		cerveja.setSku("AA000" + codigo);
+		cerveja.setNome("Cerveja " + codigo);
+		cerveja.setValor(new BigDecimal(valor));
+		return cerveja;
+	}
+
+	private byte[] serializacaoJava(Object objeto) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+			saida.writeObject(objeto);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,83 @@
+package com.algaworks.brewer.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.extras.springsecurity6.dialect.SpringSecurityDialect;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import com.github.mxab.thymeleaf.extras.dataattribute.dialect.DataAttributeDialect;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nz.net.ultraq.thymeleaf.layoutdialect.LayoutDialect;
+
+@DisplayName("Testes - AquecimentoTemplates")
+class AquecimentoTemplatesTest {
+
+	@Test
+	@DisplayName("Deve listar templates de página e ignorar templates de e-mail")
+	void deveListarTemplatesDePaginaEIgnorarEmail() throws Exception {
+		List<String> templates = aquecimento(templateEngine(true), new SimpleMeterRegistry()).listarTemplates();
+
+		assertThat(templates).contains("venda/CadastroVenda", "layout/LayoutPadrao", "fragments/Paginacao");
+		assertThat(templates).noneMatch(template -> template.startsWith("mail/"));
+		assertThat(templates).noneMatch(template -> template.endsWith(".html"));
+	}
+
+	@Test
+	@DisplayName("Deve colocar todos os templates no cache e registrar tempo por template")
+	void deveColocarTodosOsTemplatesNoCache() throws Exception {
+		SpringTemplateEngine templateEngine = templateEngine(true);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AquecimentoTemplates aquecimento = aquecimento(templateEngine, meterRegistry);
+		List<String> templates = aquecimento.listarTemplates();
+
+		aquecimento.run(new DefaultApplicationArguments());
+
+		assertThat(templateEngine.getCacheManager().getTemplateCache().keySet()).hasSizeGreaterThanOrEqualTo(templates.size());
+		assertThat(meterRegistry.find("brewer.thymeleaf.precompilacao").timers()).hasSize(templates.size());
+		assertThat(meterRegistry.get("brewer.thymeleaf.precompilacao").tag("template", "venda/CadastroVenda")
+				.timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Pré-compilação deve indicar quando o template não é cacheável")
+	void preCompilacaoDeveIndicarTemplateNaoCacheavel() {
+		assertThat(PreCompilacaoTemplates.precompilar(templateEngine(true), "venda/CadastroVenda")).isTrue();
+		assertThat(PreCompilacaoTemplates.precompilar(templateEngine(false), "venda/CadastroVenda")).isFalse();
+		assertThat(PreCompilacaoTemplates.precompilar(templateEngine(true), "inexistente/Template")).isFalse();
+	}
+
+	private AquecimentoTemplates aquecimento(SpringTemplateEngine templateEngine, SimpleMeterRegistry meterRegistry) {
+		AquecimentoTemplates aquecimento = new AquecimentoTemplates();
+		ReflectionTestUtils.setField(aquecimento, "templateEngine", templateEngine);
+		ReflectionTestUtils.setField(aquecimento, "meterRegistry", meterRegistry);
+		return aquecimento;
+	}
+
+	private SpringTemplateEngine templateEngine(boolean cacheable) {
+		ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		resolver.setTemplateMode(TemplateMode.HTML);
+		resolver.setCharacterEncoding("UTF-8");
+		resolver.setCheckExistence(true);
+		resolver.setCacheable(cacheable);
+
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setEnableSpringELCompiler(true);
+		engine.setTemplateResolver(resolver);
+		engine.addDialect(new LayoutDialect());
+		engine.addDialect(new BrewerDialect());
+		engine.addDialect(new DataAttributeDialect());
+		engine.addDialect(new SpringSecurityDialect());
+		return engine;
+	}
+}
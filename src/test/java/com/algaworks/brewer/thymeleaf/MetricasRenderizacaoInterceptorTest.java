@@ -0,0 +1,65 @@
+package com.algaworks.brewer.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Testes - MetricasRenderizacaoInterceptor")
+class MetricasRenderizacaoInterceptorTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private MetricasRenderizacaoInterceptor interceptor;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		interceptor = new MetricasRenderizacaoInterceptor(meterRegistry);
+		request = new MockHttpServletRequest();
+		response = new MockHttpServletResponse();
+	}
+
+	@Test
+	@DisplayName("Deve registrar tempo de renderização com o nome do template")
+	void deveRegistrarTempoComNomeDoTemplate() {
+		interceptor.postHandle(request, response, null, new ModelAndView("venda/PesquisaVendas"));
+		interceptor.afterCompletion(request, response, null, null);
+
+		Timer timer = meterRegistry.find("brewer.thymeleaf.renderizacao")
+				.tag("template", "venda/PesquisaVendas").tag("erro", "nenhum").timer();
+		assertThat(timer).isNotNull();
+		assertThat(timer.count()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("Não deve medir redirects nem respostas sem view")
+	void naoDeveMedirRedirectsNemRespostasSemView() {
+		interceptor.postHandle(request, response, null, new ModelAndView("redirect:/vendas/nova"));
+		interceptor.afterCompletion(request, response, null, null);
+
+		MockHttpServletRequest requestJson = new MockHttpServletRequest();
+		interceptor.postHandle(requestJson, response, null, null);
+		interceptor.afterCompletion(requestJson, response, null, null);
+
+		assertThat(meterRegistry.find("brewer.thymeleaf.renderizacao").timers()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("Deve marcar renderizações que terminaram com erro")
+	void deveMarcarRenderizacoesComErro() {
+		interceptor.postHandle(request, response, null, new ModelAndView("cerveja/CadastroCerveja"));
+		interceptor.afterCompletion(request, response, null, new IllegalStateException("falha"));
+
+		assertThat(meterRegistry.find("brewer.thymeleaf.renderizacao")
+				.tag("erro", "IllegalStateException").timer()).isNotNull();
+	}
+}